@@ -1,12 +1,14 @@
 package com.personnel.personnelservice.adapters.persistances.entities;
 
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@DiscriminatorValue("ASSISTANT")
 @NoArgsConstructor
 @Getter
 @Setter
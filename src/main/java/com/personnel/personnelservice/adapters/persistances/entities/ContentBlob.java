@@ -0,0 +1,28 @@
+package com.personnel.personnelservice.adapters.persistances.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contenu stocké une seule fois en mode adressé par contenu, partagé par tous les MetaDataFile de même empreinte.
+ * Le compteur de références fait foi : le fichier physique n'est supprimé que lorsqu'il tombe à zéro,
+ * et la ligne sert de verrou entre les uploads et les suppressions d'un même contenu.
+ */
+@Entity
+@Table(name = "content_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    private long referenceCount;
+}
@@ -9,6 +9,10 @@ import org.hibernate.annotations.Where;
 
 @Entity
 @Table(name = "doctor_assistants")
+@NamedEntityGraph(name = DoctorAssistant.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("assistant")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,11 +20,16 @@ import org.hibernate.annotations.Where;
 @Where(clause = "deleted = false")
 public class DoctorAssistant extends BaseEntity {
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Fetch plan of the doctor-assistant DTO: doctor and assistant names and emails
+     */
+    public static final String WITH_REFERENCES = "DoctorAssistant.withReferences";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Medecin doctor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assistant_id", nullable = false)
     private Assistant assistant;
 
@@ -8,7 +8,15 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
-@Table(name = "doctor_patients")
+@Table(name = "doctor_patients", indexes = {
+        @Index(name = "idx_doctor_patients_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_doctor_patients_doctor_creation_date_id", columnList = "doctor_id, creation_date, id"),
+        @Index(name = "idx_doctor_patients_patient_creation_date_id", columnList = "patient_id, creation_date, id")
+})
+@NamedEntityGraph(name = DoctorPatient.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("patient")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,11 +24,16 @@ import org.hibernate.annotations.Where;
 @Where(clause = "deleted = false")
 public class DoctorPatient extends BaseEntity {
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Fetch plan of the doctor-patient DTO: doctor and patient names and emails
+     */
+    public static final String WITH_REFERENCES = "DoctorPatient.withReferences";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Medecin doctor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
@@ -28,6 +28,9 @@ public class MetaDataFile extends BaseEntity{
 
     private String path;
 
+    @Column(length = 64)
+    private String contentHash;
+
     private boolean deleted = false;
 
 }
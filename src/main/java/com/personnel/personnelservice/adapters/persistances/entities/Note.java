@@ -8,7 +8,16 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
-@Table(name = "notes")
+@Table(name = "notes", indexes = {
+        @Index(name = "idx_notes_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_notes_voice_creation_date_id", columnList = "voice_id, creation_date, id"),
+        @Index(name = "idx_notes_assistant_creation_date_id", columnList = "assistant_id, creation_date, id")
+})
+@NamedEntityGraph(name = Note.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("voice"),
+        @NamedAttributeNode("assistant"),
+        @NamedAttributeNode("modifier")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,20 +25,25 @@ import org.hibernate.annotations.Where;
 @Where(clause = "deleted = false")
 public class Note extends BaseEntity {
 
+    /**
+     * Fetch plan of the note DTO: voice title, assistant and modifier names
+     */
+    public static final String WITH_REFERENCES = "Note.withReferences";
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String contentTxt;
 
     private boolean validated;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "voice_id")
     private Voice voice;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assistant_id")
     private Assistant assistant;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "modifier_id")
     private User modifier;
 
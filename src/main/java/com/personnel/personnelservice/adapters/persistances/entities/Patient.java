@@ -1,11 +1,13 @@
 package com.personnel.personnelservice.adapters.persistances.entities;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@DiscriminatorValue("PATIENT")
 @NoArgsConstructor
 @Getter
 @Setter
@@ -10,7 +10,11 @@ import org.hibernate.annotations.Where;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_payments_user_creation_date_id", columnList = "user_id, creation_date, id")
+})
+@NamedEntityGraph(name = Payment.WITH_REFERENCES, attributeNodes = @NamedAttributeNode("user"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +22,12 @@ import java.time.LocalDateTime;
 @Where(clause = "deleted = false")
 public class Payment extends BaseEntity {
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Fetch plan of the payment DTO: user name and email
+     */
+    public static final String WITH_REFERENCES = "Payment.withReferences";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
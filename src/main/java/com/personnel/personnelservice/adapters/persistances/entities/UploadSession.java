@@ -0,0 +1,38 @@
+package com.personnel.personnelservice.adapters.persistances.entities;
+
+import com.personnel.personnelservice.core.models.enums.FileType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+/**
+ * Upload fragmenté en cours : le contenu est écrit dans un fichier partiel,
+ * la ligne MetaDataFile n'est créée qu'à la finalisation.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+@SQLDelete(sql = "UPDATE upload_sessions SET deleted = true WHERE id = ?")
+@Where(clause = "deleted = false")
+public class UploadSession extends BaseEntity {
+
+    private String originalFileName;
+
+    private String extension;
+
+    private String mimeType;
+
+    @Enumerated(EnumType.STRING)
+    private FileType type;
+
+    private Long totalSize;
+
+    private boolean completed = false;
+
+    private boolean deleted = false;
+}
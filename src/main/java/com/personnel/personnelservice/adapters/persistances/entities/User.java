@@ -1,6 +1,7 @@
 package com.personnel.personnelservice.adapters.persistances.entities;
 
 import jakarta.persistence.*;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.*;
@@ -16,14 +17,25 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Entity
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = User.USER_TYPE_COLUMN, discriminatorType = DiscriminatorType.STRING, length = 31)
+@DiscriminatorValue("USER")
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_user_type", columnList = User.USER_TYPE_COLUMN))
 @SQLDelete(sql = "UPDATE users SET deleted = true WHERE id = ?")
 @Where(clause = "deleted = false")
+@NamedEntityGraph(name = User.WITH_AUTHORITIES, attributeNodes = @NamedAttributeNode(value = "roles", subgraph = "permissions"),
+        subgraphs = @NamedSubgraph(name = "permissions", attributeNodes = @NamedAttributeNode("permissions")))
 public class User extends BaseEntity implements UserDetails {
+    public static final String USER_TYPE_COLUMN = "user_type";
+
+    /**
+     * Fetch plan of {@link #getAuthorities()}, read outside the request session by the JWT filter
+     */
+    public static final String WITH_AUTHORITIES = "User.withAuthorities";
+
     private String lastName;
 
     private String firstName;
@@ -55,7 +67,7 @@ public class User extends BaseEntity implements UserDetails {
 
     private boolean deleted = false;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -1,5 +1,6 @@
 package com.personnel.personnelservice.adapters.persistances.entities;
 
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,9 +11,18 @@ import org.hibernate.annotations.Where;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
-@Table(name = "voices")
+@Table(name = "voices", indexes = {
+        @Index(name = "idx_voices_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_voices_doctor_creation_date_id", columnList = "doctor_id, creation_date, id"),
+        @Index(name = "idx_voices_patient_creation_date_id", columnList = "patient_id, creation_date, id")
+})
+@NamedEntityGraph(name = Voice.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode("patient")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,6 +30,11 @@ import java.util.Set;
 @Where(clause = "deleted = false")
 public class Voice extends BaseEntity {
 
+    /**
+     * Fetch plan of the voice DTO: doctor and patient names
+     */
+    public static final String WITH_REFERENCES = "Voice.withReferences";
+
     @Column(nullable = false)
     private String path;
 
@@ -29,11 +44,22 @@ public class Voice extends BaseEntity {
 
     private LocalDateTime noteCreated;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    private UUID transcodedFileId;
+
+    private UUID waveformFileId;
+
+    private Integer bitrate;
+
+    private Long durationMillis;
+
+    @Enumerated(EnumType.STRING)
+    private TranscodingStatus transcodingStatus;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id")
     private Medecin doctor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
     private Patient patient;
 
@@ -0,0 +1,195 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import com.personnel.personnelservice.adapters.persistances.entities.EmailOutbox;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaEmailOutboxRepository;
+import com.personnel.personnelservice.core.models.enums.EmailOutboxStatus;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envoie les emails de l'outbox en arrière-plan, par lots : un lot est transmis sur une seule connexion SMTP.
+ * Un email en échec est retenté avec un délai exponentiel, puis abandonné (FAILED) après le nombre maximal de tentatives.
+ * Plusieurs instances peuvent tourner en parallèle : chaque email est réservé avant l'envoi.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JpaEmailOutboxRepository jpaEmailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    // Délai après lequel un email réservé par une instance arrêtée pendant l'envoi redevient disponible
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        List<EmailOutbox> due;
+        do {
+            due = jpaEmailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                    EmailOutboxStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+            List<EmailOutbox> claimed = claim(due);
+            if (!claimed.isEmpty()) {
+                send(claimed);
+            }
+        } while (due.size() == batchSize);
+    }
+
+    /**
+     * Les emails envoyés contiennent des liens de réinitialisation : ils ne sont pas conservés au-delà de la rétention
+     */
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSentEmails() {
+        int deleted = jpaEmailOutboxRepository.deleteSentBefore(EmailOutboxStatus.SENT,
+                LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("{} emails envoyés supprimés de l'outbox", deleted);
+        }
+    }
+
+    private List<EmailOutbox> claim(List<EmailOutbox> due) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        List<EmailOutbox> claimed = new ArrayList<>(due.size());
+        for (EmailOutbox email : due) {
+            if (jpaEmailOutboxRepository.claim(email.getId(), EmailOutboxStatus.PENDING, email.getAttempts(), leaseUntil) == 1) {
+                email.setAttempts(email.getAttempts() + 1);
+                claimed.add(email);
+            }
+        }
+        return claimed;
+    }
+
+    private void send(List<EmailOutbox> emails) {
+        // MimeMessage n'a pas d'égalité de valeur : la clé est l'instance, dans l'ordre d'échéance
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        List<EmailOutbox> sent = new ArrayList<>(emails.size());
+        for (EmailOutbox email : emails) {
+            try {
+                messages.put(toMessage(email), email);
+            } catch (MessagingException e) {
+                // Adresse ou contenu invalide : inutile de retenter
+                giveUp(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures;
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            failures = Map.of();
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            // Authentification ou préparation : tout le lot est en échec
+            failures = allFailed(messages, e);
+        }
+
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(entry.getValue());
+            } else {
+                retryLater(entry.getValue(), failure);
+            }
+        }
+        if (!sent.isEmpty()) {
+            jpaEmailOutboxRepository.markSent(sent.stream().map(EmailOutbox::getId).toList(),
+                    EmailOutboxStatus.SENT, LocalDateTime.now());
+        }
+    }
+
+    private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject() == null ? "" : email.getSubject());
+        helper.setText(email.getBody() == null ? "" : email.getBody());
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, EmailOutbox> messages, Exception failure) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, failure));
+        return failures;
+    }
+
+    private void retryLater(EmailOutbox email, Exception failure) {
+        if (email.getAttempts() >= maxAttempts) {
+            giveUp(email, failure);
+            return;
+        }
+        Duration backoff = backoff(email.getAttempts());
+        logger.warn("Échec de l'envoi de l'email {} (tentative {}), nouvel essai dans {} s : {}",
+                email.getId(), email.getAttempts(), backoff.toSeconds(), failure.getMessage());
+        jpaEmailOutboxRepository.markFailed(email.getId(), EmailOutboxStatus.PENDING,
+                LocalDateTime.now().plus(backoff), truncate(failure));
+    }
+
+    private void giveUp(EmailOutbox email, Exception failure) {
+        logger.error("Email {} abandonné après {} tentatives", email.getId(), email.getAttempts(), failure);
+        jpaEmailOutboxRepository.markFailed(email.getId(), EmailOutboxStatus.FAILED, null, truncate(failure));
+    }
+
+    /**
+     * @param attempts number of attempts already made, at least 1
+     * @return initial backoff doubled at each attempt, capped at the maximum backoff
+     */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(Math.min(initialBackoffSeconds << doublings, maxBackoffSeconds));
+    }
+
+    private static String truncate(Exception failure) {
+        String message = String.valueOf(failure.getMessage());
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -1,21 +1,30 @@
 package com.personnel.personnelservice.adapters.persistances.implementations;
 
+import com.personnel.personnelservice.adapters.persistances.entities.EmailOutbox;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaEmailOutboxRepository;
+import com.personnel.personnelservice.core.models.enums.EmailOutboxStatus;
 import com.personnel.personnelservice.core.ports.services.EmailSenderPort;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Écrit l'email dans l'outbox, dans la transaction de l'appelant : il n'est envoyé par l'{@link EmailOutboxDispatcher}
+ * que si cette transaction est validée, et la requête n'attend jamais le serveur SMTP.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailSenderAdapter implements EmailSenderPort {
-    private final JavaMailSender mailSender;
+    private final JpaEmailOutboxRepository jpaEmailOutboxRepository;
     @Override
     public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now());
+        jpaEmailOutboxRepository.save(email);
     }
 }
@@ -0,0 +1,126 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import com.personnel.personnelservice.core.ports.services.AudioEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encodeur Opus/OGG qui délègue à un binaire ffmpeg installé sur l'hôte.
+ * Si ffmpeg est absent, isAvailable() renvoie false et les voix sont marquées SKIPPED.
+ */
+@Service
+public class FfmpegAudioEncoderAdapter implements AudioEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FfmpegAudioEncoderAdapter.class);
+    private static final Pattern DURATION_PATTERN = Pattern.compile("Duration: (\\d+):(\\d{2}):(\\d{2})\\.(\\d{2})");
+
+    @Value("${voice.transcoding.ffmpeg-path:ffmpeg}")
+    private String ffmpegPath;
+
+    @Value("${voice.transcoding.bitrate:24000}")
+    private int bitrate;
+
+    @Value("${voice.transcoding.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    private volatile Boolean available;
+
+    @Override
+    public String getExtension() {
+        return ".ogg";
+    }
+
+    @Override
+    public String getMimeType() {
+        return "audio/ogg";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (available == null) {
+            try {
+                Process process = new ProcessBuilder(ffmpegPath, "-version").redirectErrorStream(true).start();
+                process.getInputStream().transferTo(OutputStream.nullOutputStream());
+                available = process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+            } catch (IOException e) {
+                available = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (!available) {
+                logger.warn("ffmpeg introuvable ({}), le transcodage des voix est désactivé", ffmpegPath);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public Duration encode(Path source, Path target) throws IOException {
+        return run(source, "-vn", "-c:a", "libopus", "-b:a", String.valueOf(bitrate), "-application", "voip", target.toString());
+    }
+
+    @Override
+    public void decodeToWav(Path source, Path target, int sampleRate) throws IOException {
+        run(source, "-vn", "-ac", "1", "-ar", String.valueOf(sampleRate), "-c:a", "pcm_s16le", "-f", "wav", target.toString());
+    }
+
+    private Duration run(Path source, String... outputArguments) throws IOException {
+        List<String> command = new ArrayList<>(List.of(ffmpegPath, "-nostdin", "-y", "-i", source.toString()));
+        command.addAll(List.of(outputArguments));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+
+        Duration duration = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (duration == null) {
+                    duration = parseDuration(line);
+                }
+            }
+        }
+
+        try {
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg timed out after " + timeoutSeconds + "s on " + source);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing " + source, e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("ffmpeg exited with code " + process.exitValue() + " on " + source);
+        }
+        return duration;
+    }
+
+    static Duration parseDuration(String line) {
+        Matcher matcher = DURATION_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return null;
+        }
+        return Duration.ofHours(Long.parseLong(matcher.group(1)))
+                .plusMinutes(Long.parseLong(matcher.group(2)))
+                .plusSeconds(Long.parseLong(matcher.group(3)))
+                .plusMillis(Long.parseLong(matcher.group(4)) * 10);
+    }
+}
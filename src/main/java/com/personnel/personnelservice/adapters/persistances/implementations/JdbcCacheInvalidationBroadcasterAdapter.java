@@ -0,0 +1,80 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent;
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diffusion des invalidations entre les noeuds par la base partagée : chaque invalidation incrémente
+ * la version du cache dans la table {@value #TABLE}, que chaque noeud relit périodiquement.
+ * Aucune infrastructure de messagerie n'est nécessaire ; le délai de propagation est l'intervalle de relecture.
+ * <p>
+ * Activation : {@code app.cache.broadcast=jdbc}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.broadcast", havingValue = "jdbc")
+public class JdbcCacheInvalidationBroadcasterAdapter implements CacheInvalidationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationBroadcasterAdapter.class);
+
+    static final String TABLE = "cache_invalidations";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Long> seenVersions = new ConcurrentHashMap<>();
+
+    public JdbcCacheInvalidationBroadcasterAdapter(DataSource dataSource, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE
+                + " (cache_name VARCHAR(64) NOT NULL PRIMARY KEY, version BIGINT NOT NULL)");
+        // Les caches d'un noeud qui démarre sont vides : les invalidations antérieures ne le concernent pas
+        jdbcTemplate.query("SELECT cache_name, version FROM " + TABLE, resultSet -> {
+            seenVersions.put(resultSet.getString(1), resultSet.getLong(2));
+        });
+    }
+
+    /**
+     * Appelée depuis des listeners AFTER_COMMIT : la transaction terminée ne validerait plus cette écriture,
+     * elle est donc faite dans sa propre transaction.
+     */
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void broadcast(String cacheName) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (cache_name, version) VALUES (?, 1)"
+                + " ON DUPLICATE KEY UPDATE version = version + 1", cacheName);
+    }
+
+    /**
+     * Relit les versions des caches et publie une invalidation pour chaque version inconnue.
+     * Le noeud à l'origine d'une invalidation la reçoit aussi : son cache est simplement rechargé une fois de plus.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.broadcast.poll-interval-ms:5000}")
+    public void poll() {
+        jdbcTemplate.query("SELECT cache_name, version FROM " + TABLE, resultSet -> {
+            String cacheName = resultSet.getString(1);
+            long version = resultSet.getLong(2);
+            Long seenVersion = seenVersions.put(cacheName, version);
+            if (seenVersion == null || seenVersion != version) {
+                logger.debug("Invalidation distante du cache {} (version {})", cacheName, version);
+                eventPublisher.publishEvent(new RemoteCacheInvalidationEvent(cacheName));
+            }
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Déploiement mono-instance : il n'y a aucun autre noeud à prévenir.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.broadcast", havingValue = "none", matchIfMissing = true)
+public class LocalCacheInvalidationBroadcasterAdapter implements CacheInvalidationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheInvalidationBroadcasterAdapter.class);
+
+    @Override
+    public void broadcast(String cacheName) {
+        logger.debug("Cache {} invalidé localement", cacheName);
+    }
+}
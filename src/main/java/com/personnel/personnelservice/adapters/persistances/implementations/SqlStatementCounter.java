@@ -0,0 +1,86 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread between {@link #start()} and {@link #stop()}.
+ * <p>
+ * Branché comme StatementInspector de la session factory : chaque requête, y compris celles déclenchées par
+ * le chargement des associations, passe par {@link #inspect(String)}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Statements> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread
+     */
+    public void start() {
+        STATEMENTS.set(new Statements());
+    }
+
+    /**
+     * @return the number of statements since {@link #start()}, 0 if counting was not started
+     */
+    public int count() {
+        Statements statements = STATEMENTS.get();
+        return statements == null ? 0 : statements.count;
+    }
+
+    /**
+     * The statement executed the most times since {@link #start()}. Hibernate binds the parameters, so a
+     * select repeated for each row of a list (N+1) always has the same SQL.
+     * @return empty if counting was not started or nothing was executed
+     */
+    public Optional<RepeatedStatement> mostRepeated() {
+        Statements statements = STATEMENTS.get();
+        if (statements == null || statements.mostRepeated == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RepeatedStatement(statements.mostRepeated, statements.mostRepeatedCount));
+    }
+
+    /**
+     * Stop counting on the current thread
+     * @return the number of statements since {@link #start()}, 0 if counting was not started
+     */
+    public int stop() {
+        int count = count();
+        STATEMENTS.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public record RepeatedStatement(String sql, int count) {
+    }
+
+    private static final class Statements {
+        private final Map<String, int[]> executions = new HashMap<>();
+        private int count;
+        private String mostRepeated;
+        private int mostRepeatedCount;
+
+        void add(String sql) {
+            count++;
+            int[] executionsOfSql = executions.computeIfAbsent(sql, key -> new int[1]);
+            if (++executionsOfSql[0] > mostRepeatedCount) {
+                mostRepeated = sql;
+                mostRepeatedCount = executionsOfSql[0];
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.personnel.personnelservice.adapters.persistances.mappers;
+
+import org.hibernate.Hibernate;
+
+/**
+ * Les libellés des DTO en lecture viennent des associations chargées par l'entity graph de la requête.
+ * Une association restée en proxy signale une requête sans graph : on échoue plutôt que de renvoyer un nom vide.
+ */
+final class LoadedAssociations {
+
+    private LoadedAssociations() {
+    }
+
+    static <T> T require(T association, String path) {
+        if (!Hibernate.isInitialized(association)) {
+            throw new IllegalStateException(path + " n'est pas chargé : la requête doit utiliser l'entity graph WITH_REFERENCES");
+        }
+        return association;
+    }
+}
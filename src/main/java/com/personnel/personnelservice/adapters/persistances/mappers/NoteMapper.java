@@ -1,22 +1,37 @@
 package com.personnel.personnelservice.adapters.persistances.mappers;
 
+import com.personnel.personnelservice.adapters.persistances.entities.Assistant;
 import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import org.hibernate.Hibernate;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = Hibernate.class)
 public interface NoteMapper {
 
     @Mapping(target = "voiceId", source = "voice.id")
-    @Mapping(target = "voiceTitle", source = "voice.title")
+    @Mapping(target = "voiceTitle", expression = "java(getVoiceTitle(note))")
     @Mapping(target = "assistantId", source = "assistant.id")
     @Mapping(target = "assistantName", expression = "java(getFullAssistantName(note))")
     @Mapping(target = "modifierId", source = "modifier.id")
     @Mapping(target = "modifierName", expression = "java(getFullModifierName(note))")
     NoteDto toDTO(Note note);
 
+    /**
+     * Après une écriture : les associations posées par référence (proxy) ne sont pas chargées, le service complète les noms
+     */
+    @Named("toWrittenDTO")
+    @InheritConfiguration(name = "toDTO")
+    @Mapping(target = "voiceTitle", expression = "java(Hibernate.isInitialized(note.getVoice()) ? getVoiceTitle(note) : null)")
+    @Mapping(target = "assistantName", expression = "java(Hibernate.isInitialized(note.getAssistant()) ? getFullAssistantName(note) : null)")
+    @Mapping(target = "modifierName", expression = "java(Hibernate.isInitialized(note.getModifier()) ? getFullModifierName(note) : null)")
+    NoteDto toWrittenDTO(Note note);
+
     @Mapping(target = "voice", ignore = true)
     @Mapping(target = "assistant", ignore = true)
     @Mapping(target = "modifier", ignore = true)
@@ -33,17 +48,26 @@ public interface NoteMapper {
     @Mapping(target = "deleted", ignore = true)
     void updateEntity(NoteDto noteDto, @MappingTarget Note note);
 
+    default String getVoiceTitle(Note note) {
+        if (note == null || note.getVoice() == null) {
+            return null;
+        }
+        return LoadedAssociations.require(note.getVoice(), "Note.voice").getTitle();
+    }
+
     default String getFullAssistantName(Note note) {
         if (note == null || note.getAssistant() == null) {
             return null;
         }
-        return note.getAssistant().getFirstName() + " " + note.getAssistant().getLastName();
+        Assistant assistant = LoadedAssociations.require(note.getAssistant(), "Note.assistant");
+        return assistant.getFirstName() + " " + assistant.getLastName();
     }
 
     default String getFullModifierName(Note note) {
         if (note == null || note.getModifier() == null) {
             return null;
         }
-        return note.getModifier().getFirstName() + " " + note.getModifier().getLastName();
+        User modifier = LoadedAssociations.require(note.getModifier(), "Note.modifier");
+        return modifier.getFirstName() + " " + modifier.getLastName();
     }
 }
\ No newline at end of file
@@ -1,19 +1,32 @@
 package com.personnel.personnelservice.adapters.persistances.mappers;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Payment;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.core.models.dtos.PaymentDto;
+import org.hibernate.Hibernate;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = Hibernate.class)
 public interface PaymentMapper {
 
     @Mapping(target = "userId", source = "user.id")
     @Mapping(target = "userName", expression = "java(getFullUserName(payment))")
-    @Mapping(target = "userEmail", source = "user.email")
+    @Mapping(target = "userEmail", expression = "java(getUserEmail(payment))")
     PaymentDto toDTO(Payment payment);
 
+    /**
+     * Après une écriture : l'utilisateur posé par référence (proxy) n'est pas chargé, le service complète son nom
+     */
+    @Named("toWrittenDTO")
+    @InheritConfiguration(name = "toDTO")
+    @Mapping(target = "userName", expression = "java(Hibernate.isInitialized(payment.getUser()) ? getFullUserName(payment) : null)")
+    @Mapping(target = "userEmail", expression = "java(Hibernate.isInitialized(payment.getUser()) ? getUserEmail(payment) : null)")
+    PaymentDto toWrittenDTO(Payment payment);
+
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "deleted", constant = "false")
     Payment toEntity(PaymentDto paymentDto);
@@ -30,6 +43,14 @@ public interface PaymentMapper {
         if (payment == null || payment.getUser() == null) {
             return null;
         }
-        return payment.getUser().getFirstName() + " " + payment.getUser().getLastName();
+        User user = LoadedAssociations.require(payment.getUser(), "Payment.user");
+        return user.getFirstName() + " " + user.getLastName();
+    }
+
+    default String getUserEmail(Payment payment) {
+        if (payment == null || payment.getUser() == null) {
+            return null;
+        }
+        return LoadedAssociations.require(payment.getUser(), "Payment.user").getEmail();
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.personnel.personnelservice.adapters.persistances.mappers;
 
+import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.Patient;
 import com.personnel.personnelservice.adapters.persistances.entities.Voice;
 import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import org.hibernate.Hibernate;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = Hibernate.class)
 public interface VoiceMapper {
 
     @Mapping(target = "doctorId", source = "doctor.id")
@@ -15,9 +20,23 @@ public interface VoiceMapper {
     @Mapping(target = "patientName", expression = "java(getFullPatientName(voice))")
     VoiceDto toDTO(Voice voice);
 
+    /**
+     * Après une écriture : les associations posées par référence (proxy) ne sont pas chargées, le service complète les noms
+     */
+    @Named("toWrittenDTO")
+    @InheritConfiguration(name = "toDTO")
+    @Mapping(target = "doctorName", expression = "java(Hibernate.isInitialized(voice.getDoctor()) ? getFullDoctorName(voice) : null)")
+    @Mapping(target = "patientName", expression = "java(Hibernate.isInitialized(voice.getPatient()) ? getFullPatientName(voice) : null)")
+    VoiceDto toWrittenDTO(Voice voice);
+
     @Mapping(target = "doctor", ignore = true)
     @Mapping(target = "patient", ignore = true)
     @Mapping(target = "notes", ignore = true)
+    @Mapping(target = "transcodedFileId", ignore = true)
+    @Mapping(target = "waveformFileId", ignore = true)
+    @Mapping(target = "bitrate", ignore = true)
+    @Mapping(target = "durationMillis", ignore = true)
+    @Mapping(target = "transcodingStatus", ignore = true)
     @Mapping(target = "deleted", constant = "false")
     Voice toEntity(VoiceDto voiceDto);
 
@@ -28,6 +47,11 @@ public interface VoiceMapper {
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "lastModifiedBy", ignore = true)
     @Mapping(target = "lastModifiedDate", ignore = true)
+    @Mapping(target = "transcodedFileId", ignore = true)
+    @Mapping(target = "waveformFileId", ignore = true)
+    @Mapping(target = "bitrate", ignore = true)
+    @Mapping(target = "durationMillis", ignore = true)
+    @Mapping(target = "transcodingStatus", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     void updateEntity(VoiceDto voiceDto, @MappingTarget Voice voice);
 
@@ -35,13 +59,15 @@ public interface VoiceMapper {
         if (voice == null || voice.getDoctor() == null) {
             return null;
         }
-        return voice.getDoctor().getFirstName() + " " + voice.getDoctor().getLastName();
+        Medecin doctor = LoadedAssociations.require(voice.getDoctor(), "Voice.doctor");
+        return doctor.getFirstName() + " " + doctor.getLastName();
     }
 
     default String getFullPatientName(Voice voice) {
         if (voice == null || voice.getPatient() == null) {
             return null;
         }
-        return voice.getPatient().getFirstName() + " " + voice.getPatient().getLastName();
+        Patient patient = LoadedAssociations.require(voice.getPatient(), "Voice.patient");
+        return patient.getFirstName() + " " + patient.getLastName();
     }
 }
\ No newline at end of file
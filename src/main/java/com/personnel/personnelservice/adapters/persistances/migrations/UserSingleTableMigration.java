@@ -0,0 +1,201 @@
+package com.personnel.personnelservice.adapters.persistances.migrations;
+
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Migre les utilisateurs du schéma TABLE_PER_CLASS (tables users, admin, assistant, medecin et patient)
+ * vers la table unique users discriminée par user_type.
+ * <p>
+ * La migration est idempotente et reprend là où elle s'est arrêtée : les lignes sont copiées par lots,
+ * les clés étrangères pointant vers les anciennes tables sont redirigées vers users, puis les anciennes
+ * tables sont renommées avec le suffixe {@value #LEGACY_SUFFIX} plutôt que supprimées.
+ * <p>
+ * Activation : {@code app.migration.user-single-table.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.migration.user-single-table.enabled", havingValue = "true")
+public class UserSingleTableMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSingleTableMigration.class);
+
+    static final String USERS_TABLE = "users";
+    static final String LEGACY_SUFFIX = "_legacy";
+    static final Map<String, String> LEGACY_TABLES = new LinkedHashMap<>();
+
+    static {
+        LEGACY_TABLES.put("admin", "ADMIN");
+        LEGACY_TABLES.put("assistant", "ASSISTANT");
+        LEGACY_TABLES.put("medecin", "MEDECIN");
+        LEGACY_TABLES.put("patient", "PATIENT");
+    }
+
+    private record ForeignKey(String name, String table, String column) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.migration.user-single-table.batch-size:10000}")
+    private int batchSize;
+
+    public UserSingleTableMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        migrate();
+    }
+
+    /**
+     * @return the number of rows copied into the users table, per legacy table
+     */
+    public Map<String, Integer> migrate() throws SQLException {
+        long start = System.currentTimeMillis();
+        Set<String> userColumns = columns(USERS_TABLE);
+        if (userColumns.isEmpty()) {
+            throw new IllegalStateException("Table " + USERS_TABLE + " introuvable");
+        }
+        if (!userColumns.contains(User.USER_TYPE_COLUMN)) {
+            jdbcTemplate.execute("ALTER TABLE " + USERS_TABLE + " ADD COLUMN " + User.USER_TYPE_COLUMN + " VARCHAR(31)");
+        }
+        jdbcTemplate.update("UPDATE " + USERS_TABLE + " SET " + User.USER_TYPE_COLUMN + " = 'USER' WHERE "
+                + User.USER_TYPE_COLUMN + " IS NULL OR " + User.USER_TYPE_COLUMN + " = ''");
+        createIndexIfMissing("idx_users_user_type", User.USER_TYPE_COLUMN, false);
+        createIndexIfMissing("idx_users_email", "email", true);
+
+        List<String> legacyTables = LEGACY_TABLES.keySet().stream()
+                .filter(table -> !columns(table).isEmpty())
+                .toList();
+        checkEmailConflicts(legacyTables);
+
+        Map<String, Integer> copied = new LinkedHashMap<>();
+        for (String table : legacyTables) {
+            copied.put(table, copyRows(table, LEGACY_TABLES.get(table), userColumns));
+        }
+        // Toutes les lignes sont dans users : les contraintes peuvent y être redirigées
+        for (String table : legacyTables) {
+            for (ForeignKey foreignKey : foreignKeysReferencing(table)) {
+                jdbcTemplate.execute("ALTER TABLE " + foreignKey.table() + " DROP FOREIGN KEY " + foreignKey.name());
+                jdbcTemplate.execute("ALTER TABLE " + foreignKey.table() + " ADD CONSTRAINT " + foreignKey.name()
+                        + " FOREIGN KEY (" + foreignKey.column() + ") REFERENCES " + USERS_TABLE + " (id)");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + table + LEGACY_SUFFIX);
+        }
+        logger.info("Migration des utilisateurs vers la table unique terminée en {} ms : {}",
+                System.currentTimeMillis() - start, copied);
+        return copied;
+    }
+
+    // L'unicité de l'email n'était garantie que table par table
+    private void checkEmailConflicts(List<String> legacyTables) {
+        if (legacyTables.isEmpty()) {
+            return;
+        }
+        String allUsers = legacyTables.stream()
+                .map(table -> "SELECT id, email FROM " + table)
+                .collect(Collectors.joining(" UNION ALL ", "SELECT id, email FROM " + USERS_TABLE + " UNION ALL ", ""));
+        List<String> conflicts = jdbcTemplate.queryForList("SELECT email FROM (" + allUsers + ") a WHERE email IS NOT NULL"
+                + " GROUP BY email HAVING COUNT(DISTINCT id) > 1 LIMIT 10", String.class);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Emails utilisés par plusieurs utilisateurs, à dédoublonner avant migration : " + conflicts);
+        }
+    }
+
+    private int copyRows(String table, String userType, Set<String> userColumns) {
+        String columns = columns(table).stream()
+                .filter(userColumns::contains)
+                .filter(column -> !column.equals(User.USER_TYPE_COLUMN))
+                .collect(Collectors.joining(", "));
+        String insert = "INSERT INTO " + USERS_TABLE + " (" + columns + ", " + User.USER_TYPE_COLUMN + ")"
+                + " SELECT " + columns + ", '" + userType + "' FROM " + table + " l"
+                + " WHERE NOT EXISTS (SELECT 1 FROM " + USERS_TABLE + " u WHERE u.id = l.id) LIMIT " + batchSize;
+        int total = 0;
+        int inserted;
+        do {
+            // Un lot par transaction : la migration peut être interrompue et relancée
+            inserted = jdbcTemplate.update(insert);
+            total += inserted;
+            if (inserted > 0) {
+                logger.info("{} : {} utilisateurs copiés", table, total);
+            }
+        } while (inserted == batchSize);
+        return total;
+    }
+
+    private void createIndexIfMissing(String name, String column, boolean unique) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<String>> indexColumns = new LinkedHashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), identifier(metaData, USERS_TABLE), unique, false)) {
+                while (indexes.next()) {
+                    if (indexes.getString("INDEX_NAME") != null && indexes.getString("COLUMN_NAME") != null) {
+                        indexColumns.computeIfAbsent(indexes.getString("INDEX_NAME"), key -> new ArrayList<>())
+                                .add(indexes.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!indexColumns.containsValue(List.of(column))) {
+                jdbcTemplate.execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + name + " ON " + USERS_TABLE + " (" + column + ")");
+            }
+        }
+    }
+
+    private List<ForeignKey> foreignKeysReferencing(String table) throws SQLException {
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet keys = metaData.getExportedKeys(connection.getCatalog(), connection.getSchema(), identifier(metaData, table))) {
+                while (keys.next()) {
+                    foreignKeys.add(new ForeignKey(keys.getString("FK_NAME"), keys.getString("FKTABLE_NAME"), keys.getString("FKCOLUMN_NAME")));
+                }
+            }
+        }
+        return foreignKeys;
+    }
+
+    /**
+     * @return the lower-cased column names of the table, empty if the table does not exist
+     */
+    private Set<String> columns(String table) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> columns = new LinkedHashSet<>();
+            try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), connection.getSchema(), identifier(metaData, table), null)) {
+                while (resultSet.next()) {
+                    columns.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            return columns;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Lecture des métadonnées de " + table + " impossible", e);
+        }
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+}
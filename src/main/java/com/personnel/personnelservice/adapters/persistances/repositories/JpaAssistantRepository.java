@@ -1,12 +1,15 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Assistant;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 
 
 import java.util.List;
 import java.util.Optional;
 
 public interface JpaAssistantRepository extends JpaBaseRepository<Assistant>  {
+    @EntityGraph(User.WITH_AUTHORITIES)
     Optional<Assistant> findByEmail(String email);
     List<Assistant> findAssistantByCreatedBy(String username);
 }
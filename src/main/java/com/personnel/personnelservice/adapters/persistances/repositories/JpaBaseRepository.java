@@ -1,12 +1,48 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.BaseEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @NoRepositoryBean
 public interface JpaBaseRepository <T extends BaseEntity> extends JpaRepository<T, UUID> {
 
-}
\ No newline at end of file
+    /**
+     * Find the first rows ordered by id
+     * @param limit maximum number of rows
+     * @return rows ordered by id
+     */
+    List<T> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Find the rows following an id
+     * @param id id of the last row already read
+     * @param limit maximum number of rows
+     * @return rows ordered by id
+     */
+    List<T> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    /**
+     * Read the whole table by chunks of bounded size, ordered by id.
+     * Chaque lot est une requête indépendante : aucun curseur n'est gardé ouvert sur la connexion
+     * @param chunkSize number of rows per chunk
+     * @param consumer receives each chunk
+     */
+    default void forEachChunk(int chunkSize, Consumer<List<T>> consumer) {
+        Limit limit = Limit.of(chunkSize);
+        List<T> chunk = findByOrderByIdAsc(limit);
+        while (!chunk.isEmpty()) {
+            UUID lastId = chunk.get(chunk.size() - 1).getId();
+            consumer.accept(chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            chunk = findByIdGreaterThanOrderByIdAsc(lastId, limit);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.personnel.personnelservice.adapters.persistances.repositories;
+
+import com.personnel.personnelservice.adapters.persistances.entities.ContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JpaContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    /**
+     * Add a reference to the given content, creating its row if needed.
+     * The row stays locked until the end of the transaction
+     * @param contentHash the SHA-256 of the content
+     * @return number of affected rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO content_blobs (content_hash, reference_count) VALUES (:contentHash, 1)"
+            + " ON DUPLICATE KEY UPDATE reference_count = reference_count + 1", nativeQuery = true)
+    int addReference(@Param("contentHash") String contentHash);
+
+    /**
+     * Remove a reference to the given content
+     * @param contentHash the SHA-256 of the content
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.contentHash = :contentHash AND b.referenceCount > 0")
+    int removeReference(@Param("contentHash") String contentHash);
+
+    /**
+     * Delete the row of the given content if nothing references it anymore.
+     * The row stays locked until the end of the transaction
+     * @param contentHash the SHA-256 of the content
+     * @return 1 if the content is no longer referenced and its row was deleted
+     */
+    @Modifying
+    @Query("DELETE FROM ContentBlob b WHERE b.contentHash = :contentHash AND b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+}
@@ -3,6 +3,7 @@ package com.personnel.personnelservice.adapters.persistances.repositories;
 import com.personnel.personnelservice.adapters.persistances.entities.DoctorAssistant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +16,7 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @param doctorId the doctor id
      * @return list of doctor-assistant relationships
      */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
     List<DoctorAssistant> findByDoctorId(UUID doctorId);
 
     /**
@@ -22,6 +24,7 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @param assistantId the assistant id
      * @return list of doctor-assistant relationships
      */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
     List<DoctorAssistant> findByAssistantId(UUID assistantId);
 
     /**
@@ -30,6 +33,7 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @param assistantId the assistant id
      * @return the doctor-assistant relationship if found
      */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
     Optional<DoctorAssistant> findByDoctorIdAndAssistantId(UUID doctorId, UUID assistantId);
 
     /**
@@ -38,6 +42,7 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @param pageable pagination information
      * @return paginated list of doctor-assistant relationships
      */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
     Page<DoctorAssistant> findByDoctorId(UUID doctorId, Pageable pageable);
 
     /**
@@ -46,6 +51,7 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @param pageable pagination information
      * @return paginated list of doctor-assistant relationships
      */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
     Page<DoctorAssistant> findByAssistantId(UUID assistantId, Pageable pageable);
 
     /**
@@ -62,4 +68,27 @@ public interface JpaDoctorAssistantRepository extends JpaBaseRepository<DoctorAs
      * @return true if the relationship exists, false otherwise
      */
     boolean existsByDoctorIdAndAssistantId(UUID doctorId, UUID assistantId);
+
+    /**
+     * Find a doctor-assistant relationship with the associations read by its DTO
+     * @param id the doctor-assistant relationship id
+     * @return the doctor-assistant relationship if found
+     */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
+    Optional<DoctorAssistant> findWithReferencesById(UUID id);
+
+    /**
+     * Find all doctor-assistant relationships with the associations read by their DTO
+     * @return list of doctor-assistant relationships
+     */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
+    List<DoctorAssistant> findWithReferencesBy();
+
+    /**
+     * Find paginated doctor-assistant relationships with the associations read by their DTO
+     * @param pageable pagination information
+     * @return paginated list of doctor-assistant relationships
+     */
+    @EntityGraph(DoctorAssistant.WITH_REFERENCES)
+    Page<DoctorAssistant> findWithReferencesBy(Pageable pageable);
 }
\ No newline at end of file
@@ -1,20 +1,32 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.DoctorPatient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPatient> {
 
+    /**
+     * Keyset condition and order of the cursor listings, most recent first
+     */
+    String AFTER_CURSOR = "(dp.creationDate < :creationDate OR (dp.creationDate = :creationDate AND dp.id < :id))";
+    String CURSOR_ORDER = " ORDER BY dp.creationDate DESC, dp.id DESC";
+
     /**
      * Find all doctor-patient relationships by doctor
      * @param doctorId the doctor id
      * @return list of doctor-patient relationships
      */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
     List<DoctorPatient> findByDoctorId(UUID doctorId);
 
     /**
@@ -22,6 +34,7 @@ public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPati
      * @param patientId the patient id
      * @return list of doctor-patient relationships
      */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
     List<DoctorPatient> findByPatientId(UUID patientId);
 
     /**
@@ -30,6 +43,7 @@ public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPati
      * @param patientId the patient id
      * @return the doctor-patient relationship if found
      */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
     Optional<DoctorPatient> findByDoctorIdAndPatientId(UUID doctorId, UUID patientId);
 
     /**
@@ -38,6 +52,7 @@ public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPati
      * @param pageable pagination information
      * @return paginated list of doctor-patient relationships
      */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
     Page<DoctorPatient> findByDoctorId(UUID doctorId, Pageable pageable);
 
     /**
@@ -46,6 +61,7 @@ public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPati
      * @param pageable pagination information
      * @return paginated list of doctor-patient relationships
      */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
     Page<DoctorPatient> findByPatientId(UUID patientId, Pageable pageable);
 
     /**
@@ -62,4 +78,68 @@ public interface JpaDoctorPatientRepository extends JpaBaseRepository<DoctorPati
      * @return true if the relationship exists, false otherwise
      */
     boolean existsByDoctorIdAndPatientId(UUID doctorId, UUID patientId);
+
+    /**
+     * Find the doctor-patient relationships created before the cursor
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return doctor-patient relationships, most recent first
+     */
+    @Query("SELECT dp FROM DoctorPatient dp WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    List<DoctorPatient> findPageAfter(@Param("creationDate") LocalDateTime creationDate, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Find the doctor-patient relationships of a doctor created before the cursor
+     * @param doctorId the doctor id
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return doctor-patient relationships, most recent first
+     */
+    @Query("SELECT dp FROM DoctorPatient dp WHERE dp.doctor.id = :doctorId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    List<DoctorPatient> findPageByDoctorIdAfter(@Param("doctorId") UUID doctorId,
+                                                @Param("creationDate") LocalDateTime creationDate,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+
+    /**
+     * Find the doctor-patient relationships of a patient created before the cursor
+     * @param patientId the patient id
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return doctor-patient relationships, most recent first
+     */
+    @Query("SELECT dp FROM DoctorPatient dp WHERE dp.patient.id = :patientId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    List<DoctorPatient> findPageByPatientIdAfter(@Param("patientId") UUID patientId,
+                                                 @Param("creationDate") LocalDateTime creationDate,
+                                                 @Param("id") UUID id,
+                                                 Limit limit);
+
+    /**
+     * Find a doctor-patient relationship with the associations read by its DTO
+     * @param id the doctor-patient relationship id
+     * @return the doctor-patient relationship if found
+     */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    Optional<DoctorPatient> findWithReferencesById(UUID id);
+
+    /**
+     * Find all doctor-patient relationships with the associations read by their DTO
+     * @return list of doctor-patient relationships
+     */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    List<DoctorPatient> findWithReferencesBy();
+
+    /**
+     * Find paginated doctor-patient relationships with the associations read by their DTO
+     * @param pageable pagination information
+     * @return paginated list of doctor-patient relationships
+     */
+    @EntityGraph(DoctorPatient.WITH_REFERENCES)
+    Page<DoctorPatient> findWithReferencesBy(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.personnel.personnelservice.adapters.persistances.repositories;
+
+import com.personnel.personnelservice.adapters.persistances.entities.EmailOutbox;
+import com.personnel.personnelservice.core.models.enums.EmailOutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaEmailOutboxRepository extends JpaBaseRepository<EmailOutbox> {
+
+    /**
+     * Find the emails due for a delivery attempt, oldest first
+     * @param status the outbox status
+     * @param now emails scheduled up to this date are due
+     * @param limit maximum number of emails
+     * @return list of emails
+     */
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(EmailOutboxStatus status,
+                                                                                       LocalDateTime now, Limit limit);
+
+    /**
+     * Reserve an email for a delivery attempt. Seul le noeud dont la mise à jour aboutit envoie l'email
+     * @param id the email id
+     * @param status the status the email must still have
+     * @param attempts the number of attempts read with the email
+     * @param leaseUntil date at which the email is due again if the attempt never completes
+     * @return 1 if the email has been reserved, 0 if another node got it first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+            "WHERE e.id = :id AND e.status = :status AND e.attempts = :attempts")
+    int claim(@Param("id") UUID id,
+              @Param("status") EmailOutboxStatus status,
+              @Param("attempts") int attempts,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Mark emails as delivered
+     * @param ids the email ids
+     * @param status the new status
+     * @param sentAt the delivery date
+     * @return number of updated emails
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.sentAt = :sentAt, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids,
+                 @Param("status") EmailOutboxStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Record a failed delivery attempt
+     * @param id the email id
+     * @param status PENDING to retry, FAILED to give up
+     * @param nextAttemptAt date of the next attempt
+     * @param lastError the delivery error
+     * @return number of updated emails
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int markFailed(@Param("id") UUID id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    /**
+     * Delete the emails delivered before a date
+     * @param status the outbox status
+     * @param sentBefore emails delivered before this date are deleted
+     * @return number of deleted emails
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.sentAt < :sentBefore")
+    int deleteSentBefore(@Param("status") EmailOutboxStatus status, @Param("sentBefore") LocalDateTime sentBefore);
+}
@@ -1,9 +1,12 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 
 import java.util.Optional;
 
 public interface JpaMedecinRepository extends JpaBaseRepository<Medecin>  {
+    @EntityGraph(User.WITH_AUTHORITIES)
     Optional<Medecin> findByEmail(String email);
 }
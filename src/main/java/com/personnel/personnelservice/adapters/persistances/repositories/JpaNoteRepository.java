@@ -2,22 +2,42 @@ package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Note;
 import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface JpaNoteRepository extends JpaBaseRepository<Note> {
 
+    /**
+     * Keyset condition and order of the cursor listings, most recent first
+     */
+    String AFTER_CURSOR = "(n.creationDate < :creationDate OR (n.creationDate = :creationDate AND n.id < :id))";
+    String CURSOR_ORDER = " ORDER BY n.creationDate DESC, n.id DESC";
+
     /**
      * Find all notes by voice
      * @param voiceId the voice id
      * @return list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     List<Note> findByVoiceId(UUID voiceId);
 
+    /**
+     * Find all notes of several voices
+     * @param voiceIds the voice ids
+     * @return list of notes
+     */
+    List<Note> findByVoiceIdIn(Collection<UUID> voiceIds);
+
     /**
      * Find all notes by voice
      * @param voice the voice
@@ -31,6 +51,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param pageable pagination information
      * @return paginated list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     Page<Note> findByVoice(Voice voice, Pageable pageable);
 
     /**
@@ -38,6 +59,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param voiceId the voice id
      * @return the latest note
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     Optional<Note> findTopByVoiceIdOrderByCreationDateDesc(UUID voiceId);
 
     /**
@@ -45,6 +67,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param voiceId the voice id
      * @return list of validated notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     List<Note> findByVoiceIdAndValidatedTrue(UUID voiceId);
 
     /**
@@ -52,6 +75,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param assistantId the assistant id
      * @return list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     List<Note> findByAssistantId(UUID assistantId);
 
     /**
@@ -60,6 +84,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param pageable pagination information
      * @return paginated list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     Page<Note> findByAssistantId(UUID assistantId, Pageable pageable);
 
     /**
@@ -67,6 +92,7 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param modifierId the modifier id
      * @return list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     List<Note> findByModifierId(UUID modifierId);
 
     /**
@@ -75,5 +101,90 @@ public interface JpaNoteRepository extends JpaBaseRepository<Note> {
      * @param pageable pagination information
      * @return paginated list of notes
      */
+    @EntityGraph(Note.WITH_REFERENCES)
     Page<Note> findByContentTxtContainingIgnoreCase(String searchText, Pageable pageable);
+
+    /**
+     * Find the notes created before the cursor
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return notes, most recent first
+     */
+    @Query("SELECT n FROM Note n WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findPageAfter(@Param("creationDate") LocalDateTime creationDate, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Find the notes of a voice created before the cursor
+     * @param voiceId the voice id
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return notes, most recent first
+     */
+    @Query("SELECT n FROM Note n WHERE n.voice.id = :voiceId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findPageByVoiceIdAfter(@Param("voiceId") UUID voiceId,
+                                      @Param("creationDate") LocalDateTime creationDate,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
+    /**
+     * Find the notes of an assistant created before the cursor
+     * @param assistantId the assistant id
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return notes, most recent first
+     */
+    @Query("SELECT n FROM Note n WHERE n.assistant.id = :assistantId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findPageByAssistantIdAfter(@Param("assistantId") UUID assistantId,
+                                          @Param("creationDate") LocalDateTime creationDate,
+                                          @Param("id") UUID id,
+                                          Limit limit);
+
+    /**
+     * Find a note with the associations read by its DTO
+     * @param id the note id
+     * @return the note if found
+     */
+    @EntityGraph(Note.WITH_REFERENCES)
+    Optional<Note> findWithReferencesById(UUID id);
+
+    /**
+     * Find paginated notes with the associations read by their DTO
+     * @param pageable pagination information
+     * @return paginated list of notes
+     */
+    @EntityGraph(Note.WITH_REFERENCES)
+    Page<Note> findWithReferencesBy(Pageable pageable);
+
+    /**
+     * Find notes by id with the associations read by their DTO
+     * @param ids the note ids
+     * @return the existing notes, in no particular order
+     */
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findWithReferencesByIdIn(Collection<UUID> ids);
+
+    /**
+     * Find the first notes ordered by id, with the associations read by the DTOs of the export
+     * @param limit maximum number of rows
+     * @return notes ordered by id
+     */
+    @Override
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Find the notes following an id, with the associations read by the DTOs of the export
+     * @param id id of the last row already read
+     * @param limit maximum number of rows
+     * @return notes ordered by id
+     */
+    @Override
+    @EntityGraph(Note.WITH_REFERENCES)
+    List<Note> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
\ No newline at end of file
@@ -2,12 +2,15 @@ package com.personnel.personnelservice.adapters.persistances.repositories;
 
 
 import com.personnel.personnelservice.adapters.persistances.entities.Patient;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 
 import java.util.List;
 import java.util.Optional;
 
 
 public interface JpaPatientRepository extends JpaBaseRepository<Patient>  {
+    @EntityGraph(User.WITH_AUTHORITIES)
     Optional<Patient> findByEmail(String email);
     List<Patient> findPatientByCreatedBy(String createdBy);
 }
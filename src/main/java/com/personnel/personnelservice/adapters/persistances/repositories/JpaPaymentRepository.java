@@ -1,8 +1,12 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,11 +15,18 @@ import java.util.UUID;
 
 public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
 
+    /**
+     * Keyset condition and order of the cursor listings, most recent first
+     */
+    String AFTER_CURSOR = "(p.creationDate < :creationDate OR (p.creationDate = :creationDate AND p.id < :id))";
+    String CURSOR_ORDER = " ORDER BY p.creationDate DESC, p.id DESC";
+
     /**
      * Find all payments by user
      * @param userId the user id
      * @return list of payments
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     List<Payment> findByUserId(UUID userId);
 
     /**
@@ -23,6 +34,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param userId the user id
      * @return list of active payments
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     List<Payment> findByUserIdAndActiveTrue(UUID userId);
 
     /**
@@ -30,6 +42,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param userId the user id
      * @return the latest active payment if found
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     Optional<Payment> findTopByUserIdAndActiveTrueOrderByEndDateDesc(UUID userId);
 
     /**
@@ -37,6 +50,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param purchaseToken the purchase token
      * @return the payment if found
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     Optional<Payment> findByPurchaseToken(String purchaseToken);
 
     /**
@@ -44,6 +58,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param receiptData the receipt data
      * @return the payment if found
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     Optional<Payment> findByReceiptData(String receiptData);
 
     /**
@@ -52,6 +67,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param pageable pagination information
      * @return paginated list of payments
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     Page<Payment> findByUserId(UUID userId, Pageable pageable);
 
     /**
@@ -60,6 +76,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param pageable pagination information
      * @return paginated list of payments
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     Page<Payment> findByPlatform(String platform, Pageable pageable);
 
     /**
@@ -67,6 +84,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param productId the product id
      * @return list of payments
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     List<Payment> findByProductId(String productId);
 
     /**
@@ -74,6 +92,7 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @param endDate the end date threshold
      * @return list of payments expiring soon
      */
+    @EntityGraph(Payment.WITH_REFERENCES)
     List<Payment> findByActiveTrueAndEndDateBefore(LocalDateTime endDate);
 
     /**
@@ -81,4 +100,65 @@ public interface JpaPaymentRepository extends JpaBaseRepository<Payment> {
      * @return number of active subscriptions
      */
     long countByActiveTrue();
+
+    /**
+     * Find the payments created before the cursor
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return payments, most recent first
+     */
+    @Query("SELECT p FROM Payment p WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(Payment.WITH_REFERENCES)
+    List<Payment> findPageAfter(@Param("creationDate") LocalDateTime creationDate, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Find the payments of a user created before the cursor
+     * @param userId the user id
+     * @param creationDate creation date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return payments, most recent first
+     */
+    @Query("SELECT p FROM Payment p WHERE p.user.id = :userId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    @EntityGraph(Payment.WITH_REFERENCES)
+    List<Payment> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                        @Param("creationDate") LocalDateTime creationDate,
+                                        @Param("id") UUID id,
+                                        Limit limit);
+
+    /**
+     * Find a payment with the associations read by its DTO
+     * @param id the payment id
+     * @return the payment if found
+     */
+    @EntityGraph(Payment.WITH_REFERENCES)
+    Optional<Payment> findWithReferencesById(UUID id);
+
+    /**
+     * Find paginated payments with the associations read by their DTO
+     * @param pageable pagination information
+     * @return paginated list of payments
+     */
+    @EntityGraph(Payment.WITH_REFERENCES)
+    Page<Payment> findWithReferencesBy(Pageable pageable);
+
+    /**
+     * Find the first payments ordered by id, with the associations read by the DTOs of the export
+     * @param limit maximum number of rows
+     * @return payments ordered by id
+     */
+    @Override
+    @EntityGraph(Payment.WITH_REFERENCES)
+    List<Payment> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Find the payments following an id, with the associations read by the DTOs of the export
+     * @param id id of the last row already read
+     * @param limit maximum number of rows
+     * @return payments ordered by id
+     */
+    @Override
+    @EntityGraph(Payment.WITH_REFERENCES)
+    List<Payment> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
\ No newline at end of file
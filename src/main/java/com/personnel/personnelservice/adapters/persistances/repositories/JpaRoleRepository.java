@@ -1,9 +1,18 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface JpaRoleRepository extends JpaBaseRepository<Role> {
     Optional<Role> findByName(String patient);
+
+    /**
+     * Find all roles with their permissions in a single query
+     * @return all roles
+     */
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions")
+    List<Role> findAllWithPermissions();
 }
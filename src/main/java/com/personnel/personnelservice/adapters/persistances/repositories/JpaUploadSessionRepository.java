@@ -0,0 +1,39 @@
+package com.personnel.personnelservice.adapters.persistances.repositories;
+
+import com.personnel.personnelservice.adapters.persistances.entities.UploadSession;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface JpaUploadSessionRepository extends JpaBaseRepository<UploadSession> {
+
+    /**
+     * Mark the upload session as completed, unless another completion already did.
+     *
+     * @param id the id of the upload session
+     * @return 1 if this call completed the session, 0 if it was already completed
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.completed = true WHERE s.id = :id AND s.completed = false")
+    int markCompleted(@Param("id") UUID id);
+
+    /**
+     * Reopen an upload session whose completion failed.
+     *
+     * @param id the id of the upload session
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.completed = false WHERE s.id = :id")
+    int reopen(@Param("id") UUID id);
+
+    /**
+     * Read the completion flag from the database, bypassing the persistence context.
+     *
+     * @param id the id of the upload session
+     * @return true if the upload session is completed
+     */
+    boolean existsByIdAndCompletedTrue(UUID id);
+}
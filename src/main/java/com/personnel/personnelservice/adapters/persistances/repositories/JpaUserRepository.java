@@ -1,11 +1,27 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface JpaUserRepository extends JpaBaseRepository<User>  {
+    @EntityGraph(User.WITH_AUTHORITIES)
     Optional<User> findByEmail(String email);
     List<User> findUserByCreatedBy(String username);
+
+    /**
+     * Find the identity and concrete type of users in a single query, without loading their roles
+     * @param ids the user ids
+     * @return the references of the existing users
+     */
+    @Query("SELECT new com.personnel.personnelservice.core.models.dtos.UserReferenceDto(" +
+            "u.id, TYPE(u), u.firstName, u.lastName, u.email) FROM User u WHERE u.id IN :ids")
+    List<UserReferenceDto> findReferencesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -1,62 +1,165 @@
 package com.personnel.personnelservice.adapters.persistances.repositories;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Voice;
-import com.personnel.personnelservice.adapters.persistances.entities.Patient;
-import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface JpaVoiceRepository extends JpaBaseRepository<Voice> {
 
+    String SUMMARY_SELECT = "SELECT new com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto(" +
+            "v.id, v.title, v.creationDate, d.id, d.firstName, d.lastName, p.id, p.firstName, p.lastName) " +
+            "FROM Voice v LEFT JOIN v.doctor d LEFT JOIN v.patient p";
+
+    /**
+     * Keyset condition and order of the cursor listings, most recent first
+     */
+    String AFTER_CURSOR = "(v.creationDate < :creationDate OR (v.creationDate = :creationDate AND v.id < :id))";
+    String CURSOR_ORDER = " ORDER BY v.creationDate DESC, v.id DESC";
+
+    /**
+     * Find the summary of a voice, without loading the voice, its doctor and its patient as entities
+     * @param id the voice id
+     * @return the voice summary if found
+     */
+    @Query(SUMMARY_SELECT + " WHERE v.id = :id")
+    Optional<VoiceSummaryDto> findSummaryById(@Param("id") UUID id);
+
+    /**
+     * Find the summaries of all voices
+     * @param pageable pagination information
+     * @return paginated list of voice summaries
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(v) FROM Voice v")
+    Page<VoiceSummaryDto> findSummaries(Pageable pageable);
+
     /**
-     * Find all voices by doctor
+     * Find the summaries of the voices of a doctor
      * @param doctorId the doctor id
-     * @return list of voices
+     * @return list of voice summaries
      */
-    List<Voice> findByDoctorId(UUID doctorId);
+    @Query(SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId")
+    List<VoiceSummaryDto> findSummariesByDoctorId(@Param("doctorId") UUID doctorId);
 
     /**
-     * Find all voices by patient
+     * Find the summaries of the voices of a doctor
+     * @param doctorId the doctor id
+     * @param pageable pagination information
+     * @return paginated list of voice summaries
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId",
+            countQuery = "SELECT COUNT(v) FROM Voice v WHERE v.doctor.id = :doctorId")
+    Page<VoiceSummaryDto> findSummariesByDoctorId(@Param("doctorId") UUID doctorId, Pageable pageable);
+
+    /**
+     * Find the summaries of the voices of a patient
      * @param patientId the patient id
-     * @return list of voices
+     * @return list of voice summaries
      */
-    List<Voice> findByPatientId(UUID patientId);
+    @Query(SUMMARY_SELECT + " WHERE v.patient.id = :patientId")
+    List<VoiceSummaryDto> findSummariesByPatientId(@Param("patientId") UUID patientId);
 
     /**
-     * Find all voices by doctor and patient
+     * Find the summaries of the voices of a patient
+     * @param patientId the patient id
+     * @param pageable pagination information
+     * @return paginated list of voice summaries
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE v.patient.id = :patientId",
+            countQuery = "SELECT COUNT(v) FROM Voice v WHERE v.patient.id = :patientId")
+    Page<VoiceSummaryDto> findSummariesByPatientId(@Param("patientId") UUID patientId, Pageable pageable);
+
+    /**
+     * Find the summaries of the voices of a doctor for a patient
      * @param doctorId the doctor id
      * @param patientId the patient id
-     * @return list of voices
+     * @return list of voice summaries
      */
-    List<Voice> findByDoctorIdAndPatientId(UUID doctorId, UUID patientId);
+    @Query(SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId AND v.patient.id = :patientId")
+    List<VoiceSummaryDto> findSummariesByDoctorIdAndPatientId(@Param("doctorId") UUID doctorId,
+                                                              @Param("patientId") UUID patientId);
 
     /**
-     * Find paginated voices by doctor
-     * @param doctor the doctor
+     * Find the summaries of the voices of a doctor for a patient
+     * @param doctorId the doctor id
+     * @param patientId the patient id
      * @param pageable pagination information
-     * @return paginated list of voices
+     * @return paginated list of voice summaries
      */
-    Page<Voice> findByDoctor(Medecin doctor, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId AND v.patient.id = :patientId",
+            countQuery = "SELECT COUNT(v) FROM Voice v WHERE v.doctor.id = :doctorId AND v.patient.id = :patientId")
+    Page<VoiceSummaryDto> findSummariesByDoctorIdAndPatientId(@Param("doctorId") UUID doctorId,
+                                                              @Param("patientId") UUID patientId,
+                                                              Pageable pageable);
 
     /**
-     * Find paginated voices by patient
-     * @param patient the patient
-     * @param pageable pagination information
-     * @return paginated list of voices
+     * Find the summaries of the voices created before the cursor
+     * @param creationDate creation date of the last voice of the previous page
+     * @param id id of the last voice of the previous page
+     * @param limit maximum number of summaries
+     * @return voice summaries, most recent first
      */
-    Page<Voice> findByPatient(Patient patient, Pageable pageable);
+    @Query(SUMMARY_SELECT + " WHERE " + AFTER_CURSOR + CURSOR_ORDER)
+    List<VoiceSummaryDto> findSummariesAfter(@Param("creationDate") LocalDateTime creationDate,
+                                             @Param("id") UUID id,
+                                             Limit limit);
 
     /**
-     * Find paginated voices by doctor and patient
-     * @param doctor the doctor
-     * @param patient the patient
-     * @param pageable pagination information
-     * @return paginated list of voices
+     * Find the summaries of the voices of a doctor created before the cursor
+     * @param doctorId the doctor id
+     * @param creationDate creation date of the last voice of the previous page
+     * @param id id of the last voice of the previous page
+     * @param limit maximum number of summaries
+     * @return voice summaries, most recent first
      */
-    Page<Voice> findByDoctorAndPatient(Medecin doctor, Patient patient, Pageable pageable);
+    @Query(SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<VoiceSummaryDto> findSummariesByDoctorIdAfter(@Param("doctorId") UUID doctorId,
+                                                       @Param("creationDate") LocalDateTime creationDate,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    /**
+     * Find the summaries of the voices of a patient created before the cursor
+     * @param patientId the patient id
+     * @param creationDate creation date of the last voice of the previous page
+     * @param id id of the last voice of the previous page
+     * @param limit maximum number of summaries
+     * @return voice summaries, most recent first
+     */
+    @Query(SUMMARY_SELECT + " WHERE v.patient.id = :patientId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<VoiceSummaryDto> findSummariesByPatientIdAfter(@Param("patientId") UUID patientId,
+                                                        @Param("creationDate") LocalDateTime creationDate,
+                                                        @Param("id") UUID id,
+                                                        Limit limit);
+
+    /**
+     * Find the summaries of the voices of a doctor for a patient created before the cursor
+     * @param doctorId the doctor id
+     * @param patientId the patient id
+     * @param creationDate creation date of the last voice of the previous page
+     * @param id id of the last voice of the previous page
+     * @param limit maximum number of summaries
+     * @return voice summaries, most recent first
+     */
+    @Query(SUMMARY_SELECT + " WHERE v.doctor.id = :doctorId AND v.patient.id = :patientId AND " + AFTER_CURSOR + CURSOR_ORDER)
+    List<VoiceSummaryDto> findSummariesByDoctorIdAndPatientIdAfter(@Param("doctorId") UUID doctorId,
+                                                                   @Param("patientId") UUID patientId,
+                                                                   @Param("creationDate") LocalDateTime creationDate,
+                                                                   @Param("id") UUID id,
+                                                                   Limit limit);
 
     /**
      * Search voices by title (containing the search text)
@@ -64,5 +167,113 @@ public interface JpaVoiceRepository extends JpaBaseRepository<Voice> {
      * @param pageable pagination information
      * @return paginated list of voices
      */
+    @EntityGraph(Voice.WITH_REFERENCES)
     Page<Voice> findByTitleContainingIgnoreCase(String searchText, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Search voices by title, remark or note content with optional filters, used while the search index is rebuilt
+     * @param text lower-case LIKE pattern, null to match every voice
+     * @param doctorId the doctor id, null for any doctor
+     * @param patientId the patient id, null for any patient
+     * @param validated true for voices with a validated note, false for the others, null for both
+     * @param from inclusive lower bound of the creation date, null for none
+     * @param to exclusive upper bound of the creation date, null for none
+     * @param pageable pagination information
+     * @return paginated list of voices
+     */
+    @Query("SELECT v FROM Voice v WHERE " +
+            "(:doctorId IS NULL OR v.doctor.id = :doctorId) " +
+            "AND (:patientId IS NULL OR v.patient.id = :patientId) " +
+            "AND (:from IS NULL OR v.creationDate >= :from) " +
+            "AND (:to IS NULL OR v.creationDate < :to) " +
+            "AND (:text IS NULL OR LOWER(v.title) LIKE :text OR LOWER(v.remarque) LIKE :text " +
+            "OR EXISTS (SELECT 1 FROM Note n WHERE n.voice = v AND LOWER(n.contentTxt) LIKE :text)) " +
+            "AND (:validated IS NULL " +
+            "OR (:validated = true AND EXISTS (SELECT 1 FROM Note vn WHERE vn.voice = v AND vn.validated = true)) " +
+            "OR (:validated = false AND NOT EXISTS (SELECT 1 FROM Note vn WHERE vn.voice = v AND vn.validated = true)))")
+    @EntityGraph(Voice.WITH_REFERENCES)
+    Page<Voice> search(@Param("text") String text,
+                       @Param("doctorId") UUID doctorId,
+                       @Param("patientId") UUID patientId,
+                       @Param("validated") Boolean validated,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to,
+                       Pageable pageable);
+
+    /**
+     * Find voices waiting for transcoding, oldest first
+     * @param transcodingStatus the transcoding status
+     * @param pageable pagination information
+     * @return list of voices
+     */
+    List<Voice> findByTranscodingStatusOrderByCreationDateAsc(TranscodingStatus transcodingStatus, Pageable pageable);
+
+    /**
+     * Record the result of a transcoding without touching the other columns of the voice.
+     * Nothing is updated if the recording has been replaced since the transcoding started
+     * @param id the voice id
+     * @param path the path of the transcoded recording
+     * @param transcodingStatus the transcoding status
+     * @param transcodedFileId the id of the transcoded file
+     * @param bitrate the bitrate of the transcoded file in bits per second
+     * @param durationMillis the duration of the recording in milliseconds
+     * @return number of updated voices
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Voice v SET v.transcodingStatus = :transcodingStatus, v.transcodedFileId = :transcodedFileId, " +
+            "v.bitrate = :bitrate, v.durationMillis = :durationMillis WHERE v.id = :id AND v.path = :path")
+    int updateTranscoding(@Param("id") UUID id,
+                          @Param("path") String path,
+                          @Param("transcodingStatus") TranscodingStatus transcodingStatus,
+                          @Param("transcodedFileId") UUID transcodedFileId,
+                          @Param("bitrate") Integer bitrate,
+                          @Param("durationMillis") Long durationMillis);
+
+    /**
+     * Attach the precomputed waveform peaks to a voice, unless the recording has been replaced since
+     * @param id the voice id
+     * @param path the path of the recording the peaks were computed from
+     * @param waveformFileId the id of the waveform file
+     * @return number of updated voices
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Voice v SET v.waveformFileId = :waveformFileId WHERE v.id = :id AND v.path = :path")
+    int updateWaveform(@Param("id") UUID id, @Param("path") String path, @Param("waveformFileId") UUID waveformFileId);
+
+    /**
+     * Find a voice with the associations read by its DTO
+     * @param id the voice id
+     * @return the voice if found
+     */
+    @EntityGraph(Voice.WITH_REFERENCES)
+    Optional<Voice> findWithReferencesById(UUID id);
+
+    /**
+     * Find voices by id with the associations read by their DTO
+     * @param ids the voice ids
+     * @return the existing voices, in no particular order
+     */
+    @EntityGraph(Voice.WITH_REFERENCES)
+    List<Voice> findWithReferencesByIdIn(Collection<UUID> ids);
+
+    /**
+     * Find the first voices ordered by id, with the associations read by the DTOs of the export
+     * @param limit maximum number of rows
+     * @return voices ordered by id
+     */
+    @Override
+    @EntityGraph(Voice.WITH_REFERENCES)
+    List<Voice> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Find the voices following an id, with the associations read by the DTOs of the export
+     * @param id id of the last row already read
+     * @param limit maximum number of rows
+     * @return voices ordered by id
+     */
+    @Override
+    @EntityGraph(Voice.WITH_REFERENCES)
+    List<Voice> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+}
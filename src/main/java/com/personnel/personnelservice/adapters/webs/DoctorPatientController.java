@@ -1,6 +1,7 @@
 package com.personnel.personnelservice.adapters.webs;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.DoctorPatientDto;
 import com.personnel.personnelservice.core.models.views.Views;
 import com.personnel.personnelservice.core.ports.services.DoctorPatientService;
@@ -114,6 +115,21 @@ public class DoctorPatientController {
         return ResponseEntity.ok(relationships);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get doctor-patient relationships by cursor", description = "Returns a page of doctor-patient relationships, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of doctor-patient relationships"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<DoctorPatientDto>> getAllDoctorPatientsByCursor(
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<DoctorPatientDto> relationships = doctorPatientService.getAllDoctorPatients(cursor, size);
+        return ResponseEntity.ok(relationships);
+    }
+
     @GetMapping("/doctor/{doctorId}")
     @Operation(summary = "Get doctor-patient relationships by doctor", description = "Returns a list of doctor-patient relationships for a specific doctor")
     @ApiResponses({
@@ -143,6 +159,23 @@ public class DoctorPatientController {
         return ResponseEntity.ok(relationships);
     }
 
+    @GetMapping("/doctor/{doctorId}/cursor")
+    @Operation(summary = "Get doctor-patient relationships by doctor by cursor", description = "Returns a page of doctor-patient relationships for a specific doctor, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of doctor-patient relationships"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Doctor not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<DoctorPatientDto>> getDoctorPatientsByDoctorIdByCursor(
+            @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<DoctorPatientDto> relationships = doctorPatientService.getDoctorPatientsByDoctorId(doctorId, cursor, size);
+        return ResponseEntity.ok(relationships);
+    }
+
     @GetMapping("/patient/{patientId}")
     @Operation(summary = "Get doctor-patient relationships by patient", description = "Returns a list of doctor-patient relationships for a specific patient")
     @ApiResponses({
@@ -172,6 +205,23 @@ public class DoctorPatientController {
         return ResponseEntity.ok(relationships);
     }
 
+    @GetMapping("/patient/{patientId}/cursor")
+    @Operation(summary = "Get doctor-patient relationships by patient by cursor", description = "Returns a page of doctor-patient relationships for a specific patient, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of doctor-patient relationships"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Patient not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<DoctorPatientDto>> getDoctorPatientsByPatientIdByCursor(
+            @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<DoctorPatientDto> relationships = doctorPatientService.getDoctorPatientsByPatientId(patientId, cursor, size);
+        return ResponseEntity.ok(relationships);
+    }
+
     @GetMapping("/doctor/{doctorId}/patient/{patientId}")
     @Operation(summary = "Get doctor-patient relationship by doctor and patient", description = "Returns a specific doctor-patient relationship for a doctor and patient")
     @ApiResponses({
@@ -2,20 +2,32 @@ package com.personnel.personnelservice.adapters.webs;
 
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
 import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
 import com.personnel.personnelservice.core.models.views.Views;
 import com.personnel.personnelservice.core.ports.services.StorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,6 +36,11 @@ import java.util.UUID;
 @Tag(name = "MetaData Controller", description = "This controller handles metadata related operations")
 public class FileController {
 
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private final StorageService fileStorageService;
 
 
@@ -48,4 +65,148 @@ public class FileController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @DeleteMapping("/{fileId}")
+    @Operation(summary = "Delete a file", description = "Deletes a file; shared content is kept while other files reference it")
+    public ResponseEntity<Void> deleteFile(@PathVariable UUID fileId) {
+        fileStorageService.deleteFile(fileId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Start a chunked upload", description = "Opens a resumable upload session for a large file")
+    @JsonView(Views.Response.class)
+    public ResponseEntity<UploadSessionDto> initUpload(
+            @RequestBody @JsonView(Views.Create.class) UploadSessionDto uploadSessionDto) {
+        UploadSessionDto uploadSession = fileStorageService.initUpload(uploadSessionDto);
+        return new ResponseEntity<>(uploadSession, HttpStatus.CREATED);
+    }
+
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Append a chunk", description = "Streams a chunk at the given offset; the offset must match the bytes already received")
+    @JsonView(Views.Response.class)
+    public ResponseEntity<UploadSessionDto> appendChunk(
+            @PathVariable UUID uploadId,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request) throws IOException {
+        UploadSessionDto uploadSession = fileStorageService.appendChunk(uploadId, offset, request.getInputStream());
+        return ResponseEntity.ok(uploadSession);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @Operation(summary = "Get a chunked upload status", description = "Returns the number of bytes received so the client can resume")
+    @JsonView(Views.Response.class)
+    public ResponseEntity<UploadSessionDto> getUploadStatus(@PathVariable UUID uploadId) throws IOException {
+        return ResponseEntity.ok(fileStorageService.getUploadStatus(uploadId));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @Operation(summary = "Complete a chunked upload", description = "Finalizes the upload and returns the file metadata")
+    @JsonView(Views.Response.class)
+    public ResponseEntity<MetadataFileDTO> completeUpload(@PathVariable UUID uploadId) throws IOException {
+        return ResponseEntity.ok(fileStorageService.completeUpload(uploadId));
+    }
+
+    @GetMapping("/{fileId}/content")
+    @Operation(summary = "Download or stream a file", description = "Serves the file bytes, honouring Range, If-Range and If-None-Match headers")
+    public void streamFile(@PathVariable UUID fileId,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        StoredFileDto storedFile = fileStorageService.getStoredFile(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("MetaDataFile", fileId));
+        long length = storedFile.getContentLength();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, storedFile.getETag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, storedFile.getLastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=0, must-revalidate");
+
+        if (matchesIfNoneMatch(request, storedFile.getETag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && isRangeApplicable(request, storedFile)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Seules les requêtes mono-plage sont servies en 206, les autres reçoivent le fichier complet
+            if (ranges.size() == 1) {
+                boolean satisfiable;
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    // HttpRange ne vérifie pas qu'une plage "a-b" commence avant la fin du fichier
+                    satisfiable = start < length && start <= end;
+                } catch (IllegalArgumentException e) {
+                    satisfiable = false;
+                }
+                if (!satisfiable) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(storedFile.getMimeType() != null ? storedFile.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(count);
+        if (count <= 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (storedFile.getLocalPath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // Tomcat envoie le fichier via sendfile(2), sans copie dans la JVM
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, storedFile.getLocalPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+            return;
+        }
+
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        fileStorageService.transferTo(fileId, start, count, target);
+    }
+
+    /**
+     * If-None-Match est une liste d'ETags, éventuellement répartie sur plusieurs en-têtes, comparés faiblement
+     * (le préfixe W/ est ignoré) ; "*" correspond à toute représentation existante.
+     */
+    private boolean matchesIfNoneMatch(HttpServletRequest request, String eTag) {
+        String opaqueTag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*") || (candidate.startsWith("W/") ? candidate.substring(2) : candidate).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isRangeApplicable(HttpServletRequest request, StoredFileDto storedFile) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(storedFile.getETag());
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate != -1 && storedFile.getLastModified().toEpochMilli() / 1000 <= ifRangeDate / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes an export as application/x-ndjson (one JSON document per line) while it is being read,
+ * the response is flushed after each chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonStreamer {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param export the export to run, it receives the consumer of its chunks
+     * @return the streamed response, serialized with the Response view
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<List<T>>> export) {
+        ObjectWriter writer = objectMapper.writerWithView(Views.Response.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                // Le séparateur des documents est le saut de ligne écrit après chacun, pas l'espace par défaut
+                generator.setRootValueSeparator(null);
+                export.accept(chunk -> {
+                    try {
+                        for (T item : chunk) {
+                            writer.writeValue(generator, item);
+                            generator.writeRaw('\n');
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,7 +1,10 @@
 package com.personnel.personnelservice.adapters.webs;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.NoteBatchResultDto;
 import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
 import com.personnel.personnelservice.core.models.views.Views;
 import com.personnel.personnelservice.core.ports.services.NoteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +34,7 @@ import java.util.UUID;
 public class NoteController {
 
     private final NoteService noteService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     @Operation(summary = "Create a new note", description = "Creates a new note with the provided data")
@@ -46,6 +51,21 @@ public class NoteController {
         return new ResponseEntity<>(createdNote, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create or update notes in bulk",
+            description = "Creates the notes without id and updates the others in a single transaction. "
+                    + "Returns one result per note, in the order of the request; an invalid note does not prevent the others from being saved")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or too many notes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<List<NoteBatchResultDto>> saveNotes(
+            @RequestBody @JsonView(Views.Update.class) List<NoteDto> noteDtos) {
+        return ResponseEntity.ok(noteService.saveNotes(noteDtos));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a note by ID", description = "Returns a note as per the ID")
     @ApiResponses({
@@ -91,15 +111,13 @@ public class NoteController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all notes", description = "Returns a list of all notes")
+    @Operation(summary = "Export all notes", description = "Streams all notes as newline-delimited JSON (application/x-ndjson), one note per line")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of notes"),
+            @ApiResponse(responseCode = "200", description = "Successfully streamed the notes"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @JsonView(Views.Response.class)
-    public ResponseEntity<List<NoteDto>> getAllNotes() {
-        List<NoteDto> notes = noteService.getAllNotes();
-        return ResponseEntity.ok(notes);
+    public ResponseEntity<StreamingResponseBody> exportNotes() {
+        return ndjsonStreamer.stream(noteService::exportNotes);
     }
 
     @GetMapping("/paginated")
@@ -109,11 +127,28 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
     public ResponseEntity<Page<NoteDto>> getAllNotesPaginated(Pageable pageable) {
         Page<NoteDto> notes = noteService.getAllNotes(pageable);
         return ResponseEntity.ok(notes);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get notes by cursor", description = "Returns a page of notes, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of notes"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
+    public ResponseEntity<CursorPageDto<NoteDto>> getAllNotesByCursor(
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<NoteDto> notes = noteService.getAllNotes(cursor, size);
+        return ResponseEntity.ok(notes);
+    }
+
     @GetMapping("/voice/{voiceId}")
     @Operation(summary = "Get notes by voice", description = "Returns a list of notes for a specific voice recording")
     @ApiResponses({
@@ -122,6 +157,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
     public ResponseEntity<List<NoteDto>> getNotesByVoiceId(
             @Parameter(description = "ID of the voice recording", required = true) @PathVariable UUID voiceId) {
         List<NoteDto> notes = noteService.getNotesByVoiceId(voiceId);
@@ -136,6 +172,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
     public ResponseEntity<Page<NoteDto>> getNotesByVoiceIdPaginated(
             @Parameter(description = "ID of the voice recording", required = true) @PathVariable UUID voiceId,
             Pageable pageable) {
@@ -143,6 +180,24 @@ public class NoteController {
         return ResponseEntity.ok(notes);
     }
 
+    @GetMapping("/voice/{voiceId}/cursor")
+    @Operation(summary = "Get notes by voice by cursor", description = "Returns a page of notes for a specific voice recording, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of notes"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Voice not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
+    public ResponseEntity<CursorPageDto<NoteDto>> getNotesByVoiceIdByCursor(
+            @Parameter(description = "ID of the voice recording", required = true) @PathVariable UUID voiceId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<NoteDto> notes = noteService.getNotesByVoiceId(voiceId, cursor, size);
+        return ResponseEntity.ok(notes);
+    }
+
     @GetMapping("/voice/{voiceId}/latest")
     @Operation(summary = "Get latest note by voice", description = "Returns the latest note for a specific voice recording")
     @ApiResponses({
@@ -166,6 +221,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
     public ResponseEntity<List<NoteDto>> getValidatedNotesByVoiceId(
             @Parameter(description = "ID of the voice recording", required = true) @PathVariable UUID voiceId) {
         List<NoteDto> notes = noteService.getValidatedNotesByVoiceId(voiceId);
@@ -180,6 +236,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
     public ResponseEntity<List<NoteDto>> getNotesByAssistantId(
             @Parameter(description = "ID of the assistant", required = true) @PathVariable UUID assistantId) {
         List<NoteDto> notes = noteService.getNotesByAssistantId(assistantId);
@@ -194,6 +251,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
     public ResponseEntity<Page<NoteDto>> getNotesByAssistantIdPaginated(
             @Parameter(description = "ID of the assistant", required = true) @PathVariable UUID assistantId,
             Pageable pageable) {
@@ -201,6 +259,24 @@ public class NoteController {
         return ResponseEntity.ok(notes);
     }
 
+    @GetMapping("/assistant/{assistantId}/cursor")
+    @Operation(summary = "Get notes by assistant by cursor", description = "Returns a page of notes for a specific assistant, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of notes"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Assistant not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
+    public ResponseEntity<CursorPageDto<NoteDto>> getNotesByAssistantIdByCursor(
+            @Parameter(description = "ID of the assistant", required = true) @PathVariable UUID assistantId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<NoteDto> notes = noteService.getNotesByAssistantId(assistantId, cursor, size);
+        return ResponseEntity.ok(notes);
+    }
+
     @GetMapping("/modifier/{modifierId}")
     @Operation(summary = "Get notes by modifier", description = "Returns a list of notes for a specific modifier")
     @ApiResponses({
@@ -209,6 +285,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(2)
     public ResponseEntity<List<NoteDto>> getNotesByModifierId(
             @Parameter(description = "ID of the modifier", required = true) @PathVariable UUID modifierId) {
         List<NoteDto> notes = noteService.getNotesByModifierId(modifierId);
@@ -222,6 +299,7 @@ public class NoteController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
     public ResponseEntity<Page<NoteDto>> searchNotesByContent(
             @Parameter(description = "Search text", required = true) @RequestParam String searchText,
             Pageable pageable) {
@@ -229,6 +307,34 @@ public class NoteController {
         return ResponseEntity.ok(notes);
     }
 
+    @GetMapping("/search/full-text")
+    @Operation(summary = "Full-text search of notes", description = "Returns notes ranked by relevance with highlighted passages, using French-aware analysis")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the paginated list of matching notes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    @SqlStatementBudget(3)
+    public ResponseEntity<Page<NoteSearchHitDto>> searchNotes(
+            @Parameter(description = "Search text", required = true) @RequestParam String query,
+            Pageable pageable) {
+        Page<NoteSearchHitDto> hits = noteService.searchNotes(query, pageable);
+        return ResponseEntity.ok(hits);
+    }
+
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Rebuild the note search index",
+            description = "Starts reindexing every note in the background; searches use the database until it completes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Search index rebuild started"),
+            @ApiResponse(responseCode = "403", description = "Missing the MANAGE_SEARCH_INDEX permission"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        noteService.rebuildSearchIndex();
+        return ResponseEntity.accepted().build();
+    }
+
     @PatchMapping("/{id}/validate")
     @Operation(summary = "Validate a note", description = "Validates a note with the specified modifier")
     @ApiResponses({
@@ -1,6 +1,7 @@
 package com.personnel.personnelservice.adapters.webs;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.PaymentDto;
 import com.personnel.personnelservice.core.models.views.Views;
 import com.personnel.personnelservice.core.ports.services.PaymentService;
@@ -17,6 +18,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +34,7 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     @Operation(summary = "Create a new payment", description = "Creates a new payment with the provided data")
@@ -93,15 +96,13 @@ public class PaymentController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all payments", description = "Returns a list of all payments")
+    @Operation(summary = "Export all payments", description = "Streams all payments as newline-delimited JSON (application/x-ndjson), one payment per line")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of payments"),
+            @ApiResponse(responseCode = "200", description = "Successfully streamed the payments"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @JsonView(Views.Response.class)
-    public ResponseEntity<List<PaymentDto>> getAllPayments() {
-        List<PaymentDto> payments = paymentService.getAllPayments();
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        return ndjsonStreamer.stream(paymentService::exportPayments);
     }
 
     @GetMapping("/paginated")
@@ -116,6 +117,21 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get payments by cursor", description = "Returns a page of payments, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of payments"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<PaymentDto>> getAllPaymentsByCursor(
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<PaymentDto> payments = paymentService.getAllPayments(cursor, size);
+        return ResponseEntity.ok(payments);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get payments by user", description = "Returns a list of payments for a specific user")
     @ApiResponses({
@@ -145,6 +161,23 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/user/{userId}/cursor")
+    @Operation(summary = "Get payments by user by cursor", description = "Returns a page of payments for a specific user, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of payments"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<PaymentDto>> getPaymentsByUserIdByCursor(
+            @Parameter(description = "ID of the user", required = true) @PathVariable UUID userId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<PaymentDto> payments = paymentService.getPaymentsByUserId(userId, cursor, size);
+        return ResponseEntity.ok(payments);
+    }
+
     @GetMapping("/user/{userId}/active")
     @Operation(summary = "Get active payments by user", description = "Returns a list of active payments for a specific user")
     @ApiResponses({
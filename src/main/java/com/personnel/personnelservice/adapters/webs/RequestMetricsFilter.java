@@ -0,0 +1,106 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.personnel.personnelservice.adapters.persistances.implementations.SqlStatementCounter;
+import com.personnel.personnelservice.core.exceptions.SqlStatementBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Records the number of SQL statements executed by each request, per endpoint, checks it against the
+ * {@link SqlStatementBudget} of the endpoint and reports the likely N+1 (the same statement repeated within a request).
+ * <p>
+ * Placé avant la chaîne de sécurité pour compter aussi le chargement de l'utilisateur authentifié.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "hibernate.statements.per.request";
+    public static final String BUDGET_EXCEEDED_METRIC = "hibernate.statements.budget.exceeded";
+    public static final String N_PLUS_ONE_METRIC = "hibernate.statements.n_plus_one";
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    // Nombre d'exécutions d'une même requête SQL à partir duquel on signale un N+1
+    @Value("${app.sql.n-plus-one.threshold:10}")
+    private int nPlusOneThreshold;
+
+    // Activé dans les tests MockMvc uniquement : un budget dépassé fait échouer la requête (voir SqlStatementBudget)
+    @Value("${app.sql.budget.fail-on-exceeded:false}")
+    private boolean failOnBudgetExceeded;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        sqlStatementCounter.start();
+        int statements;
+        Optional<SqlStatementCounter.RepeatedStatement> mostRepeated;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            mostRepeated = sqlStatementCounter.mostRepeated();
+            statements = sqlStatementCounter.stop();
+            DistributionSummary.builder(STATEMENTS_METRIC)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+        mostRepeated.filter(repeated -> repeated.count() >= nPlusOneThreshold).ifPresent(repeated -> {
+            meterRegistry.counter(N_PLUS_ONE_METRIC, "method", request.getMethod(), "uri", uri(request)).increment();
+            logger.warn("N+1 probable sur {} {} : {} exécutions de {}", request.getMethod(), uri(request), repeated.count(), repeated.sql());
+        });
+        checkBudget(request, statements);
+    }
+
+    private void checkBudget(HttpServletRequest request, int statements) {
+        SqlStatementBudget budget = budget(request);
+        if (budget == null || statements <= budget.value()) {
+            return;
+        }
+        String endpoint = request.getMethod() + " " + uri(request);
+        meterRegistry.counter(BUDGET_EXCEEDED_METRIC, "method", request.getMethod(), "uri", uri(request)).increment();
+        if (failOnBudgetExceeded) {
+            throw new SqlStatementBudgetExceededException(endpoint, statements, budget.value());
+        }
+        logger.warn("{} : {} requêtes SQL pour un budget de {}", endpoint, statements, budget.value());
+    }
+
+    /**
+     * Budget of the controller method that handled the request, null if it has none
+     */
+    private static SqlStatementBudget budget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethodAnnotation(SqlStatementBudget.class) : null;
+    }
+
+    /**
+     * The route pattern rather than the path, which would create one time series per id
+     */
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN_URI : pattern.toString();
+    }
+}
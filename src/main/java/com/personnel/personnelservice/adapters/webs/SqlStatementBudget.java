@@ -0,0 +1,19 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements of a request to the annotated endpoint, authentication included.
+ * <p>
+ * Vérifié par {@link RequestMetricsFilter} : un dépassement est compté dans les métriques, et fait échouer
+ * la requête quand {@code app.sql.budget.fail-on-exceeded} est activé.
+ * <p>
+ * Ce réglage est réservé aux tests MockMvc : le filtre vérifie le budget après l'écriture de la réponse, l'exception
+ * remonte donc jusqu'à l'appelant de MockMvc, alors que dans un conteneur le client a déjà reçu sa réponse.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+    int value();
+}
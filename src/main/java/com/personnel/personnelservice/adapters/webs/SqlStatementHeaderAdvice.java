@@ -0,0 +1,41 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.personnel.personnelservice.adapters.persistances.implementations.SqlStatementCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the number of SQL statements executed so far by the request to the response headers, outside production.
+ * <p>
+ * {@link RequestMetricsFilter} ne connaît le total qu'une fois la réponse envoyée : l'en-tête est posé juste avant
+ * l'écriture du corps, quand le contrôleur a terminé son travail.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "app.sql.statements.header.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(HEADER, Integer.toString(sqlStatementCounter.count()));
+        return body;
+    }
+}
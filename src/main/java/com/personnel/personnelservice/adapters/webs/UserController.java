@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +24,7 @@ import java.util.UUID;
 @Tag(name = "User Management", description = "Operations related to user management")
 public class UserController {
     private final UserService userService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PatchMapping()
     @PreAuthorize("hasAuthority('USER_UPDATE')")
@@ -50,14 +52,12 @@ public class UserController {
         return ResponseEntity.ok("User supprimé avec succès.");
     }
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieves all users.")
+    @Operation(summary = "Export all users", description = "Streams all users as newline-delimited JSON (application/x-ndjson), one user per line")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Successfully streamed the users"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @JsonView(Views.Response.class)
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ndjsonStreamer.stream(userService::exportUsers);
     }
 }
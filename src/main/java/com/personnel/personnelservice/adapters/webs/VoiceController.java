@@ -1,7 +1,12 @@
 package com.personnel.personnelservice.adapters.webs;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceWaveformDto;
 import com.personnel.personnelservice.core.models.views.Views;
 import com.personnel.personnelservice.core.ports.services.VoiceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,14 +16,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for managing voice recordings
@@ -30,6 +42,7 @@ import java.util.UUID;
 public class VoiceController {
 
     private final VoiceService voiceService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     @Operation(summary = "Create a new voice recording", description = "Creates a new voice recording with the provided data")
@@ -77,6 +90,32 @@ public class VoiceController {
         return ResponseEntity.ok(updatedVoice);
     }
 
+    @GetMapping("/{id}/waveform")
+    @Operation(summary = "Get the waveform peaks of a voice recording",
+            description = "Returns the precomputed min/max peaks sidecar (binary, several zoom levels)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the waveform peaks"),
+            @ApiResponse(responseCode = "304", description = "Waveform peaks not modified"),
+            @ApiResponse(responseCode = "404", description = "Voice recording not found or waveform not computed yet"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<byte[]> getVoiceWaveform(
+            @Parameter(description = "ID of the voice recording", required = true) @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        VoiceWaveformDto waveform = voiceService.getVoiceWaveform(id, ifNoneMatch);
+
+        // Un nouveau calcul produit un nouveau fichier : le contenu d'un ETag donné ne change jamais
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+        if (waveform.getPeaks() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(waveform.getETag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(waveform.getETag())
+                .cacheControl(cacheControl)
+                .body(waveform.getPeaks());
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a voice recording", description = "Deletes a voice recording by ID")
     @ApiResponses({
@@ -91,15 +130,13 @@ public class VoiceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all voice recordings", description = "Returns a list of all voice recordings")
+    @Operation(summary = "Export all voice recordings", description = "Streams all voice recordings as newline-delimited JSON (application/x-ndjson), one voice recording per line")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of voice recordings"),
+            @ApiResponse(responseCode = "200", description = "Successfully streamed the voice recordings"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @JsonView(Views.Response.class)
-    public ResponseEntity<List<VoiceDto>> getAllVoices() {
-        List<VoiceDto> voices = voiceService.getAllVoices();
-        return ResponseEntity.ok(voices);
+    public ResponseEntity<StreamingResponseBody> exportVoices() {
+        return ndjsonStreamer.stream(voiceService::exportVoices);
     }
 
     @GetMapping("/paginated")
@@ -109,8 +146,23 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<Page<VoiceDto>> getAllVoicesPaginated(Pageable pageable) {
-        Page<VoiceDto> voices = voiceService.getAllVoices(pageable);
+    public ResponseEntity<Page<VoiceSummaryDto>> getAllVoicesPaginated(Pageable pageable) {
+        Page<VoiceSummaryDto> voices = voiceService.getVoiceSummaries(pageable);
+        return ResponseEntity.ok(voices);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get voice recordings by cursor", description = "Returns a page of voice recordings, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of voice recordings"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<VoiceSummaryDto>> getAllVoicesByCursor(
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<VoiceSummaryDto> voices = voiceService.getVoiceSummaries(cursor, size);
         return ResponseEntity.ok(voices);
     }
 
@@ -122,9 +174,9 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<List<VoiceDto>> getVoicesByDoctorId(
+    public ResponseEntity<List<VoiceSummaryDto>> getVoicesByDoctorId(
             @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId) {
-        List<VoiceDto> voices = voiceService.getVoicesByDoctorId(doctorId);
+        List<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorId(doctorId);
         return ResponseEntity.ok(voices);
     }
 
@@ -136,10 +188,27 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<Page<VoiceDto>> getVoicesByDoctorIdPaginated(
+    public ResponseEntity<Page<VoiceSummaryDto>> getVoicesByDoctorIdPaginated(
             @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
             Pageable pageable) {
-        Page<VoiceDto> voices = voiceService.getVoicesByDoctorId(doctorId, pageable);
+        Page<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorId(doctorId, pageable);
+        return ResponseEntity.ok(voices);
+    }
+
+    @GetMapping("/doctor/{doctorId}/cursor")
+    @Operation(summary = "Get voice recordings by doctor by cursor", description = "Returns a page of voice recordings for a specific doctor, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of voice recordings"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Doctor not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<VoiceSummaryDto>> getVoicesByDoctorIdByCursor(
+            @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorId(doctorId, cursor, size);
         return ResponseEntity.ok(voices);
     }
 
@@ -151,9 +220,9 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<List<VoiceDto>> getVoicesByPatientId(
+    public ResponseEntity<List<VoiceSummaryDto>> getVoicesByPatientId(
             @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId) {
-        List<VoiceDto> voices = voiceService.getVoicesByPatientId(patientId);
+        List<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByPatientId(patientId);
         return ResponseEntity.ok(voices);
     }
 
@@ -165,10 +234,27 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<Page<VoiceDto>> getVoicesByPatientIdPaginated(
+    public ResponseEntity<Page<VoiceSummaryDto>> getVoicesByPatientIdPaginated(
             @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId,
             Pageable pageable) {
-        Page<VoiceDto> voices = voiceService.getVoicesByPatientId(patientId, pageable);
+        Page<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByPatientId(patientId, pageable);
+        return ResponseEntity.ok(voices);
+    }
+
+    @GetMapping("/patient/{patientId}/cursor")
+    @Operation(summary = "Get voice recordings by patient by cursor", description = "Returns a page of voice recordings for a specific patient, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of voice recordings"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Patient not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<VoiceSummaryDto>> getVoicesByPatientIdByCursor(
+            @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByPatientId(patientId, cursor, size);
         return ResponseEntity.ok(voices);
     }
 
@@ -180,10 +266,10 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<List<VoiceDto>> getVoicesByDoctorIdAndPatientId(
+    public ResponseEntity<List<VoiceSummaryDto>> getVoicesByDoctorIdAndPatientId(
             @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
             @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId) {
-        List<VoiceDto> voices = voiceService.getVoicesByDoctorIdAndPatientId(doctorId, patientId);
+        List<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorIdAndPatientId(doctorId, patientId);
         return ResponseEntity.ok(voices);
     }
 
@@ -195,11 +281,29 @@ public class VoiceController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @JsonView(Views.Response.class)
-    public ResponseEntity<Page<VoiceDto>> getVoicesByDoctorIdAndPatientIdPaginated(
+    public ResponseEntity<Page<VoiceSummaryDto>> getVoicesByDoctorIdAndPatientIdPaginated(
             @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
             @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId,
             Pageable pageable) {
-        Page<VoiceDto> voices = voiceService.getVoicesByDoctorIdAndPatientId(doctorId, patientId, pageable);
+        Page<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorIdAndPatientId(doctorId, patientId, pageable);
+        return ResponseEntity.ok(voices);
+    }
+
+    @GetMapping("/doctor/{doctorId}/patient/{patientId}/cursor")
+    @Operation(summary = "Get voice recordings by doctor and patient by cursor", description = "Returns a page of voice recordings for a specific doctor and patient, most recent first, without total count")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of voice recordings"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Doctor or patient not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<CursorPageDto<VoiceSummaryDto>> getVoicesByDoctorIdAndPatientIdByCursor(
+            @Parameter(description = "ID of the doctor", required = true) @PathVariable UUID doctorId,
+            @Parameter(description = "ID of the patient", required = true) @PathVariable UUID patientId,
+            @Parameter(description = "nextCursor of the previous page, absent for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<VoiceSummaryDto> voices = voiceService.getVoiceSummariesByDoctorIdAndPatientId(doctorId, patientId, cursor, size);
         return ResponseEntity.ok(voices);
     }
 
@@ -216,4 +320,31 @@ public class VoiceController {
         Page<VoiceDto> voices = voiceService.searchVoicesByTitle(searchText, pageable);
         return ResponseEntity.ok(voices);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search/full-text")
+    @Operation(summary = "Search voice recordings and their notes",
+            description = "Searches the title, the remark and the notes of voice recordings, with optional doctor, patient, "
+                    + "validation and date filters, and returns facet counts for doctorId, patientId, validated and month")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the matching voice recordings"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @JsonView(Views.Response.class)
+    public ResponseEntity<VoiceSearchResultDto> searchVoices(@ParameterObject VoiceSearchCriteriaDto criteria,
+                                                             Pageable pageable) {
+        return ResponseEntity.ok(voiceService.searchVoices(criteria, pageable));
+    }
+
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Rebuild the voice search index",
+            description = "Starts reindexing every voice recording in the background; searches use the database until it completes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Search index rebuild started"),
+            @ApiResponse(responseCode = "403", description = "Missing the MANAGE_SEARCH_INDEX permission"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        voiceService.rebuildSearchIndex();
+        return ResponseEntity.accepted().build();
+    }
+}
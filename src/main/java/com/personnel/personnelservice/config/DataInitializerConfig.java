@@ -6,11 +6,14 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaPerm
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
 import com.personnel.personnelservice.core.models.enums.PermissionEnum;
 import com.personnel.personnelservice.core.models.enums.RoleEnum;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
 import jakarta.transaction.Transactional;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -28,22 +31,27 @@ public class DataInitializerConfig {
      *
      * @param jpaPermissionRepository Repository pour les permissions.
      * @param jpaRoleRepository Repository pour les rôles.
+     * @param eventPublisher Publie la mise à jour des rôles pour vider le cache des rôles.
      * @return CommandLineRunner exécutant l'initialisation.
      */
     @Bean
     @Transactional
     public CommandLineRunner initializePermissionsAndRoles(
             JpaPermissionRepository jpaPermissionRepository,
-            JpaRoleRepository jpaRoleRepository) {
+            JpaRoleRepository jpaRoleRepository,
+            ApplicationEventPublisher eventPublisher) {
 
         return args -> {
             initializePermissions(jpaPermissionRepository);
             initializeOrUpdateRoles(jpaRoleRepository, jpaPermissionRepository);
+            eventPublisher.publishEvent(new RolesChangedEvent());
         };
     }
 
     /**
      * Initialise les permissions en base de données si elles n'existent pas encore.
+     * Toutes les permissions sont créées, y compris celles qu'aucun rôle par défaut ne porte,
+     * pour pouvoir les attribuer à des rôles personnalisés.
      *
      * @param jpaPermissionRepository Repository pour la gestion des permissions.
      */
@@ -52,9 +60,7 @@ public class DataInitializerConfig {
                 .map(Permission::getName)
                 .collect(Collectors.toSet());
 
-        List<Permission> newPermissions = RolePermissionsConfig.getRolePermissionsMap().values().stream()
-                .flatMap(EnumSet::stream)
-                .distinct()
+        List<Permission> newPermissions = Arrays.stream(PermissionEnum.values())
                 .filter(permissionEnum -> !existingPermissionNames.contains(permissionEnum.toString()))
                 .map(Permission::new)
                 .collect(Collectors.toList());
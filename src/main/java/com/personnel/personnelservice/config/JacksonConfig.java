@@ -0,0 +1,30 @@
+package com.personnel.personnelservice.config;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Spring Boot disables the default view inclusion: under {@code @JsonView(Views.Response.class)} the properties
+ * of a {@link Page}, which carry no view, were all dropped and paginated endpoints answered {@code {}}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer pageViewCustomizer() {
+        return builder -> builder
+                .mixIn(Page.class, ResponseViewMixin.class)
+                .mixIn(Pageable.class, ResponseViewMixin.class)
+                .mixIn(Sort.class, ResponseViewMixin.class);
+    }
+
+    @JsonView(Views.Response.class)
+    abstract static class ResponseViewMixin {
+    }
+}
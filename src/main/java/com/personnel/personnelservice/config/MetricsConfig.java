@@ -0,0 +1,30 @@
+package com.personnel.personnelservice.config;
+
+import com.personnel.personnelservice.adapters.persistances.implementations.SqlStatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics published on /actuator/prometheus.
+ * <p>
+ * HTTP endpoints, Spring Data repositories and the Hikari pool are measured by Spring Boot Actuator
+ * (http.server.requests, spring.data.repository.invocations, hikaricp.connections.*) ; this configuration adds
+ * the @Timed services and the count of SQL statements per request.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+}
@@ -0,0 +1,74 @@
+package com.personnel.personnelservice.config;
+
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the uploads received by the storage, whatever its implementation (local or S3).
+ * <p>
+ * storage.upload.bytes est un compteur : son taux (rate) donne le débit global en octets par seconde,
+ * storage.upload.throughput le débit de chaque envoi.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class StorageMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${file.storage.type:local}")
+    private String storageType;
+
+    @Around("execution(* com.personnel.personnelservice.core.ports.services.StorageService.storeFile(org.springframework.web.multipart.MultipartFile, ..))")
+    public Object storeFile(ProceedingJoinPoint joinPoint) throws Throwable {
+        MultipartFile file = (MultipartFile) joinPoint.getArgs()[0];
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed();
+        record("file", file.getSize(), System.nanoTime() - start);
+        return result;
+    }
+
+    @Around("execution(* com.personnel.personnelservice.core.ports.services.StorageService.appendChunk(..))")
+    public Object appendChunk(ProceedingJoinPoint joinPoint) throws Throwable {
+        long offset = (long) joinPoint.getArgs()[1];
+        long start = System.nanoTime();
+        UploadSessionDto session = (UploadSessionDto) joinPoint.proceed();
+        record("chunk", session.getReceivedBytes() - offset, System.nanoTime() - start);
+        return session;
+    }
+
+    private void record(String operation, long bytes, long nanos) {
+        Timer.builder("storage.upload")
+                .tag("storage", storageType)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("storage.upload.bytes")
+                .baseUnit("bytes")
+                .tag("storage", storageType)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment(bytes);
+        if (nanos > 0 && bytes > 0) {
+            DistributionSummary.builder("storage.upload.throughput")
+                    .baseUnit("bytes.per.second")
+                    .tag("storage", storageType)
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(bytes * 1e9 / nanos);
+        }
+    }
+}
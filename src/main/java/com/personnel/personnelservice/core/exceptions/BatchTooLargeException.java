@@ -0,0 +1,7 @@
+package com.personnel.personnelservice.core.exceptions;
+
+public class BatchTooLargeException extends BaseException{
+    public BatchTooLargeException(int size, int maxSize) {
+        super("Batch of " + size + " items exceeds the maximum of " + maxSize);
+    }
+}
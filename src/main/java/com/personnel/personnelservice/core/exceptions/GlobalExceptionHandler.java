@@ -31,6 +31,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleAppointmentConflictException(AppointmentConflictException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    public ResponseEntity<String> handleUploadOffsetMismatchException(UploadOffsetMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<List<String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult()
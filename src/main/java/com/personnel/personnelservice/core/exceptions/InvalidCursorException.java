@@ -0,0 +1,7 @@
+package com.personnel.personnelservice.core.exceptions;
+
+public class InvalidCursorException extends BaseException{
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+}
@@ -0,0 +1,11 @@
+package com.personnel.personnelservice.core.exceptions;
+
+/**
+ * Thrown by the request filter once the response is already written, so it never reaches the GlobalExceptionHandler:
+ * ce n'est pas une erreur métier, elle ne sert qu'à faire échouer un test MockMvc qui dépasse le budget.
+ */
+public class SqlStatementBudgetExceededException extends IllegalStateException {
+    public SqlStatementBudgetExceededException(String endpoint, int statements, int budget) {
+        super(endpoint + " executed " + statements + " SQL statements, its budget is " + budget);
+    }
+}
@@ -0,0 +1,12 @@
+package com.personnel.personnelservice.core.exceptions;
+
+import java.util.UUID;
+
+public class UploadOffsetMismatchException extends BaseException{
+    public UploadOffsetMismatchException(String message) {
+        super(message);
+    }
+    public UploadOffsetMismatchException(UUID uploadId, long expectedOffset, long offset) {
+        super("Upload %s expects offset %d but received %d".formatted(uploadId, expectedOffset, offset));
+    }
+}
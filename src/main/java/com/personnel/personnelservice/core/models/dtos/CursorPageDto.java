@@ -0,0 +1,36 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a listing read by keyset, most recent first.
+ * Pas de total : la page suivante se demande avec nextCursor, null sur la dernière page.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    @JsonView({Views.Response.class})
+    private List<T> content;
+
+    @JsonView({Views.Response.class})
+    private int size;
+
+    /**
+     * Opaque token to pass as the cursor parameter to read the next page
+     */
+    @JsonView({Views.Response.class})
+    private String nextCursor;
+
+    @JsonView({Views.Response.class})
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
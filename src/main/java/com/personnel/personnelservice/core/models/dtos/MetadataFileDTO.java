@@ -27,4 +27,6 @@ public class MetadataFileDTO {
     private String mimeType;
     @JsonView({Views.Response.class, Views.Update.class})
     private String path;
+    @JsonView({Views.Response.class})
+    private String contentHash;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.enums.BatchItemStatus;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one note of a batch, at the same position as in the request
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteBatchResultDto {
+
+    @JsonView({Views.Response.class})
+    private int index;
+
+    @JsonView({Views.Response.class})
+    private BatchItemStatus status;
+
+    /**
+     * The saved note, null when the item failed
+     */
+    @JsonView({Views.Response.class})
+    private NoteDto note;
+
+    @JsonView({Views.Response.class})
+    private String error;
+}
@@ -0,0 +1,33 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A note matching a full-text search
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSearchHitDto {
+
+    @JsonView({Views.Response.class})
+    private NoteDto note;
+
+    /**
+     * Relevance score, null when the result comes from the database fallback
+     */
+    @JsonView({Views.Response.class})
+    private Float score;
+
+    /**
+     * Best passages of the content with the matched terms wrapped in &lt;mark&gt; tags
+     */
+    @JsonView({Views.Response.class})
+    private String highlight;
+}
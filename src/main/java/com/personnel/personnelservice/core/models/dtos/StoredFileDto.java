@@ -0,0 +1,37 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Description of the stored bytes of a file, used to serve downloads
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFileDto {
+
+    private UUID id;
+
+    private String fileName;
+
+    private String mimeType;
+
+    private long contentLength;
+
+    private Instant lastModified;
+
+    private String eTag;
+
+    /**
+     * Local path of the bytes, null when the storage is not backed by the local file system
+     */
+    private Path localPath;
+}
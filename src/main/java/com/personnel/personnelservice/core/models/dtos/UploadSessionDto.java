@@ -0,0 +1,39 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+
+    @JsonView({Views.Response.class})
+    private UUID uploadId;
+
+    @JsonView({Views.Create.class, Views.Response.class})
+    private String fileName;
+
+    @JsonView({Views.Create.class, Views.Response.class})
+    private String mimeType;
+
+    @JsonView({Views.Create.class, Views.Response.class})
+    private FileType type;
+
+    @JsonView({Views.Create.class, Views.Response.class})
+    private Long totalSize;
+
+    @JsonView({Views.Response.class})
+    private long receivedBytes;
+
+    @JsonView({Views.Response.class})
+    private boolean completed;
+}
@@ -0,0 +1,33 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Identity of a referenced user, read without loading the entity (ni ses rôles et permissions)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReferenceDto {
+
+    private UUID id;
+
+    /**
+     * Concrete entity class of the user (Medecin, Patient, Assistant...)
+     */
+    private Class<?> type;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -1,6 +1,7 @@
 package com.personnel.personnelservice.core.models.dtos;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
 import com.personnel.personnelservice.core.models.views.Views;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -31,6 +32,21 @@ public class VoiceDto {
     @JsonView({Views.Response.class})
     private LocalDateTime noteCreated;
 
+    @JsonView({Views.Response.class})
+    private UUID transcodedFileId;
+
+    @JsonView({Views.Response.class})
+    private UUID waveformFileId;
+
+    @JsonView({Views.Response.class})
+    private Integer bitrate;
+
+    @JsonView({Views.Response.class})
+    private Long durationMillis;
+
+    @JsonView({Views.Response.class})
+    private TranscodingStatus transcodingStatus;
+
     @JsonView({Views.Create.class, Views.Update.class, Views.Response.class})
     private UUID doctorId;
 
@@ -0,0 +1,40 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Filters of the combined voice and note search, every field is optional
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceSearchCriteriaDto {
+
+    /**
+     * Text searched in the title, the remark and the notes of the voice
+     */
+    private String query;
+
+    private UUID doctorId;
+
+    private UUID patientId;
+
+    /**
+     * true for voices with at least one validated note, false for the others
+     */
+    private Boolean validated;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
@@ -0,0 +1,33 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A voice matching a combined voice and note search
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceSearchHitDto {
+
+    @JsonView({Views.Response.class})
+    private VoiceDto voice;
+
+    /**
+     * Relevance score, null when results are sorted by date or come from the database fallback
+     */
+    @JsonView({Views.Response.class})
+    private Float score;
+
+    /**
+     * Best passage of the notes, remark or title with the matched terms wrapped in &lt;mark&gt; tags
+     */
+    @JsonView({Views.Response.class})
+    private String highlight;
+}
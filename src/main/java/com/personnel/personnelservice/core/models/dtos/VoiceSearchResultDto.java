@@ -0,0 +1,31 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Result of a combined voice and note search
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceSearchResultDto {
+
+    @JsonView({Views.Response.class})
+    private Page<VoiceSearchHitDto> hits;
+
+    /**
+     * Number of matching voices per value of doctorId, patientId, validated and month (yyyy-MM),
+     * empty when the result comes from the database fallback
+     */
+    @JsonView({Views.Response.class})
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,51 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.personnel.personnelservice.core.models.views.Views;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Voice recording as shown in lists, read with a single query without loading the doctor and patient entities
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceSummaryDto {
+
+    @JsonView({Views.Response.class})
+    private UUID id;
+
+    @JsonView({Views.Response.class})
+    private String title;
+
+    @JsonView({Views.Response.class})
+    private LocalDateTime creationDate;
+
+    @JsonView({Views.Response.class})
+    private UUID doctorId;
+
+    @JsonView({Views.Response.class})
+    private String doctorName;
+
+    @JsonView({Views.Response.class})
+    private UUID patientId;
+
+    @JsonView({Views.Response.class})
+    private String patientName;
+
+    /**
+     * Constructor used by the JPQL projections of JpaVoiceRepository
+     */
+    public VoiceSummaryDto(UUID id, String title, LocalDateTime creationDate,
+                           UUID doctorId, String doctorFirstName, String doctorLastName,
+                           UUID patientId, String patientFirstName, String patientLastName) {
+        this(id, title, creationDate,
+                doctorId, doctorId == null ? null : doctorFirstName + " " + doctorLastName,
+                patientId, patientId == null ? null : patientFirstName + " " + patientLastName);
+    }
+}
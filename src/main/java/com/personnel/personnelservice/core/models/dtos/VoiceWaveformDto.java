@@ -0,0 +1,26 @@
+package com.personnel.personnelservice.core.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Precomputed waveform peaks of a voice recording
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoiceWaveformDto {
+
+    /**
+     * ETag of the peaks file; a new computation produces a new file, so the content of a given ETag never changes
+     */
+    private String eTag;
+
+    /**
+     * Binary peaks sidecar, null when the copy held by the client is still current
+     */
+    private byte[] peaks;
+}
@@ -0,0 +1,7 @@
+package com.personnel.personnelservice.core.models.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.personnel.personnelservice.core.models.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
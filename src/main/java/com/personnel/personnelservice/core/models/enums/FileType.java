@@ -5,6 +5,8 @@ public enum FileType {
     IMAGERIE,
     IMAGE,
     VIDEO,
+    AUDIO,
+    WAVEFORM,
     ANALYSE,
     AUTRE
 }
\ No newline at end of file
@@ -69,7 +69,10 @@ public enum PermissionEnum {
     VIDEO_CONSULTATION("Utiliser la vidéo consultation"),
 
     VIEW_HEALTH_TABLE( "Voir la table de santé" ),
-    VIEW_VISITED_CABINETS ("Voir les cabinets déjà visités par le patient ");
+    VIEW_VISITED_CABINETS ("Voir les cabinets déjà visités par le patient "),
+
+    // Permissions Administration
+    MANAGE_SEARCH_INDEX("Reconstruire les index de recherche");
 
 
     private final String description;
@@ -0,0 +1,8 @@
+package com.personnel.personnelservice.core.models.enums;
+
+public enum TranscodingStatus {
+    PENDING,
+    DONE,
+    FAILED,
+    SKIPPED
+}
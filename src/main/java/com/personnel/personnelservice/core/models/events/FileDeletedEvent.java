@@ -0,0 +1,31 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when the metadata of a stored file has been deleted; the stored content is removed once the deletion is committed
+ */
+@Getter
+@AllArgsConstructor
+public class FileDeletedEvent {
+
+    private final UUID fileId;
+
+    /**
+     * Directory (local storage) of the stored content
+     */
+    private final String path;
+
+    /**
+     * Name of the stored content in its directory, or object key
+     */
+    private final String fileName;
+
+    /**
+     * SHA-256 of a content shared in content-addressed mode, null otherwise
+     */
+    private final String contentHash;
+}
@@ -0,0 +1,21 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a note has been created, updated, validated or deleted
+ */
+@Getter
+@AllArgsConstructor
+public class NoteChangedEvent {
+
+    private final UUID noteId;
+
+    /**
+     * Voice the note belongs to, null if the note is not attached to a voice
+     */
+    private final UUID voiceId;
+}
@@ -0,0 +1,14 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when another node of the cluster has invalidated one of its in-process caches
+ */
+@Getter
+@AllArgsConstructor
+public class RemoteCacheInvalidationEvent {
+
+    private final String cacheName;
+}
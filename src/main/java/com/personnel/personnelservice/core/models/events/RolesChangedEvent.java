@@ -0,0 +1,7 @@
+package com.personnel.personnelservice.core.models.events;
+
+/**
+ * Published when a role or the permissions granted to a role have been created, updated or deleted
+ */
+public class RolesChangedEvent {
+}
@@ -0,0 +1,16 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a chunked upload has been completed; its temporary chunks can be removed once the completion is committed
+ */
+@Getter
+@AllArgsConstructor
+public class UploadCompletedEvent {
+
+    private final UUID uploadId;
+}
@@ -0,0 +1,17 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when the roles or permissions granted to a user have changed, or the user has been deleted.
+ * A change to the permissions of a role is published as a {@link RolesChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class UserAuthoritiesChangedEvent {
+
+    private final UUID userId;
+}
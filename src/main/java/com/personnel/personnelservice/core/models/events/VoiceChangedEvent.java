@@ -0,0 +1,25 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a voice recording has been updated or deleted
+ */
+@Getter
+@AllArgsConstructor
+public class VoiceChangedEvent {
+
+    private final UUID voiceId;
+
+    /**
+     * True when the recording itself has been replaced and must be transcoded again
+     */
+    private final boolean audioChanged;
+
+    public VoiceChangedEvent(UUID voiceId) {
+        this(voiceId, false);
+    }
+}
@@ -0,0 +1,16 @@
+package com.personnel.personnelservice.core.models.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a voice recording has been created
+ */
+@Getter
+@AllArgsConstructor
+public class VoiceCreatedEvent {
+
+    private final UUID voiceId;
+}
@@ -0,0 +1,42 @@
+package com.personnel.personnelservice.core.ports.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Port for the audio encoder used to transcode voice recordings to a compact format
+ */
+public interface AudioEncoder {
+
+    /**
+     * @return the extension of the produced files, including the dot
+     */
+    String getExtension();
+
+    /**
+     * @return the mime type of the produced files
+     */
+    String getMimeType();
+
+    /**
+     * @return true if the encoder can be used on this host
+     */
+    boolean isAvailable();
+
+    /**
+     * Encode an audio file
+     * @param source the source audio file
+     * @param target the file to produce
+     * @return the duration of the recording, or null if the encoder could not determine it
+     */
+    Duration encode(Path source, Path target) throws IOException;
+
+    /**
+     * Decode an audio file to mono 16-bit PCM WAV, for formats the JVM cannot read by itself
+     * @param source the source audio file
+     * @param target the WAV file to produce
+     * @param sampleRate the sample rate of the produced file
+     */
+    void decodeToWav(Path source, Path target, int sampleRate) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.personnel.personnelservice.core.ports.services;
+
+/**
+ * Propagates the invalidation of an in-process cache to the other nodes of the cluster.
+ * Les noeuds destinataires reçoivent un {@link com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent}.
+ */
+public interface CacheInvalidationBroadcaster {
+    /**
+     * Notify the other nodes that a cache must be invalidated
+     * @param cacheName name of the invalidated cache
+     */
+    void broadcast(String cacheName);
+}
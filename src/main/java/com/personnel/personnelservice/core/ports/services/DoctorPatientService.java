@@ -1,5 +1,6 @@
 package com.personnel.personnelservice.core.ports.services;
 
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.DoctorPatientDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -53,6 +54,14 @@ public interface DoctorPatientService {
      */
     Page<DoctorPatientDto> getAllDoctorPatients(Pageable pageable);
 
+    /**
+     * Get doctor-patient relationships by cursor, most recent first
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of doctor-patient relationships without total count
+     */
+    CursorPageDto<DoctorPatientDto> getAllDoctorPatients(String cursor, int size);
+
     /**
      * Get all doctor-patient relationships by doctor id
      * @param doctorId doctor id
@@ -68,6 +77,15 @@ public interface DoctorPatientService {
      */
     Page<DoctorPatientDto> getDoctorPatientsByDoctorId(UUID doctorId, Pageable pageable);
 
+    /**
+     * Get doctor-patient relationships by doctor id by cursor, most recent first
+     * @param doctorId doctor id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of doctor-patient relationships without total count
+     */
+    CursorPageDto<DoctorPatientDto> getDoctorPatientsByDoctorId(UUID doctorId, String cursor, int size);
+
     /**
      * Get all doctor-patient relationships by patient id
      * @param patientId patient id
@@ -83,6 +101,15 @@ public interface DoctorPatientService {
      */
     Page<DoctorPatientDto> getDoctorPatientsByPatientId(UUID patientId, Pageable pageable);
 
+    /**
+     * Get doctor-patient relationships by patient id by cursor, most recent first
+     * @param patientId patient id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of doctor-patient relationships without total count
+     */
+    CursorPageDto<DoctorPatientDto> getDoctorPatientsByPatientId(UUID patientId, String cursor, int size);
+
     /**
      * Get a specific doctor-patient relationship by doctor id and patient id
      * @param doctorId doctor id
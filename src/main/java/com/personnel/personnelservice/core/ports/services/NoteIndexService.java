@@ -0,0 +1,42 @@
+package com.personnel.personnelservice.core.ports.services;
+
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the full-text index of notes
+ */
+public interface NoteIndexService {
+
+    /**
+     * @return false while the index is being rebuilt, searches must then use the database
+     */
+    boolean isReady();
+
+    /**
+     * Bring the indexed copy of a note in line with the database, removing it if the note no longer exists
+     * @param noteId note id
+     */
+    void indexNote(UUID noteId);
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    void rebuild();
+
+    /**
+     * Rebuild the whole index in the background, unless a rebuild is already running
+     */
+    void startRebuild();
+
+    /**
+     * Search notes by relevance
+     * @param query the search text
+     * @param pageable pagination information
+     * @return paginated list of ranked and highlighted notes
+     */
+    Page<NoteSearchHitDto> search(String query, Pageable pageable);
+}
@@ -1,12 +1,16 @@
 package com.personnel.personnelservice.core.ports.services;
 
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.NoteBatchResultDto;
 import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing notes
@@ -34,6 +38,14 @@ public interface NoteService {
      */
     NoteDto updateNote(NoteDto noteDto);
 
+    /**
+     * Create the notes without id and update the others, in a single transaction.
+     * Un élément invalide (note, voix, assistant ou modificateur introuvable) est rejeté sans bloquer les autres
+     * @param noteDtos notes data
+     * @return one result per note, in the order of the request
+     */
+    List<NoteBatchResultDto> saveNotes(List<NoteDto> noteDtos);
+
     /**
      * Delete a note
      * @param id note id
@@ -41,10 +53,10 @@ public interface NoteService {
     void deleteNote(UUID id);
 
     /**
-     * Get all notes
-     * @return list of all notes
+     * Export all notes chunk by chunk, the chunks are never all held in memory
+     * @param consumer receives each chunk of notes
      */
-    List<NoteDto> getAllNotes();
+    void exportNotes(Consumer<List<NoteDto>> consumer);
 
     /**
      * Get paginated notes
@@ -53,6 +65,14 @@ public interface NoteService {
      */
     Page<NoteDto> getAllNotes(Pageable pageable);
 
+    /**
+     * Get notes by cursor, most recent first
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of notes without total count
+     */
+    CursorPageDto<NoteDto> getAllNotes(String cursor, int size);
+
     /**
      * Get all notes by voice id
      * @param voiceId voice id
@@ -68,6 +88,15 @@ public interface NoteService {
      */
     Page<NoteDto> getNotesByVoiceId(UUID voiceId, Pageable pageable);
 
+    /**
+     * Get notes by voice id by cursor, most recent first
+     * @param voiceId voice id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of notes without total count
+     */
+    CursorPageDto<NoteDto> getNotesByVoiceId(UUID voiceId, String cursor, int size);
+
     /**
      * Get latest note by voice id
      * @param voiceId voice id
@@ -97,6 +126,15 @@ public interface NoteService {
      */
     Page<NoteDto> getNotesByAssistantId(UUID assistantId, Pageable pageable);
 
+    /**
+     * Get notes by assistant id by cursor, most recent first
+     * @param assistantId assistant id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of notes without total count
+     */
+    CursorPageDto<NoteDto> getNotesByAssistantId(UUID assistantId, String cursor, int size);
+
     /**
      * Get all notes by modifier id
      * @param modifierId modifier id
@@ -112,6 +150,19 @@ public interface NoteService {
      */
     Page<NoteDto> searchNotesByContent(String searchText, Pageable pageable);
 
+    /**
+     * Full-text search of notes, ranked by relevance with highlighted passages
+     * @param query search text
+     * @param pageable pagination information
+     * @return paginated list of matching notes
+     */
+    Page<NoteSearchHitDto> searchNotes(String query, Pageable pageable);
+
+    /**
+     * Start rebuilding the full-text index of notes from the database, searches use the database until it completes
+     */
+    void rebuildSearchIndex();
+
     /**
      * Validate a note
      * @param noteId note id
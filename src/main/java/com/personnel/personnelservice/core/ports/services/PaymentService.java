@@ -1,5 +1,6 @@
 package com.personnel.personnelservice.core.ports.services;
 
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.PaymentDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing payments
@@ -42,10 +44,10 @@ public interface PaymentService {
     void deletePayment(UUID id);
 
     /**
-     * Get all payments
-     * @return list of all payments
+     * Export all payments chunk by chunk, the chunks are never all held in memory
+     * @param consumer receives each chunk of payments
      */
-    List<PaymentDto> getAllPayments();
+    void exportPayments(Consumer<List<PaymentDto>> consumer);
 
     /**
      * Get paginated payments
@@ -54,6 +56,14 @@ public interface PaymentService {
      */
     Page<PaymentDto> getAllPayments(Pageable pageable);
 
+    /**
+     * Get payments by cursor, most recent first
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of payments without total count
+     */
+    CursorPageDto<PaymentDto> getAllPayments(String cursor, int size);
+
     /**
      * Get all payments by user id
      * @param userId user id
@@ -69,6 +79,15 @@ public interface PaymentService {
      */
     Page<PaymentDto> getPaymentsByUserId(UUID userId, Pageable pageable);
 
+    /**
+     * Get payments by user id by cursor, most recent first
+     * @param userId user id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of payments without total count
+     */
+    CursorPageDto<PaymentDto> getPaymentsByUserId(UUID userId, String cursor, int size);
+
     /**
      * Get all active payments by user id
      * @param userId user id
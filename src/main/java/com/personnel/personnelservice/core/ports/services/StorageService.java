@@ -2,9 +2,14 @@ package com.personnel.personnelservice.core.ports.services;
 
 import com.personnel.personnelservice.adapters.persistances.entities.MetaDataFile;
 import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
+import com.personnel.personnelservice.core.models.enums.FileType;
 import io.jsonwebtoken.io.IOException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,8 +26,71 @@ public interface StorageService {
      **/
     MetadataFileDTO storeFile(MultipartFile file, String fileType) throws IOException, java.io.IOException;
 
+    /**
+     * Store content produced by the application itself (derived files, exports...)
+     * @param content the content to store, read until the end but not closed
+     * @param originalFileName the name used to derive the extension
+     * @param mimeType the mime type of the content
+     * @param fileType the type of the file
+     * @return the metadata of the file
+     */
+    MetadataFileDTO storeFile(InputStream content, String originalFileName, String mimeType, FileType fileType) throws java.io.IOException;
+
     //byte[] retrieveFile(String fileId) throws IOException;
-    //boolean deleteFile(String fileId) throws IOException;
     //
     Optional<MetadataFileDTO> getFileMetadata(UUID fileId);
-}
\ No newline at end of file
+
+    /**
+     * Delete a file; the stored content is removed once the deletion is committed,
+     * and shared content only once no file references it anymore
+     * @param fileId file id
+     */
+    void deleteFile(UUID fileId);
+
+    /**
+     * Open a chunked upload session
+     * @param uploadSessionDto file name, mime type, type and optional total size
+     * @return the upload session with no bytes received
+     */
+    UploadSessionDto initUpload(UploadSessionDto uploadSessionDto);
+
+    /**
+     * Append a chunk to an upload session, streaming it straight to the partial file
+     * @param uploadId upload session id
+     * @param offset position of the chunk, must equal the bytes already received
+     * @param chunk chunk content
+     * @return the upload session with the new received size
+     */
+    UploadSessionDto appendChunk(UUID uploadId, long offset, InputStream chunk) throws java.io.IOException;
+
+    /**
+     * Get the state of an upload session, used by clients to resume
+     * @param uploadId upload session id
+     * @return the upload session
+     */
+    UploadSessionDto getUploadStatus(UUID uploadId) throws java.io.IOException;
+
+    /**
+     * Finalize an upload session and register the file metadata
+     * @param uploadId upload session id
+     * @return the metadata of the stored file
+     */
+    MetadataFileDTO completeUpload(UUID uploadId) throws java.io.IOException;
+
+    /**
+     * Describe the stored bytes of a file: size, last modification and entity tag
+     * @param fileId file id
+     * @return the stored file or empty if the file or its content does not exist
+     */
+    Optional<StoredFileDto> getStoredFile(UUID fileId) throws java.io.IOException;
+
+    /**
+     * Transfer a byte range of a stored file to the target channel without loading it in memory
+     * @param fileId file id
+     * @param position first byte to transfer
+     * @param count number of bytes to transfer
+     * @param target channel receiving the bytes
+     * @return the number of bytes transferred
+     */
+    long transferTo(UUID fileId, long position, long count, WritableByteChannel target) throws java.io.IOException;
+}
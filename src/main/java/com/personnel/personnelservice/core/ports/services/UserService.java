@@ -7,6 +7,7 @@ import java.util.List;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserService {
     /**
@@ -23,10 +24,10 @@ public interface UserService {
     void deleteUser(UUID id);
 
     /**
-     * get all users
-     * @return a list of all users
+     * Export all users chunk by chunk, the chunks are never all held in memory
+     * @param consumer receives each chunk of users
      */
-    List<UserDto> getAllUsers();
+    void exportUsers(Consumer<List<UserDto>> consumer);
 
     /**
      * add role to user
@@ -0,0 +1,42 @@
+package com.personnel.personnelservice.core.ports.services;
+
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the search index of voices and their notes
+ */
+public interface VoiceIndexService {
+
+    /**
+     * @return false while the index is being rebuilt, searches must then use the database
+     */
+    boolean isReady();
+
+    /**
+     * Bring the indexed copy of a voice and its notes in line with the database
+     * @param voiceId voice recording id
+     */
+    void indexVoice(UUID voiceId);
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    void rebuild();
+
+    /**
+     * Rebuild the whole index in the background, unless a rebuild is already running
+     */
+    void startRebuild();
+
+    /**
+     * Search voices by their title, remark and notes
+     * @param criteria search text and filters
+     * @param pageable pagination information
+     * @return paginated voices with facet counts
+     */
+    VoiceSearchResultDto search(VoiceSearchCriteriaDto criteria, Pageable pageable);
+}
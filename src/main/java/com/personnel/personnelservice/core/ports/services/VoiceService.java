@@ -1,11 +1,18 @@
 package com.personnel.personnelservice.core.ports.services;
 
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceWaveformDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing voice recordings
@@ -33,6 +40,14 @@ public interface VoiceService {
      */
     VoiceDto updateVoice(VoiceDto voiceDto);
 
+    /**
+     * Get the precomputed waveform peaks of a voice recording
+     * @param id voice recording id
+     * @param ifNoneMatch ETag of the copy held by the client, may be null
+     * @return the waveform, without its peaks when the copy held by the client is still current
+     */
+    VoiceWaveformDto getVoiceWaveform(UUID id, String ifNoneMatch) throws IOException;
+
     /**
      * Delete a voice recording
      * @param id voice recording id
@@ -40,64 +55,100 @@ public interface VoiceService {
     void deleteVoice(UUID id);
 
     /**
-     * Get all voice recordings
-     * @return list of all voice recordings
+     * Export all voice recordings chunk by chunk, the chunks are never all held in memory
+     * @param consumer receives each chunk of voice recordings
      */
-    List<VoiceDto> getAllVoices();
+    void exportVoices(Consumer<List<VoiceDto>> consumer);
 
     /**
-     * Get paginated voice recordings
+     * Get paginated voice recording summaries
      * @param pageable pagination information
-     * @return paginated list of voice recordings
+     * @return paginated list of voice recording summaries
      */
-    Page<VoiceDto> getAllVoices(Pageable pageable);
+    Page<VoiceSummaryDto> getVoiceSummaries(Pageable pageable);
 
     /**
-     * Get all voice recordings by doctor id
+     * Get the summaries of all voice recordings by doctor id
      * @param doctorId doctor id
-     * @return list of voice recordings
+     * @return list of voice recording summaries
      */
-    List<VoiceDto> getVoicesByDoctorId(UUID doctorId);
+    List<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId);
 
     /**
-     * Get paginated voice recordings by doctor id
+     * Get paginated voice recording summaries by doctor id
      * @param doctorId doctor id
      * @param pageable pagination information
-     * @return paginated list of voice recordings
+     * @return paginated list of voice recording summaries
      */
-    Page<VoiceDto> getVoicesByDoctorId(UUID doctorId, Pageable pageable);
+    Page<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId, Pageable pageable);
 
     /**
-     * Get all voice recordings by patient id
+     * Get the summaries of all voice recordings by patient id
      * @param patientId patient id
-     * @return list of voice recordings
+     * @return list of voice recording summaries
      */
-    List<VoiceDto> getVoicesByPatientId(UUID patientId);
+    List<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId);
 
     /**
-     * Get paginated voice recordings by patient id
+     * Get paginated voice recording summaries by patient id
      * @param patientId patient id
      * @param pageable pagination information
-     * @return paginated list of voice recordings
+     * @return paginated list of voice recording summaries
      */
-    Page<VoiceDto> getVoicesByPatientId(UUID patientId, Pageable pageable);
+    Page<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId, Pageable pageable);
 
     /**
-     * Get all voice recordings by doctor id and patient id
+     * Get the summaries of all voice recordings by doctor id and patient id
      * @param doctorId doctor id
      * @param patientId patient id
-     * @return list of voice recordings
+     * @return list of voice recording summaries
      */
-    List<VoiceDto> getVoicesByDoctorIdAndPatientId(UUID doctorId, UUID patientId);
+    List<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId);
 
     /**
-     * Get paginated voice recordings by doctor id and patient id
+     * Get paginated voice recording summaries by doctor id and patient id
      * @param doctorId doctor id
      * @param patientId patient id
      * @param pageable pagination information
-     * @return paginated list of voice recordings
+     * @return paginated list of voice recording summaries
      */
-    Page<VoiceDto> getVoicesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, Pageable pageable);
+    Page<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, Pageable pageable);
+
+    /**
+     * Get voice recording summaries by cursor, most recent first
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of voice recording summaries without total count
+     */
+    CursorPageDto<VoiceSummaryDto> getVoiceSummaries(String cursor, int size);
+
+    /**
+     * Get voice recording summaries by doctor id by cursor, most recent first
+     * @param doctorId doctor id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of voice recording summaries without total count
+     */
+    CursorPageDto<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId, String cursor, int size);
+
+    /**
+     * Get voice recording summaries by patient id by cursor, most recent first
+     * @param patientId patient id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of voice recording summaries without total count
+     */
+    CursorPageDto<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId, String cursor, int size);
+
+    /**
+     * Get voice recording summaries by doctor id and patient id by cursor, most recent first
+     * @param doctorId doctor id
+     * @param patientId patient id
+     * @param cursor token returned as nextCursor by the previous page, null for the first page
+     * @param size page size
+     * @return page of voice recording summaries without total count
+     */
+    CursorPageDto<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, String cursor, int size);
 
     /**
      * Search voice recordings by title
@@ -106,4 +157,17 @@ public interface VoiceService {
      * @return paginated list of voice recordings
      */
     Page<VoiceDto> searchVoicesByTitle(String searchText, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Search voices by title, remark and note content, with filters and facet counts
+     * @param criteria search text and filters
+     * @param pageable pagination information
+     * @return paginated voices with facet counts
+     */
+    VoiceSearchResultDto searchVoices(VoiceSearchCriteriaDto criteria, Pageable pageable);
+
+    /**
+     * Start rebuilding the search index of voices from the database, searches use the database until it completes
+     */
+    void rebuildSearchIndex();
+}
@@ -0,0 +1,22 @@
+package com.personnel.personnelservice.core.ports.services;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the asynchronous transcoding of voice recordings
+ */
+public interface VoiceTranscodingService {
+
+    /**
+     * Queue the transcoding of a voice recording
+     * @param voiceId voice recording id
+     * @return false if the queue is full, the voice stays pending and will be picked up later
+     */
+    boolean submit(UUID voiceId);
+
+    /**
+     * Transcode a voice recording in the calling thread
+     * @param voiceId voice recording id
+     */
+    void transcode(UUID voiceId);
+}
@@ -0,0 +1,17 @@
+package com.personnel.personnelservice.core.ports.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Service interface for the precomputation of waveform peaks
+ */
+public interface WaveformService {
+
+    /**
+     * Compute the min/max peaks of an audio file at every configured zoom level
+     * @param audioFile the audio file
+     * @return the binary peaks sidecar
+     */
+    byte[] computePeaks(Path audioFile) throws IOException;
+}
@@ -0,0 +1,575 @@
+package com.personnel.personnelservice.core.seeders;
+
+import com.github.javafaker.Faker;
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.enums.RoleEnum;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a large, reproducible dataset for load tests and query plans: doctors, assistants, patients,
+ * doctor-patient links, voices backed by synthetic recordings, notes and payments.
+ * <p>
+ * Chaque ligne est dérivée de (seed, table, index) : les identifiants, les noms et les dates sont identiques d'une
+ * exécution à l'autre, quel que soit le nombre de workers. L'activité suit une loi de Zipf : quelques médecins
+ * concentrent une grande partie des patients et des enregistrements, comme en production.
+ * <p>
+ * Usage : {@code --app.seed.dataset.enabled=true --app.seed.dataset.exit-when-done=true}. Le médecin le plus actif
+ * est {@code medecin0@seed.example.com}, tous les comptes ont le mot de passe {@code app.seed.dataset.password}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seed.dataset.enabled", havingValue = "true")
+public class DatasetSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    public static final String EMAIL_DOMAIN = "@seed.example.com";
+    private static final String SEEDER = "seeder";
+    private static final String[] PRODUCTS = {"premium_monthly", "premium_yearly"};
+    private static final String[] PLATFORMS = {"ANDROID", "IOS"};
+
+    // Espaces d'identifiants, un par table
+    private static final int DOCTOR = 1;
+    private static final int ASSISTANT = 2;
+    private static final int PATIENT = 3;
+    private static final int USER_ROLE = 4;
+    private static final int DOCTOR_PATIENT = 5;
+    private static final int VOICE = 6;
+    private static final int NOTE = 7;
+    private static final int PAYMENT = 8;
+    private static final int AUDIO = 9;
+    private static final int LINKS = 10;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageService storageService;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.seed.dataset.seed:42}")
+    private long seed;
+
+    @Value("${app.seed.dataset.doctors:2000}")
+    private int doctors;
+
+    @Value("${app.seed.dataset.assistants:4000}")
+    private int assistants;
+
+    @Value("${app.seed.dataset.patients:1000000}")
+    private int patients;
+
+    /**
+     * Probability for a patient to be followed by a second doctor
+     */
+    @Value("${app.seed.dataset.second-doctor-ratio:0.3}")
+    private double secondDoctorRatio;
+
+    @Value("${app.seed.dataset.voices:2000000}")
+    private int voices;
+
+    @Value("${app.seed.dataset.notes:3000000}")
+    private int notes;
+
+    @Value("${app.seed.dataset.payments:1000000}")
+    private int payments;
+
+    @Value("${app.seed.dataset.audio-clips:16}")
+    private int audioClips;
+
+    @Value("${app.seed.dataset.zipf-exponent:1.1}")
+    private double zipfExponent;
+
+    @Value("${app.seed.dataset.days:730}")
+    private int days;
+
+    @Value("${app.seed.dataset.reference-date:2025-01-01T00:00:00}")
+    private LocalDateTime referenceDate;
+
+    @Value("${app.seed.dataset.password:Seed123@}")
+    private String password;
+
+    @Value("${app.seed.dataset.workers:4}")
+    private int workers;
+
+    @Value("${app.seed.dataset.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.dataset.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    private boolean uuidAsBinary;
+
+    public DatasetSeeder(DataSource dataSource, JdbcTemplate jdbcTemplate, StorageService storageService,
+                         PasswordEncoder passwordEncoder, ConfigurableApplicationContext applicationContext) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageService = storageService;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Runs once the application is ready, so that the roles created at startup exist
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() throws Exception {
+        seed();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Generate the whole dataset, unless it was already generated with the same seed
+     * @return the number of rows inserted per table
+     */
+    public Map<String, Long> seed() throws IOException, SQLException, InterruptedException {
+        Map<String, Long> inserted = new LinkedHashMap<>();
+        uuidAsBinary = isBinaryUuid();
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, uuid(id(DOCTOR, 0)));
+        if (existing != null && existing > 0) {
+            logger.info("Jeu de données déjà généré pour la seed {}, rien à faire", seed);
+            return inserted;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, UUID> roles = loadRoles();
+        String encodedPassword = passwordEncoder.encode(password);
+        double[] doctorWeights = zipfCumulativeWeights(doctors, zipfExponent);
+        Links links = links(doctorWeights);
+        Clip[] clips = storeClips();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            inserted.put("medecins", insertUsers(executor, DOCTOR, "MEDECIN", doctors, encodedPassword));
+            inserted.put("assistants", insertUsers(executor, ASSISTANT, "ASSISTANT", assistants, encodedPassword));
+            inserted.put("patients", insertUsers(executor, PATIENT, "PATIENT", patients, encodedPassword));
+            inserted.put("user_roles", insertUserRoles(executor, roles));
+            inserted.put("doctor_patients", insertDoctorPatients(executor, links));
+            inserted.put("voices", insertVoices(executor, links, clips));
+            inserted.put("notes", insertNotes(executor));
+            inserted.put("payments", insertPayments(executor));
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Jeu de données généré en {} ms : {}", System.currentTimeMillis() - start, inserted);
+        return inserted;
+    }
+
+    private long insertUsers(ExecutorService executor, int type, String userType, int count, String encodedPassword)
+            throws SQLException, InterruptedException {
+        String prefix = userType.toLowerCase(Locale.ROOT);
+        return insert(executor, "users", type, count, new String[]{"id", "user_type", "first_name", "last_name", "email",
+                        "password", "phone_number", "birth_date", "gender", "address", "id_card",
+                        "account_non_expired", "account_non_locked", "credentials_non_expired", "enabled", "deleted",
+                        "created_by", "creation_date", "last_modified_by", "last_modified_date"},
+                (index, random, faker, row) -> {
+                    LocalDateTime creationDate = date(random);
+                    row[0] = id(type, index);
+                    row[1] = userType;
+                    row[2] = faker.name().firstName();
+                    row[3] = faker.name().lastName();
+                    row[4] = prefix + index + EMAIL_DOMAIN;
+                    row[5] = encodedPassword;
+                    row[6] = String.format("06%08d", random.nextInt(100_000_000));
+                    row[7] = referenceDate.toLocalDate().minusDays(6_570 + random.nextInt(25_000));
+                    row[8] = random.nextBoolean() ? "F" : "M";
+                    row[9] = faker.address().streetAddress();
+                    row[10] = String.format("%c%c%06d", 'A' + random.nextInt(26), 'A' + random.nextInt(26), random.nextInt(1_000_000));
+                    row[11] = true;
+                    row[12] = true;
+                    row[13] = true;
+                    row[14] = true;
+                    row[15] = false;
+                    row[16] = SEEDER;
+                    row[17] = creationDate;
+                    row[18] = SEEDER;
+                    row[19] = creationDate;
+                });
+    }
+
+    private long insertUserRoles(ExecutorService executor, Map<String, UUID> roles) throws SQLException, InterruptedException {
+        UUID doctorRole = roles.get(RoleEnum.MEDECIN.name());
+        UUID assistantRole = roles.get(RoleEnum.ASSISTANT.name());
+        UUID patientRole = roles.get(RoleEnum.PATIENT.name());
+        return insert(executor, "user_roles", USER_ROLE, (long) doctors + assistants + patients,
+                new String[]{"user_id", "role_id"},
+                (index, random, faker, row) -> {
+                    if (index < doctors) {
+                        row[0] = id(DOCTOR, index);
+                        row[1] = doctorRole;
+                    } else if (index < doctors + assistants) {
+                        row[0] = id(ASSISTANT, index - doctors);
+                        row[1] = assistantRole;
+                    } else {
+                        row[0] = id(PATIENT, index - doctors - assistants);
+                        row[1] = patientRole;
+                    }
+                });
+    }
+
+    private long insertDoctorPatients(ExecutorService executor, Links links) throws SQLException, InterruptedException {
+        return insert(executor, "doctor_patients", DOCTOR_PATIENT, links.size(),
+                new String[]{"id", "doctor_id", "patient_id", "deleted",
+                        "created_by", "creation_date", "last_modified_by", "last_modified_date"},
+                (index, random, faker, row) -> {
+                    LocalDateTime creationDate = date(random);
+                    row[0] = id(DOCTOR_PATIENT, index);
+                    row[1] = id(DOCTOR, links.doctors[(int) index]);
+                    row[2] = id(PATIENT, links.patients[(int) index]);
+                    row[3] = false;
+                    row[4] = SEEDER;
+                    row[5] = creationDate;
+                    row[6] = SEEDER;
+                    row[7] = creationDate;
+                });
+    }
+
+    /**
+     * Voices are drawn uniformly among the doctor-patient links: the doctors holding most of the patients
+     * also hold most of the recordings.
+     */
+    private long insertVoices(ExecutorService executor, Links links, Clip[] clips) throws SQLException, InterruptedException {
+        return insert(executor, "voices", VOICE, voices,
+                new String[]{"id", "doctor_id", "patient_id", "path", "title", "remarque", "note_created",
+                        "bitrate", "duration_millis", "transcoding_status", "deleted",
+                        "created_by", "creation_date", "last_modified_by", "last_modified_date"},
+                (index, random, faker, row) -> {
+                    int link = random.nextInt(links.size());
+                    Clip clip = clips[random.nextInt(clips.length)];
+                    LocalDateTime creationDate = voiceDate(index);
+                    row[0] = id(VOICE, index);
+                    row[1] = id(DOCTOR, links.doctors[link]);
+                    row[2] = id(PATIENT, links.patients[link]);
+                    row[3] = clip.fileId().toString();
+                    row[4] = "Consultation " + faker.medical().diseaseName();
+                    row[5] = random.nextInt(4) == 0 ? faker.lorem().sentence(8) : null;
+                    row[6] = null;
+                    row[7] = SyntheticAudio.SAMPLE_RATE * 16;
+                    row[8] = clip.durationMillis();
+                    row[9] = TranscodingStatus.SKIPPED.name();
+                    row[10] = false;
+                    row[11] = SEEDER;
+                    row[12] = creationDate;
+                    row[13] = SEEDER;
+                    row[14] = creationDate;
+                });
+    }
+
+    /**
+     * Notes are written by an assistant in the days following their voice
+     */
+    private long insertNotes(ExecutorService executor) throws SQLException, InterruptedException {
+        return insert(executor, "notes", NOTE, notes,
+                new String[]{"id", "voice_id", "assistant_id", "modifier_id", "content_txt", "validated", "deleted",
+                        "created_by", "creation_date", "last_modified_by", "last_modified_date"},
+                (index, random, faker, row) -> {
+                    int voice = random.nextInt(voices);
+                    UUID assistant = id(ASSISTANT, random.nextInt(assistants));
+                    LocalDateTime creationDate = voiceDate(voice).plusMinutes(random.nextInt(7 * 24 * 60));
+                    boolean validated = random.nextInt(3) > 0;
+                    row[0] = id(NOTE, index);
+                    row[1] = id(VOICE, voice);
+                    row[2] = assistant;
+                    row[3] = validated ? assistant : null;
+                    row[4] = String.join("\n", faker.lorem().paragraphs(1 + random.nextInt(4)));
+                    row[5] = validated;
+                    row[6] = false;
+                    row[7] = SEEDER;
+                    row[8] = creationDate;
+                    row[9] = SEEDER;
+                    row[10] = validated ? creationDate.plusHours(1 + random.nextInt(48)) : creationDate;
+                });
+    }
+
+    private long insertPayments(ExecutorService executor) throws SQLException, InterruptedException {
+        return insert(executor, "payments", PAYMENT, payments,
+                new String[]{"id", "user_id", "product_id", "platform", "purchase_token", "receipt_data",
+                        "start_date", "end_date", "active", "deleted",
+                        "created_by", "creation_date", "last_modified_by", "last_modified_date"},
+                (index, random, faker, row) -> {
+                    int product = random.nextInt(PRODUCTS.length);
+                    LocalDateTime startDate = date(random);
+                    LocalDateTime endDate = product == 0 ? startDate.plusMonths(1) : startDate.plusYears(1);
+                    row[0] = id(PAYMENT, index);
+                    row[1] = id(PATIENT, random.nextInt(patients));
+                    row[2] = PRODUCTS[product];
+                    row[3] = PLATFORMS[random.nextInt(PLATFORMS.length)];
+                    row[4] = new UUID(random.nextLong(), random.nextLong()).toString().replace("-", "");
+                    row[5] = null;
+                    row[6] = startDate;
+                    row[7] = endDate;
+                    row[8] = endDate.isAfter(referenceDate);
+                    row[9] = false;
+                    row[10] = SEEDER;
+                    row[11] = startDate;
+                    row[12] = SEEDER;
+                    row[13] = startDate;
+                });
+    }
+
+    /**
+     * Insert {@code count} rows in blocks of {@code batchSize}, each block in its own transaction on a worker.
+     * The random generator is reset at the start of each block, so the rows do not depend on the scheduling.
+     */
+    private long insert(ExecutorService executor, String table, int type, long count, String[] columns, RowWriter writer)
+            throws SQLException, InterruptedException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        long blocks = (count + batchSize - 1) / batchSize;
+        AtomicLong done = new AtomicLong();
+        long start = System.currentTimeMillis();
+        ThreadLocal<Generator> generators = ThreadLocal.withInitial(Generator::new);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long block = 0; block < blocks; block++) {
+            long first = block * batchSize;
+            long last = Math.min(count, first + batchSize);
+            long blockSeed = mix(seed ^ mix(((long) type << 48) ^ block));
+            futures.add(executor.submit(() -> {
+                Generator generator = generators.get();
+                generator.random.setSeed(blockSeed);
+                Object[] row = new Object[columns.length];
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        for (long index = first; index < last; index++) {
+                            writer.write(index, generator.random, generator.faker, row);
+                            for (int i = 0; i < row.length; i++) {
+                                statement.setObject(i + 1, row[i] instanceof UUID id ? uuid(id) : row[i]);
+                            }
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    }
+                }
+                long total = done.addAndGet(last - first);
+                if (total == count || total / batchSize % 100 == 0) {
+                    logger.info("{} : {}/{} lignes", table, total, count);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Échec de l'insertion dans " + table, e.getCause());
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("{} : {} lignes en {} ms ({} lignes/s)", table, count, elapsed, count * 1000 / elapsed);
+        return count;
+    }
+
+    /**
+     * Each patient is followed by a main doctor and sometimes by a second one, both drawn with the Zipf law.
+     * Computed sequentially from the seed because the voices need the whole list.
+     */
+    private Links links(double[] doctorWeights) {
+        Random random = new Random(mix(seed ^ LINKS));
+        int[] linkDoctors = new int[2 * patients];
+        int[] linkPatients = new int[linkDoctors.length];
+        int size = 0;
+        for (int patient = 0; patient < patients; patient++) {
+            int doctor = pick(doctorWeights, random);
+            linkDoctors[size] = doctor;
+            linkPatients[size++] = patient;
+            if (doctors > 1 && random.nextDouble() < secondDoctorRatio) {
+                int second = pick(doctorWeights, random);
+                linkDoctors[size] = second == doctor ? (doctor + 1) % doctors : second;
+                linkPatients[size++] = patient;
+            }
+        }
+        return new Links(Arrays.copyOf(linkDoctors, size), Arrays.copyOf(linkPatients, size));
+    }
+
+    /**
+     * Store the recordings shared by the voices through the storage service, local or S3
+     */
+    private Clip[] storeClips() throws IOException {
+        Clip[] clips = new Clip[audioClips];
+        for (int i = 0; i < audioClips; i++) {
+            Random random = new Random(mix(seed ^ mix(((long) AUDIO << 48) ^ i)));
+            int durationMillis = 5_000 + random.nextInt(115_000);
+            byte[] wav = SyntheticAudio.wav(random, durationMillis);
+            MetadataFileDTO file = storageService.storeFile(
+                    new ByteArrayInputStream(wav), "seed-" + seed + "-" + i + ".wav", "audio/wav", FileType.AUDIO);
+            clips[i] = new Clip(file.getId(), durationMillis);
+        }
+        logger.info("{} enregistrements synthétiques stockés", audioClips);
+        return clips;
+    }
+
+    private Map<String, UUID> loadRoles() {
+        Map<String, UUID> roles = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM roles", resultSet -> {
+            roles.put(resultSet.getString("name"), uuid(resultSet.getObject("id")));
+        });
+        for (RoleEnum role : new RoleEnum[]{RoleEnum.MEDECIN, RoleEnum.ASSISTANT, RoleEnum.PATIENT}) {
+            if (!roles.containsKey(role.name())) {
+                throw new IllegalStateException("Rôle " + role.name() + " absent, les rôles doivent être initialisés avant la génération");
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Hibernate maps UUID to BINARY(16) on MariaDB before 10.7 and to the native UUID type afterwards
+     */
+    private boolean isBinaryUuid() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{"users", "USERS"}) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                    while (columns.next()) {
+                        if ("id".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return columns.getString("TYPE_NAME").toUpperCase(Locale.ROOT).contains("BINARY");
+                        }
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("Table users introuvable, le schéma doit être créé avant la génération");
+    }
+
+    private Object uuid(UUID id) {
+        if (!uuidAsBinary) {
+            return id;
+        }
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static UUID uuid(Object value) {
+        if (value instanceof UUID id) {
+            return id;
+        }
+        if (value instanceof byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return UUID.fromString(value.toString());
+    }
+
+    /**
+     * Identifier of the row {@code index} of a table, shaped as a random (version 4) UUID
+     */
+    UUID id(int type, long index) {
+        long most = mix(seed ^ mix(((long) type << 56) ^ index));
+        long least = mix(most ^ index);
+        return new UUID((most & ~0xF000L) | 0x4000L, (least & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private LocalDateTime date(Random random) {
+        return referenceDate.minusMinutes(random.nextInt(days * 24 * 60));
+    }
+
+    /**
+     * Creation date of a voice, also needed by its notes, so derived from its index only
+     */
+    private LocalDateTime voiceDate(long voice) {
+        return referenceDate.minusMinutes(Math.floorMod(mix(seed ^ mix(((long) VOICE << 52) ^ voice)), days * 24L * 60));
+    }
+
+    /**
+     * Cumulative weights of the Zipf law: the rank {@code k} is drawn with a probability proportional to 1/k^s
+     */
+    static double[] zipfCumulativeWeights(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    static int pick(double[] cumulativeWeights, Random random) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    /**
+     * Finaliseur de MurmurHash3 : bijectif, deux index différents donnent deux valeurs différentes
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, Random random, Faker faker, Object[] row);
+    }
+
+    /**
+     * One random generator and one faker per worker, reseeded for each block
+     */
+    private static final class Generator {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(Locale.FRANCE, random);
+    }
+
+    private record Links(int[] doctors, int[] patients) {
+        int size() {
+            return doctors.length;
+        }
+    }
+
+    private record Clip(UUID fileId, long durationMillis) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.personnel.personnelservice.core.seeders;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Generates speech-like WAV recordings (PCM 16 bits mono): voiced bursts of a few hundred milliseconds
+ * separated by short silences, so that the waveform and the transcoding behave as with real dictations.
+ */
+public final class SyntheticAudio {
+
+    public static final int SAMPLE_RATE = 16_000;
+    private static final int HEADER_SIZE = 44;
+
+    private SyntheticAudio() {
+    }
+
+    /**
+     * @param random source of the generated content, the same seed gives the same file
+     * @param durationMillis duration of the recording
+     * @return the content of a WAV file
+     */
+    public static byte[] wav(Random random, int durationMillis) {
+        int samples = (int) ((long) SAMPLE_RATE * durationMillis / 1000);
+        ByteBuffer pcm = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        // Voix grave ou aiguë, constante sur tout l'enregistrement
+        double pitch = 90 + random.nextDouble() * 150;
+        int position = 0;
+        while (position < samples) {
+            int burst = Math.min(samples - position, SAMPLE_RATE * (80 + random.nextInt(220)) / 1000);
+            double frequency = pitch * (0.85 + random.nextDouble() * 0.3);
+            double amplitude = 4_000 + random.nextInt(8_000);
+            for (int i = 0; i < burst; i++) {
+                double t = (double) (position + i) / SAMPLE_RATE;
+                double envelope = Math.sin(Math.PI * i / burst);
+                double voiced = Math.sin(2 * Math.PI * frequency * t)
+                        + 0.5 * Math.sin(4 * Math.PI * frequency * t)
+                        + 0.25 * Math.sin(6 * Math.PI * frequency * t);
+                pcm.putShort((short) (amplitude * envelope * voiced / 1.75 + random.nextGaussian() * 200));
+            }
+            position += burst;
+            int silence = Math.min(samples - position, SAMPLE_RATE * (40 + random.nextInt(360)) / 1000);
+            for (int i = 0; i < silence; i++) {
+                pcm.putShort((short) (random.nextGaussian() * 60));
+            }
+            position += silence;
+        }
+        return withHeader(pcm.array());
+    }
+
+    private static byte[] withHeader(byte[] pcm) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes()).putInt(HEADER_SIZE - 8 + pcm.length).put("WAVE".getBytes());
+        header.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2).putShort((short) 2).putShort((short) 16);
+        header.put("data".getBytes()).putInt(pcm.length);
+        ByteArrayOutputStream wav = new ByteArrayOutputStream(HEADER_SIZE + pcm.length);
+        wav.writeBytes(header.array());
+        wav.writeBytes(pcm);
+        return wav.toByteArray();
+    }
+}
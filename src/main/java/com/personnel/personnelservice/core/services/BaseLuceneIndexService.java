@@ -0,0 +1,154 @@
+package com.personnel.personnelservice.core.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Socle des services de recherche adossés à un {@link LuceneIndex} : ouverture, commits périodiques et
+ * reconstruction depuis la base. Pendant une reconstruction les recherches passent par la base, et les
+ * entités modifiées pendant le parcours sont réindexées à la fin.
+ * @param <E> entité indexée, un document par entité
+ */
+public abstract class BaseLuceneIndexService<E> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BaseLuceneIndexService.class);
+
+    protected final Analyzer analyzer = new FrenchTextAnalyzer();
+    protected LuceneIndex index;
+
+    private final String name;
+    // Exécuteur de Spring Boot (applicationTaskExecutor), borné et arrêté avec le contexte
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @Value("${search.index.location:./search-index}")
+    private String indexLocation;
+
+    @Value("${search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    /**
+     * @param name nom du répertoire de l'index sous search.index.location
+     * @param taskExecutor exécuteur des reconstructions en tâche de fond
+     */
+    protected BaseLuceneIndexService(String name, TaskExecutor taskExecutor) {
+        this.name = name;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * @return number of entities in the database
+     */
+    protected abstract long countEntities();
+
+    /**
+     * @return one page of the entities to index, ordered by id
+     */
+    protected abstract Page<E> findEntities(Pageable pageable);
+
+    /**
+     * Write the documents of a page of entities read by {@link #findEntities(Pageable)}
+     */
+    protected abstract void writeEntities(List<E> entities) throws IOException;
+
+    /**
+     * Write the document of one entity, or delete it if the entity no longer exists
+     */
+    protected abstract void writeEntity(UUID id) throws IOException;
+
+    @PostConstruct
+    public void open() throws IOException {
+        index = new LuceneIndex(Paths.get(indexLocation, name), analyzer);
+
+        // Premier démarrage ou index supprimé : reconstruction en tâche de fond, les recherches passent par la base
+        if (index.numDocs() == 0 && countEntities() > 0) {
+            startRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:10000}")
+    public void commit() throws IOException {
+        index.commit();
+    }
+
+    public boolean isReady() {
+        return !rebuilding.get();
+    }
+
+    protected void index(UUID id) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(id);
+        }
+        try {
+            writeEntity(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::rebuild);
+        } catch (TaskRejectedException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    public synchronized void rebuild() {
+        rebuilding.set(true);
+        try {
+            long start = System.currentTimeMillis();
+            index.getWriter().deleteAll();
+            Page<E> page;
+            Pageable pageable = PageRequest.of(0, rebuildBatchSize, Sort.by("id"));
+            do {
+                page = findEntities(pageable);
+                writeEntities(page.getContent());
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+
+            // Les entités modifiées pendant le parcours ont pu être indexées avec une version lue avant la modification
+            for (UUID id : List.copyOf(changedDuringRebuild)) {
+                changedDuringRebuild.remove(id);
+                writeEntity(id);
+            }
+            index.commit();
+            logger.info("Index {} reconstruit en {} ms ({} documents)", name, System.currentTimeMillis() - start, index.numDocs());
+        } catch (IOException e) {
+            logger.error("Échec de la reconstruction de l'index {}", name, e);
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
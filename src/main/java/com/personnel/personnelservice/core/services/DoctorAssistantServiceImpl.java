@@ -61,7 +61,7 @@ public class DoctorAssistantServiceImpl implements DoctorAssistantService {
 
     @Override
     public DoctorAssistantDto getDoctorAssistantById(UUID id) {
-        DoctorAssistant doctorAssistant = jpaDoctorAssistantRepository.findById(id)
+        DoctorAssistant doctorAssistant = jpaDoctorAssistantRepository.findWithReferencesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Doctor-Assistant relationship not found with id: " + id));
         return doctorAssistantMapper.toDTO(doctorAssistant);
     }
@@ -69,7 +69,7 @@ public class DoctorAssistantServiceImpl implements DoctorAssistantService {
     @Override
     @Transactional
     public DoctorAssistantDto updateDoctorAssistant(DoctorAssistantDto doctorAssistantDto) {
-        DoctorAssistant doctorAssistant = jpaDoctorAssistantRepository.findById(doctorAssistantDto.getId())
+        DoctorAssistant doctorAssistant = jpaDoctorAssistantRepository.findWithReferencesById(doctorAssistantDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Doctor-Assistant relationship not found with id: " + doctorAssistantDto.getId()));
 
         // Check if trying to change to an existing relationship
@@ -114,14 +114,14 @@ public class DoctorAssistantServiceImpl implements DoctorAssistantService {
 
     @Override
     public List<DoctorAssistantDto> getAllDoctorAssistants() {
-        return jpaDoctorAssistantRepository.findAll().stream()
+        return jpaDoctorAssistantRepository.findWithReferencesBy().stream()
                 .map(doctorAssistantMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     public Page<DoctorAssistantDto> getAllDoctorAssistants(Pageable pageable) {
-        return jpaDoctorAssistantRepository.findAll(pageable)
+        return jpaDoctorAssistantRepository.findWithReferencesBy(pageable)
                 .map(doctorAssistantMapper::toDTO);
     }
 
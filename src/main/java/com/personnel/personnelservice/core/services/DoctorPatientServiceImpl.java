@@ -9,6 +9,7 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaMede
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaPatientRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
 import com.personnel.personnelservice.core.exceptions.RoleAlreadyAssignedException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.DoctorPatientDto;
 import com.personnel.personnelservice.core.ports.services.DoctorPatientService;
 import jakarta.transaction.Transactional;
@@ -61,7 +62,7 @@ public class DoctorPatientServiceImpl implements DoctorPatientService {
 
     @Override
     public DoctorPatientDto getDoctorPatientById(UUID id) {
-        DoctorPatient doctorPatient = jpaDoctorPatientRepository.findById(id)
+        DoctorPatient doctorPatient = jpaDoctorPatientRepository.findWithReferencesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Doctor-Patient relationship not found with id: " + id));
         return doctorPatientMapper.toDTO(doctorPatient);
     }
@@ -69,7 +70,7 @@ public class DoctorPatientServiceImpl implements DoctorPatientService {
     @Override
     @Transactional
     public DoctorPatientDto updateDoctorPatient(DoctorPatientDto doctorPatientDto) {
-        DoctorPatient doctorPatient = jpaDoctorPatientRepository.findById(doctorPatientDto.getId())
+        DoctorPatient doctorPatient = jpaDoctorPatientRepository.findWithReferencesById(doctorPatientDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Doctor-Patient relationship not found with id: " + doctorPatientDto.getId()));
 
         // Check if trying to change to an existing relationship
@@ -114,17 +115,25 @@ public class DoctorPatientServiceImpl implements DoctorPatientService {
 
     @Override
     public List<DoctorPatientDto> getAllDoctorPatients() {
-        return jpaDoctorPatientRepository.findAll().stream()
+        return jpaDoctorPatientRepository.findWithReferencesBy().stream()
                 .map(doctorPatientMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     public Page<DoctorPatientDto> getAllDoctorPatients(Pageable pageable) {
-        return jpaDoctorPatientRepository.findAll(pageable)
+        return jpaDoctorPatientRepository.findWithReferencesBy(pageable)
                 .map(doctorPatientMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<DoctorPatientDto> getAllDoctorPatients(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<DoctorPatient> doctorPatients = jpaDoctorPatientRepository.findPageAfter(after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(doctorPatients, size, KeysetCursor::of, doctorPatientMapper::toDTO);
+    }
+
     @Override
     public List<DoctorPatientDto> getDoctorPatientsByDoctorId(UUID doctorId) {
         return jpaDoctorPatientRepository.findByDoctorId(doctorId).stream()
@@ -138,6 +147,14 @@ public class DoctorPatientServiceImpl implements DoctorPatientService {
                 .map(doctorPatientMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<DoctorPatientDto> getDoctorPatientsByDoctorId(UUID doctorId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<DoctorPatient> doctorPatients = jpaDoctorPatientRepository.findPageByDoctorIdAfter(doctorId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(doctorPatients, size, KeysetCursor::of, doctorPatientMapper::toDTO);
+    }
+
     @Override
     public List<DoctorPatientDto> getDoctorPatientsByPatientId(UUID patientId) {
         return jpaDoctorPatientRepository.findByPatientId(patientId).stream()
@@ -151,6 +168,14 @@ public class DoctorPatientServiceImpl implements DoctorPatientService {
                 .map(doctorPatientMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<DoctorPatientDto> getDoctorPatientsByPatientId(UUID patientId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<DoctorPatient> doctorPatients = jpaDoctorPatientRepository.findPageByPatientIdAfter(patientId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(doctorPatients, size, KeysetCursor::of, doctorPatientMapper::toDTO);
+    }
+
     @Override
     public Optional<DoctorPatientDto> getDoctorPatientByDoctorIdAndPatientId(UUID doctorId, UUID patientId) {
         return jpaDoctorPatientRepository.findByDoctorIdAndPatientId(doctorId, patientId)
@@ -0,0 +1,42 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.BaseEntity;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaBaseRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Exports a whole table as DTO chunks with a memory footprint bounded by the chunk size.
+ * <p>
+ * Les lots sont lus par clé (id) plutôt qu'avec un Stream JPA : chaque lot est une requête bornée, qu'aucun curseur
+ * ne garde ouverte sur la connexion. Les repositories dont les DTO lisent des associations redéclarent ces requêtes
+ * avec leur entity graph : les associations d'un lot arrivent dans la même requête, sans N+1 par ligne exportée.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityExporter {
+
+    private final EntityManager entityManager;
+
+    @Value("${app.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * @param repository the table to export
+     * @param mapper conversion of an entity to its DTO
+     * @param consumer receives each chunk of DTOs
+     */
+    public <T extends BaseEntity, D> void export(JpaBaseRepository<T> repository, Function<T, D> mapper, Consumer<List<D>> consumer) {
+        repository.forEachChunk(chunkSize, chunk -> {
+            consumer.accept(chunk.stream().map(mapper).toList());
+            // Sous open-in-view le contexte de persistance de la requête accumulerait toute la table
+            entityManager.clear();
+        });
+    }
+}
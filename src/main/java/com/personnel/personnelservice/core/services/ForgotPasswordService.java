@@ -5,12 +5,7 @@ import com.personnel.personnelservice.core.models.dtos.ResetPasswordDto;
 import com.personnel.personnelservice.core.ports.services.EmailSenderPort;
 import com.personnel.personnelservice.core.ports.services.ForgotPasswordUseCase;
 import com.personnel.personnelservice.adapters.persistances.entities.User;
-import com.personnel.personnelservice.adapters.persistances.entities.Patient;
-import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
-import com.personnel.personnelservice.adapters.persistances.repositories.JpaPatientRepository;
-import com.personnel.personnelservice.adapters.persistances.repositories.JpaMedecinRepository;
-import com.personnel.personnelservice.adapters.persistances.repositories.JpaAssistantRepository;
 
 import com.personnel.personnelservice.security.JwtTokenUtil;
 import jakarta.transaction.Transactional;
@@ -25,9 +20,6 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ForgotPasswordService implements ForgotPasswordUseCase {
     private final JpaUserRepository userRepository;
-    private final JpaPatientRepository patientRepository;
-    private final JpaMedecinRepository medecinRepository;
-    private final JpaAssistantRepository assistantRepository;
     private final EmailSenderPort emailSender;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtTokenUtil;
@@ -49,17 +41,9 @@ public class ForgotPasswordService implements ForgotPasswordUseCase {
         return "Un email de réinitialisation a été envoyé.";
     }
 
+    // Une seule table pour toute la hiérarchie : la requête retourne directement le sous-type
     private Optional<? extends User> findUserByEmail(String email) {
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isPresent()) return user;
-
-        Optional<Patient> patient = patientRepository.findByEmail(email);
-        if (patient.isPresent()) return patient;
-
-        Optional<Medecin> medecin = medecinRepository.findByEmail(email);
-        if (medecin.isPresent()) return medecin;
-
-        return assistantRepository.findByEmail(email);
+        return userRepository.findByEmail(email);
     }
     @Override
     @Transactional
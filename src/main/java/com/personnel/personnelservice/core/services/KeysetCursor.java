@@ -0,0 +1,89 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.BaseEntity;
+import com.personnel.personnelservice.core.exceptions.InvalidCursorException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import org.springframework.data.domain.Limit;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in a listing sorted by (creationDate, id) descending, the last row of the previous page.
+ * Le curseur est transmis aux clients sous forme de jeton base64url opaque.
+ */
+public record KeysetCursor(LocalDateTime creationDate, UUID id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Position before the first row: every creation date is strictly older
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    private static final byte VERSION = 1;
+    private static final int LENGTH = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static KeysetCursor of(BaseEntity entity) {
+        return new KeysetCursor(entity.getCreationDate(), entity.getId());
+    }
+
+    /**
+     * @param token a token returned as nextCursor, null or blank for the first page
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != LENGTH || buffer.get() != VERSION) {
+                throw new InvalidCursorException(token);
+            }
+            LocalDateTime creationDate = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new KeysetCursor(creationDate, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .put(VERSION)
+                .putLong(creationDate.toEpochSecond(ZoneOffset.UTC))
+                .putInt(creationDate.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return the number of rows to read for a page of the requested size, one more to know if a next page exists
+     */
+    public static Limit limit(int size) {
+        return Limit.of(pageSize(size) + 1);
+    }
+
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds the page from the rows read with {@link #limit(int)}
+     * @param key the position of a row
+     * @param mapper conversion of a row to its DTO
+     */
+    public static <T, D> CursorPageDto<D> toPage(List<T> rows, int size, Function<T, KeysetCursor> key, Function<T, D> mapper) {
+        int pageSize = pageSize(size);
+        List<T> pageRows = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = rows.size() > pageSize ? key.apply(pageRows.get(pageSize - 1)).encode() : null;
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(), pageSize, nextCursor);
+    }
+}
@@ -1,56 +1,138 @@
 package com.personnel.personnelservice.core.services;
 
 import com.personnel.personnelservice.adapters.persistances.entities.MetaDataFile;
+import com.personnel.personnelservice.adapters.persistances.entities.UploadSession;
 import com.personnel.personnelservice.adapters.persistances.mappers.MetadataFileMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaContentBlobRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaMetaDataFileRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUploadSessionRepository;
+import com.personnel.personnelservice.core.exceptions.BaseException;
 import com.personnel.personnelservice.core.exceptions.EmptyFileException;
+import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.exceptions.UploadOffsetMismatchException;
 import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
 import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.events.FileDeletedEvent;
 import com.personnel.personnelservice.core.ports.services.StorageService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 @RequiredArgsConstructor
 @Service
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
 public class LocalStorageServiceImpl implements StorageService {
 
+    private static final String PARTIAL_DIRECTORY = ".partial";
+    private static final String PARTIAL_EXTENSION = ".part";
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+    private static final int UPLOAD_LOCK_STRIPES = 64;
+    private static final IoAction NO_UNDO = () -> { };
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageServiceImpl.class);
+
     @Value("${file.storage.location:./uploads}")
     private String storageLocation;
 
+    /**
+     * Quand activé, les fichiers sont stockés sous ab/cd/&lt;sha256&gt; et les contenus identiques partagés.
+     * Chaque contenu a une ligne ContentBlob dont le compteur de références fait foi
+     */
+    @Value("${file.storage.content-addressed:false}")
+    private boolean contentAddressed;
+
     private final JpaMetaDataFileRepository metadataFileRepository;
     private final MetadataFileMapper metadataFileMapper;
+    private final JpaUploadSessionRepository uploadSessionRepository;
+    private final JpaContentBlobRepository contentBlobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Verrous par session d'upload (répartis en bandes) : les fragments et la finalisation d'une même session sont sérialisés
+     */
+    private final ReentrantLock[] uploadLocks = newUploadLocks();
 
     @Override
+    @Transactional(rollbackOn = IOException.class)
     public MetadataFileDTO storeFile(MultipartFile file, String fileType) throws IOException {
         if (file.isEmpty()) {
             throw new EmptyFileException("Le fichier est vide");
         }
 
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = getFileExtension(originalFileName);
+        FileType type = FileType.valueOf(fileType);
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeFile(inputStream, file.getOriginalFilename(), file.getContentType(), type);
+        }
+    }
 
-        String storedFileName = UUID.randomUUID().toString().replace("-", "") + fileExtension;
+    @Override
+    @Transactional(rollbackOn = IOException.class)
+    public MetadataFileDTO storeFile(InputStream content, String originalFileName, String mimeType, FileType fileType) throws IOException {
+        String fileExtension = getFileExtension(StringUtils.cleanPath(originalFileName));
 
         MetaDataFile metadataFile = new MetaDataFile();
-        metadataFile.setFileName(storedFileName);
         metadataFile.setExtension(fileExtension);
-        metadataFile.setMimeType(file.getContentType());
-        metadataFile.setType(FileType.valueOf(fileType));
-        metadataFile.setPath(storageLocation);
+        metadataFile.setMimeType(mimeType);
+        metadataFile.setType(fileType);
+
+        // Le fichier est en place avant le commit : une métadonnée validée désigne toujours un fichier présent
+        if (contentAddressed) {
+            Path tempPath = getPartialPath(UUID.randomUUID());
+            Files.createDirectories(tempPath.getParent());
+            MessageDigest digest = newContentDigest();
+            try (InputStream inputStream = new DigestInputStream(content, digest)) {
+                Files.copy(inputStream, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            IoAction placeFile = placeContentAddressed(tempPath, HexFormat.of().formatHex(digest.digest()), metadataFile);
+            // Un contenu partagé placé reste en place si la transaction est annulée : un upload concurrent du même
+            // contenu, en attente du verrou de sa ligne, a pu le trouver et s'en servir
+            afterCompletion(NO_UNDO, () -> deleteTemporaryFile(tempPath));
+            placeFile.run();
+        } else {
+            String storedFileName = UUID.randomUUID().toString().replace("-", "") + fileExtension;
+            metadataFile.setFileName(storedFileName);
+            metadataFile.setPath(storageLocation);
 
-        Path targetPath = Paths.get(storageLocation).resolve(storedFileName);
-        Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+            Path targetPath = Paths.get(storageLocation).resolve(storedFileName);
+            afterCompletion(() -> Files.deleteIfExists(targetPath), () -> { });
+            Files.copy(content, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
 
         MetaDataFile savedFile = metadataFileRepository.save(metadataFile);
 
@@ -67,4 +149,354 @@ public class LocalStorageServiceImpl implements StorageService {
         return metadataFileRepository.findById(fileId)
                 .map(metadataFileMapper::toDTO);
     }
+
+    @Override
+    @Transactional
+    public UploadSessionDto initUpload(UploadSessionDto uploadSessionDto) {
+        if (uploadSessionDto.getTotalSize() != null && uploadSessionDto.getTotalSize() <= 0) {
+            throw new EmptyFileException("Le fichier est vide");
+        }
+        if (!StringUtils.hasText(uploadSessionDto.getFileName())) {
+            throw new BaseException("Le nom du fichier est obligatoire");
+        }
+        String originalFileName = StringUtils.cleanPath(uploadSessionDto.getFileName());
+
+        UploadSession uploadSession = new UploadSession();
+        uploadSession.setOriginalFileName(originalFileName);
+        uploadSession.setExtension(getFileExtension(originalFileName));
+        uploadSession.setMimeType(uploadSessionDto.getMimeType());
+        uploadSession.setType(uploadSessionDto.getType());
+        uploadSession.setTotalSize(uploadSessionDto.getTotalSize());
+
+        UploadSession savedSession = uploadSessionRepository.save(uploadSession);
+        return toUploadSessionDto(savedSession, 0L);
+    }
+
+    @Override
+    public UploadSessionDto appendChunk(UUID uploadId, long offset, InputStream chunk) throws IOException {
+        ReentrantLock uploadLock = uploadLock(uploadId);
+        uploadLock.lock();
+        try {
+            UploadSession uploadSession = findOpenUploadSession(uploadId);
+            Path partialPath = getPartialPath(uploadId);
+            Files.createDirectories(partialPath.getParent());
+
+            long receivedBytes;
+            // Le verrou de fichier protège aussi des autres instances partageant le même stockage
+            try (FileChannel channel = FileChannel.open(partialPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                long expectedOffset = channel.size();
+                if (offset != expectedOffset) {
+                    throw new UploadOffsetMismatchException(uploadId, expectedOffset, offset);
+                }
+                receivedBytes = expectedOffset + writeChunk(channel, expectedOffset, chunk, uploadSession.getTotalSize());
+            }
+            return toUploadSessionDto(uploadSession, receivedBytes);
+        } finally {
+            uploadLock.unlock();
+        }
+    }
+
+    @Override
+    public UploadSessionDto getUploadStatus(UUID uploadId) throws IOException {
+        UploadSession uploadSession = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("UploadSession", uploadId));
+        Path partialPath = getPartialPath(uploadId);
+        long receivedBytes = Files.exists(partialPath) ? Files.size(partialPath) : 0L;
+        return toUploadSessionDto(uploadSession, receivedBytes);
+    }
+
+    /**
+     * Finalise l'upload sous le verrou de la session, conservé jusqu'à la fin de la transaction :
+     * une finalisation concurrente voit la session terminée. Le fichier partiel est placé avant le commit, si bien
+     * qu'une session terminée désigne toujours un fichier présent ; si la transaction est annulée, le fichier partiel
+     * est restauré et la session peut être finalisée à nouveau.
+     */
+    @Override
+    @Transactional(rollbackOn = IOException.class)
+    public MetadataFileDTO completeUpload(UUID uploadId) throws IOException {
+        ReentrantLock uploadLock = uploadLock(uploadId);
+        uploadLock.lock();
+        boolean unlockAfterCompletion = false;
+        try {
+            UploadSession uploadSession = findOpenUploadSession(uploadId);
+            Path partialPath = getPartialPath(uploadId);
+            long receivedBytes = Files.exists(partialPath) ? Files.size(partialPath) : 0L;
+            if (receivedBytes == 0) {
+                throw new EmptyFileException("Le fichier est vide");
+            }
+            if (uploadSession.getTotalSize() != null && receivedBytes != uploadSession.getTotalSize()) {
+                throw new UploadOffsetMismatchException(uploadId, uploadSession.getTotalSize(), receivedBytes);
+            }
+
+            MetaDataFile metadataFile = new MetaDataFile();
+            metadataFile.setExtension(uploadSession.getExtension());
+            metadataFile.setMimeType(uploadSession.getMimeType());
+            metadataFile.setType(uploadSession.getType());
+
+            IoAction placeFile;
+            IoAction restorePartialFile;
+            if (contentAddressed) {
+                placeFile = placeContentAddressed(partialPath, hashFile(partialPath), metadataFile);
+                // Le contenu partagé reste en place : on en recopie les octets
+                Path blobPath = resolveFilePath(metadataFile);
+                restorePartialFile = () -> {
+                    if (!Files.exists(partialPath)) {
+                        Files.copy(blobPath, partialPath);
+                    }
+                };
+            } else {
+                String storedFileName = UUID.randomUUID().toString().replace("-", "") + uploadSession.getExtension();
+                Path targetPath = Paths.get(storageLocation).resolve(storedFileName);
+                metadataFile.setFileName(storedFileName);
+                metadataFile.setPath(storageLocation);
+                placeFile = () -> Files.move(partialPath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+                restorePartialFile = () -> {
+                    if (Files.exists(targetPath)) {
+                        Files.move(targetPath, partialPath, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                };
+            }
+
+            uploadSession.setCompleted(true);
+            uploadSessionRepository.save(uploadSession);
+
+            MetaDataFile savedFile = metadataFileRepository.save(metadataFile);
+            unlockAfterCompletion = afterCompletion(restorePartialFile, uploadLock::unlock);
+            placeFile.run();
+            return metadataFileMapper.toDTO(savedFile);
+        } finally {
+            if (!unlockAfterCompletion) {
+                uploadLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteFile(UUID fileId) {
+        MetaDataFile metadataFile = metadataFileRepository.findById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("MetaDataFile", fileId));
+        metadataFileRepository.delete(metadataFile);
+
+        if (metadataFile.getContentHash() != null) {
+            contentBlobRepository.removeReference(metadataFile.getContentHash());
+        }
+        eventPublisher.publishEvent(new FileDeletedEvent(
+                fileId, metadataFile.getPath(), metadataFile.getFileName(), metadataFile.getContentHash()));
+    }
+
+    /**
+     * Supprime le fichier physique une fois la suppression des métadonnées validée.
+     * Un contenu partagé n'est supprimé que si plus aucune référence n'existe : la suppression de sa ligne
+     * le verrouille jusqu'au commit, un upload concurrent du même contenu attend donc la fin de la suppression
+     * et replace le fichier.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onFileDeleted(FileDeletedEvent event) throws IOException {
+        if (event.getContentHash() != null && contentBlobRepository.deleteIfUnreferenced(event.getContentHash()) == 0) {
+            return;
+        }
+        Files.deleteIfExists(Paths.get(event.getPath()).resolve(event.getFileName()));
+    }
+
+    @Override
+    public Optional<StoredFileDto> getStoredFile(UUID fileId) throws IOException {
+        Optional<MetaDataFile> metadataFile = metadataFileRepository.findById(fileId);
+        if (metadataFile.isEmpty()) {
+            return Optional.empty();
+        }
+        Path filePath = resolveFilePath(metadataFile.get());
+        if (!Files.isRegularFile(filePath)) {
+            return Optional.empty();
+        }
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String eTag = "\"" + fileId + "-" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"";
+
+        return Optional.of(new StoredFileDto(
+                fileId,
+                metadataFile.get().getFileName(),
+                metadataFile.get().getMimeType(),
+                attributes.size(),
+                attributes.lastModifiedTime().toInstant(),
+                eTag,
+                filePath));
+    }
+
+    @Override
+    public long transferTo(UUID fileId, long position, long count, WritableByteChannel target) throws IOException {
+        MetaDataFile metadataFile = metadataFileRepository.findById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("MetaDataFile", fileId));
+
+        try (FileChannel channel = FileChannel.open(resolveFilePath(metadataFile), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long transferred = 0;
+            while (position + transferred < end) {
+                long sent = channel.transferTo(position + transferred, end - position - transferred, target);
+                if (sent <= 0) {
+                    break;
+                }
+                transferred += sent;
+            }
+            return transferred;
+        }
+    }
+
+    private Path resolveFilePath(MetaDataFile metadataFile) {
+        return Paths.get(metadataFile.getPath()).resolve(metadataFile.getFileName());
+    }
+
+    private ReentrantLock uploadLock(UUID uploadId) {
+        return uploadLocks[Math.floorMod(uploadId.hashCode(), UPLOAD_LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] newUploadLocks() {
+        ReentrantLock[] locks = new ReentrantLock[UPLOAD_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    /**
+     * Exécute {@code onRollback} si la transaction courante est annulée, puis {@code onCompletion} quelle qu'en soit
+     * l'issue. À enregistrer avant de placer un fichier, pour qu'un placement interrompu soit lui aussi défait.
+     * Hors transaction, rien n'est différé et {@code onCompletion} reste à la charge de l'appelant.
+     * @return true si {@code onCompletion} a été différé à la fin de la transaction
+     */
+    private boolean afterCompletion(IoAction onRollback, Runnable onCompletion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_ROLLED_BACK) {
+                        onRollback.run();
+                    }
+                } catch (IOException e) {
+                    logger.error("Impossible de défaire le placement d'un fichier après l'annulation de la transaction", e);
+                } finally {
+                    onCompletion.run();
+                }
+            }
+        });
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private UploadSession findOpenUploadSession(UUID uploadId) {
+        UploadSession uploadSession = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("UploadSession", uploadId));
+        if (uploadSession.isCompleted()) {
+            throw new BaseException("Upload " + uploadId + " is already completed");
+        }
+        return uploadSession;
+    }
+
+    /**
+     * Copie le flux dans le canal à partir de la position donnée, sans jamais
+     * dépasser la taille annoncée à l'ouverture de la session.
+     */
+    private long writeChunk(FileChannel channel, long position, InputStream chunk, Long totalSize) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(chunk);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+        long written = 0;
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            if (totalSize != null && position + written + buffer.remaining() > totalSize) {
+                channel.truncate(position);
+                throw new BaseException("Chunk exceeds the announced file size of " + totalSize + " bytes");
+            }
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer, position + written);
+            }
+            buffer.clear();
+        }
+        channel.force(false);
+        return written;
+    }
+
+    /**
+     * Ajoute une référence au contenu et renseigne son emplacement adressé par contenu.
+     * La ligne du contenu reste verrouillée jusqu'au commit : une suppression concurrente attend la fin de la transaction
+     * et voit alors la référence, elle ne peut donc pas retirer le fichier placé entre-temps.
+     * @return le placement du fichier temporaire, à exécuter avant le commit
+     */
+    private IoAction placeContentAddressed(Path tempPath, String contentHash, MetaDataFile metadataFile) {
+        Path shardDirectory = Paths.get(storageLocation)
+                .resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4));
+        Path blobPath = shardDirectory.resolve(contentHash);
+
+        contentBlobRepository.addReference(contentHash);
+        metadataFile.setFileName(contentHash);
+        metadataFile.setPath(shardDirectory.toString());
+        metadataFile.setContentHash(contentHash);
+
+        return () -> {
+            Files.createDirectories(shardDirectory);
+            if (Files.exists(blobPath)) {
+                Files.delete(tempPath);
+                return;
+            }
+            try {
+                Files.move(tempPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Un upload concurrent du même contenu a gagné la course
+                Files.deleteIfExists(tempPath);
+            }
+        };
+    }
+
+    private void deleteTemporaryFile(Path tempPath) {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException e) {
+            logger.warn("Impossible de supprimer le fichier temporaire {}", tempPath, e);
+        }
+    }
+
+    private String hashFile(Path path) throws IOException {
+        MessageDigest digest = newContentDigest();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path getPartialPath(UUID uploadId) {
+        return Paths.get(storageLocation).resolve(PARTIAL_DIRECTORY).resolve(uploadId + PARTIAL_EXTENSION);
+    }
+
+    private UploadSessionDto toUploadSessionDto(UploadSession uploadSession, long receivedBytes) {
+        return new UploadSessionDto(
+                uploadSession.getId(),
+                uploadSession.getOriginalFileName(),
+                uploadSession.getMimeType(),
+                uploadSession.getType(),
+                uploadSession.getTotalSize(),
+                receivedBytes,
+                uploadSession.isCompleted());
+    }
 }
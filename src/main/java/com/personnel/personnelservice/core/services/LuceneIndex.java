@@ -0,0 +1,65 @@
+package com.personnel.personnelservice.core.services;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Index Lucene sur disque partagé par les services de recherche : un writer unique, un lecteur
+ * rouvert au plus une fois par recherche et des commits regroupés.
+ */
+public class LuceneIndex implements Closeable {
+
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    public LuceneIndex(Path location, Analyzer analyzer) throws IOException {
+        directory = FSDirectory.open(location);
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    public IndexWriter getWriter() {
+        return indexWriter;
+    }
+
+    public int numDocs() {
+        return indexWriter.getDocStats().numDocs;
+    }
+
+    /**
+     * @return a searcher seeing every write made so far, to give back with {@link #release(IndexSearcher)}
+     */
+    public IndexSearcher acquire() throws IOException {
+        searcherManager.maybeRefresh();
+        return searcherManager.acquire();
+    }
+
+    public void release(IndexSearcher searcher) throws IOException {
+        searcherManager.release(searcher);
+    }
+
+    public void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            indexWriter.commit();
+        }
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,169 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
+import com.personnel.personnelservice.core.models.events.NoteChangedEvent;
+import com.personnel.personnelservice.core.ports.services.NoteIndexService;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the NoteIndexService interface backed by a Lucene index on local disk.
+ * L'index est commité périodiquement, les recherches voient toutefois les écritures non commitées.
+ */
+@Service
+public class NoteIndexServiceImpl extends BaseLuceneIndexService<Note> implements NoteIndexService {
+
+    static final String ID = "id";
+    static final String CONTENT = "content";
+    static final String VOICE_ID = "voiceId";
+    static final String VALIDATED = "validated";
+
+    private final JpaNoteRepository jpaNoteRepository;
+    private final NoteMapper noteMapper;
+
+    @Value("${search.index.highlight-passages:2}")
+    private int highlightPassages;
+
+    public NoteIndexServiceImpl(JpaNoteRepository jpaNoteRepository, NoteMapper noteMapper, TaskExecutor taskExecutor) {
+        super("notes", taskExecutor);
+        this.jpaNoteRepository = jpaNoteRepository;
+        this.noteMapper = noteMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNoteChanged(NoteChangedEvent event) {
+        indexNote(event.getNoteId());
+    }
+
+    @Override
+    public void indexNote(UUID noteId) {
+        index(noteId);
+    }
+
+    @Override
+    protected long countEntities() {
+        return jpaNoteRepository.count();
+    }
+
+    @Override
+    protected Page<Note> findEntities(Pageable pageable) {
+        return jpaNoteRepository.findAll(pageable);
+    }
+
+    @Override
+    protected void writeEntities(List<Note> notes) throws IOException {
+        for (Note note : notes) {
+            index.getWriter().updateDocument(new Term(ID, note.getId().toString()), toDocument(note));
+        }
+    }
+
+    @Override
+    protected void writeEntity(UUID noteId) throws IOException {
+        Term idTerm = new Term(ID, noteId.toString());
+        Note note = jpaNoteRepository.findById(noteId).orElse(null);
+        if (note == null) {
+            index.getWriter().deleteDocuments(idTerm);
+        } else {
+            index.getWriter().updateDocument(idTerm, toDocument(note));
+        }
+    }
+
+    @Override
+    public Page<NoteSearchHitDto> search(String query, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            pageable = PageRequest.of(0, 20);
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, CONTENT);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query luceneQuery = parser.parse(query == null ? "" : query);
+        if (luceneQuery == null) {
+            // Uniquement des mots vides
+            return Page.empty(pageable);
+        }
+
+        try {
+            IndexSearcher searcher = index.acquire();
+            try {
+                int offset = (int) pageable.getOffset();
+                TopDocs topDocs = searcher.search(luceneQuery, offset + pageable.getPageSize());
+                ScoreDoc[] pageDocs = Arrays.copyOfRange(topDocs.scoreDocs,
+                        Math.min(offset, topDocs.scoreDocs.length), topDocs.scoreDocs.length);
+                int totalHits = searcher.count(luceneQuery);
+
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                        .build();
+                String[] highlights = highlighter.highlight(CONTENT, luceneQuery, new TopDocs(topDocs.totalHits, pageDocs),
+                        highlightPassages);
+
+                StoredFields storedFields = searcher.storedFields();
+                List<UUID> noteIds = new ArrayList<>(pageDocs.length);
+                for (ScoreDoc scoreDoc : pageDocs) {
+                    noteIds.add(UUID.fromString(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID)));
+                }
+                Map<UUID, Note> notes = jpaNoteRepository.findWithReferencesByIdIn(noteIds).stream()
+                        .collect(Collectors.toMap(Note::getId, Function.identity()));
+
+                List<NoteSearchHitDto> hits = new ArrayList<>(pageDocs.length);
+                for (int i = 0; i < pageDocs.length; i++) {
+                    Note note = notes.get(noteIds.get(i));
+                    // Note supprimée depuis la dernière écriture dans l'index
+                    if (note != null) {
+                        hits.add(new NoteSearchHitDto(noteMapper.toDTO(note), pageDocs[i].score, highlights[i]));
+                    }
+                }
+                return new PageImpl<>(hits, pageable, totalHits);
+            } finally {
+                index.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document toDocument(Note note) {
+        Document document = new Document();
+        document.add(new StringField(ID, note.getId().toString(), Field.Store.YES));
+        document.add(new TextField(CONTENT, note.getContentTxt() == null ? "" : note.getContentTxt(), Field.Store.YES));
+        document.add(new StringField(VALIDATED, String.valueOf(note.isValidated()), Field.Store.NO));
+        if (note.getVoice() != null) {
+            document.add(new StringField(VOICE_ID, note.getVoice().getId().toString(), Field.Store.NO));
+        }
+        return document;
+    }
+}
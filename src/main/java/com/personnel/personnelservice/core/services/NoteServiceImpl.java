@@ -1,6 +1,7 @@
 package com.personnel.personnelservice.core.services;
 
 import com.personnel.personnelservice.adapters.persistances.entities.Assistant;
+import com.personnel.personnelservice.adapters.persistances.entities.BaseEntity;
 import com.personnel.personnelservice.adapters.persistances.entities.Note;
 import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.adapters.persistances.entities.Voice;
@@ -9,18 +10,39 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaAssi
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.exceptions.BatchTooLargeException;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.NoteBatchResultDto;
 import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.enums.BatchItemStatus;
+import com.personnel.personnelservice.core.models.events.NoteChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.ports.services.NoteIndexService;
 import com.personnel.personnelservice.core.ports.services.NoteService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +50,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class NoteServiceImpl implements NoteService {
 
     private final JpaNoteRepository jpaNoteRepository;
@@ -35,40 +58,28 @@ public class NoteServiceImpl implements NoteService {
     private final JpaAssistantRepository jpaAssistantRepository;
     private final JpaUserRepository jpaUserRepository;
     private final NoteMapper noteMapper;
+    private final NoteIndexService noteIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityExporter entityExporter;
+    private final UserReferenceResolver userReferenceResolver;
+
+    @Value("${app.notes.batch.max-size:500}")
+    private int maxBatchSize;
 
     @Override
     @Transactional
     public NoteDto createNote(NoteDto noteDto) {
         Note note = noteMapper.toEntity(noteDto);
-
-        // Set the voice
-        if (noteDto.getVoiceId() != null) {
-            Voice voice = jpaVoiceRepository.findById(noteDto.getVoiceId())
-                    .orElseThrow(() -> new EntityNotFoundException("Voice not found with id: " + noteDto.getVoiceId()));
-            note.setVoice(voice);
-        }
-
-        // Set the assistant
-        if (noteDto.getAssistantId() != null) {
-            Assistant assistant = jpaAssistantRepository.findById(noteDto.getAssistantId())
-                    .orElseThrow(() -> new EntityNotFoundException("Assistant not found with id: " + noteDto.getAssistantId()));
-            note.setAssistant(assistant);
-        }
-
-        // Set the modifier
-        if (noteDto.getModifierId() != null) {
-            User modifier = jpaUserRepository.findById(noteDto.getModifierId())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + noteDto.getModifierId()));
-            note.setModifier(modifier);
-        }
+        References references = setReferences(noteDto, note);
 
         Note savedNote = jpaNoteRepository.save(note);
-        return noteMapper.toDTO(savedNote);
+        publishNoteChanged(savedNote);
+        return references.fillNames(noteMapper.toWrittenDTO(savedNote));
     }
 
     @Override
     public NoteDto getNoteById(UUID id) {
-        Note note = jpaNoteRepository.findById(id)
+        Note note = jpaNoteRepository.findWithReferencesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Note not found with id: " + id));
         return noteMapper.toDTO(note);
     }
@@ -76,58 +87,194 @@ public class NoteServiceImpl implements NoteService {
     @Override
     @Transactional
     public NoteDto updateNote(NoteDto noteDto) {
-        Note note = jpaNoteRepository.findById(noteDto.getId())
+        Note note = jpaNoteRepository.findWithReferencesById(noteDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Note not found with id: " + noteDto.getId()));
+        Voice previousVoice = note.getVoice();
 
         noteMapper.updateEntity(noteDto, note);
+        References references = setReferences(noteDto, note);
+
+        Note updatedNote = jpaNoteRepository.save(note);
+        publishNoteChanged(updatedNote);
+        if (previousVoice != null && previousVoice != updatedNote.getVoice()) {
+            eventPublisher.publishEvent(new VoiceChangedEvent(previousVoice.getId()));
+        }
+        return references.fillNames(noteMapper.toWrittenDTO(updatedNote));
+    }
 
-        // Update the voice if changed
+    /**
+     * Voice title and user references read to check the ids of a note, in place of the entities
+     */
+    private record References(VoiceSummaryDto voice, Map<UUID, UserReferenceDto> users) {
+
+        NoteDto fillNames(NoteDto dto) {
+            if (dto.getVoiceTitle() == null && voice != null) {
+                dto.setVoiceTitle(voice.getTitle());
+            }
+            if (dto.getAssistantName() == null && users.containsKey(dto.getAssistantId())) {
+                dto.setAssistantName(users.get(dto.getAssistantId()).getFullName());
+            }
+            if (dto.getModifierName() == null && users.containsKey(dto.getModifierId())) {
+                dto.setModifierName(users.get(dto.getModifierId()).getFullName());
+            }
+            return dto;
+        }
+    }
+
+    /**
+     * Set the voice, the assistant and the modifier given in the DTO as references : their existence is checked
+     * with one query for the voice and one for the users
+     */
+    private References setReferences(NoteDto noteDto, Note note) {
+        VoiceSummaryDto voice = null;
         if (noteDto.getVoiceId() != null) {
-            Voice voice = jpaVoiceRepository.findById(noteDto.getVoiceId())
+            voice = jpaVoiceRepository.findSummaryById(noteDto.getVoiceId())
                     .orElseThrow(() -> new EntityNotFoundException("Voice not found with id: " + noteDto.getVoiceId()));
-            note.setVoice(voice);
+            note.setVoice(jpaVoiceRepository.getReferenceById(noteDto.getVoiceId()));
         }
-
-        // Update the assistant if changed
+        Map<UUID, UserReferenceDto> users = userReferenceResolver.findAll(noteDto.getAssistantId(), noteDto.getModifierId());
         if (noteDto.getAssistantId() != null) {
-            Assistant assistant = jpaAssistantRepository.findById(noteDto.getAssistantId())
-                    .orElseThrow(() -> new EntityNotFoundException("Assistant not found with id: " + noteDto.getAssistantId()));
-            note.setAssistant(assistant);
+            UserReferenceResolver.require(users, noteDto.getAssistantId(), Assistant.class, "Assistant");
+            note.setAssistant(jpaAssistantRepository.getReferenceById(noteDto.getAssistantId()));
         }
-
-        // Update the modifier if changed
         if (noteDto.getModifierId() != null) {
-            User modifier = jpaUserRepository.findById(noteDto.getModifierId())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + noteDto.getModifierId()));
-            note.setModifier(modifier);
+            UserReferenceResolver.require(users, noteDto.getModifierId(), User.class, "User");
+            note.setModifier(jpaUserRepository.getReferenceById(noteDto.getModifierId()));
         }
+        return new References(voice, users);
+    }
 
-        Note updatedNote = jpaNoteRepository.save(note);
-        return noteMapper.toDTO(updatedNote);
+    @Override
+    @Transactional
+    public List<NoteBatchResultDto> saveNotes(List<NoteDto> noteDtos) {
+        if (noteDtos.size() > maxBatchSize) {
+            throw new BatchTooLargeException(noteDtos.size(), maxBatchSize);
+        }
+        // Une requête par type référencé, quel que soit le nombre de notes. Les notes existantes sont lues avec leur
+        // graphe : une référence absente du DTO garde l'association chargée, que le mapper lit pour les noms
+        Map<UUID, Note> notes = findAllById(jpaNoteRepository::findWithReferencesByIdIn, noteDtos, NoteDto::getId);
+        Map<UUID, Voice> voices = findAllById(jpaVoiceRepository::findAllById, noteDtos, NoteDto::getVoiceId);
+        Map<UUID, Assistant> assistants = findAllById(jpaAssistantRepository::findAllById, noteDtos, NoteDto::getAssistantId);
+        Map<UUID, User> modifiers = findAllById(jpaUserRepository::findAllById, noteDtos, NoteDto::getModifierId);
+
+        NoteBatchResultDto[] results = new NoteBatchResultDto[noteDtos.size()];
+        List<Integer> savedIndexes = new ArrayList<>();
+        List<Note> toSave = new ArrayList<>();
+        Set<UUID> previousVoiceIds = new HashSet<>();
+        for (int i = 0; i < noteDtos.size(); i++) {
+            NoteDto noteDto = noteDtos.get(i);
+            String error = validateBatchItem(noteDto, notes, voices, assistants, modifiers);
+            if (error != null) {
+                results[i] = new NoteBatchResultDto(i, BatchItemStatus.FAILED, null, error);
+                continue;
+            }
+            Note note;
+            if (noteDto.getId() == null) {
+                note = noteMapper.toEntity(noteDto);
+            } else {
+                note = notes.get(noteDto.getId());
+                if (note.getVoice() != null) {
+                    previousVoiceIds.add(note.getVoice().getId());
+                }
+                noteMapper.updateEntity(noteDto, note);
+            }
+            if (noteDto.getVoiceId() != null) {
+                note.setVoice(voices.get(noteDto.getVoiceId()));
+            }
+            if (noteDto.getAssistantId() != null) {
+                note.setAssistant(assistants.get(noteDto.getAssistantId()));
+            }
+            if (noteDto.getModifierId() != null) {
+                note.setModifier(modifiers.get(noteDto.getModifierId()));
+            }
+            results[i] = new NoteBatchResultDto(i, noteDto.getId() == null ? BatchItemStatus.CREATED : BatchItemStatus.UPDATED, null, null);
+            savedIndexes.add(i);
+            toSave.add(note);
+        }
+
+        // Les inserts et updates sont regroupés en lots JDBC au flush (hibernate.jdbc.batch_size)
+        List<Note> savedNotes = jpaNoteRepository.saveAll(toSave);
+        Set<UUID> currentVoiceIds = new HashSet<>();
+        for (int i = 0; i < savedNotes.size(); i++) {
+            Note savedNote = savedNotes.get(i);
+            results[savedIndexes.get(i)].setNote(noteMapper.toDTO(savedNote));
+            publishNoteChanged(savedNote);
+            if (savedNote.getVoice() != null) {
+                currentVoiceIds.add(savedNote.getVoice().getId());
+            }
+        }
+        previousVoiceIds.removeAll(currentVoiceIds);
+        previousVoiceIds.forEach(voiceId -> eventPublisher.publishEvent(new VoiceChangedEvent(voiceId)));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return the reason the note cannot be saved, null if it can
+     */
+    private static String validateBatchItem(NoteDto noteDto, Map<UUID, Note> notes, Map<UUID, Voice> voices,
+                                            Map<UUID, Assistant> assistants, Map<UUID, User> modifiers) {
+        if (noteDto == null) {
+            return "Note is required";
+        }
+        if (noteDto.getContentTxt() == null) {
+            return "Note content is required";
+        }
+        if (noteDto.getId() != null && !notes.containsKey(noteDto.getId())) {
+            return "Note not found with id: " + noteDto.getId();
+        }
+        if (noteDto.getVoiceId() != null && !voices.containsKey(noteDto.getVoiceId())) {
+            return "Voice not found with id: " + noteDto.getVoiceId();
+        }
+        if (noteDto.getAssistantId() != null && !assistants.containsKey(noteDto.getAssistantId())) {
+            return "Assistant not found with id: " + noteDto.getAssistantId();
+        }
+        if (noteDto.getModifierId() != null && !modifiers.containsKey(noteDto.getModifierId())) {
+            return "User not found with id: " + noteDto.getModifierId();
+        }
+        return null;
+    }
+
+    private static <T extends BaseEntity> Map<UUID, T> findAllById(Function<Set<UUID>, List<T>> finder, List<NoteDto> noteDtos,
+                                                                   Function<NoteDto, UUID> reference) {
+        Set<UUID> ids = noteDtos.stream()
+                .filter(Objects::nonNull)
+                .map(reference)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(ids).stream()
+                .collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
     }
 
     @Override
     @Transactional
     public void deleteNote(UUID id) {
-        if (!jpaNoteRepository.existsById(id)) {
-            throw new EntityNotFoundException("Note not found with id: " + id);
-        }
+        Note note = jpaNoteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Note not found with id: " + id));
         jpaNoteRepository.deleteById(id);
+        publishNoteChanged(note);
     }
 
     @Override
-    public List<NoteDto> getAllNotes() {
-        return jpaNoteRepository.findAll().stream()
-                .map(noteMapper::toDTO)
-                .collect(Collectors.toList());
+    public void exportNotes(Consumer<List<NoteDto>> consumer) {
+        entityExporter.export(jpaNoteRepository, noteMapper::toDTO, consumer);
     }
 
     @Override
     public Page<NoteDto> getAllNotes(Pageable pageable) {
-        return jpaNoteRepository.findAll(pageable)
+        return jpaNoteRepository.findWithReferencesBy(pageable)
                 .map(noteMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<NoteDto> getAllNotes(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Note> notes = jpaNoteRepository.findPageAfter(after.creationDate(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.toPage(notes, size, KeysetCursor::of, noteMapper::toDTO);
+    }
+
     @Override
     public List<NoteDto> getNotesByVoiceId(UUID voiceId) {
         return jpaNoteRepository.findByVoiceId(voiceId).stream()
@@ -144,6 +291,17 @@ public class NoteServiceImpl implements NoteService {
                 .map(noteMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<NoteDto> getNotesByVoiceId(UUID voiceId, String cursor, int size) {
+        if (!jpaVoiceRepository.existsById(voiceId)) {
+            throw new EntityNotFoundException("Voice not found with id: " + voiceId);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Note> notes = jpaNoteRepository.findPageByVoiceIdAfter(voiceId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(notes, size, KeysetCursor::of, noteMapper::toDTO);
+    }
+
     @Override
     public Optional<NoteDto> getLatestNoteByVoiceId(UUID voiceId) {
         return jpaNoteRepository.findTopByVoiceIdOrderByCreationDateDesc(voiceId)
@@ -170,6 +328,14 @@ public class NoteServiceImpl implements NoteService {
                 .map(noteMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<NoteDto> getNotesByAssistantId(UUID assistantId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Note> notes = jpaNoteRepository.findPageByAssistantIdAfter(assistantId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(notes, size, KeysetCursor::of, noteMapper::toDTO);
+    }
+
     @Override
     public List<NoteDto> getNotesByModifierId(UUID modifierId) {
         return jpaNoteRepository.findByModifierId(modifierId).stream()
@@ -179,14 +345,28 @@ public class NoteServiceImpl implements NoteService {
 
     @Override
     public Page<NoteDto> searchNotesByContent(String searchText, Pageable pageable) {
-        return jpaNoteRepository.findByContentTxtContainingIgnoreCase(searchText, pageable)
-                .map(noteMapper::toDTO);
+        return searchNotes(searchText, pageable).map(NoteSearchHitDto::getNote);
+    }
+
+    @Override
+    public Page<NoteSearchHitDto> searchNotes(String query, Pageable pageable) {
+        if (noteIndexService.isReady()) {
+            return noteIndexService.search(query, pageable);
+        }
+        // Index en reconstruction : recherche LIKE, sans score ni surlignage
+        return jpaNoteRepository.findByContentTxtContainingIgnoreCase(query, pageable)
+                .map(note -> new NoteSearchHitDto(noteMapper.toDTO(note), null, null));
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        noteIndexService.startRebuild();
     }
 
     @Override
     @Transactional
     public NoteDto validateNote(UUID noteId, UUID modifierId) {
-        Note note = jpaNoteRepository.findById(noteId)
+        Note note = jpaNoteRepository.findWithReferencesById(noteId)
                 .orElseThrow(() -> new EntityNotFoundException("Note not found with id: " + noteId));
 
         User modifier = jpaUserRepository.findById(modifierId)
@@ -196,6 +376,15 @@ public class NoteServiceImpl implements NoteService {
         note.setModifier(modifier);
 
         Note validatedNote = jpaNoteRepository.save(note);
+        publishNoteChanged(validatedNote);
         return noteMapper.toDTO(validatedNote);
     }
-}
\ No newline at end of file
+
+    /**
+     * Search indexes are updated once the transaction is committed
+     */
+    private void publishNoteChanged(Note note) {
+        UUID voiceId = note.getVoice() != null ? note.getVoice().getId() : null;
+        eventPublisher.publishEvent(new NoteChangedEvent(note.getId(), voiceId));
+    }
+}
@@ -6,7 +6,9 @@ import com.personnel.personnelservice.adapters.persistances.mappers.PaymentMappe
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaPaymentRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
 import com.personnel.personnelservice.core.models.dtos.PaymentDto;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
 import com.personnel.personnelservice.core.ports.services.PaymentService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +33,8 @@ public class PaymentServiceImpl implements PaymentService {
     private final JpaPaymentRepository jpaPaymentRepository;
     private final JpaUserRepository jpaUserRepository;
     private final PaymentMapper paymentMapper;
+    private final EntityExporter entityExporter;
+    private final UserReferenceResolver userReferenceResolver;
 
     @Override
     @Transactional
@@ -37,17 +42,15 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = paymentMapper.toEntity(paymentDto);
 
         // Set the user
-        User user = jpaUserRepository.findById(paymentDto.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + paymentDto.getUserId()));
-        payment.setUser(user);
+        UserReferenceDto user = setUserReference(paymentDto.getUserId(), payment);
 
         Payment savedPayment = jpaPaymentRepository.save(payment);
-        return paymentMapper.toDTO(savedPayment);
+        return withUser(paymentMapper.toWrittenDTO(savedPayment), user);
     }
 
     @Override
     public PaymentDto getPaymentById(UUID id) {
-        Payment payment = jpaPaymentRepository.findById(id)
+        Payment payment = jpaPaymentRepository.findWithReferencesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + id));
         return paymentMapper.toDTO(payment);
     }
@@ -55,21 +58,37 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentDto updatePayment(PaymentDto paymentDto) {
-        Payment payment = jpaPaymentRepository.findById(paymentDto.getId())
+        Payment payment = jpaPaymentRepository.findWithReferencesById(paymentDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + paymentDto.getId()));
 
         paymentMapper.updateEntity(paymentDto, payment);
 
         // Update the user if changed
+        UserReferenceDto user = null;
         if (paymentDto.getUserId() != null &&
                 !payment.getUser().getId().equals(paymentDto.getUserId())) {
-            User user = jpaUserRepository.findById(paymentDto.getUserId())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + paymentDto.getUserId()));
-            payment.setUser(user);
+            user = setUserReference(paymentDto.getUserId(), payment);
         }
 
         Payment updatedPayment = jpaPaymentRepository.save(payment);
-        return paymentMapper.toDTO(updatedPayment);
+        return withUser(paymentMapper.toWrittenDTO(updatedPayment), user);
+    }
+
+    /**
+     * Set the user as a reference, its existence being checked without loading its roles
+     */
+    private UserReferenceDto setUserReference(UUID userId, Payment payment) {
+        UserReferenceDto user = UserReferenceResolver.require(userReferenceResolver.findAll(userId), userId, User.class, "User");
+        payment.setUser(jpaUserRepository.getReferenceById(userId));
+        return user;
+    }
+
+    private static PaymentDto withUser(PaymentDto dto, UserReferenceDto user) {
+        if (user != null && dto.getUserName() == null) {
+            dto.setUserName(user.getFullName());
+            dto.setUserEmail(user.getEmail());
+        }
+        return dto;
     }
 
     @Override
@@ -82,18 +101,24 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    public List<PaymentDto> getAllPayments() {
-        return jpaPaymentRepository.findAll().stream()
-                .map(paymentMapper::toDTO)
-                .collect(Collectors.toList());
+    public void exportPayments(Consumer<List<PaymentDto>> consumer) {
+        entityExporter.export(jpaPaymentRepository, paymentMapper::toDTO, consumer);
     }
 
     @Override
     public Page<PaymentDto> getAllPayments(Pageable pageable) {
-        return jpaPaymentRepository.findAll(pageable)
+        return jpaPaymentRepository.findWithReferencesBy(pageable)
                 .map(paymentMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<PaymentDto> getAllPayments(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Payment> payments = jpaPaymentRepository.findPageAfter(after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(payments, size, KeysetCursor::of, paymentMapper::toDTO);
+    }
+
     @Override
     public List<PaymentDto> getPaymentsByUserId(UUID userId) {
         return jpaPaymentRepository.findByUserId(userId).stream()
@@ -107,6 +132,14 @@ public class PaymentServiceImpl implements PaymentService {
                 .map(paymentMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDto<PaymentDto> getPaymentsByUserId(UUID userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Payment> payments = jpaPaymentRepository.findPageByUserIdAfter(userId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size));
+        return KeysetCursor.toPage(payments, size, KeysetCursor::of, paymentMapper::toDTO);
+    }
+
     @Override
     public List<PaymentDto> getActivePaymentsByUserId(UUID userId) {
         return jpaPaymentRepository.findByUserIdAndActiveTrue(userId).stream()
@@ -160,7 +193,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentDto activatePayment(UUID paymentId) {
-        Payment payment = jpaPaymentRepository.findById(paymentId)
+        Payment payment = jpaPaymentRepository.findWithReferencesById(paymentId)
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + paymentId));
 
         payment.setActive(true);
@@ -171,7 +204,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentDto deactivatePayment(UUID paymentId) {
-        Payment payment = jpaPaymentRepository.findById(paymentId)
+        Payment payment = jpaPaymentRepository.findWithReferencesById(paymentId)
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + paymentId));
 
         payment.setActive(false);
@@ -182,7 +215,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional
     public PaymentDto extendPaymentEndDate(UUID paymentId, LocalDateTime newEndDate) {
-        Payment payment = jpaPaymentRepository.findById(paymentId)
+        Payment payment = jpaPaymentRepository.findWithReferencesById(paymentId)
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + paymentId));
 
         payment.setEndDate(newEndDate);
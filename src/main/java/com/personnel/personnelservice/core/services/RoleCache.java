@@ -0,0 +1,152 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.mappers.PermissionMapper;
+import com.personnel.personnelservice.adapters.persistances.mappers.RoleMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaPermissionRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
+import com.personnel.personnelservice.core.models.dtos.PermissionDto;
+import com.personnel.personnelservice.core.models.dtos.RoleDto;
+import com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process snapshot of every role and permission, loaded in two queries and kept until a role changes
+ * or the TTL expires.
+ * Les rôles et permissions sont peu nombreux et presque jamais modifiés : ils sont lus à chaque connexion d'un patient.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+
+    public static final String NAME = "roles";
+
+    private record Snapshot(List<RoleDto> roles, Map<UUID, RoleDto> rolesById, Map<String, RoleDto> rolesByName,
+                            List<PermissionDto> permissions, Map<UUID, PermissionDto> permissionsById, long expiresAt) {
+    }
+
+    private final JpaRoleRepository jpaRoleRepository;
+    private final JpaPermissionRepository jpaPermissionRepository;
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    // Filet de sécurité si une invalidation diffusée par un autre noeud est perdue
+    @Value("${app.cache.roles.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final Object loadLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public Optional<RoleDto> findRoleById(UUID id) {
+        return Optional.ofNullable(snapshot().rolesById().get(id)).map(RoleCache::copy);
+    }
+
+    public Optional<RoleDto> findRoleByName(String name) {
+        return Optional.ofNullable(snapshot().rolesByName().get(name)).map(RoleCache::copy);
+    }
+
+    public List<RoleDto> findAllRoles() {
+        return snapshot().roles().stream().map(RoleCache::copy).toList();
+    }
+
+    public Optional<PermissionDto> findPermissionById(UUID id) {
+        return Optional.ofNullable(snapshot().permissionsById().get(id)).map(RoleCache::copy);
+    }
+
+    public List<PermissionDto> findAllPermissions() {
+        return snapshot().permissions().stream().map(RoleCache::copy).toList();
+    }
+
+    /**
+     * Drop the snapshot of this node only, e.g. when another node reports a change
+     */
+    public void invalidateLocally() {
+        synchronized (this) {
+            generation.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    // Aussi après un rollback : un chargement pendant la transaction a pu lire des données non validées
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        invalidateLocally();
+    }
+
+    // Après le commit seulement : un rollback ne change rien pour les autres noeuds.
+    // Aussi reçue par l'AuthenticatedUserCache des autres noeuds : une seule diffusion par changement de rôles
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void broadcastRolesChanged(RolesChangedEvent event) {
+        cacheInvalidationBroadcaster.broadcast(NAME);
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidationEvent event) {
+        if (NAME.equals(event.getCacheName())) {
+            invalidateLocally();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.expiresAt() > System.currentTimeMillis()) {
+            return current;
+        }
+        // Un seul chargement à la fois : les autres threads attendent puis lisent l'instantané chargé
+        synchronized (loadLock) {
+            current = snapshot;
+            if (current != null && current.expiresAt() > System.currentTimeMillis()) {
+                return current;
+            }
+            long generationBeforeLoad = generation.get();
+            Snapshot loaded = load();
+            synchronized (this) {
+                // Une invalidation pendant le chargement rend l'instantané potentiellement obsolète
+                if (generation.get() == generationBeforeLoad) {
+                    snapshot = loaded;
+                }
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot load() {
+        List<RoleDto> roles = jpaRoleRepository.findAllWithPermissions().stream().map(roleMapper::toRoleDto).toList();
+        List<PermissionDto> permissions = jpaPermissionRepository.findAll().stream().map(permissionMapper::toPermissionDto).toList();
+        return new Snapshot(roles, index(roles, RoleDto::getId), index(roles, RoleDto::getName),
+                permissions, index(permissions, PermissionDto::getId), System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    private static <K, V> Map<K, V> index(List<V> values, Function<V, K> key) {
+        Map<K, V> index = new LinkedHashMap<>();
+        values.forEach(value -> index.put(key.apply(value), value));
+        return index;
+    }
+
+    // Les DTO sont modifiables : l'appelant reçoit une copie, jamais l'instance partagée
+    private static RoleDto copy(RoleDto role) {
+        return new RoleDto(role.getId(), role.getName(), role.getDescription(),
+                role.getPermissions() == null ? null : new HashSet<>(role.getPermissions()));
+    }
+
+    private static PermissionDto copy(PermissionDto permission) {
+        return new PermissionDto(permission.getId(), permission.getName(), permission.getDescription());
+    }
+}
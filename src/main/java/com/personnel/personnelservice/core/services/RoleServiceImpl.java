@@ -3,6 +3,7 @@ package com.personnel.personnelservice.core.services;
 import com.personnel.personnelservice.adapters.persistances.entities.Permission;
 import com.personnel.personnelservice.adapters.persistances.entities.Role;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
 import com.personnel.personnelservice.core.ports.services.RoleService;
 import com.personnel.personnelservice.core.models.dtos.RoleDto;
 import com.personnel.personnelservice.adapters.persistances.mappers.RoleMapper;
@@ -10,6 +11,7 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaPerm
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -22,15 +24,15 @@ public class RoleServiceImpl implements RoleService {
     private final JpaRoleRepository jpaRoleRepository;
     private final JpaPermissionRepository jpaPermissionRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoleCache roleCache;
 
     public RoleDto getRoleById(UUID id) {
-        Role role = jpaRoleRepository.findById(id).orElseThrow(() -> new RuntimeException("Role not found with id: " + id));
-        return roleMapper.toRoleDto(role);
+        return roleCache.findRoleById(id).orElseThrow(() -> new RuntimeException("Role not found with id: " + id));
     }
 
     public List<RoleDto> getAllRoles() {
-        return jpaRoleRepository.findAll().stream().map(roleMapper::toRoleDto)
-                .collect(Collectors.toList());
+        return roleCache.findAllRoles();
     }
 
     public RoleDto createRole(RoleDto roleRequestDto) {
@@ -40,6 +42,7 @@ public class RoleServiceImpl implements RoleService {
             role.setPermissions(permissions);
         }
         Role savedRole = jpaRoleRepository.save(role);
+        eventPublisher.publishEvent(new RolesChangedEvent());
         return roleMapper.toRoleDto(savedRole);
     }
 
@@ -52,6 +55,7 @@ public class RoleServiceImpl implements RoleService {
             existingRole.setPermissions(permissions);
         }
         Role updatedRole = jpaRoleRepository.save(existingRole);
+        eventPublisher.publishEvent(new RolesChangedEvent());
         return roleMapper.toRoleDto(updatedRole);
     }
 
@@ -60,6 +64,7 @@ public class RoleServiceImpl implements RoleService {
             throw new RuntimeException("Role not found with id: " + id);
         }
         jpaRoleRepository.deleteById(id);
+        eventPublisher.publishEvent(new RolesChangedEvent());
     }
     @Transactional
     public RoleDto addPermissionsToRole(UUID roleId, Set<UUID> permissionIds) {
@@ -67,13 +72,12 @@ public class RoleServiceImpl implements RoleService {
         Set<Permission> permissions = new HashSet<>(jpaPermissionRepository.findAllById(permissionIds));
         role.getPermissions().addAll(permissions);
         Role savedRole = jpaRoleRepository.save(role);
+        eventPublisher.publishEvent(new RolesChangedEvent());
         return roleMapper.toRoleDto(savedRole);
     }
 
     @Override
     public RoleDto getRoleByName(String patient) {
-        Optional<Role> role = jpaRoleRepository.findByName(patient);
-        return  role.map(roleMapper::toRoleDto).orElseThrow(() -> new EntityNotFoundException("Role not found"));
-
+        return roleCache.findRoleByName(patient).orElseThrow(() -> new EntityNotFoundException("Role not found"));
     }
 }
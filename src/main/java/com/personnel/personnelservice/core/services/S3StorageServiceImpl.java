@@ -0,0 +1,574 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.MetaDataFile;
+import com.personnel.personnelservice.adapters.persistances.entities.UploadSession;
+import com.personnel.personnelservice.adapters.persistances.mappers.MetadataFileMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaMetaDataFileRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUploadSessionRepository;
+import com.personnel.personnelservice.core.exceptions.BaseException;
+import com.personnel.personnelservice.core.exceptions.EmptyFileException;
+import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.exceptions.UploadOffsetMismatchException;
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.events.FileDeletedEvent;
+import com.personnel.personnelservice.core.models.events.UploadCompletedEvent;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Implementation of the StorageService interface on top of an S3-compatible object store.
+ * Large files are sent as multipart uploads whose parts are uploaded in parallel, and
+ * downloads are served with ranged GETs so that no replica depends on a local disk.
+ * Network transfers happen outside of any transaction started here: objects are uploaded first,
+ * their metadata is then persisted in a short transaction, and objects are only deleted once the deletion is committed.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class S3StorageServiceImpl implements StorageService {
+
+    private static final String CHUNK_PREFIX = "chunked-uploads/";
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
+    @Value("${file.storage.s3.bucket}")
+    private String bucket;
+
+    /**
+     * Taille d'une part multipart, S3 impose au moins 5 Mo pour toutes les parts sauf la dernière
+     */
+    @Value("${file.storage.s3.part-size:8388608}")
+    private int partSize;
+
+    /**
+     * Taille minimale des parts imposée par S3 : un upload fragmenté dont tous les fragments sauf le dernier l'atteignent
+     * est assemblé côté serveur par copie des fragments
+     */
+    @Value("${file.storage.s3.min-part-size:5242880}")
+    private long minPartSize;
+
+    @Value("${file.storage.s3.upload-concurrency:4}")
+    private int uploadConcurrency;
+
+    private final S3Client s3Client;
+    private final JpaMetaDataFileRepository metadataFileRepository;
+    private final MetadataFileMapper metadataFileMapper;
+    private final JpaUploadSessionRepository uploadSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ExecutorService uploadExecutor;
+
+    @PostConstruct
+    public void startUploadExecutor() {
+        uploadExecutor = Executors.newFixedThreadPool(uploadConcurrency);
+    }
+
+    @PreDestroy
+    public void stopUploadExecutor() {
+        uploadExecutor.shutdown();
+    }
+
+    @Override
+    public MetadataFileDTO storeFile(MultipartFile file, String fileType) throws IOException {
+        if (file.isEmpty()) {
+            throw new EmptyFileException("Le fichier est vide");
+        }
+
+        FileType type = FileType.valueOf(fileType);
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeFile(inputStream, file.getOriginalFilename(), file.getContentType(), type);
+        }
+    }
+
+    @Override
+    public MetadataFileDTO storeFile(InputStream content, String originalFileName, String mimeType, FileType fileType) throws IOException {
+        String fileExtension = getFileExtension(StringUtils.cleanPath(originalFileName));
+        String storedFileName = UUID.randomUUID().toString().replace("-", "") + fileExtension;
+
+        uploadObject(storedFileName, mimeType, content);
+
+        MetaDataFile metadataFile = new MetaDataFile();
+        metadataFile.setFileName(storedFileName);
+        metadataFile.setExtension(fileExtension);
+        metadataFile.setMimeType(mimeType);
+        metadataFile.setType(fileType);
+        metadataFile.setPath(getBucketPath());
+
+        MetaDataFile savedFile = metadataFileRepository.save(metadataFile);
+        return metadataFileMapper.toDTO(savedFile);
+    }
+
+    @Override
+    public Optional<MetadataFileDTO> getFileMetadata(UUID fileId) {
+        return metadataFileRepository.findById(fileId)
+                .map(metadataFileMapper::toDTO);
+    }
+
+    @Override
+    @Transactional
+    public void deleteFile(UUID fileId) {
+        MetaDataFile metadataFile = metadataFileRepository.findById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("MetaDataFile", fileId));
+        metadataFileRepository.delete(metadataFile);
+        eventPublisher.publishEvent(new FileDeletedEvent(
+                fileId, metadataFile.getPath(), metadataFile.getFileName(), metadataFile.getContentHash()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFileDeleted(FileDeletedEvent event) {
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(event.getFileName())
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public UploadSessionDto initUpload(UploadSessionDto uploadSessionDto) {
+        if (uploadSessionDto.getTotalSize() != null && uploadSessionDto.getTotalSize() <= 0) {
+            throw new EmptyFileException("Le fichier est vide");
+        }
+        if (!StringUtils.hasText(uploadSessionDto.getFileName())) {
+            throw new BaseException("Le nom du fichier est obligatoire");
+        }
+        String originalFileName = StringUtils.cleanPath(uploadSessionDto.getFileName());
+
+        UploadSession uploadSession = new UploadSession();
+        uploadSession.setOriginalFileName(originalFileName);
+        uploadSession.setExtension(getFileExtension(originalFileName));
+        uploadSession.setMimeType(uploadSessionDto.getMimeType());
+        uploadSession.setType(uploadSessionDto.getType());
+        uploadSession.setTotalSize(uploadSessionDto.getTotalSize());
+
+        UploadSession savedSession = uploadSessionRepository.save(uploadSession);
+        return toUploadSessionDto(savedSession, 0L);
+    }
+
+    /**
+     * Chaque fragment est stocké comme un objet temporaire nommé par son offset, ce qui permet
+     * de reprendre l'upload depuis n'importe quelle réplique. Le fragment est écrit en création seule
+     * (If-None-Match: *) : de deux envois concurrents au même offset, un seul est accepté. Si la finalisation
+     * a été réclamée pendant l'envoi, le fragment est refusé, la finalisation a pu ne pas le lister.
+     */
+    @Override
+    public UploadSessionDto appendChunk(UUID uploadId, long offset, InputStream chunk) throws IOException {
+        UploadSession uploadSession = findOpenUploadSession(uploadId);
+        List<S3Object> chunks = listChunks(uploadId);
+        long expectedOffset = sumSizes(chunks);
+        if (offset != expectedOffset) {
+            throw new UploadOffsetMismatchException(uploadId, expectedOffset, offset);
+        }
+
+        String chunkKey = getChunkKey(uploadId, offset);
+        long chunkSize;
+        try {
+            chunkSize = uploadObject(chunkKey, null, chunk, true);
+        } catch (S3Exception e) {
+            if (e.statusCode() != 412 && e.statusCode() != 409) {
+                throw e;
+            }
+            throw new UploadOffsetMismatchException(uploadId, sumSizes(listChunks(uploadId)), offset);
+        }
+        if (uploadSession.getTotalSize() != null && offset + chunkSize > uploadSession.getTotalSize()) {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(chunkKey).build());
+            throw new BaseException("Chunk exceeds the announced file size of " + uploadSession.getTotalSize() + " bytes");
+        }
+        if (uploadSessionRepository.existsByIdAndCompletedTrue(uploadId)) {
+            throw new BaseException("Upload " + uploadId + " is already completed");
+        }
+        return toUploadSessionDto(uploadSession, offset + chunkSize);
+    }
+
+    @Override
+    public UploadSessionDto getUploadStatus(UUID uploadId) {
+        UploadSession uploadSession = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("UploadSession", uploadId));
+        long receivedBytes = uploadSession.isCompleted() ? 0L : sumSizes(listChunks(uploadId));
+        return toUploadSessionDto(uploadSession, receivedBytes);
+    }
+
+    /**
+     * La session est d'abord réclamée par un UPDATE conditionnel : de deux finalisations concurrentes, une seule
+     * assemble l'objet et crée ses métadonnées, et tout fragment dont l'envoi se termine après la réclamation
+     * est refusé. Si la finalisation échoue, l'objet assemblé est supprimé et la session est rouverte.
+     */
+    @Override
+    public MetadataFileDTO completeUpload(UUID uploadId) throws IOException {
+        UploadSession uploadSession = findOpenUploadSession(uploadId);
+        Integer claimed = transactionTemplate.execute(status -> uploadSessionRepository.markCompleted(uploadId));
+        if (claimed == null || claimed == 0) {
+            throw new BaseException("Upload " + uploadId + " is already completed");
+        }
+
+        String storedFileName = UUID.randomUUID().toString().replace("-", "") + uploadSession.getExtension();
+        boolean assembled = false;
+        try {
+            List<S3Object> chunks = listChunks(uploadId);
+            long receivedBytes = sumSizes(chunks);
+            if (receivedBytes == 0) {
+                throw new EmptyFileException("Le fichier est vide");
+            }
+            if (uploadSession.getTotalSize() != null && receivedBytes != uploadSession.getTotalSize()) {
+                throw new UploadOffsetMismatchException(uploadId, uploadSession.getTotalSize(), receivedBytes);
+            }
+
+            assembleChunks(storedFileName, uploadSession.getMimeType(), chunks);
+            assembled = true;
+
+            MetaDataFile metadataFile = new MetaDataFile();
+            metadataFile.setFileName(storedFileName);
+            metadataFile.setExtension(uploadSession.getExtension());
+            metadataFile.setMimeType(uploadSession.getMimeType());
+            metadataFile.setType(uploadSession.getType());
+            metadataFile.setPath(getBucketPath());
+
+            return transactionTemplate.execute(status -> {
+                MetaDataFile savedFile = metadataFileRepository.save(metadataFile);
+                eventPublisher.publishEvent(new UploadCompletedEvent(uploadId));
+                return metadataFileMapper.toDTO(savedFile);
+            });
+        } catch (IOException | RuntimeException e) {
+            if (assembled) {
+                s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(storedFileName).build());
+            }
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.reopen(uploadId));
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUploadCompleted(UploadCompletedEvent event) {
+        for (S3Object chunkObject : listChunks(event.getUploadId())) {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(chunkObject.key()).build());
+        }
+    }
+
+    @Override
+    public Optional<StoredFileDto> getStoredFile(UUID fileId) {
+        Optional<MetaDataFile> metadataFile = metadataFileRepository.findById(fileId);
+        if (metadataFile.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(metadataFile.get().getFileName())
+                    .build());
+            return Optional.of(new StoredFileDto(
+                    fileId,
+                    metadataFile.get().getFileName(),
+                    metadataFile.get().getMimeType(),
+                    head.contentLength(),
+                    head.lastModified(),
+                    head.eTag(),
+                    null));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public long transferTo(UUID fileId, long position, long count, WritableByteChannel target) throws IOException {
+        MetaDataFile metadataFile = metadataFileRepository.findById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("MetaDataFile", fileId));
+        if (count <= 0) {
+            return 0;
+        }
+
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(metadataFile.getFileName())
+                .range("bytes=" + position + "-" + (position + count - 1))
+                .build();
+        try (ResponseInputStream<GetObjectResponse> objectStream = s3Client.getObject(request)) {
+            ReadableByteChannel source = Channels.newChannel(objectStream);
+            ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+            long transferred = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    transferred += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return transferred;
+        }
+    }
+
+    /**
+     * Envoie un flux vers S3 : un simple PUT s'il tient dans une part, sinon un upload multipart
+     * dont les parts sont envoyées en parallèle. Le nombre de parts en mémoire est borné par
+     * la concurrence configurée.
+     *
+     * @return le nombre d'octets envoyés
+     */
+    private long uploadObject(String key, String contentType, InputStream inputStream) throws IOException {
+        return uploadObject(key, contentType, inputStream, false);
+    }
+
+    /**
+     * @param createOnly si vrai, l'écriture est conditionnée par If-None-Match: * et S3 la refuse (412)
+     *                   si l'objet existe déjà
+     */
+    private long uploadObject(String key, String contentType, InputStream inputStream, boolean createOnly) throws IOException {
+        String ifNoneMatch = createOnly ? "*" : null;
+        byte[] part = inputStream.readNBytes(partSize);
+        if (part.length < partSize) {
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .ifNoneMatch(ifNoneMatch)
+                    .build(), RequestBody.fromBytes(part));
+            return part.length;
+        }
+
+        String multipartUploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        Semaphore bufferedParts = new Semaphore(uploadConcurrency);
+        List<Future<CompletedPart>> pendingParts = new ArrayList<>();
+        long size = 0;
+        try {
+            int partNumber = 1;
+            while (part.length > 0) {
+                bufferedParts.acquire();
+                byte[] partContent = part;
+                int currentPartNumber = partNumber++;
+                pendingParts.add(uploadExecutor.submit(() -> {
+                    try {
+                        return uploadPart(key, multipartUploadId, currentPartNumber, partContent);
+                    } finally {
+                        bufferedParts.release();
+                    }
+                }));
+                size += part.length;
+                part = inputStream.readNBytes(partSize);
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>();
+            for (Future<CompletedPart> pendingPart : pendingParts) {
+                completedParts.add(pendingPart.get());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(multipartUploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .ifNoneMatch(ifNoneMatch)
+                    .build());
+            return size;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw new IOException("Upload of " + key + " was interrupted", e);
+        } catch (ExecutionException e) {
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw new IOException("Upload of " + key + " failed", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw e;
+        }
+    }
+
+    /**
+     * Assemble les fragments côté serveur : chaque fragment devient une part copiée (UploadPartCopy) d'un upload multipart,
+     * sans qu'aucun octet ne transite par l'application. S3 refuse les parts plus petites que {@link #minPartSize}
+     * sauf la dernière ; si un fragment intermédiaire est plus petit, les fragments sont relus et renvoyés.
+     */
+    private void assembleChunks(String key, String contentType, List<S3Object> chunks) throws IOException {
+        boolean copyable = chunks.size() <= MAX_PARTS && chunks.subList(0, chunks.size() - 1).stream()
+                .allMatch(chunkObject -> chunkObject.size() >= minPartSize);
+        if (!copyable) {
+            try (InputStream content = new SequenceInputStream(openChunks(chunks))) {
+                uploadObject(key, contentType, content);
+            }
+            return;
+        }
+
+        String multipartUploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        List<Future<CompletedPart>> pendingParts = new ArrayList<>();
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                String sourceKey = chunks.get(i).key();
+                int partNumber = i + 1;
+                pendingParts.add(uploadExecutor.submit(() -> copyPart(sourceKey, key, multipartUploadId, partNumber)));
+            }
+            List<CompletedPart> completedParts = new ArrayList<>();
+            for (Future<CompletedPart> pendingPart : pendingParts) {
+                completedParts.add(pendingPart.get());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(multipartUploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw new IOException("Assembly of " + key + " was interrupted", e);
+        } catch (ExecutionException e) {
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw new IOException("Assembly of " + key + " failed", e.getCause());
+        } catch (RuntimeException e) {
+            abortMultipartUpload(key, multipartUploadId, pendingParts);
+            throw e;
+        }
+    }
+
+    private CompletedPart copyPart(String sourceKey, String key, String multipartUploadId, int partNumber) {
+        UploadPartCopyResponse response = s3Client.uploadPartCopy(UploadPartCopyRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucket)
+                .destinationKey(key)
+                .uploadId(multipartUploadId)
+                .partNumber(partNumber)
+                .build());
+        return CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.copyPartResult().eTag())
+                .build();
+    }
+
+    private CompletedPart uploadPart(String key, String multipartUploadId, int partNumber, byte[] content) {
+        UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(multipartUploadId)
+                .partNumber(partNumber)
+                .contentLength((long) content.length)
+                .build(), RequestBody.fromBytes(content));
+        return CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.eTag())
+                .build();
+    }
+
+    private void abortMultipartUpload(String key, String multipartUploadId, List<Future<CompletedPart>> pendingParts) {
+        pendingParts.forEach(pendingPart -> pendingPart.cancel(true));
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(multipartUploadId)
+                .build());
+    }
+
+    private List<S3Object> listChunks(UUID uploadId) {
+        List<S3Object> chunks = new ArrayList<>();
+        s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(CHUNK_PREFIX + uploadId + "/")
+                        .build())
+                .contents()
+                .forEach(chunks::add);
+        return chunks;
+    }
+
+    /**
+     * Ouvre les fragments un par un, dans l'ordre des offsets, au fur et à mesure de la lecture
+     */
+    private Enumeration<InputStream> openChunks(List<S3Object> chunks) {
+        Iterator<S3Object> iterator = chunks.iterator();
+        return new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return s3Client.getObject(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(iterator.next().key())
+                        .build());
+            }
+        };
+    }
+
+    private long sumSizes(List<S3Object> objects) {
+        return objects.stream().mapToLong(S3Object::size).sum();
+    }
+
+    private String getChunkKey(UUID uploadId, long offset) {
+        // Offset sur 19 chiffres pour que l'ordre lexicographique des clés suive l'ordre des octets
+        return CHUNK_PREFIX + uploadId + "/" + String.format("%019d", offset);
+    }
+
+    private UploadSession findOpenUploadSession(UUID uploadId) {
+        UploadSession uploadSession = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("UploadSession", uploadId));
+        if (uploadSession.isCompleted()) {
+            throw new BaseException("Upload " + uploadId + " is already completed");
+        }
+        return uploadSession;
+    }
+
+    private String getBucketPath() {
+        return "s3://" + bucket;
+    }
+
+    private String getFileExtension(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        return (dotIndex == -1) ? "" : filename.substring(dotIndex);
+    }
+
+    private UploadSessionDto toUploadSessionDto(UploadSession uploadSession, long receivedBytes) {
+        return new UploadSessionDto(
+                uploadSession.getId(),
+                uploadSession.getOriginalFileName(),
+                uploadSession.getMimeType(),
+                uploadSession.getType(),
+                uploadSession.getTotalSize(),
+                receivedBytes,
+                uploadSession.isCompleted());
+    }
+}
@@ -0,0 +1,62 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
+import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the users referenced by a write in a single query, without loading them.
+ * <p>
+ * L'existence et le type sont vérifiés sur une projection ; l'entité écrite ne reçoit ensuite qu'une référence
+ * (getReferenceById) vers chaque utilisateur, un proxy jamais initialisé qui suffit à écrire la clé étrangère.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserReferenceResolver {
+
+    private final JpaUserRepository jpaUserRepository;
+
+    /**
+     * @param ids user ids, null ids are ignored
+     * @return the references of the existing users, by id
+     */
+    public Map<UUID, UserReferenceDto> findAll(UUID... ids) {
+        Set<UUID> distinctIds = Arrays.stream(ids)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return jpaUserRepository.findReferencesByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(UserReferenceDto::getId, Function.identity()));
+    }
+
+    /**
+     * @param references the references returned by {@link #findAll(UUID...)}
+     * @param id the referenced user id
+     * @param type the expected user type
+     * @param label name of the user in the error message
+     * @return the reference of the user
+     * @throws EntityNotFoundException if the user does not exist or is not of the expected type
+     */
+    public static UserReferenceDto require(Map<UUID, UserReferenceDto> references, UUID id,
+                                           Class<? extends User> type, String label) {
+        UserReferenceDto reference = references.get(id);
+        if (reference == null || !type.isAssignableFrom(reference.getType())) {
+            throw new EntityNotFoundException(label + " not found with id: " + id);
+        }
+        return reference;
+    }
+}
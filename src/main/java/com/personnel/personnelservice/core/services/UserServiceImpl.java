@@ -8,18 +8,21 @@ import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
 import com.personnel.personnelservice.core.exceptions.RoleAlreadyAssignedException;
 import com.personnel.personnelservice.core.models.dtos.RoleDto;
 import com.personnel.personnelservice.core.models.dtos.UserDto;
+import com.personnel.personnelservice.core.models.events.UserAuthoritiesChangedEvent;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
 import com.personnel.personnelservice.adapters.persistances.mappers.UserMapper;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
 import com.personnel.personnelservice.core.ports.services.UserService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +32,8 @@ public class UserServiceImpl implements UserService {
     private final JpaRoleRepository jpaRoleRepository;
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityExporter entityExporter;
 
     @Override
     @Transactional
@@ -52,20 +57,15 @@ public class UserServiceImpl implements UserService {
         }
         try {
             jpaUserRepository.deleteById(id);
+            eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(id));
         } catch (Exception e) {
             throw new BaseException("Erreur interne lors de la suppression de l'utilisateur");
         }
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        List<User> users = jpaUserRepository.findAll();
-        if (users.isEmpty()) {
-            throw new EntityNotFoundException("Aucun utilisateur trouvé");
-        }
-        return users.stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    public void exportUsers(Consumer<List<UserDto>> consumer) {
+        entityExporter.export(jpaUserRepository, userMapper::toDTO, consumer);
     }
 
     @Override
@@ -79,6 +79,7 @@ public class UserServiceImpl implements UserService {
             throw new RoleAlreadyAssignedException(userId);
         }
         user.getRoles().add(role);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(userId));
 
         return userMapper.toDTO(user);
     }
@@ -92,6 +93,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("Role", userId));
 
         user.getRoles().remove(role);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(userId));
         return userMapper.toDTO(jpaUserRepository.save(user));
     }
 
@@ -103,6 +105,7 @@ public class UserServiceImpl implements UserService {
 
         Set<Role> roles = new HashSet<>(jpaRoleRepository.findAllById(roleIds));
         user.setRoles(roles);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(userId));
 
         return userMapper.toDTO(user);
     }
@@ -0,0 +1,350 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.mappers.VoiceMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchHitDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import com.personnel.personnelservice.core.models.events.NoteChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceCreatedEvent;
+import com.personnel.personnelservice.core.ports.services.VoiceIndexService;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the VoiceIndexService interface backed by a Lucene index on local disk.
+ * Un document par voix regroupe son titre, sa remarque et le texte de toutes ses notes ;
+ * les facettes sont comptées sur les doc values, sans requête SQL.
+ */
+@Service
+public class VoiceIndexServiceImpl extends BaseLuceneIndexService<Voice> implements VoiceIndexService {
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String REMARQUE = "remarque";
+    static final String NOTES = "notes";
+    static final String CREATION_DATE = "creationDate";
+    static final String DOCTOR_ID = "doctorId";
+    static final String PATIENT_ID = "patientId";
+    static final String VALIDATED = "validated";
+    static final String MONTH = "month";
+    private static final String[] HIGHLIGHT_FIELDS = {NOTES, REMARQUE, TITLE};
+
+    private final JpaVoiceRepository jpaVoiceRepository;
+    private final JpaNoteRepository jpaNoteRepository;
+    private final VoiceMapper voiceMapper;
+
+    @Value("${search.facets.limit:20}")
+    private int facetLimit;
+
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    public VoiceIndexServiceImpl(JpaVoiceRepository jpaVoiceRepository, JpaNoteRepository jpaNoteRepository,
+                                 VoiceMapper voiceMapper, TaskExecutor taskExecutor) {
+        super("voices", taskExecutor);
+        this.jpaVoiceRepository = jpaVoiceRepository;
+        this.jpaNoteRepository = jpaNoteRepository;
+        this.voiceMapper = voiceMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoiceCreated(VoiceCreatedEvent event) {
+        indexVoice(event.getVoiceId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoiceChanged(VoiceChangedEvent event) {
+        indexVoice(event.getVoiceId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNoteChanged(NoteChangedEvent event) {
+        if (event.getVoiceId() != null) {
+            indexVoice(event.getVoiceId());
+        }
+    }
+
+    @Override
+    public void indexVoice(UUID voiceId) {
+        index(voiceId);
+    }
+
+    @Override
+    protected long countEntities() {
+        return jpaVoiceRepository.count();
+    }
+
+    @Override
+    protected Page<Voice> findEntities(Pageable pageable) {
+        return jpaVoiceRepository.findAll(pageable);
+    }
+
+    @Override
+    protected void writeEntities(List<Voice> voices) throws IOException {
+        // Une requête pour les notes de tout le lot plutôt qu'une par voix
+        List<UUID> voiceIds = voices.stream().map(Voice::getId).toList();
+        Map<UUID, List<Note>> notesByVoice = jpaNoteRepository.findByVoiceIdIn(voiceIds).stream()
+                .collect(Collectors.groupingBy(note -> note.getVoice().getId()));
+        for (Voice voice : voices) {
+            index.getWriter().updateDocument(new Term(ID, voice.getId().toString()),
+                    toDocument(voice, notesByVoice.getOrDefault(voice.getId(), List.of())));
+        }
+    }
+
+    @Override
+    protected void writeEntity(UUID voiceId) throws IOException {
+        Term idTerm = new Term(ID, voiceId.toString());
+        Voice voice = jpaVoiceRepository.findById(voiceId).orElse(null);
+        if (voice == null) {
+            index.getWriter().deleteDocuments(idTerm);
+        } else {
+            // Seul le contenu des notes est indexé : pas besoin du graphe de NoteDto de findByVoiceId
+            index.getWriter().updateDocument(idTerm, toDocument(voice, jpaNoteRepository.findByVoiceIdIn(List.of(voiceId))));
+        }
+    }
+
+    @Override
+    public VoiceSearchResultDto search(VoiceSearchCriteriaDto criteria, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            pageable = PageRequest.of(0, 20);
+        }
+        boolean hasText = criteria.getQuery() != null && !criteria.getQuery().isBlank();
+        Query textQuery = hasText ? parseText(criteria.getQuery()) : new MatchAllDocsQuery();
+        if (textQuery == null) {
+            // Uniquement des mots vides
+            return new VoiceSearchResultDto(Page.empty(pageable), Map.of());
+        }
+        Query query = withFilters(textQuery, criteria);
+
+        try {
+            IndexSearcher searcher = index.acquire();
+            try {
+                if (searcher.getIndexReader().numDocs() == 0) {
+                    return new VoiceSearchResultDto(Page.empty(pageable), Map.of());
+                }
+                int offset = (int) pageable.getOffset();
+                int limit = offset + pageable.getPageSize();
+                // Sans texte, les voix les plus récentes d'abord
+                FacetsCollectorManager.FacetsResult result = hasText
+                        ? FacetsCollectorManager.search(searcher, query, limit, new FacetsCollectorManager())
+                        : FacetsCollectorManager.search(searcher, query, limit,
+                        new Sort(new SortField(CREATION_DATE, SortField.Type.LONG, true)), new FacetsCollectorManager());
+                TopDocs topDocs = result.topDocs();
+                ScoreDoc[] pageDocs = Arrays.copyOfRange(topDocs.scoreDocs,
+                        Math.min(offset, topDocs.scoreDocs.length), topDocs.scoreDocs.length);
+                long totalHits = result.facetsCollector().getMatchingDocs().stream()
+                        .mapToLong(matchingDocs -> matchingDocs.totalHits)
+                        .sum();
+
+                List<VoiceSearchHitDto> hits = toHits(searcher, textQuery, hasText, topDocs, pageDocs);
+                Map<String, Map<String, Long>> facets = countFacets(searcher, result.facetsCollector());
+                return new VoiceSearchResultDto(new PageImpl<>(hits, pageable, totalHits), facets);
+            } finally {
+                index.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query parseText(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 3f, REMARQUE, 1.5f, NOTES, 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private Query withFilters(Query textQuery, VoiceSearchCriteriaDto criteria) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (criteria.getDoctorId() != null) {
+            builder.add(new TermQuery(new Term(DOCTOR_ID, criteria.getDoctorId().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (criteria.getPatientId() != null) {
+            builder.add(new TermQuery(new Term(PATIENT_ID, criteria.getPatientId().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (criteria.getValidated() != null) {
+            builder.add(new TermQuery(new Term(VALIDATED, criteria.getValidated().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (criteria.getFrom() != null || criteria.getTo() != null) {
+            long from = criteria.getFrom() != null ? toMillis(criteria.getFrom().atStartOfDay()) : Long.MIN_VALUE;
+            long to = criteria.getTo() != null ? toMillis(criteria.getTo().plusDays(1).atStartOfDay()) - 1 : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(CREATION_DATE, from, to), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private List<VoiceSearchHitDto> toHits(IndexSearcher searcher, Query textQuery, boolean hasText,
+                                           TopDocs topDocs, ScoreDoc[] pageDocs) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<UUID> voiceIds = new ArrayList<>(pageDocs.length);
+        for (ScoreDoc scoreDoc : pageDocs) {
+            voiceIds.add(UUID.fromString(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID)));
+        }
+        Map<UUID, Voice> voices = jpaVoiceRepository.findWithReferencesByIdIn(voiceIds).stream()
+                .collect(Collectors.toMap(Voice::getId, Function.identity()));
+
+        Map<String, String[]> highlights = Map.of();
+        if (hasText) {
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                    .withMaxNoHighlightPassages(0)
+                    .build();
+            int[] maxPassages = new int[HIGHLIGHT_FIELDS.length];
+            Arrays.fill(maxPassages, 1);
+            highlights = highlighter.highlightFields(HIGHLIGHT_FIELDS, textQuery,
+                    new TopDocs(topDocs.totalHits, pageDocs), maxPassages);
+        }
+
+        List<VoiceSearchHitDto> hits = new ArrayList<>(pageDocs.length);
+        for (int i = 0; i < pageDocs.length; i++) {
+            Voice voice = voices.get(voiceIds.get(i));
+            // Voix supprimée depuis la dernière écriture dans l'index
+            if (voice == null) {
+                continue;
+            }
+            String highlight = null;
+            for (String field : HIGHLIGHT_FIELDS) {
+                String[] fieldHighlights = highlights.get(field);
+                if (highlight == null && fieldHighlights != null) {
+                    highlight = fieldHighlights[i];
+                }
+            }
+            Float score = hasText ? pageDocs[i].score : null;
+            hits.add(new VoiceSearchHitDto(voiceMapper.toDTO(voice), score, highlight));
+        }
+        return hits;
+    }
+
+    private Map<String, Map<String, Long>> countFacets(IndexSearcher searcher, FacetsCollector facetsCollector) throws IOException {
+        Facets facets = new SortedSetDocValuesFacetCounts(facetState(searcher), facetsCollector);
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (String dimension : List.of(DOCTOR_ID, PATIENT_ID, VALIDATED, MONTH)) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            FacetResult facetResult;
+            try {
+                facetResult = facets.getTopChildren(facetLimit, dimension);
+            } catch (IllegalArgumentException e) {
+                // Dimension absente de l'index (aucune voix n'a de médecin, par exemple)
+                facetResult = null;
+            }
+            if (facetResult != null) {
+                for (LabelAndValue labelAndValue : facetResult.labelValues) {
+                    values.put(labelAndValue.label, labelAndValue.value.longValue());
+                }
+            }
+            counts.put(dimension, values);
+        }
+        return counts;
+    }
+
+    /**
+     * L'état des facettes est coûteux à construire : il est réutilisé tant que le lecteur ne change pas
+     */
+    private SortedSetDocValuesReaderState facetState(IndexSearcher searcher) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != searcher.getIndexReader()) {
+            state = new DefaultSortedSetDocValuesReaderState(searcher.getIndexReader(), facetsConfig);
+            facetState = state;
+        }
+        return state;
+    }
+
+    private Document toDocument(Voice voice, List<Note> notes) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, voice.getId().toString(), Field.Store.YES));
+        if (voice.getTitle() != null) {
+            document.add(new TextField(TITLE, voice.getTitle(), Field.Store.YES));
+        }
+        if (voice.getRemarque() != null) {
+            document.add(new TextField(REMARQUE, voice.getRemarque(), Field.Store.YES));
+        }
+        for (Note note : notes) {
+            if (note.getContentTxt() != null) {
+                document.add(new TextField(NOTES, note.getContentTxt(), Field.Store.YES));
+            }
+        }
+
+        if (voice.getDoctor() != null) {
+            addKeyword(document, DOCTOR_ID, voice.getDoctor().getId().toString());
+        }
+        if (voice.getPatient() != null) {
+            addKeyword(document, PATIENT_ID, voice.getPatient().getId().toString());
+        }
+        boolean validated = notes.stream().anyMatch(Note::isValidated);
+        addKeyword(document, VALIDATED, String.valueOf(validated));
+        if (voice.getCreationDate() != null) {
+            long creationMillis = toMillis(voice.getCreationDate());
+            document.add(new LongPoint(CREATION_DATE, creationMillis));
+            document.add(new NumericDocValuesField(CREATION_DATE, creationMillis));
+            document.add(new SortedSetDocValuesFacetField(MONTH, voice.getCreationDate().format(MONTH_FORMAT)));
+        }
+        return facetsConfig.build(document);
+    }
+
+    private void addKeyword(Document document, String field, String value) {
+        document.add(new StringField(field, value, Field.Store.NO));
+        document.add(new SortedSetDocValuesFacetField(field, value));
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -8,84 +8,164 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaMede
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaPatientRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
 import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchHitDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceWaveformDto;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceCreatedEvent;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import com.personnel.personnelservice.core.ports.services.VoiceIndexService;
 import com.personnel.personnelservice.core.ports.services.VoiceService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Implementation of the VoiceService interface
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class VoiceServiceImpl implements VoiceService {
 
     private final JpaVoiceRepository jpaVoiceRepository;
     private final JpaMedecinRepository jpaMedecinRepository;
     private final JpaPatientRepository jpaPatientRepository;
     private final VoiceMapper voiceMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VoiceIndexService voiceIndexService;
+    private final EntityExporter entityExporter;
+    private final UserReferenceResolver userReferenceResolver;
+    private final StorageService storageService;
+
+    @Value("${voice.transcoding.enabled:true}")
+    private boolean transcodingEnabled;
 
     @Override
     @Transactional
     public VoiceDto createVoice(VoiceDto voiceDto) {
         Voice voice = voiceMapper.toEntity(voiceDto);
+        Map<UUID, UserReferenceDto> users = setUserReferences(voiceDto, voice);
 
-        // Set the doctor
-        if (voiceDto.getDoctorId() != null) {
-            Medecin doctor = jpaMedecinRepository.findById(voiceDto.getDoctorId())
-                    .orElseThrow(() -> new EntityNotFoundException("Doctor not found with id: " + voiceDto.getDoctorId()));
-            voice.setDoctor(doctor);
-        }
-
-        // Set the patient
-        if (voiceDto.getPatientId() != null) {
-            Patient patient = jpaPatientRepository.findById(voiceDto.getPatientId())
-                    .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + voiceDto.getPatientId()));
-            voice.setPatient(patient);
-        }
-
+        voice.setTranscodingStatus(transcodingEnabled ? TranscodingStatus.PENDING : TranscodingStatus.SKIPPED);
         Voice savedVoice = jpaVoiceRepository.save(voice);
-        return voiceMapper.toDTO(savedVoice);
+        // Transcoding starts once the transaction is committed
+        eventPublisher.publishEvent(new VoiceCreatedEvent(savedVoice.getId()));
+        return withUserNames(voiceMapper.toWrittenDTO(savedVoice), users);
     }
 
     @Override
     public VoiceDto getVoiceById(UUID id) {
-        Voice voice = jpaVoiceRepository.findById(id)
+        Voice voice = jpaVoiceRepository.findWithReferencesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Voice not found with id: " + id));
         return voiceMapper.toDTO(voice);
     }
 
+    @Override
+    public VoiceWaveformDto getVoiceWaveform(UUID id, String ifNoneMatch) throws IOException {
+        Voice voice = jpaVoiceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Voice not found with id: " + id));
+        UUID waveformFileId = voice.getWaveformFileId();
+        StoredFileDto waveformFile = waveformFileId == null ? null : storageService.getStoredFile(waveformFileId).orElse(null);
+        if (waveformFile == null) {
+            throw new EntityNotFoundException("Waveform not available for voice with id: " + id);
+        }
+        if (waveformFile.getETag().equals(ifNoneMatch)) {
+            return new VoiceWaveformDto(waveformFile.getETag(), null);
+        }
+
+        ByteArrayOutputStream peaks = new ByteArrayOutputStream((int) waveformFile.getContentLength());
+        storageService.transferTo(waveformFileId, 0, waveformFile.getContentLength(), Channels.newChannel(peaks));
+        return new VoiceWaveformDto(waveformFile.getETag(), peaks.toByteArray());
+    }
+
     @Override
     @Transactional
     public VoiceDto updateVoice(VoiceDto voiceDto) {
-        Voice voice = jpaVoiceRepository.findById(voiceDto.getId())
+        Voice voice = jpaVoiceRepository.findWithReferencesById(voiceDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Voice not found with id: " + voiceDto.getId()));
 
+        String previousPath = voice.getPath();
         voiceMapper.updateEntity(voiceDto, voice);
+        Map<UUID, UserReferenceDto> users = setUserReferences(voiceDto, voice);
+        boolean audioChanged = !Objects.equals(previousPath, voice.getPath());
+        if (audioChanged) {
+            resetTranscoding(voice);
+        }
 
-        // Update the doctor if changed
-        if (voiceDto.getDoctorId() != null) {
-            Medecin doctor = jpaMedecinRepository.findById(voiceDto.getDoctorId())
-                    .orElseThrow(() -> new EntityNotFoundException("Doctor not found with id: " + voiceDto.getDoctorId()));
-            voice.setDoctor(doctor);
+        Voice updatedVoice = jpaVoiceRepository.save(voice);
+        eventPublisher.publishEvent(new VoiceChangedEvent(updatedVoice.getId(), audioChanged));
+        return withUserNames(voiceMapper.toWrittenDTO(updatedVoice), users);
+    }
+
+    /**
+     * The recording has been replaced : the files derived from the previous one are deleted
+     * and the voice waits for a new transcoding
+     */
+    private void resetTranscoding(Voice voice) {
+        for (UUID derivedFileId : new UUID[]{voice.getTranscodedFileId(), voice.getWaveformFileId()}) {
+            if (derivedFileId != null && storageService.getFileMetadata(derivedFileId).isPresent()) {
+                storageService.deleteFile(derivedFileId);
+            }
         }
+        voice.setTranscodedFileId(null);
+        voice.setWaveformFileId(null);
+        voice.setBitrate(null);
+        voice.setDurationMillis(null);
+        voice.setTranscodingStatus(transcodingEnabled ? TranscodingStatus.PENDING : TranscodingStatus.SKIPPED);
+    }
 
-        // Update the patient if changed
+    /**
+     * Set the doctor and the patient given in the DTO as references, checked with a single query
+     * @return the references of the doctor and the patient
+     */
+    private Map<UUID, UserReferenceDto> setUserReferences(VoiceDto voiceDto, Voice voice) {
+        Map<UUID, UserReferenceDto> users = userReferenceResolver.findAll(voiceDto.getDoctorId(), voiceDto.getPatientId());
+        if (voiceDto.getDoctorId() != null) {
+            UserReferenceResolver.require(users, voiceDto.getDoctorId(), Medecin.class, "Doctor");
+            voice.setDoctor(jpaMedecinRepository.getReferenceById(voiceDto.getDoctorId()));
+        }
         if (voiceDto.getPatientId() != null) {
-            Patient patient = jpaPatientRepository.findById(voiceDto.getPatientId())
-                    .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + voiceDto.getPatientId()));
-            voice.setPatient(patient);
+            UserReferenceResolver.require(users, voiceDto.getPatientId(), Patient.class, "Patient");
+            voice.setPatient(jpaPatientRepository.getReferenceById(voiceDto.getPatientId()));
         }
+        return users;
+    }
 
-        Voice updatedVoice = jpaVoiceRepository.save(voice);
-        return voiceMapper.toDTO(updatedVoice);
+    /**
+     * The mapper does not initialize the references : their names come from the existence check
+     */
+    private static VoiceDto withUserNames(VoiceDto dto, Map<UUID, UserReferenceDto> users) {
+        if (dto.getDoctorName() == null && users.containsKey(dto.getDoctorId())) {
+            dto.setDoctorName(users.get(dto.getDoctorId()).getFullName());
+        }
+        if (dto.getPatientName() == null && users.containsKey(dto.getPatientId())) {
+            dto.setPatientName(users.get(dto.getPatientId()).getFullName());
+        }
+        return dto;
     }
 
     @Override
@@ -95,70 +175,103 @@ public class VoiceServiceImpl implements VoiceService {
             throw new EntityNotFoundException("Voice not found with id: " + id);
         }
         jpaVoiceRepository.deleteById(id);
+        eventPublisher.publishEvent(new VoiceChangedEvent(id));
     }
 
     @Override
-    public List<VoiceDto> getAllVoices() {
-        return jpaVoiceRepository.findAll().stream()
-                .map(voiceMapper::toDTO)
-                .collect(Collectors.toList());
+    public void exportVoices(Consumer<List<VoiceDto>> consumer) {
+        entityExporter.export(jpaVoiceRepository, voiceMapper::toDTO, consumer);
     }
 
     @Override
-    public Page<VoiceDto> getAllVoices(Pageable pageable) {
-        return jpaVoiceRepository.findAll(pageable)
-                .map(voiceMapper::toDTO);
+    public Page<VoiceSummaryDto> getVoiceSummaries(Pageable pageable) {
+        return jpaVoiceRepository.findSummaries(pageable);
     }
 
     @Override
-    public List<VoiceDto> getVoicesByDoctorId(UUID doctorId) {
-        return jpaVoiceRepository.findByDoctorId(doctorId).stream()
-                .map(voiceMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId) {
+        return jpaVoiceRepository.findSummariesByDoctorId(doctorId);
     }
 
     @Override
-    public Page<VoiceDto> getVoicesByDoctorId(UUID doctorId, Pageable pageable) {
-        Medecin doctor = jpaMedecinRepository.findById(doctorId)
-                .orElseThrow(() -> new EntityNotFoundException("Doctor not found with id: " + doctorId));
+    public Page<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId, Pageable pageable) {
+        if (!jpaMedecinRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException("Doctor not found with id: " + doctorId);
+        }
+        return jpaVoiceRepository.findSummariesByDoctorId(doctorId, pageable);
+    }
 
-        return jpaVoiceRepository.findByDoctor(doctor, pageable)
-                .map(voiceMapper::toDTO);
+    @Override
+    public List<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId) {
+        return jpaVoiceRepository.findSummariesByPatientId(patientId);
     }
 
     @Override
-    public List<VoiceDto> getVoicesByPatientId(UUID patientId) {
-        return jpaVoiceRepository.findByPatientId(patientId).stream()
-                .map(voiceMapper::toDTO)
-                .collect(Collectors.toList());
+    public Page<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId, Pageable pageable) {
+        if (!jpaPatientRepository.existsById(patientId)) {
+            throw new EntityNotFoundException("Patient not found with id: " + patientId);
+        }
+        return jpaVoiceRepository.findSummariesByPatientId(patientId, pageable);
     }
 
     @Override
-    public Page<VoiceDto> getVoicesByPatientId(UUID patientId, Pageable pageable) {
-        Patient patient = jpaPatientRepository.findById(patientId)
-                .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + patientId));
+    public List<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId) {
+        return jpaVoiceRepository.findSummariesByDoctorIdAndPatientId(doctorId, patientId);
+    }
 
-        return jpaVoiceRepository.findByPatient(patient, pageable)
-                .map(voiceMapper::toDTO);
+    @Override
+    public Page<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, Pageable pageable) {
+        if (!jpaMedecinRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException("Doctor not found with id: " + doctorId);
+        }
+        if (!jpaPatientRepository.existsById(patientId)) {
+            throw new EntityNotFoundException("Patient not found with id: " + patientId);
+        }
+        return jpaVoiceRepository.findSummariesByDoctorIdAndPatientId(doctorId, patientId, pageable);
     }
 
     @Override
-    public List<VoiceDto> getVoicesByDoctorIdAndPatientId(UUID doctorId, UUID patientId) {
-        return jpaVoiceRepository.findByDoctorIdAndPatientId(doctorId, patientId).stream()
-                .map(voiceMapper::toDTO)
-                .collect(Collectors.toList());
+    public CursorPageDto<VoiceSummaryDto> getVoiceSummaries(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(jpaVoiceRepository.findSummariesAfter(after.creationDate(), after.id(), KeysetCursor.limit(size)), size);
+    }
+
+    @Override
+    public CursorPageDto<VoiceSummaryDto> getVoiceSummariesByDoctorId(UUID doctorId, String cursor, int size) {
+        if (!jpaMedecinRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException("Doctor not found with id: " + doctorId);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(jpaVoiceRepository.findSummariesByDoctorIdAfter(doctorId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size)), size);
     }
 
     @Override
-    public Page<VoiceDto> getVoicesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, Pageable pageable) {
-        Medecin doctor = jpaMedecinRepository.findById(doctorId)
-                .orElseThrow(() -> new EntityNotFoundException("Doctor not found with id: " + doctorId));
+    public CursorPageDto<VoiceSummaryDto> getVoiceSummariesByPatientId(UUID patientId, String cursor, int size) {
+        if (!jpaPatientRepository.existsById(patientId)) {
+            throw new EntityNotFoundException("Patient not found with id: " + patientId);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(jpaVoiceRepository.findSummariesByPatientIdAfter(patientId, after.creationDate(), after.id(),
+                KeysetCursor.limit(size)), size);
+    }
 
-        Patient patient = jpaPatientRepository.findById(patientId)
-                .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + patientId));
+    @Override
+    public CursorPageDto<VoiceSummaryDto> getVoiceSummariesByDoctorIdAndPatientId(UUID doctorId, UUID patientId, String cursor, int size) {
+        if (!jpaMedecinRepository.existsById(doctorId)) {
+            throw new EntityNotFoundException("Doctor not found with id: " + doctorId);
+        }
+        if (!jpaPatientRepository.existsById(patientId)) {
+            throw new EntityNotFoundException("Patient not found with id: " + patientId);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(jpaVoiceRepository.findSummariesByDoctorIdAndPatientIdAfter(doctorId, patientId,
+                after.creationDate(), after.id(), KeysetCursor.limit(size)), size);
+    }
 
-        return jpaVoiceRepository.findByDoctorAndPatient(doctor, patient, pageable)
-                .map(voiceMapper::toDTO);
+    private static CursorPageDto<VoiceSummaryDto> toCursorPage(List<VoiceSummaryDto> summaries, int size) {
+        return KeysetCursor.toPage(summaries, size,
+                summary -> new KeysetCursor(summary.getCreationDate(), summary.getId()), Function.identity());
     }
 
     @Override
@@ -166,4 +279,26 @@ public class VoiceServiceImpl implements VoiceService {
         return jpaVoiceRepository.findByTitleContainingIgnoreCase(searchText, pageable)
                 .map(voiceMapper::toDTO);
     }
-}
\ No newline at end of file
+
+    @Override
+    public VoiceSearchResultDto searchVoices(VoiceSearchCriteriaDto criteria, Pageable pageable) {
+        if (voiceIndexService.isReady()) {
+            return voiceIndexService.search(criteria, pageable);
+        }
+        // Index en reconstruction : recherche LIKE, sans score, surlignage ni facettes
+        String text = criteria.getQuery() == null || criteria.getQuery().isBlank()
+                ? null
+                : "%" + criteria.getQuery().trim().toLowerCase() + "%";
+        LocalDateTime from = criteria.getFrom() != null ? criteria.getFrom().atStartOfDay() : null;
+        LocalDateTime to = criteria.getTo() != null ? criteria.getTo().plusDays(1).atStartOfDay() : null;
+        Page<VoiceSearchHitDto> hits = jpaVoiceRepository.search(text, criteria.getDoctorId(), criteria.getPatientId(),
+                        criteria.getValidated(), from, to, pageable)
+                .map(voice -> new VoiceSearchHitDto(voiceMapper.toDTO(voice), null, null));
+        return new VoiceSearchResultDto(hits, Map.of());
+    }
+
+    @Override
+    public void rebuildSearchIndex() {
+        voiceIndexService.startRebuild();
+    }
+}
@@ -0,0 +1,242 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceCreatedEvent;
+import com.personnel.personnelservice.core.ports.services.AudioEncoder;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import com.personnel.personnelservice.core.ports.services.VoiceTranscodingService;
+import com.personnel.personnelservice.core.ports.services.WaveformService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the VoiceTranscodingService interface.
+ * Les voix sont transcodées par un pool de workers borné : quand la file est pleine, la voix reste PENDING
+ * et sera reprise par le balayage périodique au lieu de bloquer la requête de création.
+ */
+@Service
+@RequiredArgsConstructor
+public class VoiceTranscodingServiceImpl implements VoiceTranscodingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoiceTranscodingServiceImpl.class);
+    private static final String WAVEFORM_EXTENSION = ".peaks";
+    private static final String WAVEFORM_MIME_TYPE = "application/octet-stream";
+
+    private final JpaVoiceRepository jpaVoiceRepository;
+    private final StorageService storageService;
+    private final AudioEncoder audioEncoder;
+    private final WaveformService waveformService;
+
+    @Value("${voice.transcoding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${voice.transcoding.workers:2}")
+    private int workers;
+
+    @Value("${voice.transcoding.queue-capacity:100}")
+    private int queueCapacity;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "voice-transcoding-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * La forme d'onde est calculée pour chaque enregistrement, même quand le transcodage est désactivé
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoiceCreated(VoiceCreatedEvent event) {
+        submit(event.getVoiceId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVoiceChanged(VoiceChangedEvent event) {
+        if (event.isAudioChanged()) {
+            submit(event.getVoiceId());
+        }
+    }
+
+    /**
+     * Reprend les voix restées PENDING (file pleine, redémarrage de l'application...)
+     */
+    @Scheduled(fixedDelayString = "${voice.transcoding.sweep-interval-ms:60000}")
+    public void resubmitPendingVoices() {
+        int freeSlots = executor.getQueue().remainingCapacity();
+        if (!enabled || freeSlots == 0) {
+            return;
+        }
+        for (Voice voice : jpaVoiceRepository.findByTranscodingStatusOrderByCreationDateAsc(
+                TranscodingStatus.PENDING, PageRequest.of(0, freeSlots))) {
+            if (!submit(voice.getId())) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean submit(UUID voiceId) {
+        if (!inFlight.add(voiceId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    transcode(voiceId);
+                } finally {
+                    inFlight.remove(voiceId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(voiceId);
+            logger.debug("File de transcodage pleine, la voix {} sera reprise plus tard", voiceId);
+            return false;
+        }
+    }
+
+    @Override
+    public void transcode(UUID voiceId) {
+        Path workDirectory = null;
+        String path = null;
+        try {
+            Voice voice = jpaVoiceRepository.findById(voiceId).orElse(null);
+            if (voice == null) {
+                return;
+            }
+            path = voice.getPath();
+            UUID sourceFileId = parseFileId(voice.getPath());
+            StoredFileDto source = sourceFileId == null ? null : storageService.getStoredFile(sourceFileId).orElse(null);
+            if (source == null) {
+                jpaVoiceRepository.updateTranscoding(voiceId, path, TranscodingStatus.SKIPPED, null, null, null);
+                return;
+            }
+
+            workDirectory = Files.createTempDirectory("voice-transcoding-");
+            Path input = source.getLocalPath() != null ? source.getLocalPath() : copyToLocalFile(source, workDirectory);
+            storeWaveform(voice, input);
+            if (!enabled || !audioEncoder.isAvailable()) {
+                jpaVoiceRepository.updateTranscoding(voiceId, path, TranscodingStatus.SKIPPED, null, null, null);
+                return;
+            }
+
+            Path output = workDirectory.resolve(voiceId + audioEncoder.getExtension());
+            Duration duration = audioEncoder.encode(input, output);
+
+            long encodedSize = Files.size(output);
+            MetadataFileDTO encodedFile;
+            try (InputStream content = Files.newInputStream(output)) {
+                encodedFile = storageService.storeFile(content, voiceId + audioEncoder.getExtension(),
+                        audioEncoder.getMimeType(), FileType.AUDIO);
+            }
+
+            Long durationMillis = duration != null ? duration.toMillis() : null;
+            Integer bitrate = durationMillis != null && durationMillis > 0
+                    ? (int) (encodedSize * 8000 / durationMillis)
+                    : null;
+            if (jpaVoiceRepository.updateTranscoding(voiceId, path, TranscodingStatus.DONE, encodedFile.getId(), bitrate, durationMillis) == 0) {
+                // L'enregistrement a été remplacé pendant le transcodage : il sera transcodé à nouveau
+                storageService.deleteFile(encodedFile.getId());
+            }
+        } catch (Exception e) {
+            logger.warn("Échec du transcodage de la voix {}", voiceId, e);
+            jpaVoiceRepository.updateTranscoding(voiceId, path, TranscodingStatus.FAILED, null, null, null);
+        } finally {
+            deleteQuietly(workDirectory);
+        }
+    }
+
+    /**
+     * La forme d'onde est calculée sur le fichier source, que le transcodage soit activé ou non ;
+     * un échec n'empêche pas le transcodage
+     */
+    private void storeWaveform(Voice voice, Path input) {
+        UUID voiceId = voice.getId();
+        try {
+            byte[] peaks = waveformService.computePeaks(input);
+            MetadataFileDTO waveformFile = storageService.storeFile(new ByteArrayInputStream(peaks),
+                    voiceId + WAVEFORM_EXTENSION, WAVEFORM_MIME_TYPE, FileType.WAVEFORM);
+            if (jpaVoiceRepository.updateWaveform(voiceId, voice.getPath(), waveformFile.getId()) == 0) {
+                storageService.deleteFile(waveformFile.getId());
+            }
+        } catch (Exception e) {
+            logger.warn("Échec du calcul de la forme d'onde de la voix {}", voiceId, e);
+        }
+    }
+
+    private Path copyToLocalFile(StoredFileDto source, Path workDirectory) throws IOException {
+        Path localCopy = workDirectory.resolve("source");
+        try (FileChannel channel = FileChannel.open(localCopy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            storageService.transferTo(source.getId(), 0, source.getContentLength(), channel);
+        }
+        return localCopy;
+    }
+
+    private UUID parseFileId(String path) {
+        try {
+            return path == null ? null : UUID.fromString(path.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.debug("Impossible de supprimer {}", directory, e);
+        }
+    }
+}
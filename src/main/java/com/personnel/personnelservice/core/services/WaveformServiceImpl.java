@@ -0,0 +1,169 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.core.ports.services.AudioEncoder;
+import com.personnel.personnelservice.core.ports.services.WaveformService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Implementation of the WaveformService interface.
+ * <p>
+ * Format du fichier produit (big endian) :
+ * <pre>
+ * "VWPK" | short version | int sampleRate | long frameCount | short levelCount
+ * levelCount x (int samplesPerPeak | int peakCount)
+ * levelCount x peakCount x (byte min | byte max)
+ * </pre>
+ * Les pics sont quantifiés sur 8 bits, ce qui suffit pour dessiner une forme d'onde.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaveformServiceImpl implements WaveformService {
+
+    static final int MAGIC = 0x5657504B; // "VWPK"
+    static final short VERSION = 1;
+
+    private final AudioEncoder audioEncoder;
+
+    @Value("${voice.waveform.samples-per-peak:256,1024,4096}")
+    private int[] samplesPerPeak;
+
+    @Value("${voice.waveform.decode-sample-rate:8000}")
+    private int decodeSampleRate;
+
+    @PostConstruct
+    public void checkLevels() {
+        Arrays.sort(samplesPerPeak);
+        for (int level : samplesPerPeak) {
+            if (level <= 0 || level % samplesPerPeak[0] != 0) {
+                throw new IllegalStateException("voice.waveform.samples-per-peak must be multiples of " + samplesPerPeak[0]);
+            }
+        }
+    }
+
+    @Override
+    public byte[] computePeaks(Path audioFile) throws IOException {
+        try {
+            return computePeaks(AudioSystem.getAudioInputStream(audioFile.toFile()));
+        } catch (UnsupportedAudioFileException e) {
+            if (!audioEncoder.isAvailable()) {
+                throw new IOException("Unsupported audio format: " + audioFile, e);
+            }
+        }
+
+        // Format non lu par javax.sound (ogg, mp3, webm...) : décodage préalable en WAV
+        Path decoded = Files.createTempFile("waveform-", ".wav");
+        try {
+            audioEncoder.decodeToWav(audioFile, decoded, decodeSampleRate);
+            return computePeaks(AudioSystem.getAudioInputStream(decoded.toFile()));
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Unable to read decoded audio of " + audioFile, e);
+        } finally {
+            Files.deleteIfExists(decoded);
+        }
+    }
+
+    private byte[] computePeaks(AudioInputStream sourceStream) throws IOException {
+        AudioFormat sourceFormat = sourceStream.getFormat();
+        AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(), 16,
+                sourceFormat.getChannels(), sourceFormat.getChannels() * 2, sourceFormat.getSampleRate(), false);
+
+        int basePeakSize = samplesPerPeak[0];
+        ByteArrayOutputStream basePeaks = new ByteArrayOutputStream();
+        long frameCount = 0;
+
+        try (AudioInputStream pcmStream = AudioSystem.getAudioInputStream(pcmFormat, sourceStream)) {
+            int frameSize = pcmFormat.getFrameSize();
+            byte[] buffer = new byte[frameSize * 4096];
+            int min = Short.MAX_VALUE;
+            int max = Short.MIN_VALUE;
+            int framesInPeak = 0;
+            int pending = 0;
+            int read;
+            while ((read = pcmStream.read(buffer, pending, buffer.length - pending)) != -1) {
+                int available = pending + read;
+                int usable = available - available % frameSize;
+                for (int offset = 0; offset < usable; offset += frameSize) {
+                    // Toutes les voies sont confondues : le lecteur affiche une forme d'onde mono
+                    for (int channel = 0; channel < frameSize; channel += 2) {
+                        int sample = (short) ((buffer[offset + channel] & 0xff) | (buffer[offset + channel + 1] << 8));
+                        min = Math.min(min, sample);
+                        max = Math.max(max, sample);
+                    }
+                    if (++framesInPeak == basePeakSize) {
+                        basePeaks.write(min >> 8);
+                        basePeaks.write(max >> 8);
+                        min = Short.MAX_VALUE;
+                        max = Short.MIN_VALUE;
+                        framesInPeak = 0;
+                    }
+                }
+                frameCount += usable / frameSize;
+                pending = available - usable;
+                System.arraycopy(buffer, usable, buffer, 0, pending);
+            }
+            if (framesInPeak > 0) {
+                basePeaks.write(min >> 8);
+                basePeaks.write(max >> 8);
+            }
+        }
+
+        return writeSidecar(Math.round(pcmFormat.getSampleRate()), frameCount, basePeaks.toByteArray());
+    }
+
+    private byte[] writeSidecar(int sampleRate, long frameCount, byte[] basePeaks) throws IOException {
+        byte[][] levels = new byte[samplesPerPeak.length][];
+        levels[0] = basePeaks;
+        for (int level = 1; level < samplesPerPeak.length; level++) {
+            levels[level] = mergePeaks(basePeaks, samplesPerPeak[level] / samplesPerPeak[0]);
+        }
+
+        ByteArrayOutputStream sidecar = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(sidecar)) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(sampleRate);
+            output.writeLong(frameCount);
+            output.writeShort(samplesPerPeak.length);
+            for (int level = 0; level < samplesPerPeak.length; level++) {
+                output.writeInt(samplesPerPeak[level]);
+                output.writeInt(levels[level].length / 2);
+            }
+            for (byte[] peaks : levels) {
+                output.write(peaks);
+            }
+        }
+        return sidecar.toByteArray();
+    }
+
+    private byte[] mergePeaks(byte[] basePeaks, int factor) {
+        int basePeakCount = basePeaks.length / 2;
+        int peakCount = (basePeakCount + factor - 1) / factor;
+        byte[] merged = new byte[peakCount * 2];
+        for (int peak = 0; peak < peakCount; peak++) {
+            byte min = Byte.MAX_VALUE;
+            byte max = Byte.MIN_VALUE;
+            int last = Math.min(basePeakCount, (peak + 1) * factor);
+            for (int basePeak = peak * factor; basePeak < last; basePeak++) {
+                min = (byte) Math.min(min, basePeaks[basePeak * 2]);
+                max = (byte) Math.max(max, basePeaks[basePeak * 2 + 1]);
+            }
+            merged[peak * 2] = min;
+            merged[peak * 2 + 1] = max;
+        }
+        return merged;
+    }
+}
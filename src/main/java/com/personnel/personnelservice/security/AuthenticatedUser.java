@@ -0,0 +1,65 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.core.models.enums.PermissionEnum;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of an authenticated user, used as principal instead of the {@link User} entity
+ * so that authenticating a request does not need the database.
+ */
+@Getter
+public final class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String email;
+    private final boolean patient;
+    private final Set<GrantedAuthority> authorities;
+    private final long permissionBits;
+
+    public AuthenticatedUser(UUID id, String email, boolean patient, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.patient = patient;
+        this.permissionBits = PermissionBits.fromAuthorities(authorities);
+        this.authorities = PermissionBits.hasUnknown(permissionBits)
+                ? Set.copyOf(authorities)
+                : PermissionBits.authorities(permissionBits);
+    }
+
+    /**
+     * Builds the snapshot from the signed claims written by {@link JwtTokenUtil#generateToken(User, boolean, boolean)}.
+     */
+    public static AuthenticatedUser fromToken(VerifiedToken verifiedToken) {
+        Set<GrantedAuthority> authorities = verifiedToken.getPermissions().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toSet());
+        return new AuthenticatedUser(verifiedToken.getUserId(), verifiedToken.getSubject(), verifiedToken.isPatient(), authorities);
+    }
+
+    public static AuthenticatedUser fromUser(User user, boolean patient) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), patient, PermissionBits.authoritiesOf(user.getRoles()));
+    }
+
+    public boolean hasPermission(PermissionEnum permission) {
+        return PermissionBits.has(permissionBits, permission);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
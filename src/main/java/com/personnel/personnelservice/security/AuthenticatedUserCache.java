@@ -0,0 +1,148 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
+import com.personnel.personnelservice.core.models.events.UserAuthoritiesChangedEvent;
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import com.personnel.personnelservice.core.services.RoleCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of {@link AuthenticatedUser} snapshots, evicted after a fixed TTL.
+ * Les claims signés d'un token sont utilisés tels quels, sauf si les droits de l'utilisateur ont changé
+ * depuis l'émission du token : l'utilisateur est alors relu en base.
+ * <p>
+ * Les invalidations sont diffusées aux autres noeuds par le {@link CacheInvalidationBroadcaster}, sans
+ * l'identifiant de l'utilisateur : un noeud distant relit donc une fois en base tous les utilisateurs dont le
+ * token est antérieur. Jusqu'à la relecture suivante de la diffusion, un noeud distant accepte encore les
+ * anciens droits. Avec {@code app.cache.broadcast=none}, le mode claims est réservé à un déploiement mono-instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticatedUserCache {
+
+    public static final String NAME = "users";
+
+    private record Key(UUID userId, boolean patient) {
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+
+    private final UserDetailsService userDetailsService;
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    // Durée de vie maximale d'un token : au-delà, une invalidation ne concerne plus aucun token valide
+    @Value("${app.token.remember-me.expiration:604800000}")
+    private long invalidationRetentionMillis;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+    private final Map<UUID, Long> invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    // Les invalidations antérieures au démarrage sont inconnues : les tokens déjà émis sont relus une fois en base
+    private volatile long allUsersInvalidatedAt = System.currentTimeMillis();
+
+    /**
+     * @param verifiedToken an access token
+     * @return the user the token was issued to, with its current authorities
+     */
+    public AuthenticatedUser get(VerifiedToken verifiedToken) {
+        UUID userId = verifiedToken.getUserId();
+        Key key = new Key(userId, verifiedToken.isPatient());
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry.user();
+            }
+        }
+
+        long generationBeforeLoad = generation.get();
+        AuthenticatedUser user;
+        if (isIssuedBeforeInvalidation(userId,
+                verifiedToken.getIssuedAt() == null ? 0 : verifiedToken.getIssuedAt().toEpochMilli())) {
+            // Mêmes droits que l'authentification par base : ceux des rôles actuels de l'utilisateur
+            user = AuthenticatedUser.fromUser((User) userDetailsService.loadUserByUsername(verifiedToken.getSubject()), key.patient());
+        } else {
+            user = AuthenticatedUser.fromToken(verifiedToken);
+        }
+        synchronized (entries) {
+            // Une invalidation pendant le chargement rend l'instantané potentiellement obsolète
+            if (generation.get() == generationBeforeLoad) {
+                entries.put(key, new Entry(user, now + ttlSeconds * 1000));
+            }
+        }
+        return user;
+    }
+
+    public void invalidate(UUID userId) {
+        long now = System.currentTimeMillis();
+        invalidations.values().removeIf(invalidatedAt -> invalidatedAt < now - invalidationRetentionMillis);
+        invalidations.put(userId, now);
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    public void invalidateAll() {
+        allUsersInvalidatedAt = System.currentTimeMillis();
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    // Aussi après un rollback : un chargement pendant la transaction a pu lire des droits non validés
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onUserAuthoritiesChanged(UserAuthoritiesChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void broadcastUserAuthoritiesChanged(UserAuthoritiesChangedEvent event) {
+        cacheInvalidationBroadcaster.broadcast(NAME);
+    }
+
+    // Diffusé aux autres noeuds par le RoleCache, sous son nom
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidationEvent event) {
+        if (NAME.equals(event.getCacheName()) || RoleCache.NAME.equals(event.getCacheName())) {
+            invalidateAll();
+        }
+    }
+
+    // iat est tronqué à la seconde : un token émis dans la même seconde qu'une invalidation est considéré obsolète
+    private boolean isIssuedBeforeInvalidation(UUID userId, long issuedAt) {
+        Long invalidatedAt = invalidations.get(userId);
+        return issuedAt <= allUsersInvalidatedAt || (invalidatedAt != null && issuedAt <= invalidatedAt);
+    }
+}
@@ -1,42 +1,64 @@
 package com.personnel.personnelservice.security;
 
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    static final String CLAIMS_MODE = "claims";
+
     private final JwtTokenUtil jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final MeterRegistry meterRegistry;
+
+    // database : utilisateur relu à chaque requête ; claims : principal construit depuis le token et mis en cache
+    @Value("${app.security.authentication-mode:database}")
+    private String authenticationMode;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwtToken;
-        final String userEmail;
         if (authHeader == null || authHeader.isBlank()){
             filterChain.doFilter(request,response);
             return;
         }
         jwtToken = authHeader.substring(7);
-        userEmail=jwtUtils.extractUsername(jwtToken);
-        if (userEmail!=null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails= userDetailsService.loadUserByUsername(userEmail);
-            if(jwtUtils.isTokenValid(jwtToken,userDetails)){
+        if (SecurityContextHolder.getContext().getAuthentication() == null){
+            // Signature et expiration vérifiées une seule fois
+            VerifiedToken verifiedToken = verify(jwtToken);
+            UserDetails userDetails = CLAIMS_MODE.equals(authenticationMode)
+                    ? loadFromClaims(verifiedToken)
+                    : loadFromDatabase(verifiedToken);
+            if (userDetails != null){
+                // Autorités partagées par combinaison de permissions plutôt que recalculées à chaque requête
+                Collection<? extends GrantedAuthority> authorities = userDetails instanceof User user
+                        ? PermissionBits.authoritiesOf(user.getRoles())
+                        : userDetails.getAuthorities();
                 SecurityContext securityContext=SecurityContextHolder.createEmptyContext();
                 UsernamePasswordAuthenticationToken token=new UsernamePasswordAuthenticationToken(
-                        userDetails,null,userDetails.getAuthorities()
+                        userDetails,null,authorities
                 );
                 token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 securityContext.setAuthentication(token);
@@ -45,4 +67,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request,response);
     }
+
+    private VerifiedToken verify(String jwtToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            VerifiedToken verifiedToken = jwtUtils.verify(jwtToken);
+            outcome = "valid";
+            return verifiedToken;
+        } finally {
+            sample.stop(Timer.builder("jwt.verification")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private UserDetails loadFromDatabase(VerifiedToken verifiedToken) {
+        final String userEmail=verifiedToken.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+        UserDetails userDetails= userDetailsService.loadUserByUsername(userEmail);
+        return userEmail.equals(userDetails.getUsername()) ? userDetails : null;
+    }
+
+    private UserDetails loadFromClaims(VerifiedToken verifiedToken) {
+        // Les tokens de réinitialisation de mot de passe ne portent pas d'identifiant
+        if (!verifiedToken.isAccessToken()) {
+            return null;
+        }
+        try {
+            return authenticatedUserCache.get(verifiedToken);
+        } catch (UsernameNotFoundException e) {
+            // Utilisateur supprimé depuis l'émission du token
+            return null;
+        }
+    }
 }
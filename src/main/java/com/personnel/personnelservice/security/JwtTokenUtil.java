@@ -2,7 +2,7 @@ package com.personnel.personnelservice.security;
 
 import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.core.ports.services.RoleService;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,15 +13,23 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil {
+    static final String PERMISSIONS_CLAIM = "permissions";
+    static final String ID_CLAIM = "id";
+    static final String PATIENT_CLAIM = "isPatient";
     private final SecretKey key;
     private final String masterKey;
     private final RoleService roleService;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verifiedTokens;
+    @Value("${app.token.verified-cache.size:10000}")
+    private int verifiedCacheSize;
     @Value("${app.token.expiration}")
     private long tokenExpiration;
     @Value("${app.token.remember-me.expiration}")
@@ -34,6 +42,14 @@ public class JwtTokenUtil {
         this.roleService = roleService;
         byte[] keyBytes= Base64.getDecoder().decode(masterKey.getBytes(StandardCharsets.UTF_8));
         this.key=new SecretKeySpec(keyBytes,"HmacSHA256");
+        this.parser=Jwts.parser().verifyWith(key).build();
+        // LRU des tokens récemment vérifiés, indexés par empreinte pour ne pas garder les tokens eux-mêmes
+        this.verifiedTokens=Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        });
     }
     public String generateToken(User userDetails, boolean rememberMe ) {
         return generateToken(userDetails, rememberMe,false);
@@ -52,10 +68,10 @@ public class JwtTokenUtil {
 
         long expirationTime = rememberMe ? rememberMeExpiration : tokenExpiration;
         Map<String, Object> claims = new HashMap<>();
-        claims.put("permissions", authorities);
-        claims.put("id", userDetails.getId());
+        claims.put(PERMISSIONS_CLAIM, authorities);
+        claims.put(ID_CLAIM, userDetails.getId());
         claims.put("email", userDetails.getEmail());
-        claims.put("isPatient", isPatient);
+        claims.put(PATIENT_CLAIM, isPatient);
         return Jwts.builder()
                 .claims(claims)
                 .subject(userDetails.getUsername())
@@ -76,17 +92,40 @@ public class JwtTokenUtil {
                 .signWith(key)
                 .compact();
     }
-    public String extractUsername(String token){
-        return extractClaims(token, Claims::getSubject);
+    /**
+     * Verifies the signature and expiration of the token with a single parse. Recently verified tokens
+     * are served from memory until they expire.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token){
+        String digest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.get(digest);
+        if (verifiedToken != null && !verifiedToken.isExpired()) {
+            return verifiedToken;
+        }
+        // Absent ou expiré : le parser lève l'exception adaptée
+        verifiedToken = VerifiedToken.fromClaims(parser.parseSignedClaims(token).getPayload());
+        if (verifiedCacheSize > 0) {
+            verifiedTokens.put(digest, verifiedToken);
+        }
+        return verifiedToken;
     }
-    private <T> T extractClaims(String token, Function<Claims,T> claimsTFunction){
-        return claimsTFunction.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+    public String extractUsername(String token){
+        return verify(token).getSubject();
     }
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username=extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verifiedToken = verify(token);
+        return (verifiedToken.getSubject().equals(userDetails.getUsername()) && !verifiedToken.isExpired());
     }
     public boolean isTokenExpired(String token){
-        return extractClaims(token,Claims::getExpiration).before(new Date());
+        return verify(token).isExpired();
+    }
+    private static String digest(String token){
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
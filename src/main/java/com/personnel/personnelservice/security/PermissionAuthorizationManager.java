@@ -0,0 +1,47 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.core.models.enums.PermissionEnum;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the authenticated user holds at least one of the required permissions.
+ * Le test est un ET binaire sur le bitset de l'{@link AuthenticatedUser}, sans parcourir ni comparer
+ * les autorités textuelles. Utilisable dans la configuration HTTP :
+ * {@code .requestMatchers(...).access(PermissionAuthorizationManager.hasPermission(PermissionEnum.USER_UPDATE))}.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final long requiredBits;
+
+    private PermissionAuthorizationManager(long requiredBits) {
+        this.requiredBits = requiredBits;
+    }
+
+    public static <T> PermissionAuthorizationManager<T> hasPermission(PermissionEnum permission) {
+        return new PermissionAuthorizationManager<>(PermissionBits.bit(permission));
+    }
+
+    public static <T> PermissionAuthorizationManager<T> hasAnyPermission(PermissionEnum... permissions) {
+        return new PermissionAuthorizationManager<>(PermissionBits.of(permissions));
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) {
+            return DENIED;
+        }
+        // Principal authentifié autrement que par un token (formulaire, tests) : bitset calculé à la volée
+        long bits = current.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getPermissionBits()
+                : PermissionBits.fromAuthorities(current.getAuthorities());
+        return (bits & requiredBits) != 0 ? GRANTED : DENIED;
+    }
+}
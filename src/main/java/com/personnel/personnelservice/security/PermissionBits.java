@@ -0,0 +1,140 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.core.models.enums.PermissionEnum;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Permissions compiled into a long bitset, one bit per {@link PermissionEnum} ordinal.
+ * Le bit de poids fort signale un nom de permission absent de l'énumération : l'ensemble ne peut
+ * alors pas être représenté par le bitset et l'appelant garde les autorités telles quelles.
+ */
+public final class PermissionBits {
+
+    public static final long NONE = 0L;
+    private static final long UNKNOWN = Long.MIN_VALUE;
+    // Les combinaisons viennent des rôles : quelques dizaines au plus
+    private static final int MAX_CACHED_COMBINATIONS = 1024;
+
+    private static final PermissionEnum[] PERMISSIONS = PermissionEnum.values();
+    private static final Map<String, Long> BITS_BY_NAME = new HashMap<>();
+    private static final Map<Long, Set<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
+    static {
+        if (PERMISSIONS.length >= Long.SIZE) {
+            throw new IllegalStateException("PermissionEnum compte " + PERMISSIONS.length + " valeurs, le bitset en accepte 63");
+        }
+        for (PermissionEnum permission : PERMISSIONS) {
+            BITS_BY_NAME.put(permission.name(), bit(permission));
+        }
+    }
+
+    private PermissionBits() {
+    }
+
+    public static long bit(PermissionEnum permission) {
+        return 1L << permission.ordinal();
+    }
+
+    /**
+     * @return the bit of the permission, or the unknown bit if the name is not a {@link PermissionEnum}
+     */
+    public static long bit(String permissionName) {
+        Long bit = BITS_BY_NAME.get(permissionName);
+        return bit == null ? UNKNOWN : bit;
+    }
+
+    public static long of(PermissionEnum... permissions) {
+        long bits = NONE;
+        for (PermissionEnum permission : permissions) {
+            bits |= bit(permission);
+        }
+        return bits;
+    }
+
+    public static long fromNames(Collection<String> permissionNames) {
+        long bits = NONE;
+        for (String permissionName : permissionNames) {
+            bits |= bit(permissionName);
+        }
+        return bits;
+    }
+
+    public static long fromAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long bits = NONE;
+        for (GrantedAuthority authority : authorities) {
+            bits |= bit(authority.getAuthority());
+        }
+        return bits;
+    }
+
+    public static boolean hasUnknown(long bits) {
+        return (bits & UNKNOWN) != 0;
+    }
+
+    public static boolean has(long bits, PermissionEnum permission) {
+        return (bits & bit(permission)) != 0;
+    }
+
+    public static EnumSet<PermissionEnum> toEnumSet(long bits) {
+        EnumSet<PermissionEnum> permissions = EnumSet.noneOf(PermissionEnum.class);
+        for (PermissionEnum permission : PERMISSIONS) {
+            if (has(bits, permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    /**
+     * @param bits permissions without unknown names
+     * @return the immutable authorities of the permissions, shared by every user with the same combination
+     */
+    public static Set<GrantedAuthority> authorities(long bits) {
+        if (hasUnknown(bits)) {
+            throw new IllegalArgumentException("Permissions inconnues : les autorités ne peuvent pas être déduites du bitset");
+        }
+        Set<GrantedAuthority> authorities = AUTHORITIES.get(bits);
+        if (authorities == null) {
+            authorities = toEnumSet(bits).stream()
+                    .map(permission -> new SimpleGrantedAuthority(permission.name()))
+                    .collect(Collectors.toUnmodifiableSet());
+            if (AUTHORITIES.size() < MAX_CACHED_COMBINATIONS) {
+                AUTHORITIES.putIfAbsent(bits, authorities);
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * @param roles roles with their permissions loaded
+     * @return the authorities granted by the roles, shared by every user with the same combination
+     * unless a permission is not a {@link PermissionEnum}
+     */
+    public static Set<GrantedAuthority> authoritiesOf(Collection<Role> roles) {
+        long bits = NONE;
+        for (Role role : roles) {
+            for (Permission permission : role.getPermissions()) {
+                bits |= bit(permission.getName());
+            }
+        }
+        if (!hasUnknown(bits)) {
+            return authorities(bits);
+        }
+        // Permission créée hors de PermissionEnum : pas de bitset possible
+        return roles.stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .map(permission -> new SimpleGrantedAuthority(permission.getName()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
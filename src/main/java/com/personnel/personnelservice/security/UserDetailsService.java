@@ -12,6 +12,7 @@ public class UserDetailsService implements org.springframework.security.core.use
     private final JpaUserRepository jpaUserRepository;
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return jpaUserRepository.findByEmail(username).orElseThrow();
+        return jpaUserRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé : " + username));
     }
 }
@@ -0,0 +1,54 @@
+package com.personnel.personnelservice.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable result of a single signature and expiration check of a JWT, with the claims the application reads.
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final String subject;
+    private final UUID userId;
+    private final List<String> permissions;
+    private final boolean patient;
+    private final Instant issuedAt;
+    private final Instant expiration;
+
+    public VerifiedToken(String subject, UUID userId, List<String> permissions, boolean patient, Instant issuedAt, Instant expiration) {
+        this.subject = subject;
+        this.userId = userId;
+        this.permissions = List.copyOf(permissions);
+        this.patient = patient;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+
+    static VerifiedToken fromClaims(Claims claims) {
+        String userId = claims.get(JwtTokenUtil.ID_CLAIM, String.class);
+        List<?> permissions = claims.get(JwtTokenUtil.PERMISSIONS_CLAIM, List.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId == null ? null : UUID.fromString(userId),
+                permissions == null ? List.of() : permissions.stream().map(Object::toString).toList(),
+                Boolean.TRUE.equals(claims.get(JwtTokenUtil.PATIENT_CLAIM, Boolean.class)),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+
+    /**
+     * @return false for tokens that do not identify a user session, such as password reset tokens
+     */
+    public boolean isAccessToken() {
+        return subject != null && userId != null;
+    }
+}
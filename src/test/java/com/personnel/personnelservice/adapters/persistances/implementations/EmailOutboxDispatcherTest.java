@@ -0,0 +1,227 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import com.personnel.personnelservice.adapters.persistances.entities.EmailOutbox;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaEmailOutboxRepository;
+import com.personnel.personnelservice.core.models.enums.EmailOutboxStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private JpaEmailOutboxRepository jpaEmailOutboxRepository;
+
+    private FakeSmtpServer smtpServer;
+    private EmailOutboxDispatcher dispatcher;
+    private final List<EmailOutbox> outbox = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.getPort());
+
+        dispatcher = new EmailOutboxDispatcher(jpaEmailOutboxRepository, mailSender);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+
+        // Outbox en mémoire, avec la sémantique des requêtes du repository
+        when(jpaEmailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                any(EmailOutboxStatus.class), any(LocalDateTime.class), any(Limit.class))).thenAnswer(invocation -> {
+            EmailOutboxStatus status = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            Limit limit = invocation.getArgument(2);
+            return outbox.stream()
+                    .filter(email -> email.getStatus() == status && !email.getNextAttemptAt().isAfter(now))
+                    .sorted(Comparator.comparing(EmailOutbox::getNextAttemptAt))
+                    .limit(limit.max())
+                    .map(EmailOutboxDispatcherTest::copy)
+                    .toList();
+        });
+        when(jpaEmailOutboxRepository.claim(any(UUID.class), any(EmailOutboxStatus.class), anyInt(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    EmailOutbox email = find(invocation.getArgument(0));
+                    if (email.getStatus() != invocation.getArgument(1) || email.getAttempts() != (int) invocation.getArgument(2)) {
+                        return 0;
+                    }
+                    email.setAttempts(email.getAttempts() + 1);
+                    email.setNextAttemptAt(invocation.getArgument(3));
+                    return 1;
+                });
+        when(jpaEmailOutboxRepository.markSent(anyCollection(), any(EmailOutboxStatus.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    Collection<UUID> ids = invocation.getArgument(0);
+                    ids.forEach(id -> {
+                        EmailOutbox email = find(id);
+                        email.setStatus(invocation.getArgument(1));
+                        email.setSentAt(invocation.getArgument(2));
+                    });
+                    return ids.size();
+                });
+        when(jpaEmailOutboxRepository.markFailed(any(UUID.class), any(EmailOutboxStatus.class), any(), any()))
+                .thenAnswer(invocation -> {
+                    EmailOutbox email = find(invocation.getArgument(0));
+                    email.setStatus(invocation.getArgument(1));
+                    email.setNextAttemptAt(invocation.getArgument(2));
+                    email.setLastError(invocation.getArgument(3));
+                    return 1;
+                });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    private EmailOutbox enqueue(String recipient, int attempts) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId(UUID.randomUUID());
+        email.setRecipient(recipient);
+        email.setSubject("Réinitialisation du mot de passe");
+        email.setBody("Lien pour " + recipient);
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setAttempts(attempts);
+        email.setNextAttemptAt(LocalDateTime.now().minusMinutes(1).plusSeconds(outbox.size()));
+        outbox.add(email);
+        return email;
+    }
+
+    private EmailOutbox find(UUID id) {
+        return outbox.stream().filter(email -> email.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    private static EmailOutbox copy(EmailOutbox email) {
+        EmailOutbox copy = new EmailOutbox();
+        copy.setId(email.getId());
+        copy.setRecipient(email.getRecipient());
+        copy.setSubject(email.getSubject());
+        copy.setBody(email.getBody());
+        copy.setStatus(email.getStatus());
+        copy.setAttempts(email.getAttempts());
+        copy.setNextAttemptAt(email.getNextAttemptAt());
+        return copy;
+    }
+
+    @Test
+    @DisplayName("Devrait envoyer les emails en attente par lots, un lot par connexion SMTP")
+    void dispatch_ShouldSendPendingEmailsInBatches() {
+        // Arrange
+        enqueue("a@example.com", 0);
+        enqueue("b@example.com", 0);
+        enqueue("c@example.com", 0);
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertThat(smtpServer.getReceived()).hasSize(3);
+        assertThat(smtpServer.getReceived()).flatExtracting(FakeSmtpServer.ReceivedEmail::recipients)
+                .containsExactly("a@example.com", "b@example.com", "c@example.com");
+        assertThat(smtpServer.getReceived().get(0).data()).contains("Lien pour a@example.com");
+        assertThat(smtpServer.getConnections()).isEqualTo(2);
+        assertThat(outbox).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+            assertThat(email.getSentAt()).isNotNull();
+            assertThat(email.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Devrait retenter plus tard un email refusé sans bloquer le reste du lot")
+    void dispatch_ShouldRescheduleRejectedEmailWithBackoff() {
+        // Arrange
+        smtpServer.rejectRecipient("unknown@example.com");
+        EmailOutbox rejected = enqueue("unknown@example.com", 0);
+        EmailOutbox accepted = enqueue("doctor@example.com", 0);
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertThat(accepted.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusSeconds(30), within(5, ChronoUnit.SECONDS));
+        assertThat(rejected.getLastError()).isNotBlank();
+        assertThat(smtpServer.getReceived()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Devrait garder les emails quand le serveur SMTP est injoignable, puis les abandonner")
+    void dispatch_ShouldRetryWhileServerIsDownThenGiveUp() throws IOException {
+        // Arrange
+        EmailOutbox firstAttempt = enqueue("a@example.com", 0);
+        EmailOutbox lastAttempt = enqueue("b@example.com", 2);
+        smtpServer.close();
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertThat(firstAttempt.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(firstAttempt.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(lastAttempt.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(lastAttempt.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas envoyer un email déjà réservé par une autre instance")
+    void dispatch_ShouldSkipEmailsClaimedByAnotherNode() {
+        // Arrange
+        EmailOutbox email = enqueue("a@example.com", 0);
+        when(jpaEmailOutboxRepository.claim(eq(email.getId()), any(EmailOutboxStatus.class), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        assertThat(smtpServer.getReceived()).isEmpty();
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Devrait doubler le délai à chaque tentative, dans la limite du maximum")
+    void backoff_ShouldDoubleUpToMaximum() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(dispatcher.backoff(5)).isEqualTo(Duration.ofSeconds(480));
+        assertThat(dispatcher.backoff(12)).isEqualTo(Duration.ofSeconds(3600));
+        assertThat(dispatcher.backoff(100)).isEqualTo(Duration.ofSeconds(3600));
+    }
+}
@@ -0,0 +1,128 @@
+package com.personnel.personnelservice.adapters.persistances.implementations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serveur SMTP minimal pour les tests : accepte les emails sans authentification ni TLS et les garde en mémoire.
+ * Les destinataires ajoutés à {@link #rejectRecipient(String)} sont refusés (550).
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    record ReceivedEmail(List<String> recipients, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final List<ReceivedEmail> received = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Thread acceptor;
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptConnections, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<ReceivedEmail> getReceived() {
+        return received;
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+
+    void rejectRecipient(String recipient) {
+        rejectedRecipients.add(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread session = new Thread(() -> handle(socket), "fake-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(writer, "220 localhost fake SMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(writer, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients = new ArrayList<>();
+                    reply(writer, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    if (rejectedRecipients.contains(recipient.toLowerCase(Locale.ROOT))) {
+                        reply(writer, "550 Mailbox unavailable");
+                    } else {
+                        recipients.add(recipient);
+                        reply(writer, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = reader.readLine()) != null && !line.equals(".")) {
+                        data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                    }
+                    received.add(new ReceivedEmail(List.copyOf(recipients), data.toString()));
+                    reply(writer, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(writer, "221 Bye");
+                    return;
+                } else if (command.startsWith("RSET")) {
+                    recipients = new ArrayList<>();
+                    reply(writer, "250 OK");
+                } else if (command.startsWith("NOOP")) {
+                    reply(writer, "250 OK");
+                } else {
+                    reply(writer, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Connexion fermée par le client
+        }
+    }
+
+    private static void reply(Writer writer, String response) throws IOException {
+        writer.write(response + "\r\n");
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.personnel.personnelservice.adapters.persistances.migrations;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class UserSingleTableMigrationTest {
+
+    private static final String USER_COLUMNS = "id UUID PRIMARY KEY, email VARCHAR(255), last_name VARCHAR(255), "
+            + "password VARCHAR(255), deleted BOOLEAN NOT NULL DEFAULT FALSE";
+
+    private JdbcTemplate jdbcTemplate;
+    private UserSingleTableMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new UserSingleTableMigration(dataSource);
+        ReflectionTestUtils.setField(migration, "batchSize", 2);
+
+        // Schéma généré par Hibernate avec TABLE_PER_CLASS
+        for (String table : new String[]{"users", "admin", "assistant", "medecin", "patient"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (" + USER_COLUMNS + ", CONSTRAINT uk_" + table + "_email UNIQUE (email))");
+        }
+        jdbcTemplate.execute("CREATE TABLE voice (id UUID PRIMARY KEY, doctor_id UUID, patient_id UUID, "
+                + "CONSTRAINT fk_voice_doctor FOREIGN KEY (doctor_id) REFERENCES medecin (id), "
+                + "CONSTRAINT fk_voice_patient FOREIGN KEY (patient_id) REFERENCES patient (id))");
+    }
+
+    private UUID insertUser(String table, String email) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO " + table + " (id, email, last_name, password) VALUES (?, ?, ?, ?)",
+                id, email, "Nom " + email, "hash");
+        return id;
+    }
+
+    @Test
+    @DisplayName("Devrait copier tous les sous-types dans users avec leur discriminant et rediriger les clés étrangères")
+    void migrate_ShouldCopyUsersAndRepointForeignKeys() throws SQLException {
+        // Arrange
+        insertUser("users", "user@example.com");
+        UUID doctorId = insertUser("medecin", "doctor@example.com");
+        UUID patientId = insertUser("patient", "patient1@example.com");
+        insertUser("patient", "patient2@example.com");
+        insertUser("patient", "patient3@example.com");
+        jdbcTemplate.update("INSERT INTO voice (id, doctor_id, patient_id) VALUES (?, ?, ?)", UUID.randomUUID(), doctorId, patientId);
+
+        // Act
+        Map<String, Integer> copied = migration.migrate();
+
+        // Assert
+        assertThat(copied).containsOnly(entry("admin", 0), entry("assistant", 0), entry("medecin", 1), entry("patient", 3));
+        assertThat(jdbcTemplate.queryForObject("SELECT user_type FROM users WHERE email = 'patient2@example.com'", String.class))
+                .isEqualTo("PATIENT");
+        assertThat(jdbcTemplate.queryForObject("SELECT user_type FROM users WHERE id = ?", String.class, doctorId))
+                .isEqualTo("MEDECIN");
+        assertThat(jdbcTemplate.queryForObject("SELECT user_type FROM users WHERE email = 'user@example.com'", String.class))
+                .isEqualTo("USER");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patient_legacy", Integer.class)).isEqualTo(3);
+        // voice.doctor_id référence désormais users : un médecin inconnu est refusé, un utilisateur migré accepté
+        jdbcTemplate.update("INSERT INTO voice (id, doctor_id, patient_id) VALUES (?, ?, ?)", UUID.randomUUID(), patientId, doctorId);
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO voice (id, doctor_id) VALUES (?, ?)", UUID.randomUUID(), UUID.randomUUID()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait pouvoir être relancée sans effet une fois terminée")
+    void migrate_ShouldBeIdempotent() throws SQLException {
+        // Arrange
+        insertUser("assistant", "assistant@example.com");
+        migration.migrate();
+
+        // Act
+        Map<String, Integer> copied = migration.migrate();
+
+        // Assert
+        assertThat(copied).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser de migrer quand un email existe dans deux tables")
+    void migrate_ShouldRejectDuplicateEmails() {
+        // Arrange
+        insertUser("medecin", "shared@example.com");
+        insertUser("patient", "shared@example.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> migration.migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shared@example.com");
+    }
+}
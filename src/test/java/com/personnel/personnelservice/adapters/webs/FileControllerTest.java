@@ -0,0 +1,123 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests des en-têtes conditionnels et des plages de {@link FileController#streamFile}
+ */
+@ExtendWith(MockitoExtension.class)
+class FileControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+    private static final String ETAG = "\"5d41402abc4b2a76\"";
+
+    @Mock
+    private StorageService storageService;
+
+    @InjectMocks
+    private FileController fileController;
+
+    private MockMvc mockMvc;
+    private UUID fileId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(fileController).build();
+        fileId = UUID.randomUUID();
+        when(storageService.getStoredFile(fileId)).thenReturn(Optional.of(new StoredFileDto(
+                fileId, "dictee.wav", "audio/wav", CONTENT.length, Instant.parse("2024-01-01T00:00:00Z"), ETAG, null)));
+        lenient().when(storageService.transferTo(eq(fileId), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            int position = (int) (long) invocation.getArgument(1);
+            int count = (int) (long) invocation.getArgument(2);
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap(CONTENT, position, count));
+        });
+    }
+
+    @Test
+    @DisplayName("Devrait servir une plage unique en 206 avec son Content-Range")
+    void streamFile_ShouldServeSingleRange() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().bytes("56789".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 416 à une plage au-delà de la fin du fichier")
+    void streamFile_ShouldRejectUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId).header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+
+        verify(storageService, never()).transferTo(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Devrait servir le fichier complet quand If-Range ne correspond plus à l'ETag")
+    void streamFile_ShouldServeWholeFile_WhenIfRangeIsStale() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId)
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"ancienne-version\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 304 quand un ETag de la liste If-None-Match correspond, même faible")
+    void streamFile_ShouldReturnNotModified_WhenIfNoneMatchListContainsWeakETag() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"autre\", W/" + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+        verify(storageService, never()).transferTo(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Devrait répondre 304 à If-None-Match: *")
+    void streamFile_ShouldReturnNotModified_WhenIfNoneMatchIsWildcard() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Devrait servir le fichier quand aucun ETag de If-None-Match ne correspond")
+    void streamFile_ShouldServeFile_WhenIfNoneMatchDiffers() throws Exception {
+        mockMvc.perform(get("/files/{fileId}/content", fileId).header(HttpHeaders.IF_NONE_MATCH, "\"autre\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+}
@@ -0,0 +1,141 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
+import com.personnel.personnelservice.core.ports.services.NoteIndexService;
+import com.personnel.personnelservice.core.seeders.DatasetSeeder;
+import com.personnel.personnelservice.security.JwtTokenUtil;
+import com.personnel.personnelservice.support.SeededDatasetTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Calls the list endpoints of {@link NoteController} on a generated dataset and fails when one of them
+ * executes more SQL statements than its {@link SqlStatementBudget}.
+ * <p>
+ * Le jeu de données répartit les notes sur beaucoup de voix, médecins, patients et assistants : une page de notes
+ * référence presque autant d'entités distinctes que de lignes, comme en production, et un N+1 dépasse le budget.
+ */
+@SeededDatasetTest
+@TestPropertySource(properties = {
+        "app.seed.dataset.doctors=20",
+        "app.seed.dataset.assistants=20",
+        "app.seed.dataset.patients=200",
+        "app.seed.dataset.voices=400",
+        "app.seed.dataset.notes=1000",
+        "app.seed.dataset.payments=0",
+        "app.sql.budget.fail-on-exceeded=true",
+        "app.sql.statements.header.enabled=true"
+})
+@AutoConfigureMockMvc
+class NoteControllerStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private NoteIndexService noteIndexService;
+
+    private String token;
+    private UUID voiceId;
+    private UUID assistantId;
+
+    @BeforeEach
+    void setUp() {
+        User assistant = userRepository.findByEmail("assistant0" + DatasetSeeder.EMAIL_DOMAIN).orElseThrow();
+        token = jwtTokenUtil.generateToken(assistant, false);
+        // Les listes les plus longues, pour que le budget soit mesuré sur des pages pleines
+        voiceId = jdbcTemplate.queryForObject(
+                "SELECT voice_id FROM notes GROUP BY voice_id ORDER BY COUNT(*) DESC, voice_id LIMIT 1", UUID.class);
+        assistantId = jdbcTemplate.queryForObject(
+                "SELECT assistant_id FROM notes GROUP BY assistant_id ORDER BY COUNT(*) DESC, assistant_id LIMIT 1", UUID.class);
+        noteIndexService.rebuild();
+    }
+
+    static Map<String, Function<NoteControllerStatementBudgetTest, MockHttpServletRequestBuilder>> requests() {
+        Map<String, Function<NoteControllerStatementBudgetTest, MockHttpServletRequestBuilder>> requests = new LinkedHashMap<>();
+        requests.put("getAllNotesPaginated", test -> get("/api/notes/paginated?size=20"));
+        requests.put("getAllNotesByCursor", test -> get("/api/notes/cursor?size=20"));
+        requests.put("getNotesByVoiceId", test -> get("/api/notes/voice/{voiceId}", test.voiceId));
+        requests.put("getNotesByVoiceIdPaginated", test -> get("/api/notes/voice/{voiceId}/paginated?size=20", test.voiceId));
+        requests.put("getNotesByVoiceIdByCursor", test -> get("/api/notes/voice/{voiceId}/cursor?size=20", test.voiceId));
+        requests.put("getValidatedNotesByVoiceId", test -> get("/api/notes/voice/{voiceId}/validated", test.voiceId));
+        requests.put("getNotesByAssistantId", test -> get("/api/notes/assistant/{assistantId}", test.assistantId));
+        requests.put("getNotesByAssistantIdPaginated", test -> get("/api/notes/assistant/{assistantId}/paginated?size=20", test.assistantId));
+        requests.put("getNotesByAssistantIdByCursor", test -> get("/api/notes/assistant/{assistantId}/cursor?size=20", test.assistantId));
+        requests.put("getNotesByModifierId", test -> get("/api/notes/modifier/{modifierId}", test.assistantId));
+        requests.put("searchNotesByContent", test -> get("/api/notes/search?searchText=a&size=20"));
+        requests.put("searchNotes", test -> get("/api/notes/search/full-text?query=voluptatem&size=20"));
+        return requests;
+    }
+
+    static Stream<String> budgetedEndpoints() {
+        return requests().keySet().stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgetedEndpoints")
+    @DisplayName("Devrait rester dans le budget de requêtes SQL de l'endpoint")
+    void endpoint_ShouldStayWithinStatementBudget(String method) throws Exception {
+        // Arrange
+        int budget = budget(method);
+
+        // Act
+        // Un dépassement fait échouer la requête avec SqlStatementBudgetExceededException (app.sql.budget.fail-on-exceeded)
+        MockHttpServletResponse response = mockMvc.perform(requests().get(method).apply(this)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isNotEqualTo("[]");
+        assertThat(Integer.parseInt(response.getHeader(SqlStatementHeaderAdvice.HEADER))).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    @Test
+    @DisplayName("Devrait couvrir chaque endpoint de NoteController qui déclare un budget")
+    void requests_ShouldCoverEveryBudgetedEndpoint() {
+        assertThat(requests().keySet()).containsExactlyInAnyOrderElementsOf(Arrays.stream(NoteController.class.getMethods())
+                .filter(method -> method.isAnnotationPresent(SqlStatementBudget.class))
+                .map(Method::getName)
+                .toList());
+    }
+
+    private static int budget(String method) {
+        return Arrays.stream(NoteController.class.getMethods())
+                .filter(candidate -> candidate.getName().equals(method))
+                .map(candidate -> candidate.getAnnotation(SqlStatementBudget.class))
+                .findFirst().orElseThrow()
+                .value();
+    }
+}
@@ -0,0 +1,169 @@
+package com.personnel.personnelservice.adapters.webs;
+
+import com.personnel.personnelservice.adapters.persistances.implementations.SqlStatementCounter;
+import com.personnel.personnelservice.core.exceptions.SqlStatementBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private SqlStatementCounter sqlStatementCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCounter = new SqlStatementCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter(sqlStatementCounter, meterRegistry);
+        ReflectionTestUtils.setField(filter, "nPlusOneThreshold", 3);
+    }
+
+    @Test
+    @DisplayName("Devrait enregistrer le nombre de requêtes SQL par route")
+    void shouldRecordStatementsPerRoute() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes/42");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            sqlStatementCounter.inspect("select 1");
+            sqlStatementCounter.inspect("select 2");
+            sqlStatementCounter.inspect("select 3");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/notes/{id}");
+        });
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(RequestMetricsFilter.STATEMENTS_METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/notes/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+        // Hors requête, les instructions ne sont plus comptées
+        sqlStatementCounter.inspect("select 4");
+        assertEquals(0, sqlStatementCounter.stop());
+    }
+
+    @Test
+    @DisplayName("Devrait enregistrer la requête même en cas d'exception, sous une route inconnue")
+    void shouldRecordFailedRequestUnderUnknownUri() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/voices");
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            sqlStatementCounter.inspect("insert");
+            throw new IllegalStateException("échec");
+        }));
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.STATEMENTS_METRIC).tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Devrait faire échouer la requête qui dépasse le budget de son endpoint en mode strict")
+    void shouldFailRequestOverBudgetWhenStrict() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "failOnBudgetExceeded", true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes/paginated");
+
+        // Act
+        SqlStatementBudgetExceededException exception = assertThrows(SqlStatementBudgetExceededException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                    handledBy(req, "budgetOfTwo");
+                    sqlStatementCounter.inspect("select notes");
+                    sqlStatementCounter.inspect("select count");
+                    sqlStatementCounter.inspect("select voice");
+                }));
+
+        // Assert
+        assertEquals("GET /api/notes/paginated executed 3 SQL statements, its budget is 2", exception.getMessage());
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.BUDGET_EXCEEDED_METRIC).tag("uri", "/api/notes/paginated").counter().count());
+        // Les requêtes SQL sont enregistrées avant la vérification du budget
+        assertEquals(3, meterRegistry.get(RequestMetricsFilter.STATEMENTS_METRIC).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Devrait seulement compter le dépassement de budget hors mode strict, et ignorer les endpoints sans budget")
+    void shouldCountBudgetExceededWithoutFailing() throws Exception {
+        // Arrange
+        MockHttpServletRequest overBudget = new MockHttpServletRequest("GET", "/api/notes/paginated");
+        MockHttpServletRequest withoutBudget = new MockHttpServletRequest("GET", "/api/voices");
+
+        // Act
+        filter.doFilter(overBudget, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(req, "budgetOfTwo");
+            sqlStatementCounter.inspect("select notes");
+            sqlStatementCounter.inspect("select count");
+            sqlStatementCounter.inspect("select voice");
+        });
+        filter.doFilter(withoutBudget, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(req, "withoutBudget");
+            sqlStatementCounter.inspect("select voices");
+            sqlStatementCounter.inspect("select count");
+            sqlStatementCounter.inspect("select doctor");
+        });
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.BUDGET_EXCEEDED_METRIC).counters().size());
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.BUDGET_EXCEEDED_METRIC).tag("uri", "/api/notes/paginated").counter().count());
+    }
+
+    @Test
+    @DisplayName("Devrait signaler un N+1 quand la même requête SQL est répétée au-delà du seuil")
+    void shouldReportRepeatedStatementAsNPlusOne() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes/paginated");
+        MockHttpServletRequest distinctStatements = new MockHttpServletRequest("GET", "/api/voices");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            handledBy(req, "withoutBudget");
+            sqlStatementCounter.inspect("select notes");
+            for (int i = 0; i < 3; i++) {
+                sqlStatementCounter.inspect("select voice where id=?");
+            }
+        });
+        filter.doFilter(distinctStatements, new MockHttpServletResponse(), (req, res) -> {
+            sqlStatementCounter.inspect("select voices");
+            sqlStatementCounter.inspect("select doctor where id=?");
+            sqlStatementCounter.inspect("select patient where id=?");
+        });
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.N_PLUS_ONE_METRIC).counters().size());
+        assertEquals(1, meterRegistry.get(RequestMetricsFilter.N_PLUS_ONE_METRIC).tag("uri", "/api/notes/paginated").counter().count());
+    }
+
+    /**
+     * What the DispatcherServlet records about the controller method that handles the request
+     */
+    private static void handledBy(ServletRequest request, String method) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ((HttpServletRequest) request).getRequestURI());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedController(), ReflectionUtils.findMethod(BudgetedController.class, method)));
+    }
+
+    static class BudgetedController {
+        @SqlStatementBudget(2)
+        public void budgetOfTwo() {
+        }
+
+        public void withoutBudget() {
+        }
+    }
+}
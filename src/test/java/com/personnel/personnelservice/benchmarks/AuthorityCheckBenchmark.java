@@ -0,0 +1,110 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.config.RolePermissionsConfig;
+import com.personnel.personnelservice.core.models.enums.PermissionEnum;
+import com.personnel.personnelservice.core.models.enums.RoleEnum;
+import com.personnel.personnelservice.security.AuthenticatedUser;
+import com.personnel.personnelservice.security.PermissionAuthorizationManager;
+import com.personnel.personnelservice.security.PermissionBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Construction des autorités d'un utilisateur et vérification d'une permission : chemin textuel
+ * (flatMap des rôles vers de nouveaux SimpleGrantedAuthority, puis AuthorityAuthorizationManager)
+ * contre le bitset précalculé et {@link PermissionAuthorizationManager}.
+ * <p>
+ * Lancement : {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.AuthorityCheckBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityCheckBenchmark {
+
+    private User user;
+    private Authentication legacyAuthentication;
+    private Authentication authentication;
+    private AuthorityAuthorizationManager<Object> authorityManager;
+    private PermissionAuthorizationManager<Object> permissionManager;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setRoles(Set.of(role(RoleEnum.MEDECIN), role(RoleEnum.ASSISTANT)));
+
+        legacyAuthentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        AuthenticatedUser authenticatedUser = AuthenticatedUser.fromUser(user, false);
+        authentication = new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities());
+
+        // Dernière permission du rôle dans l'ordre d'itération : pire cas du parcours textuel
+        authorityManager = AuthorityAuthorizationManager.hasAuthority(PermissionEnum.PRESCRIPTION_CREATE.name());
+        permissionManager = PermissionAuthorizationManager.hasPermission(PermissionEnum.PRESCRIPTION_CREATE);
+    }
+
+    private static Role role(RoleEnum roleEnum) {
+        Role role = new Role();
+        role.setName(roleEnum.name());
+        role.setPermissions(RolePermissionsConfig.getRolePermissionsMap().get(roleEnum).stream()
+                .map(permissionEnum -> {
+                    Permission permission = new Permission(permissionEnum);
+                    permission.setId(UUID.randomUUID());
+                    return permission;
+                })
+                .collect(Collectors.toSet()));
+        return role;
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> legacyGetAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> bitsetGetAuthorities() {
+        return PermissionBits.authoritiesOf(user.getRoles());
+    }
+
+    @Benchmark
+    public AuthorizationDecision authorityCheck() {
+        return authorityManager.check(() -> legacyAuthentication, null);
+    }
+
+    @Benchmark
+    public AuthorizationDecision bitsetCheck() {
+        return permissionManager.check(() -> authentication, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthorityCheckBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Runs every benchmark of this package, writes the results in the JMH JSON format and, when a baseline is given,
+ * fails if a score got worse than the tolerance.
+ * <p>
+ * Lancement : {@code mvn -Pbenchmarks verify -DskipTests [-Dbenchmarks.baseline=baseline.json]}, ou directement
+ * {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.BenchmarkSuite
+ * <résultats.json> [<référence.json>]}. La tolérance (0.15 par défaut) se règle avec {@code -Dbenchmarks.tolerance}.
+ */
+public final class BenchmarkSuite {
+
+    static final double DEFAULT_TOLERANCE = 0.15;
+
+    private BenchmarkSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path results = Path.of(args.length > 0 ? args[0] : "target/jmh-results.json").toAbsolutePath();
+        Files.createDirectories(results.getParent());
+        new Runner(new OptionsBuilder()
+                .include("^" + Pattern.quote(BenchmarkSuite.class.getPackageName() + "."))
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build()).run();
+
+        if (args.length < 2 || args[1].isBlank()) {
+            return;
+        }
+        double tolerance = Double.parseDouble(System.getProperty("benchmarks.tolerance", String.valueOf(DEFAULT_TOLERANCE)));
+        List<String> regressions = regressions(read(Path.of(args[1])), read(results), tolerance);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+        System.out.println("Aucune régression au-delà de " + Math.round(tolerance * 100) + " % par rapport à " + args[1]);
+    }
+
+    /**
+     * Compare the scores of the benchmarks present in both runs. Throughput must not drop, the other modes
+     * (time per operation) must not rise, by more than the tolerance.
+     * @return one line per regression
+     */
+    static List<String> regressions(Map<String, Score> baseline, Map<String, Score> current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((benchmark, score) -> {
+            Score reference = baseline.get(benchmark);
+            if (reference == null || !reference.unit().equals(score.unit()) || !reference.mode().equals(score.mode())) {
+                return;
+            }
+            double change = (score.value() - reference.value()) / reference.value();
+            boolean worse = "thrpt".equals(score.mode()) ? change < -tolerance : change > tolerance;
+            if (worse) {
+                regressions.add(String.format("%s : %.3f -> %.3f %s (%+.1f %%)",
+                        benchmark, reference.value(), score.value(), score.unit(), change * 100));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Read a JMH JSON result file, keyed by benchmark name and parameters
+     */
+    static Map<String, Score> read(Path path) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf("{") < 0 ? "{" : ", ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            if (key.indexOf("{") >= 0) {
+                key.append('}');
+            }
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(result.path("mode").asText(), metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    record Score(String mode, double value, String unit) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.personnel.personnelservice.benchmarks;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BenchmarkSuiteTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Devrait lire les scores JMH en distinguant les paramètres")
+    void read_ShouldKeyScoresByBenchmarkAndParams() throws Exception {
+        // Arrange
+        Path results = directory.resolve("results.json");
+        Files.writeString(results, """
+                [
+                  {"benchmark": "b.ValidationBenchmark.password", "mode": "avgt", "params": {"password": "Aicha123@"},
+                   "primaryMetric": {"score": 120.5, "scoreUnit": "ns/op"}},
+                  {"benchmark": "b.ValidationBenchmark.password", "mode": "avgt", "params": {"password": "aicha"},
+                   "primaryMetric": {"score": 80.0, "scoreUnit": "ns/op"}},
+                  {"benchmark": "b.JwtValidationBenchmark.singleParse", "mode": "thrpt",
+                   "primaryMetric": {"score": 50000.0, "scoreUnit": "ops/s"}}
+                ]
+                """);
+
+        // Act
+        Map<String, BenchmarkSuite.Score> scores = BenchmarkSuite.read(results);
+
+        // Assert
+        assertThat(scores).containsOnlyKeys("b.ValidationBenchmark.password{password=Aicha123@}",
+                "b.ValidationBenchmark.password{password=aicha}", "b.JwtValidationBenchmark.singleParse");
+        assertThat(scores.get("b.JwtValidationBenchmark.singleParse"))
+                .isEqualTo(new BenchmarkSuite.Score("thrpt", 50000.0, "ops/s"));
+    }
+
+    @Test
+    @DisplayName("Devrait signaler un temps par opération ou un débit dégradé au-delà de la tolérance")
+    void regressions_ShouldReportScoresWorseThanTolerance() {
+        // Arrange
+        Map<String, BenchmarkSuite.Score> baseline = Map.of(
+                "slower", new BenchmarkSuite.Score("avgt", 100, "ns/op"),
+                "slightlySlower", new BenchmarkSuite.Score("avgt", 100, "ns/op"),
+                "faster", new BenchmarkSuite.Score("avgt", 100, "ns/op"),
+                "lessThroughput", new BenchmarkSuite.Score("thrpt", 1000, "ops/s"),
+                "otherUnit", new BenchmarkSuite.Score("avgt", 1, "us/op"));
+        Map<String, BenchmarkSuite.Score> current = Map.of(
+                "slower", new BenchmarkSuite.Score("avgt", 130, "ns/op"),
+                "slightlySlower", new BenchmarkSuite.Score("avgt", 110, "ns/op"),
+                "faster", new BenchmarkSuite.Score("avgt", 50, "ns/op"),
+                "lessThroughput", new BenchmarkSuite.Score("thrpt", 700, "ops/s"),
+                "otherUnit", new BenchmarkSuite.Score("avgt", 5000, "ns/op"),
+                "new", new BenchmarkSuite.Score("avgt", 5000, "ns/op"));
+
+        // Act
+        List<String> regressions = BenchmarkSuite.regressions(baseline, current, 0.15);
+
+        // Assert
+        assertThat(regressions).hasSize(2)
+                .anyMatch(line -> line.startsWith("slower :"))
+                .anyMatch(line -> line.startsWith("lessThroughput :"));
+    }
+}
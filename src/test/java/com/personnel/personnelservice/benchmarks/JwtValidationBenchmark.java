@@ -0,0 +1,121 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.security.JwtTokenUtil;
+import com.personnel.personnelservice.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la validation du token par requête : trois parsings (ancienne implémentation), un seul parsing,
+ * puis un token déjà vérifié servi depuis le cache. {@code generateToken} mesure la connexion,
+ * {@code isTokenValid} le contrôle complet fait par le filtre sans cache.
+ * <p>
+ * Lancement : {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.JwtValidationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private SecretKey key;
+    private User user;
+    private String token;
+    private JwtTokenUtil singleParse;
+    private JwtTokenUtil cached;
+
+    @Setup
+    public void setUp() {
+        key = new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256");
+        singleParse = tokenUtil(0);
+        cached = tokenUtil(10_000);
+
+        Set<Permission> permissions = new HashSet<>();
+        for (String name : new String[]{"NOTE_READ", "NOTE_CREATE", "NOTE_UPDATE", "VOICE_READ", "VOICE_CREATE", "PAYMENT_READ"}) {
+            Permission permission = new Permission();
+            permission.setName(name);
+            permissions.add(permission);
+        }
+        Role role = new Role();
+        role.setPermissions(permissions);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setRoles(Set.of(role));
+        token = singleParse.generateToken(user, false);
+    }
+
+    private static JwtTokenUtil tokenUtil(int verifiedCacheSize) {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, null);
+        ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtTokenUtil, "tokenExpiration", 3_600_000L);
+        return jwtTokenUtil;
+    }
+
+    /**
+     * extractUsername puis isTokenValid (extractUsername + isTokenExpired), un parser construit à chaque fois.
+     */
+    @Benchmark
+    public boolean threeParses() {
+        String username = parse(token).getSubject();
+        return parse(token).getSubject().equals(username) && !parse(token).getExpiration().before(new Date());
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return singleParse.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return singleParse.generateToken(user, false);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return singleParse.isTokenValid(token, user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,165 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Assistant;
+import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.Patient;
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapper;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapperImpl;
+import com.personnel.personnelservice.adapters.persistances.mappers.UserMapper;
+import com.personnel.personnelservice.adapters.persistances.mappers.UserMapperImpl;
+import com.personnel.personnelservice.adapters.persistances.mappers.VoiceMapper;
+import com.personnel.personnelservice.adapters.persistances.mappers.VoiceMapperImpl;
+import com.personnel.personnelservice.config.RolePermissionsConfig;
+import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.UserDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.enums.RoleEnum;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Conversion entité vers DTO par les mappers MapStruct, sur des graphes chargés comme par les requêtes :
+ * voix avec médecin, patient et notes, note avec sa voix et ses auteurs, médecin avec ses rôles et permissions.
+ * {@code voicePage} mesure une page de 20 voix, la taille par défaut des listes.
+ * <p>
+ * Lancement : {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.MappingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final VoiceMapper voiceMapper = new VoiceMapperImpl();
+    private final NoteMapper noteMapper = new NoteMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private Medecin doctor;
+    private Voice voice;
+    private Note note;
+    private List<Voice> voices;
+
+    @Setup
+    public void setUp() {
+        doctor = user(new Medecin(), "Jean", "Martin", RoleEnum.MEDECIN);
+        Patient patient = user(new Patient(), "Claire", "Dubois", RoleEnum.PATIENT);
+        Assistant assistant = user(new Assistant(), "Sophie", "Bernard", RoleEnum.ASSISTANT);
+
+        voices = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Voice pageVoice = voice(doctor, patient, i);
+            for (int j = 0; j < 3; j++) {
+                pageVoice.getNotes().add(note(pageVoice, assistant, doctor, j));
+            }
+            voices.add(pageVoice);
+        }
+        voice = voices.get(0);
+        note = voice.getNotes().iterator().next();
+    }
+
+    private static <T extends User> T user(T user, String firstName, String lastName, RoleEnum roleEnum) {
+        user.setId(UUID.randomUUID());
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com");
+        user.setPhoneNumber("0612345678");
+        user.setAddress("12 rue de la République, Lyon");
+        user.setCreationDate(LocalDateTime.now());
+        user.setLastModifiedDate(LocalDateTime.now());
+        Role role = new Role();
+        role.setId(UUID.randomUUID());
+        role.setName(roleEnum.name());
+        role.setPermissions(RolePermissionsConfig.getRolePermissionsMap().get(roleEnum).stream()
+                .map(Permission::new)
+                .collect(Collectors.toSet()));
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private static Voice voice(Medecin doctor, Patient patient, int index) {
+        Voice voice = new Voice();
+        voice.setId(UUID.randomUUID());
+        voice.setPath(UUID.randomUUID().toString());
+        voice.setTitle("Consultation de suivi " + index);
+        voice.setRemarque("Contrôle tensionnel, renouvellement du traitement");
+        voice.setTranscodedFileId(UUID.randomUUID());
+        voice.setWaveformFileId(UUID.randomUUID());
+        voice.setBitrate(64_000);
+        voice.setDurationMillis(95_000L);
+        voice.setTranscodingStatus(TranscodingStatus.DONE);
+        voice.setDoctor(doctor);
+        voice.setPatient(patient);
+        voice.setCreationDate(LocalDateTime.now().minusDays(index));
+        voice.setLastModifiedDate(LocalDateTime.now());
+        return voice;
+    }
+
+    private static Note note(Voice voice, Assistant assistant, Medecin modifier, int index) {
+        Note note = new Note();
+        note.setId(UUID.randomUUID());
+        note.setContentTxt("Patient vu ce jour pour contrôle. Tension 13/8, pas de plainte particulière. " + index);
+        note.setValidated(index > 0);
+        note.setVoice(voice);
+        note.setAssistant(assistant);
+        note.setModifier(modifier);
+        note.setCreationDate(LocalDateTime.now());
+        return note;
+    }
+
+    @Benchmark
+    public VoiceDto voiceToDto() {
+        return voiceMapper.toDTO(voice);
+    }
+
+    @Benchmark
+    public List<VoiceDto> voicePage() {
+        List<VoiceDto> dtos = new ArrayList<>(voices.size());
+        for (Voice pageVoice : voices) {
+            dtos.add(voiceMapper.toDTO(pageVoice));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public NoteDto noteToDto() {
+        return noteMapper.toDTO(note);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDTO(doctor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
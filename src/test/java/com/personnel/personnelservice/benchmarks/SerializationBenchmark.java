@@ -0,0 +1,112 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.personnel.personnelservice.config.JacksonConfig;
+import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.models.views.Views;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON d'une page de 20 voix sous {@code @JsonView(Views.Response.class)}, avec l'ObjectMapper
+ * configuré comme celui de l'application. {@code summaryPage} correspond aux listes actuelles, {@code voicePage}
+ * au DTO complet.
+ * <p>
+ * Lancement : {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.SerializationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter responseWriter;
+    private Page<VoiceDto> voicePage;
+    private Page<VoiceSummaryDto> summaryPage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().pageViewCustomizer().customize(builder);
+        responseWriter = builder.build().writerWithView(Views.Response.class);
+
+        List<VoiceDto> voices = new ArrayList<>();
+        List<VoiceSummaryDto> summaries = new ArrayList<>();
+        UUID doctorId = UUID.randomUUID();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            UUID id = UUID.randomUUID();
+            UUID patientId = UUID.randomUUID();
+            LocalDateTime creationDate = LocalDateTime.now().minusHours(i);
+            VoiceDto voice = new VoiceDto();
+            voice.setId(id);
+            voice.setPath(UUID.randomUUID().toString());
+            voice.setTitle("Consultation de suivi " + i);
+            voice.setRemarque("Contrôle tensionnel, renouvellement du traitement");
+            voice.setTranscodedFileId(UUID.randomUUID());
+            voice.setWaveformFileId(UUID.randomUUID());
+            voice.setBitrate(64_000);
+            voice.setDurationMillis(95_000L);
+            voice.setTranscodingStatus(TranscodingStatus.DONE);
+            voice.setDoctorId(doctorId);
+            voice.setDoctorName("Jean Martin");
+            voice.setPatientId(patientId);
+            voice.setPatientName("Claire Dubois");
+            voice.setCreatedBy("jean.martin@example.com");
+            voice.setCreationDate(creationDate);
+            voice.setLastModifiedDate(creationDate);
+            voices.add(voice);
+            summaries.add(new VoiceSummaryDto(id, voice.getTitle(), creationDate, doctorId, "Jean Martin", patientId, "Claire Dubois"));
+        }
+        PageRequest pageable = PageRequest.of(3, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "creationDate"));
+        voicePage = new PageImpl<>(voices, pageable, 5_000);
+        summaryPage = new PageImpl<>(summaries, pageable, 5_000);
+
+        // Une page vide ({}) mesurerait une sérialisation qui ne fait rien
+        if (!responseWriter.writeValueAsString(voicePage).contains("\"content\"")) {
+            throw new IllegalStateException("Page serialized without its content under the response view");
+        }
+    }
+
+    @Benchmark
+    public byte[] voicePage() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(voicePage);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(summaryPage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
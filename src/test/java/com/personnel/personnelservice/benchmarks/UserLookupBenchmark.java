@@ -0,0 +1,208 @@
+package com.personnel.personnelservice.benchmarks;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche d'un utilisateur par email et par id avec les requêtes générées par Hibernate pour l'héritage
+ * TABLE_PER_CLASS (UNION ALL sur cinq tables) et SINGLE_TABLE (table users discriminée, email indexé).
+ * <p>
+ * Par défaut la base est une H2 en mémoire en mode MariaDB. Pour mesurer sur MariaDB :
+ * {@code -p jdbcUrl=jdbc:mariadb://localhost:3306/bench -p jdbcUser=... -p jdbcPassword=...} (base vide dédiée,
+ * les tables y sont recréées).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class UserLookupBenchmark {
+
+    private static final String[] SUBTYPE_TABLES = {"admin", "assistant", "medecin", "patient"};
+    private static final String COLUMNS = "id, email, first_name, last_name, password, phone_number, deleted";
+    private static final String COLUMN_DEFINITIONS = "id CHAR(36) NOT NULL PRIMARY KEY, email VARCHAR(255), "
+            + "first_name VARCHAR(255), last_name VARCHAR(255), password VARCHAR(255), phone_number VARCHAR(255), "
+            + "deleted BOOLEAN NOT NULL";
+
+    @Param({"TABLE_PER_CLASS", "SINGLE_TABLE"})
+    public String strategy;
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({""})
+    public String jdbcUrl;
+
+    @Param({""})
+    public String jdbcUser;
+
+    @Param({""})
+    public String jdbcPassword;
+
+    private Connection connection;
+    private PreparedStatement findByEmail;
+    private PreparedStatement findById;
+    private String[] emails;
+    private String[] ids;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        if (jdbcUrl.isEmpty()) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:users-" + strategy + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE");
+            connection = dataSource.getConnection();
+        } else {
+            connection = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword);
+        }
+        boolean singleTable = "SINGLE_TABLE".equals(strategy);
+        createSchema(singleTable);
+        populate(singleTable);
+
+        String where = " WHERE u.deleted = false AND u.";
+        String from = singleTable ? "users u" : unionOfAllTables();
+        findByEmail = connection.prepareStatement("SELECT * FROM " + from + where + "email = ?");
+        findById = connection.prepareStatement("SELECT * FROM " + from + where + "id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : SUBTYPE_TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("DROP TABLE IF EXISTS users");
+        }
+        connection.close();
+    }
+
+    private void createSchema(boolean singleTable) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : SUBTYPE_TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            statement.execute("DROP TABLE IF EXISTS users");
+            if (singleTable) {
+                statement.execute("CREATE TABLE users (" + COLUMN_DEFINITIONS + ", user_type VARCHAR(31) NOT NULL)");
+                statement.execute("CREATE UNIQUE INDEX idx_users_email ON users (email)");
+                statement.execute("CREATE INDEX idx_users_user_type ON users (user_type)");
+            } else {
+                // Contrainte d'unicité de l'email propre à chaque table, comme générée par Hibernate
+                statement.execute("CREATE TABLE users (" + COLUMN_DEFINITIONS + ", CONSTRAINT uk_users_email UNIQUE (email))");
+                for (String table : SUBTYPE_TABLES) {
+                    statement.execute("CREATE TABLE " + table + " (" + COLUMN_DEFINITIONS + ", CONSTRAINT uk_" + table + "_email UNIQUE (email))");
+                }
+            }
+        }
+    }
+
+    // Répartition proche de la production : une majorité de patients
+    private static String tableFor(int index) {
+        int bucket = index % 100;
+        if (bucket < 80) {
+            return "patient";
+        } else if (bucket < 92) {
+            return "medecin";
+        } else if (bucket < 98) {
+            return "assistant";
+        }
+        return bucket < 99 ? "admin" : "users";
+    }
+
+    private void populate(boolean singleTable) throws SQLException {
+        emails = new String[users];
+        ids = new String[users];
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        String placeholders = "?, ?, ?, ?, ?, ?, ?";
+        for (String table : new String[]{"users", "admin", "assistant", "medecin", "patient"}) {
+            String sql = singleTable
+                    ? "INSERT INTO users (" + COLUMNS + ", user_type) VALUES (" + placeholders + ", ?)"
+                    : "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (" + placeholders + ")";
+            try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                int batched = 0;
+                for (int i = 0; i < users; i++) {
+                    if (!tableFor(i).equals(table)) {
+                        continue;
+                    }
+                    ids[i] = new UUID(42, i).toString();
+                    emails[i] = "user" + i + "@example.com";
+                    insert.setString(1, ids[i]);
+                    insert.setString(2, emails[i]);
+                    insert.setString(3, "Prénom" + i);
+                    insert.setString(4, "Nom" + i);
+                    insert.setString(5, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2x2CrWzZ4H8DZTfVRoYs1Ge");
+                    insert.setString(6, "06" + (10_000_000 + i));
+                    insert.setBoolean(7, false);
+                    if (singleTable) {
+                        insert.setString(8, table.equals("users") ? "USER" : table.toUpperCase());
+                    }
+                    insert.addBatch();
+                    if (++batched % 1_000 == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+        }
+        connection.setAutoCommit(autoCommit);
+    }
+
+    private static String unionOfAllTables() {
+        StringBuilder union = new StringBuilder("(SELECT " + COLUMNS + ", 0 AS clazz_ FROM users");
+        for (int i = 0; i < SUBTYPE_TABLES.length; i++) {
+            union.append(" UNION ALL SELECT ").append(COLUMNS).append(", ").append(i + 1).append(" AS clazz_ FROM ").append(SUBTYPE_TABLES[i]);
+        }
+        return union.append(") u").toString();
+    }
+
+    private static String firstColumn(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    @Benchmark
+    public String findByEmail() throws SQLException {
+        findByEmail.setString(1, emails[random.nextInt(users)]);
+        return firstColumn(findByEmail);
+    }
+
+    @Benchmark
+    public String findById() throws SQLException {
+        findById.setString(1, ids[random.nextInt(users)]);
+        return firstColumn(findById);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.personnel.personnelservice.benchmarks;
+
+import com.personnel.personnelservice.adapters.webs.validations.PasswordValidator;
+import com.personnel.personnelservice.adapters.webs.validations.PhoneNumberValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validateurs des formulaires d'inscription et de profil. Les entrées invalides comptent autant que les valides :
+ * un mot de passe long sans caractère spécial fait parcourir toutes les assertions de l'expression.
+ * <p>
+ * Lancement : {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.benchmarks.ValidationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+    private final PhoneNumberValidator phoneNumberValidator = new PhoneNumberValidator();
+
+    @State(Scope.Benchmark)
+    public static class PasswordInput {
+        @Param({"Aicha123@", "aichachakir2024"})
+        private String password;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PhoneNumberInput {
+        @Param({"0612345678", "+212612345678", "06 12 34 56 78"})
+        private String phoneNumber;
+    }
+
+    @Benchmark
+    public boolean password(PasswordInput input) {
+        return passwordValidator.isValid(input.password, null);
+    }
+
+    @Benchmark
+    public boolean phoneNumber(PhoneNumberInput input) {
+        return phoneNumberValidator.isValid(input.phoneNumber, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
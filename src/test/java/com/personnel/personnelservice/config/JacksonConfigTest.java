@@ -0,0 +1,45 @@
+package com.personnel.personnelservice.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personnel.personnelservice.core.models.dtos.UserDto;
+import com.personnel.personnelservice.core.models.views.Views;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonConfigTest {
+
+    @Test
+    @DisplayName("Devrait sérialiser le contenu et la pagination d'une page sous la vue Response, sans les champs hors vue")
+    void pageViewCustomizer_ShouldSerializePageUnderResponseView() throws Exception {
+        // Arrange
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().pageViewCustomizer().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+        UserDto user = new UserDto();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setPassword("Secret123@");
+
+        // Act
+        String json = objectMapper.writerWithView(Views.Response.class)
+                .writeValueAsString(new PageImpl<>(List.of(user), PageRequest.of(1, 10, Sort.by("email")), 11));
+
+        // Assert
+        JsonNode page = objectMapper.readTree(json);
+        assertThat(page.path("content").get(0).path("email").asText()).isEqualTo("doctor@example.com");
+        assertThat(page.path("content").get(0).has("password")).isFalse();
+        assertThat(page.path("totalElements").asLong()).isEqualTo(11);
+        assertThat(page.path("pageable").path("pageNumber").asInt()).isEqualTo(1);
+        assertThat(page.path("sort").path("sorted").asBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,176 @@
+package com.personnel.personnelservice.core.seeders;
+
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatasetSeederTest {
+
+    private static final String AUDIT_COLUMNS = "created_by VARCHAR(255), creation_date TIMESTAMP(6), "
+            + "last_modified_by VARCHAR(255), last_modified_date TIMESTAMP(6), deleted BOOLEAN NOT NULL";
+
+    private StorageService storageService;
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fresh database with the columns Hibernate generates for the seeded entities
+     */
+    private DatasetSeeder seeder(int workers) throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE roles (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, " + AUDIT_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE users (id UUID PRIMARY KEY, user_type VARCHAR(31) NOT NULL, first_name VARCHAR(255), "
+                + "last_name VARCHAR(255), email VARCHAR(255) UNIQUE, password VARCHAR(255), image_id UUID, "
+                + "phone_number VARCHAR(255), birth_date DATE, gender VARCHAR(255), address VARCHAR(255), id_card VARCHAR(255), "
+                + "account_non_expired BOOLEAN NOT NULL, account_non_locked BOOLEAN NOT NULL, "
+                + "credentials_non_expired BOOLEAN NOT NULL, enabled BOOLEAN NOT NULL, " + AUDIT_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id UUID NOT NULL REFERENCES users (id), "
+                + "role_id UUID NOT NULL REFERENCES roles (id), PRIMARY KEY (user_id, role_id))");
+        jdbcTemplate.execute("CREATE TABLE doctor_patients (id UUID PRIMARY KEY, doctor_id UUID NOT NULL REFERENCES users (id), "
+                + "patient_id UUID NOT NULL REFERENCES users (id), " + AUDIT_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE voices (id UUID PRIMARY KEY, path VARCHAR(255) NOT NULL, title VARCHAR(255), "
+                + "remarque VARCHAR(255), note_created TIMESTAMP(6), transcoded_file_id UUID, waveform_file_id UUID, "
+                + "bitrate INTEGER, duration_millis BIGINT, transcoding_status VARCHAR(255), "
+                + "doctor_id UUID REFERENCES users (id), patient_id UUID REFERENCES users (id), " + AUDIT_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE notes (id UUID PRIMARY KEY, content_txt TEXT NOT NULL, validated BOOLEAN NOT NULL, "
+                + "voice_id UUID REFERENCES voices (id), assistant_id UUID REFERENCES users (id), "
+                + "modifier_id UUID REFERENCES users (id), " + AUDIT_COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE payments (id UUID PRIMARY KEY, user_id UUID NOT NULL REFERENCES users (id), "
+                + "product_id VARCHAR(255), platform VARCHAR(255), purchase_token VARCHAR(255), receipt_data VARCHAR(255), "
+                + "start_date TIMESTAMP(6), end_date TIMESTAMP(6), active BOOLEAN NOT NULL, " + AUDIT_COLUMNS + ")");
+        for (String role : new String[]{"MEDECIN", "PATIENT", "ASSISTANT"}) {
+            jdbcTemplate.update("INSERT INTO roles (id, name, deleted) VALUES (?, ?, false)", UUID.randomUUID(), role);
+        }
+
+        storageService = mock(StorageService.class);
+        when(storageService.storeFile(any(InputStream.class), anyString(), eq("audio/wav"), eq(FileType.AUDIO)))
+                .thenAnswer(invocation -> {
+                    MetadataFileDTO file = new MetadataFileDTO();
+                    file.setId(UUID.nameUUIDFromBytes(invocation.getArgument(1, String.class).getBytes()));
+                    return file;
+                });
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("Seed123@")).thenReturn("hash");
+
+        DatasetSeeder seeder = new DatasetSeeder(dataSource, jdbcTemplate, storageService, passwordEncoder, null);
+        ReflectionTestUtils.setField(seeder, "seed", 7L);
+        ReflectionTestUtils.setField(seeder, "doctors", 20);
+        ReflectionTestUtils.setField(seeder, "assistants", 5);
+        ReflectionTestUtils.setField(seeder, "patients", 300);
+        ReflectionTestUtils.setField(seeder, "secondDoctorRatio", 0.3);
+        ReflectionTestUtils.setField(seeder, "voices", 2000);
+        ReflectionTestUtils.setField(seeder, "notes", 500);
+        ReflectionTestUtils.setField(seeder, "payments", 100);
+        ReflectionTestUtils.setField(seeder, "audioClips", 2);
+        ReflectionTestUtils.setField(seeder, "zipfExponent", 1.1);
+        ReflectionTestUtils.setField(seeder, "days", 730);
+        ReflectionTestUtils.setField(seeder, "referenceDate", LocalDateTime.of(2025, 1, 1, 0, 0));
+        ReflectionTestUtils.setField(seeder, "password", "Seed123@");
+        ReflectionTestUtils.setField(seeder, "workers", workers);
+        ReflectionTestUtils.setField(seeder, "batchSize", 64);
+        return seeder;
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("SELECT u.id, u.email, u.first_name, u.last_name, u.creation_date, "
+                + "(SELECT COUNT(*) FROM voices v WHERE v.doctor_id = u.id) voices, "
+                + "(SELECT COUNT(*) FROM doctor_patients dp WHERE dp.doctor_id = u.id) patients, "
+                + "(SELECT COUNT(*) FROM notes n WHERE n.assistant_id = u.id) notes, "
+                + "(SELECT COUNT(*) FROM payments p WHERE p.user_id = u.id) payments "
+                + "FROM users u ORDER BY u.id");
+    }
+
+    @Test
+    @DisplayName("Devrait générer toutes les tables avec des références cohérentes")
+    void seed_ShouldInsertAllTables() throws Exception {
+        // Arrange
+        DatasetSeeder seeder = seeder(4);
+
+        // Act
+        Map<String, Long> inserted = seeder.seed();
+
+        // Assert
+        assertThat(inserted).containsEntry("medecins", 20L).containsEntry("patients", 300L)
+                .containsEntry("user_roles", 325L).containsEntry("voices", 2000L).containsEntry("notes", 500L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM doctor_patients", Long.class)).isEqualTo(inserted.get("doctor_patients"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE user_type = 'MEDECIN' AND email = 'medecin0"
+                + DatasetSeeder.EMAIL_DOMAIN + "'", Integer.class)).isEqualTo(1);
+        // Chaque voix relie un médecin à l'un de ses patients
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM voices v WHERE NOT EXISTS (SELECT 1 FROM doctor_patients dp "
+                + "WHERE dp.doctor_id = v.doctor_id AND dp.patient_id = v.patient_id)", Integer.class)).isZero();
+        // Une note est toujours écrite après sa voix
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notes n JOIN voices v ON v.id = n.voice_id "
+                + "WHERE n.creation_date < v.creation_date", Integer.class)).isZero();
+        verify(storageService, times(2)).storeFile(any(InputStream.class), anyString(), eq("audio/wav"), eq(FileType.AUDIO));
+    }
+
+    @Test
+    @DisplayName("Devrait produire les mêmes données pour la même seed, quel que soit le nombre de workers")
+    void seed_ShouldBeReproducible() throws Exception {
+        // Arrange
+        DatasetSeeder sequential = seeder(1);
+        sequential.seed();
+        List<Map<String, Object>> first = snapshot();
+        DatasetSeeder parallel = seeder(4);
+
+        // Act
+        parallel.seed();
+
+        // Assert
+        assertThat(snapshot()).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Devrait concentrer les voix sur quelques médecins")
+    void seed_ShouldSkewVoicesTowardsFewDoctors() throws Exception {
+        // Arrange
+        DatasetSeeder seeder = seeder(2);
+
+        // Act
+        seeder.seed();
+
+        // Assert
+        List<Long> voicesPerDoctor = jdbcTemplate.queryForList("SELECT COUNT(v.id) FROM users u LEFT JOIN voices v ON v.doctor_id = u.id "
+                + "WHERE u.user_type = 'MEDECIN' GROUP BY u.id ORDER BY COUNT(v.id) DESC", Long.class);
+        assertThat(voicesPerDoctor).hasSize(20);
+        assertThat(voicesPerDoctor.get(0)).isGreaterThan(5 * voicesPerDoctor.get(10));
+        assertThat(voicesPerDoctor.get(0) + voicesPerDoctor.get(1) + voicesPerDoctor.get(2)).isGreaterThan(2000 / 3);
+    }
+
+    @Test
+    @DisplayName("Ne devrait rien insérer si le jeu de données de cette seed existe déjà")
+    void seed_ShouldSkipWhenAlreadySeeded() throws Exception {
+        // Arrange
+        DatasetSeeder seeder = seeder(2);
+        seeder.seed();
+
+        // Act
+        Map<String, Long> inserted = seeder.seed();
+
+        // Assert
+        assertThat(inserted).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM voices", Integer.class)).isEqualTo(2000);
+    }
+}
@@ -0,0 +1,96 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Payment;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaPaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityExporterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JpaPaymentRepository jpaPaymentRepository;
+
+    @InjectMocks
+    private EntityExporter entityExporter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(entityExporter, "chunkSize", 2);
+        doCallRealMethod().when(jpaPaymentRepository).forEachChunk(anyInt(), any());
+    }
+
+    private static Payment payment(long id) {
+        Payment payment = new Payment();
+        payment.setId(new UUID(0, id));
+        return payment;
+    }
+
+    @Test
+    @DisplayName("Devrait lire la table par lots bornés en reprenant après le dernier id et vider le contexte après chaque lot")
+    void export_ShouldReadByChunksAndClearPersistenceContext() {
+        // Arrange
+        Limit limit = Limit.of(2);
+        when(jpaPaymentRepository.findByOrderByIdAsc(limit)).thenReturn(List.of(payment(1), payment(2)));
+        when(jpaPaymentRepository.findByIdGreaterThanOrderByIdAsc(new UUID(0, 2), limit)).thenReturn(List.of(payment(3), payment(4)));
+        when(jpaPaymentRepository.findByIdGreaterThanOrderByIdAsc(new UUID(0, 4), limit)).thenReturn(List.of(payment(5)));
+        List<List<UUID>> chunks = new ArrayList<>();
+
+        // Act
+        entityExporter.export(jpaPaymentRepository, Payment::getId, chunks::add);
+
+        // Assert
+        assertThat(chunks).containsExactly(
+                List.of(new UUID(0, 1), new UUID(0, 2)),
+                List.of(new UUID(0, 3), new UUID(0, 4)),
+                List.of(new UUID(0, 5)));
+        InOrder inOrder = inOrder(jpaPaymentRepository, entityManager);
+        inOrder.verify(jpaPaymentRepository).findByOrderByIdAsc(limit);
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(jpaPaymentRepository).findByIdGreaterThanOrderByIdAsc(new UUID(0, 2), limit);
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(jpaPaymentRepository).findByIdGreaterThanOrderByIdAsc(new UUID(0, 4), limit);
+        inOrder.verify(entityManager).clear();
+        verify(jpaPaymentRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Devrait ne rien produire pour une table vide")
+    void export_ShouldProduceNothingForEmptyTable() {
+        // Arrange
+        when(jpaPaymentRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(List.of());
+        List<List<UUID>> chunks = new ArrayList<>();
+
+        // Act
+        entityExporter.export(jpaPaymentRepository, Payment::getId, chunks::add);
+
+        // Assert
+        assertThat(chunks).isEmpty();
+        verify(entityManager, never()).clear();
+    }
+}
@@ -0,0 +1,299 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.adapters.persistances.implementations.SqlStatementCounter;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaMedecinRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.NoteBatchResultDto;
+import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.PaymentDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.enums.BatchItemStatus;
+import com.personnel.personnelservice.core.ports.services.NoteService;
+import com.personnel.personnelservice.core.ports.services.PaymentService;
+import com.personnel.personnelservice.core.ports.services.VoiceService;
+import com.personnel.personnelservice.core.seeders.DatasetSeeder;
+import com.personnel.personnelservice.security.UserDetailsService;
+import com.personnel.personnelservice.support.SeededDatasetTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.as;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.InstanceOfAssertFactories.COLLECTION;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Calls the read methods of the services outside of any session and checks their fetch plan: the exact number of
+ * SQL statements, and DTOs whose names come from the entity graph of the query.
+ * <p>
+ * Sans session ouverte, une association hors du graphe ne peut pas être chargée : les mappers échouent alors
+ * au lieu de renvoyer un nom null. Les nombres de requêtes servent de référence : un N+1 ou une requête en plus
+ * fait échouer le test.
+ */
+@SeededDatasetTest
+@TestPropertySource(properties = {
+        "app.seed.dataset.doctors=5",
+        "app.seed.dataset.assistants=5",
+        "app.seed.dataset.patients=50",
+        "app.seed.dataset.voices=100",
+        "app.seed.dataset.notes=400",
+        "app.seed.dataset.payments=100",
+        "app.export.chunk-size=100"
+})
+class EntityGraphFetchPlanTest {
+
+    // Une ligne par page : la requête de comptage est toujours exécutée dès qu'il y a un résultat
+    private static final PageRequest FIRST_ROW = PageRequest.of(0, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private VoiceService voiceService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JpaMedecinRepository jpaMedecinRepository;
+
+    @Autowired
+    private JpaNoteRepository jpaNoteRepository;
+
+    @Autowired
+    private NoteMapper noteMapper;
+
+    private UUID noteId;
+    private UUID voiceId;
+    private UUID assistantId;
+    private UUID paymentId;
+    private UUID payingUserId;
+    private String purchaseToken;
+
+    @BeforeEach
+    void setUp() {
+        // Les listes les plus longues, pour que chaque requête renvoie plusieurs lignes
+        voiceId = mostFrequent("notes", "voice_id");
+        assistantId = mostFrequent("notes", "assistant_id");
+        payingUserId = mostFrequent("payments", "user_id");
+        noteId = jdbcTemplate.queryForObject("SELECT id FROM notes WHERE modifier_id IS NOT NULL ORDER BY id LIMIT 1", UUID.class);
+        paymentId = jdbcTemplate.queryForObject("SELECT id FROM payments ORDER BY id LIMIT 1", UUID.class);
+        purchaseToken = jdbcTemplate.queryForObject("SELECT purchase_token FROM payments WHERE id = ?", String.class, paymentId);
+    }
+
+    static Stream<Arguments> noteReads() {
+        return Stream.of(
+                read("getNoteById", 1, test -> test.noteService.getNoteById(test.noteId)),
+                read("getAllNotes(pageable)", 2, test -> test.noteService.getAllNotes(PageRequest.of(0, 20))),
+                read("getAllNotes(cursor)", 1, test -> test.noteService.getAllNotes(null, 20)),
+                read("getNotesByVoiceId", 1, test -> test.noteService.getNotesByVoiceId(test.voiceId)),
+                // Voix chargée pour vérifier son existence, puis page et comptage
+                read("getNotesByVoiceId(pageable)", 3, test -> test.noteService.getNotesByVoiceId(test.voiceId, FIRST_ROW)),
+                read("getNotesByVoiceId(cursor)", 2, test -> test.noteService.getNotesByVoiceId(test.voiceId, null, 20)),
+                read("getLatestNoteByVoiceId", 1, test -> test.noteService.getLatestNoteByVoiceId(test.voiceId)),
+                read("getValidatedNotesByVoiceId", 1, test -> test.noteService.getValidatedNotesByVoiceId(test.voiceId)),
+                read("getNotesByAssistantId", 1, test -> test.noteService.getNotesByAssistantId(test.assistantId)),
+                read("getNotesByAssistantId(pageable)", 2, test -> test.noteService.getNotesByAssistantId(test.assistantId, FIRST_ROW)),
+                read("getNotesByAssistantId(cursor)", 1, test -> test.noteService.getNotesByAssistantId(test.assistantId, null, 20)),
+                read("getNotesByModifierId", 1, test -> test.noteService.getNotesByModifierId(test.assistantId)),
+                // 4 lots de 100 notes, puis un lot vide
+                read("exportNotes", 5, test -> exported(test.noteService::exportNotes)));
+    }
+
+    static Stream<Arguments> voiceReads() {
+        return Stream.of(
+                read("getVoiceById", 1, test -> test.voiceService.getVoiceById(test.voiceId)),
+                read("searchVoicesByTitle", 2, test -> test.voiceService.searchVoicesByTitle("consultation", FIRST_ROW)),
+                // 1 lot de 100 voix, puis un lot vide
+                read("exportVoices", 2, test -> exported(test.voiceService::exportVoices)));
+    }
+
+    static Stream<Arguments> paymentReads() {
+        return Stream.of(
+                read("getPaymentById", 1, test -> test.paymentService.getPaymentById(test.paymentId)),
+                read("getAllPayments(pageable)", 2, test -> test.paymentService.getAllPayments(PageRequest.of(0, 20))),
+                read("getAllPayments(cursor)", 1, test -> test.paymentService.getAllPayments(null, 20)),
+                read("getPaymentsByUserId", 1, test -> test.paymentService.getPaymentsByUserId(test.payingUserId)),
+                read("getPaymentsByUserId(pageable)", 2, test -> test.paymentService.getPaymentsByUserId(test.payingUserId, FIRST_ROW)),
+                read("getPaymentsByUserId(cursor)", 1, test -> test.paymentService.getPaymentsByUserId(test.payingUserId, null, 20)),
+                read("getPaymentByPurchaseToken", 1, test -> test.paymentService.getPaymentByPurchaseToken(test.purchaseToken)),
+                read("exportPayments", 2, test -> exported(test.paymentService::exportPayments)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("noteReads")
+    @DisplayName("Devrait lire les notes avec leur graphe, en un nombre de requêtes fixe")
+    void noteReads_ShouldLoadMapperReferencesWithinStatementBaseline(String method, int statements, Function<EntityGraphFetchPlanTest, Object> read) {
+        // Act
+        List<NoteDto> notes = rows(measure(statements, () -> read.apply(this)), NoteDto.class);
+
+        // Assert
+        assertThat(notes).isNotEmpty().allSatisfy(note -> {
+            assertThat(note.getVoiceTitle()).isNotNull();
+            assertThat(note.getAssistantName()).isNotNull();
+            assertThat(note.getModifierName() != null).isEqualTo(note.getModifierId() != null);
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("voiceReads")
+    @DisplayName("Devrait lire les voix avec leur graphe, en un nombre de requêtes fixe")
+    void voiceReads_ShouldLoadMapperReferencesWithinStatementBaseline(String method, int statements, Function<EntityGraphFetchPlanTest, Object> read) {
+        // Act
+        List<VoiceDto> voices = rows(measure(statements, () -> read.apply(this)), VoiceDto.class);
+
+        // Assert
+        assertThat(voices).isNotEmpty().allSatisfy(voice -> {
+            assertThat(voice.getDoctorName()).isNotNull();
+            assertThat(voice.getPatientName()).isNotNull();
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("paymentReads")
+    @DisplayName("Devrait lire les paiements avec leur graphe, en un nombre de requêtes fixe")
+    void paymentReads_ShouldLoadMapperReferencesWithinStatementBaseline(String method, int statements, Function<EntityGraphFetchPlanTest, Object> read) {
+        // Act
+        List<PaymentDto> payments = rows(measure(statements, () -> read.apply(this)), PaymentDto.class);
+
+        // Assert
+        assertThat(payments).isNotEmpty().allSatisfy(payment -> {
+            assertThat(payment.getUserName()).isNotNull();
+            assertThat(payment.getUserEmail()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Devrait charger les rôles et permissions de l'utilisateur du JWT en une seule requête")
+    void loadUserByUsername_ShouldLoadAuthoritiesInOneStatement() {
+        // Act
+        // Le filtre JWT s'exécute hors de la session de la requête : getAuthorities() ne peut rien charger
+        UserDetails user = measure(1, () -> userDetailsService.loadUserByUsername("assistant0" + DatasetSeeder.EMAIL_DOMAIN));
+
+        // Assert
+        assertThat(user.getAuthorities()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Devrait appliquer le graphe des autorisations aux sous-types d'utilisateur")
+    void findMedecinByEmail_ShouldLoadAuthoritiesInOneStatement() {
+        // Act
+        Optional<Medecin> medecin = measure(1, () -> jpaMedecinRepository.findByEmail("medecin0" + DatasetSeeder.EMAIL_DOMAIN));
+
+        // Assert
+        assertThat(medecin).get().extracting(User::getAuthorities, as(COLLECTION)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Devrait refuser de mapper une note lue sans son graphe plutôt que de renvoyer des noms vides")
+    void toDTO_ShouldFailWhenTheQueryMissesTheEntityGraph() {
+        // Arrange
+        Note note = jpaNoteRepository.findById(noteId).orElseThrow();
+
+        // Act & Assert
+        assertThatIllegalStateException()
+                .isThrownBy(() -> noteMapper.toDTO(note))
+                .withMessageContaining("Note.voice");
+    }
+
+    @Test
+    @DisplayName("Devrait mettre à jour par lot une note existante sans ids de référence en gardant ses noms")
+    void saveNotes_ShouldMapAnExistingNoteUpdatedWithoutReferenceIds() {
+        // Arrange
+        // Sans voiceId, assistantId ni modifierId, les associations de la note sont celles lues en base
+        NoteDto update = new NoteDto();
+        update.setId(noteId);
+        update.setContentTxt("Contenu mis à jour par lot");
+
+        // Act
+        List<NoteBatchResultDto> results = noteService.saveNotes(List.of(update));
+
+        // Assert
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getStatus()).isEqualTo(BatchItemStatus.UPDATED);
+            assertThat(result.getNote().getVoiceTitle()).isNotNull();
+            assertThat(result.getNote().getAssistantName()).isNotNull();
+            assertThat(result.getNote().getModifierName()).isNotNull();
+        });
+    }
+
+    private <T> T measure(int expectedStatements, Supplier<T> read) {
+        sqlStatementCounter.start();
+        T result;
+        try {
+            result = read.get();
+        } finally {
+            assertThat(sqlStatementCounter.stop()).as("SQL statements").isEqualTo(expectedStatements);
+        }
+        return result;
+    }
+
+    private UUID mostFrequent(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM " + table + " WHERE " + column + " IS NOT NULL GROUP BY "
+                + column + " ORDER BY COUNT(*) DESC, " + column + " LIMIT 1", UUID.class);
+    }
+
+    private static Arguments read(String method, int statements, Function<EntityGraphFetchPlanTest, Object> read) {
+        return arguments(method, statements, read);
+    }
+
+    private static <T> List<T> exported(Consumer<Consumer<List<T>>> export) {
+        List<T> rows = new ArrayList<>();
+        export.accept(rows::addAll);
+        return rows;
+    }
+
+    /**
+     * The DTOs of a service result, whatever its shape
+     */
+    private static <T> List<T> rows(Object result, Class<T> type) {
+        Collection<?> rows;
+        if (result instanceof Page<?> page) {
+            rows = page.getContent();
+        } else if (result instanceof CursorPageDto<?> cursorPage) {
+            rows = cursorPage.getContent();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.stream().toList();
+        } else if (result instanceof Collection<?> collection) {
+            rows = collection;
+        } else {
+            rows = List.of(result);
+        }
+        return rows.stream().map(type::cast).toList();
+    }
+}
@@ -2,11 +2,19 @@ package com.personnel.personnelservice.core.services;
 
 import com.github.javafaker.Faker;
 import com.personnel.personnelservice.adapters.persistances.entities.MetaDataFile;
+import com.personnel.personnelservice.adapters.persistances.entities.UploadSession;
 import com.personnel.personnelservice.adapters.persistances.mappers.MetadataFileMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaContentBlobRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaMetaDataFileRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUploadSessionRepository;
+import com.personnel.personnelservice.core.exceptions.BaseException;
 import com.personnel.personnelservice.core.exceptions.EmptyFileException;
+import com.personnel.personnelservice.core.exceptions.UploadOffsetMismatchException;
 import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
 import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.events.FileDeletedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,10 +25,17 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +54,15 @@ class LocalStorageServiceImplTest {
     @Mock
     private MetadataFileMapper metadataFileMapper;
 
+    @Mock
+    private JpaUploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private JpaContentBlobRepository contentBlobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LocalStorageServiceImpl storageService;
 
@@ -177,4 +201,244 @@ class LocalStorageServiceImplTest {
         verify(metadataFileRepository).findById(fileId);
         verify(metadataFileMapper, never()).toDTO(any());
     }
-}
\ No newline at end of file
+
+    private UploadSession openUploadSession(Long totalSize) {
+        UploadSession uploadSession = new UploadSession();
+        uploadSession.setId(UUID.randomUUID());
+        uploadSession.setOriginalFileName("dictee.wav");
+        uploadSession.setExtension(".wav");
+        uploadSession.setMimeType("audio/wav");
+        uploadSession.setType(FileType.AUTRE);
+        uploadSession.setTotalSize(totalSize);
+        return uploadSession;
+    }
+
+    @Test
+    @DisplayName("Devrait ajouter les fragments à la suite et reprendre à partir de l'offset reçu")
+    void appendChunk_ShouldAppendChunksSequentially() throws IOException {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(10L);
+        when(uploadSessionRepository.findById(uploadSession.getId())).thenReturn(Optional.of(uploadSession));
+
+        // Act
+        UploadSessionDto first = storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream("hello".getBytes()));
+        UploadSessionDto status = storageService.getUploadStatus(uploadSession.getId());
+        UploadSessionDto second = storageService.appendChunk(uploadSession.getId(), status.getReceivedBytes(), new ByteArrayInputStream("world".getBytes()));
+
+        // Assert
+        assertThat(first.getReceivedBytes()).isEqualTo(5L);
+        assertThat(status.getReceivedBytes()).isEqualTo(5L);
+        assertThat(second.getReceivedBytes()).isEqualTo(10L);
+        Path partialPath = tempDir.resolve(".partial").resolve(uploadSession.getId() + ".part");
+        assertThat(Files.readString(partialPath)).isEqualTo("helloworld");
+    }
+
+    @Test
+    @DisplayName("Devrait refuser l'ouverture d'un upload sans nom de fichier")
+    void initUpload_ShouldThrowException_WhenFileNameIsMissing() {
+        // Arrange
+        UploadSessionDto uploadSessionDto = new UploadSessionDto();
+        uploadSessionDto.setTotalSize(10L);
+
+        // Act & Assert
+        Throwable thrown = catchThrowable(() -> storageService.initUpload(uploadSessionDto));
+        assertThat(thrown)
+                .isInstanceOf(BaseException.class)
+                .hasMessage("Le nom du fichier est obligatoire");
+        verify(uploadSessionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un fragment dont l'offset ne correspond pas aux octets reçus")
+    void appendChunk_ShouldThrowException_WhenOffsetDoesNotMatch() throws IOException {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(null);
+        when(uploadSessionRepository.findById(uploadSession.getId())).thenReturn(Optional.of(uploadSession));
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream("hello".getBytes()));
+
+        // Act & Assert
+        Throwable thrown = catchThrowable(() -> storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream("again".getBytes())));
+        assertThat(thrown).isInstanceOf(UploadOffsetMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait enregistrer les métadonnées uniquement à la finalisation de l'upload")
+    void completeUpload_ShouldMoveFileAndSaveMetadata() throws IOException {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(5L);
+        when(uploadSessionRepository.findById(uploadSession.getId())).thenReturn(Optional.of(uploadSession));
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream("hello".getBytes()));
+        verify(metadataFileRepository, never()).save(any());
+
+        // Act
+        storageService.completeUpload(uploadSession.getId());
+
+        // Assert
+        verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+        MetaDataFile capturedMetaDataFile = metaDataFileCaptor.getValue();
+        assertThat(capturedMetaDataFile.getExtension()).isEqualTo(".wav");
+        assertThat(capturedMetaDataFile.getMimeType()).isEqualTo("audio/wav");
+        assertThat(Files.readString(tempDir.resolve(capturedMetaDataFile.getFileName()))).isEqualTo("hello");
+        assertThat(uploadSession.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait placer le fichier avant le commit et restaurer le fichier partiel si la transaction est annulée")
+    void completeUpload_ShouldRestorePartialFile_WhenTransactionRollsBack() throws IOException {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(5L);
+        when(uploadSessionRepository.findById(uploadSession.getId())).thenReturn(Optional.of(uploadSession));
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream("hello".getBytes()));
+        Path partialPath = tempDir.resolve(".partial").resolve(uploadSession.getId() + ".part");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            storageService.completeUpload(uploadSession.getId());
+            verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+            Path targetPath = tempDir.resolve(metaDataFileCaptor.getValue().getFileName());
+            boolean placedBeforeCommit = Files.exists(targetPath);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertThat(placedBeforeCommit).isTrue();
+            assertThat(targetPath).doesNotExist();
+            assertThat(Files.readString(partialPath)).isEqualTo("hello");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Devrait supprimer le fichier stocké si la transaction est annulée")
+    void storeFile_ShouldDeleteStoredFile_WhenTransactionRollsBack() throws IOException {
+        // Arrange
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            storageService.storeFile(new ByteArrayInputStream("hello".getBytes()), "rapport.pdf", "application/pdf", FileType.RAPPORT);
+            verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+            Path storedPath = tempDir.resolve(metaDataFileCaptor.getValue().getFileName());
+            boolean placedBeforeCommit = Files.exists(storedPath);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertThat(placedBeforeCommit).isTrue();
+            assertThat(storedPath).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Devrait transférer uniquement la plage d'octets demandée")
+    void transferTo_ShouldTransferRequestedRange() throws IOException {
+        // Arrange
+        UUID fileId = UUID.randomUUID();
+        Files.writeString(tempDir.resolve("voice.wav"), "0123456789");
+        MetaDataFile metaDataFile = new MetaDataFile();
+        metaDataFile.setId(fileId);
+        metaDataFile.setFileName("voice.wav");
+        metaDataFile.setMimeType("audio/wav");
+        metaDataFile.setPath(tempDir.toString());
+        when(metadataFileRepository.findById(fileId)).thenReturn(Optional.of(metaDataFile));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        StoredFileDto storedFile = storageService.getStoredFile(fileId).orElseThrow();
+        long transferred = storageService.transferTo(fileId, 2, 5, Channels.newChannel(output));
+
+        // Assert
+        assertThat(storedFile.getContentLength()).isEqualTo(10L);
+        assertThat(storedFile.getETag()).startsWith("\"" + fileId);
+        assertThat(transferred).isEqualTo(5L);
+        assertThat(output.toString()).isEqualTo("23456");
+    }
+
+    @Test
+    @DisplayName("Devrait partager le contenu d'un fichier déjà stocké en mode adressé par contenu")
+    void storeFile_ShouldDeduplicateContent_WhenContentAddressed() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(storageService, "contentAddressed", true);
+        byte[] content = "same report".getBytes();
+        MockMultipartFile first = new MockMultipartFile("file", "rapport.pdf", "application/pdf", content);
+        MockMultipartFile second = new MockMultipartFile("file", "copie.pdf", "application/pdf", content);
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        storageService.storeFile(first, FileType.RAPPORT.name());
+        storageService.storeFile(second, FileType.RAPPORT.name());
+
+        // Assert
+        verify(metadataFileRepository, times(2)).save(metaDataFileCaptor.capture());
+        MetaDataFile firstFile = metaDataFileCaptor.getAllValues().get(0);
+        MetaDataFile secondFile = metaDataFileCaptor.getAllValues().get(1);
+        String hash = firstFile.getContentHash();
+
+        assertThat(hash).hasSize(64);
+        assertThat(secondFile.getContentHash()).isEqualTo(hash);
+        assertThat(secondFile.getFileName()).isEqualTo(firstFile.getFileName());
+        Path blobPath = tempDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertThat(Files.readAllBytes(blobPath)).isEqualTo(content);
+        assertThat(tempDir.resolve(".partial")).isEmptyDirectory();
+        verify(contentBlobRepository, times(2)).addReference(hash);
+    }
+
+    @Test
+    @DisplayName("Devrait différer la suppression du fichier après le commit de la suppression des métadonnées")
+    void deleteFile_ShouldReleaseReferenceAndPublishEvent() {
+        // Arrange
+        UUID fileId = UUID.randomUUID();
+        MetaDataFile metaDataFile = new MetaDataFile();
+        metaDataFile.setId(fileId);
+        metaDataFile.setFileName("abc");
+        metaDataFile.setPath(tempDir.toString());
+        metaDataFile.setContentHash("abc");
+        when(metadataFileRepository.findById(fileId)).thenReturn(Optional.of(metaDataFile));
+        ArgumentCaptor<FileDeletedEvent> eventCaptor = ArgumentCaptor.forClass(FileDeletedEvent.class);
+
+        // Act
+        storageService.deleteFile(fileId);
+
+        // Assert
+        verify(metadataFileRepository).delete(metaDataFile);
+        verify(contentBlobRepository).removeReference("abc");
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getFileId()).isEqualTo(fileId);
+        assertThat(eventCaptor.getValue().getContentHash()).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("Devrait conserver un contenu partagé encore référencé")
+    void onFileDeleted_ShouldKeepContent_WhenStillReferenced() throws IOException {
+        // Arrange
+        Path blobPath = Files.writeString(tempDir.resolve("abc"), "shared");
+        when(contentBlobRepository.deleteIfUnreferenced("abc")).thenReturn(0);
+
+        // Act
+        storageService.onFileDeleted(new FileDeletedEvent(UUID.randomUUID(), tempDir.toString(), "abc", "abc"));
+
+        // Assert
+        assertThat(blobPath).exists();
+    }
+
+    @Test
+    @DisplayName("Devrait supprimer un contenu partagé qui n'est plus référencé")
+    void onFileDeleted_ShouldDeleteContent_WhenNoLongerReferenced() throws IOException {
+        // Arrange
+        Path blobPath = Files.writeString(tempDir.resolve("abc"), "shared");
+        when(contentBlobRepository.deleteIfUnreferenced("abc")).thenReturn(1);
+
+        // Act
+        storageService.onFileDeleted(new FileDeletedEvent(UUID.randomUUID(), tempDir.toString(), "abc", "abc"));
+
+        // Assert
+        assertThat(blobPath).doesNotExist();
+    }
+}
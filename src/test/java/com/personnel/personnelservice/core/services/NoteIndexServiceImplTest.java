@@ -0,0 +1,187 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.NoteSearchHitDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NoteIndexServiceImplTest {
+
+    @Mock
+    private JpaNoteRepository jpaNoteRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @InjectMocks
+    private NoteIndexServiceImpl noteIndexService;
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<UUID, Note> database = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(noteIndexService, "indexLocation", tempDir.toString());
+        ReflectionTestUtils.setField(noteIndexService, "rebuildBatchSize", 2);
+        ReflectionTestUtils.setField(noteIndexService, "highlightPassages", 1);
+        when(jpaNoteRepository.count()).thenAnswer(invocation -> (long) database.size());
+        when(jpaNoteRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(database.get(invocation.getArgument(0, UUID.class))));
+        when(jpaNoteRepository.findWithReferencesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<Note> notes = new ArrayList<>();
+            for (Object id : invocation.getArgument(0, Iterable.class)) {
+                Optional.ofNullable(database.get((UUID) id)).ifPresent(notes::add);
+            }
+            return notes;
+        });
+        when(noteMapper.toDTO(any(Note.class))).thenAnswer(invocation -> {
+            Note note = invocation.getArgument(0);
+            NoteDto noteDto = new NoteDto();
+            noteDto.setId(note.getId());
+            noteDto.setContentTxt(note.getContentTxt());
+            return noteDto;
+        });
+        noteIndexService.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        noteIndexService.close();
+    }
+
+    private Note saveNote(String content) {
+        Note note = new Note();
+        note.setId(UUID.randomUUID());
+        note.setContentTxt(content);
+        database.put(note.getId(), note);
+        noteIndexService.indexNote(note.getId());
+        return note;
+    }
+
+    @Test
+    @DisplayName("Devrait trouver les notes malgré les accents, les pluriels et les élisions, par ordre de pertinence")
+    void search_ShouldUseFrenchAnalysisAndRankResults() {
+        // Arrange
+        Note strongMatch = saveNote("Échographie cardiaque : l'échographie montre une fonction normale.");
+        Note weakMatch = saveNote("Patient adressé pour des echographies de contrôle, bilan sanguin à prévoir.");
+        saveNote("Consultation de suivi, tension artérielle stable.");
+
+        // Act
+        Page<NoteSearchHitDto> hits = noteIndexService.search("echographie", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(hits.getTotalElements()).isEqualTo(2);
+        assertThat(hits.getContent()).extracting(hit -> hit.getNote().getId())
+                .containsExactly(strongMatch.getId(), weakMatch.getId());
+        assertThat(hits.getContent().get(0).getHighlight()).contains("<mark>Échographie</mark>");
+        assertThat(hits.getContent().get(1).getHighlight()).contains("<mark>echographies</mark>");
+    }
+
+    @Test
+    @DisplayName("Devrait paginer les résultats et retirer les notes supprimées de l'index")
+    void search_ShouldPaginateAndForgetDeletedNotes() {
+        // Arrange
+        Note deleted = saveNote("Douleur thoracique atypique");
+        for (int i = 0; i < 4; i++) {
+            saveNote("Douleur abdominale numéro " + i);
+        }
+        database.remove(deleted.getId());
+        noteIndexService.indexNote(deleted.getId());
+
+        // Act
+        Page<NoteSearchHitDto> secondPage = noteIndexService.search("douleur", PageRequest.of(1, 3));
+
+        // Assert
+        assertThat(secondPage.getTotalElements()).isEqualTo(4);
+        assertThat(secondPage.getContent()).hasSize(1);
+        assertThat(secondPage.getContent().get(0).getNote().getId()).isNotEqualTo(deleted.getId());
+    }
+
+    @Test
+    @DisplayName("Devrait reconstruire l'index à partir de la base")
+    void rebuild_ShouldReindexEveryNote() {
+        // Arrange
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Note note = new Note();
+            note.setId(UUID.randomUUID());
+            note.setContentTxt("Compte rendu opératoire " + i);
+            notes.add(note);
+            database.put(note.getId(), note);
+        }
+        when(jpaNoteRepository.findAll(any(PageRequest.class))).thenAnswer(invocation -> {
+            PageRequest pageRequest = invocation.getArgument(0);
+            int from = (int) pageRequest.getOffset();
+            int to = Math.min(notes.size(), from + pageRequest.getPageSize());
+            return new PageImpl<>(notes.subList(from, to), pageRequest, notes.size());
+        });
+
+        // Act
+        noteIndexService.rebuild();
+        Page<NoteSearchHitDto> hits = noteIndexService.search("opératoires", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(noteIndexService.isReady()).isTrue();
+        assertThat(hits.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Devrait lancer une seule reconstruction en tâche de fond sur l'exécuteur de Spring")
+    void startRebuild_ShouldRunOnceOnTheTaskExecutor() {
+        // Arrange
+        when(jpaNoteRepository.findAll(any(PageRequest.class)))
+                .thenAnswer(invocation -> Page.empty(invocation.getArgument(0, PageRequest.class)));
+        ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        noteIndexService.startRebuild();
+        noteIndexService.startRebuild();
+
+        // Assert
+        verify(taskExecutor, times(1)).execute(rebuild.capture());
+        assertThat(noteIndexService.isReady()).isFalse();
+        rebuild.getValue().run();
+        assertThat(noteIndexService.isReady()).isTrue();
+    }
+}
@@ -0,0 +1,254 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Assistant;
+import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.mappers.NoteMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaAssistantRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.exceptions.BatchTooLargeException;
+import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.models.dtos.NoteBatchResultDto;
+import com.personnel.personnelservice.core.models.dtos.NoteDto;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.enums.BatchItemStatus;
+import com.personnel.personnelservice.core.models.events.NoteChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.ports.services.NoteIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteServiceImplTest {
+
+    @Mock
+    private JpaNoteRepository jpaNoteRepository;
+
+    @Mock
+    private JpaVoiceRepository jpaVoiceRepository;
+
+    @Mock
+    private JpaAssistantRepository jpaAssistantRepository;
+
+    @Mock
+    private JpaUserRepository jpaUserRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @Mock
+    private NoteIndexService noteIndexService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityExporter entityExporter;
+
+    @Mock
+    private UserReferenceResolver userReferenceResolver;
+
+    @InjectMocks
+    private NoteServiceImpl noteService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteService, "maxBatchSize", 10);
+    }
+
+    @Nested
+    @DisplayName("Tests pour createNote")
+    class CreateNoteTests {
+
+        @Test
+        @DisplayName("Devrait poser des références sans charger la voix, l'assistant et le modificateur")
+        void shouldSetReferencesWithoutLoadingEntities() {
+            // Arrange
+            UUID voiceId = UUID.randomUUID();
+            UUID assistantId = UUID.randomUUID();
+            UUID modifierId = UUID.randomUUID();
+            NoteDto noteDto = new NoteDto();
+            noteDto.setContentTxt("Contenu");
+            noteDto.setVoiceId(voiceId);
+            noteDto.setAssistantId(assistantId);
+            noteDto.setModifierId(modifierId);
+            Note note = new Note();
+            note.setId(UUID.randomUUID());
+            Voice voice = new Voice();
+            voice.setId(voiceId);
+            Assistant assistant = new Assistant();
+            assistant.setId(assistantId);
+            User modifier = new Medecin();
+            modifier.setId(modifierId);
+            NoteDto mapped = new NoteDto();
+            mapped.setVoiceId(voiceId);
+            mapped.setAssistantId(assistantId);
+            mapped.setModifierId(modifierId);
+
+            when(noteMapper.toEntity(noteDto)).thenReturn(note);
+            when(jpaVoiceRepository.findSummaryById(voiceId)).thenReturn(Optional.of(
+                    new VoiceSummaryDto(voiceId, "Consultation", null, null, null, null, null)));
+            when(jpaVoiceRepository.getReferenceById(voiceId)).thenReturn(voice);
+            when(userReferenceResolver.findAll(assistantId, modifierId)).thenReturn(Map.of(
+                    assistantId, new UserReferenceDto(assistantId, Assistant.class, "Alice", "Martin", "alice@example.com"),
+                    modifierId, new UserReferenceDto(modifierId, Medecin.class, "Jean", "Dupont", "jean@example.com")));
+            when(jpaAssistantRepository.getReferenceById(assistantId)).thenReturn(assistant);
+            when(jpaUserRepository.getReferenceById(modifierId)).thenReturn(modifier);
+            when(jpaNoteRepository.save(note)).thenReturn(note);
+            when(noteMapper.toWrittenDTO(note)).thenReturn(mapped);
+
+            // Act
+            NoteDto result = noteService.createNote(noteDto);
+
+            // Assert
+            assertSame(voice, note.getVoice());
+            assertSame(assistant, note.getAssistant());
+            assertSame(modifier, note.getModifier());
+            assertEquals("Consultation", result.getVoiceTitle());
+            assertEquals("Alice Martin", result.getAssistantName());
+            assertEquals("Jean Dupont", result.getModifierName());
+            verify(jpaVoiceRepository, never()).findById(any());
+            verify(jpaAssistantRepository, never()).findById(any());
+            verify(jpaUserRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Devrait refuser un assistant qui n'en est pas un")
+        void shouldRejectAssistantOfAnotherType() {
+            // Arrange
+            UUID assistantId = UUID.randomUUID();
+            NoteDto noteDto = new NoteDto();
+            noteDto.setContentTxt("Contenu");
+            noteDto.setAssistantId(assistantId);
+            when(noteMapper.toEntity(noteDto)).thenReturn(new Note());
+            when(userReferenceResolver.findAll(assistantId, null)).thenReturn(Map.of(
+                    assistantId, new UserReferenceDto(assistantId, Medecin.class, "Jean", "Dupont", "jean@example.com")));
+
+            // Act & Assert
+            EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                    () -> noteService.createNote(noteDto));
+            assertEquals("Assistant not found with id: " + assistantId, exception.getMessage());
+            verify(jpaNoteRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests pour saveNotes")
+    class SaveNotesTests {
+
+        private Voice voice;
+        private Voice otherVoice;
+        private Note existingNote;
+
+        @BeforeEach
+        void setUp() {
+            voice = new Voice();
+            voice.setId(UUID.randomUUID());
+            otherVoice = new Voice();
+            otherVoice.setId(UUID.randomUUID());
+            existingNote = new Note();
+            existingNote.setId(UUID.randomUUID());
+            existingNote.setVoice(otherVoice);
+        }
+
+        private NoteDto noteDto(UUID id, UUID voiceId) {
+            NoteDto noteDto = new NoteDto();
+            noteDto.setId(id);
+            noteDto.setVoiceId(voiceId);
+            noteDto.setContentTxt("Contenu");
+            return noteDto;
+        }
+
+        @Test
+        @DisplayName("Devrait créer, mettre à jour et rejeter les notes avec une seule requête par type référencé")
+        void shouldSaveNotesWithOneQueryPerReferencedType() {
+            // Arrange
+            NoteDto created = noteDto(null, voice.getId());
+            NoteDto updated = noteDto(existingNote.getId(), voice.getId());
+            NoteDto unknownVoice = noteDto(null, UUID.randomUUID());
+            NoteDto withoutContent = noteDto(null, null);
+            withoutContent.setContentTxt(null);
+            Note newNote = new Note();
+            newNote.setId(UUID.randomUUID());
+
+            when(jpaNoteRepository.findWithReferencesByIdIn(Set.of(existingNote.getId()))).thenReturn(List.of(existingNote));
+            when(jpaVoiceRepository.findAllById(any())).thenReturn(List.of(voice));
+            when(noteMapper.toEntity(created)).thenReturn(newNote);
+            when(jpaNoteRepository.saveAll(anyList())).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+            when(noteMapper.toDTO(any(Note.class))).thenAnswer(invocation -> {
+                NoteDto dto = new NoteDto();
+                dto.setId(invocation.<Note>getArgument(0).getId());
+                return dto;
+            });
+
+            // Act
+            List<NoteBatchResultDto> results = noteService.saveNotes(Arrays.asList(created, updated, unknownVoice, withoutContent, null));
+
+            // Assert
+            assertEquals(5, results.size());
+            assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+            assertEquals(newNote.getId(), results.get(0).getNote().getId());
+            assertEquals(BatchItemStatus.UPDATED, results.get(1).getStatus());
+            assertEquals(existingNote.getId(), results.get(1).getNote().getId());
+            assertEquals(BatchItemStatus.FAILED, results.get(2).getStatus());
+            assertEquals("Voice not found with id: " + unknownVoice.getVoiceId(), results.get(2).getError());
+            assertEquals(BatchItemStatus.FAILED, results.get(3).getStatus());
+            assertEquals(BatchItemStatus.FAILED, results.get(4).getStatus());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).getIndex());
+            }
+            assertSame(voice, newNote.getVoice());
+            assertSame(voice, existingNote.getVoice());
+
+            verify(jpaNoteRepository, times(1)).findWithReferencesByIdIn(any());
+            verify(jpaVoiceRepository, times(1)).findAllById(any());
+            verify(jpaNoteRepository, times(1)).saveAll(List.of(newNote, existingNote));
+            verify(jpaVoiceRepository, never()).findById(any());
+            verifyNoInteractions(jpaAssistantRepository, jpaUserRepository);
+            verify(noteMapper).updateEntity(updated, existingNote);
+            verify(eventPublisher, times(2)).publishEvent(any(NoteChangedEvent.class));
+            // La note mise à jour a quitté otherVoice
+            verify(eventPublisher).publishEvent(any(VoiceChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Devrait rejeter un lot trop grand sans accéder à la base")
+        void shouldRejectBatchLargerThanMaximum() {
+            // Arrange
+            List<NoteDto> noteDtos = new ArrayList<>();
+            for (int i = 0; i < 11; i++) {
+                noteDtos.add(noteDto(null, null));
+            }
+
+            // Act & Assert
+            assertThrows(BatchTooLargeException.class, () -> noteService.saveNotes(noteDtos));
+            verifyNoInteractions(jpaNoteRepository, jpaVoiceRepository, eventPublisher);
+        }
+    }
+}
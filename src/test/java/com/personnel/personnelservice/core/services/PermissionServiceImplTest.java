@@ -2,8 +2,6 @@ package com.personnel.personnelservice.core.services;
 
 import com.github.javafaker.Faker;
 import com.personnel.personnelservice.adapters.persistances.entities.Permission;
-import com.personnel.personnelservice.adapters.persistances.mappers.PermissionMapper;
-import com.personnel.personnelservice.adapters.persistances.repositories.JpaPermissionRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
 import com.personnel.personnelservice.core.models.dtos.PermissionDto;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,10 +29,7 @@ import static org.mockito.Mockito.*;
 public class PermissionServiceImplTest {
 
     @Mock
-    private JpaPermissionRepository jpaPermissionRepository;
-
-    @Mock
-    private PermissionMapper permissionMapper;
+    private RoleCache roleCache;
 
     @InjectMocks
     private PermissionServiceImpl permissionService;
@@ -77,8 +72,7 @@ public class PermissionServiceImplTest {
         @DisplayName("Devrait retourner une permission lorsque l'ID existe")
         void shouldReturnPermissionWhenIdExists() {
             // Arrange
-            when(jpaPermissionRepository.findById(permissionId)).thenReturn(Optional.of(permission));
-            when(permissionMapper.toPermissionDto(permission)).thenReturn(permissionDto);
+            when(roleCache.findPermissionById(permissionId)).thenReturn(Optional.of(permissionDto));
 
             // Act
             PermissionDto result = permissionService.getPermissionById(permissionId);
@@ -89,23 +83,21 @@ public class PermissionServiceImplTest {
             assertEquals(permissionName, result.getName());
             assertEquals(permissionDescription, result.getDescription());
 
-            verify(jpaPermissionRepository).findById(permissionId);
-            verify(permissionMapper).toPermissionDto(permission);
+            verify(roleCache).findPermissionById(permissionId);
         }
 
         @Test
         @DisplayName("Devrait lancer une exception lorsque l'ID n'existe pas")
         void shouldThrowExceptionWhenIdDoesNotExist() {
             // Arrange
-            when(jpaPermissionRepository.findById(permissionId)).thenReturn(Optional.empty());
+            when(roleCache.findPermissionById(permissionId)).thenReturn(Optional.empty());
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> permissionService.getPermissionById(permissionId));
             assertEquals("Permission not found with id: " + permissionId, exception.getMessage());
 
-            verify(jpaPermissionRepository).findById(permissionId);
-            verifyNoInteractions(permissionMapper);
+            verify(roleCache).findPermissionById(permissionId);
         }
     }
 
@@ -131,14 +123,7 @@ public class PermissionServiceImplTest {
                     })
                     .collect(Collectors.toList());
 
-            when(jpaPermissionRepository.findAll()).thenReturn(permissions);
-            when(permissionMapper.toPermissionDto(any(Permission.class))).thenAnswer(invocation -> {
-                Permission p = invocation.getArgument(0);
-                return permissionDtos.stream()
-                        .filter(dto -> dto.getId().equals(p.getId()))
-                        .findFirst()
-                        .orElse(null);
-            });
+            when(roleCache.findAllPermissions()).thenReturn(permissionDtos);
 
             // Act
             List<PermissionDto> result = permissionService.getAllPermissions();
@@ -160,15 +145,14 @@ public class PermissionServiceImplTest {
                             permissions.get(1).getName()
                     );
 
-            verify(jpaPermissionRepository).findAll();
-            verify(permissionMapper, times(2)).toPermissionDto(any(Permission.class));
+            verify(roleCache).findAllPermissions();
         }
 
         @Test
         @DisplayName("Devrait retourner une liste vide quand aucune permission n'existe")
         void shouldReturnEmptyListWhenNoPermissionsExist() {
             // Arrange
-            when(jpaPermissionRepository.findAll()).thenReturn(Collections.emptyList());
+            when(roleCache.findAllPermissions()).thenReturn(Collections.emptyList());
 
             // Act
             List<PermissionDto> result = permissionService.getAllPermissions();
@@ -177,8 +161,7 @@ public class PermissionServiceImplTest {
             assertNotNull(result);
             assertTrue(result.isEmpty());
 
-            verify(jpaPermissionRepository).findAll();
-            verifyNoInteractions(permissionMapper);
+            verify(roleCache).findAllPermissions();
         }
     }
 
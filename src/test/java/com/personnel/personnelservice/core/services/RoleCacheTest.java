@@ -0,0 +1,183 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.mappers.PermissionMapper;
+import com.personnel.personnelservice.adapters.persistances.mappers.RoleMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaPermissionRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
+import com.personnel.personnelservice.core.models.dtos.PermissionDto;
+import com.personnel.personnelservice.core.models.dtos.RoleDto;
+import com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCacheTest {
+
+    @Mock
+    private JpaRoleRepository jpaRoleRepository;
+
+    @Mock
+    private JpaPermissionRepository jpaPermissionRepository;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    @InjectMocks
+    private RoleCache roleCache;
+
+    private final UUID roleId = UUID.randomUUID();
+    private final UUID permissionId = UUID.randomUUID();
+    private final Permission permission = new Permission();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roleCache, "ttlSeconds", 600L);
+        permission.setId(permissionId);
+        permission.setName("READ_VOICE");
+        Role role = new Role();
+        role.setId(roleId);
+        role.setName("PATIENT");
+        role.setPermissions(Set.of(permission));
+
+        when(jpaRoleRepository.findAllWithPermissions()).thenReturn(List.of(role));
+        when(jpaPermissionRepository.findAll()).thenReturn(List.of(permission));
+        when(roleMapper.toRoleDto(any(Role.class))).thenAnswer(invocation -> {
+            Role r = invocation.getArgument(0);
+            return new RoleDto(r.getId(), r.getName(), r.getDescription(), new HashSet<>(Set.of("READ_VOICE")));
+        });
+        when(permissionMapper.toPermissionDto(any(Permission.class))).thenAnswer(invocation -> {
+            Permission p = invocation.getArgument(0);
+            return new PermissionDto(p.getId(), p.getName(), p.getDescription());
+        });
+    }
+
+    @Test
+    @DisplayName("Devrait charger les rôles et permissions une seule fois")
+    void shouldLoadOnceAndServeFromMemory() {
+        // Act
+        RoleDto patient = roleCache.findRoleByName("PATIENT").orElseThrow();
+        roleCache.findRoleByName("PATIENT");
+        roleCache.findRoleById(roleId);
+        roleCache.findAllRoles();
+        List<PermissionDto> permissions = roleCache.findAllPermissions();
+
+        // Assert
+        assertThat(patient.getId()).isEqualTo(roleId);
+        assertThat(patient.getPermissions()).containsExactly("READ_VOICE");
+        assertThat(permissions).extracting(PermissionDto::getId).containsExactly(permissionId);
+        assertThat(roleCache.findPermissionById(permissionId)).isPresent();
+        assertThat(roleCache.findRoleByName("ADMIN")).isEmpty();
+        verify(jpaRoleRepository, times(1)).findAllWithPermissions();
+        verify(jpaPermissionRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer une copie que l'appelant peut modifier sans altérer le cache")
+    void shouldReturnCopies() {
+        // Arrange
+        RoleDto patient = roleCache.findRoleByName("PATIENT").orElseThrow();
+
+        // Act
+        patient.setName("ALTERED");
+        patient.getPermissions().add("DELETE_VOICE");
+
+        // Assert
+        RoleDto cached = roleCache.findRoleByName("PATIENT").orElseThrow();
+        assertThat(cached.getName()).isEqualTo("PATIENT");
+        assertThat(cached.getPermissions()).containsExactly("READ_VOICE");
+    }
+
+    @Test
+    @DisplayName("Devrait recharger et prévenir les autres noeuds quand un rôle change")
+    void onRolesChanged_ShouldReloadAndBroadcast() {
+        // Arrange
+        roleCache.findAllRoles();
+
+        // Act
+        roleCache.onRolesChanged(new RolesChangedEvent());
+        roleCache.broadcastRolesChanged(new RolesChangedEvent());
+        roleCache.findAllRoles();
+
+        // Assert
+        verify(cacheInvalidationBroadcaster).broadcast(RoleCache.NAME);
+        verify(jpaRoleRepository, times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    @DisplayName("Devrait recharger sans prévenir les autres noeuds quand la modification d'un rôle est annulée")
+    void onRolesChanged_ShouldReloadWithoutBroadcast_WhenRolledBack() {
+        // Arrange
+        roleCache.findAllRoles();
+
+        // Act
+        roleCache.onRolesChanged(new RolesChangedEvent());
+        roleCache.findAllRoles();
+
+        // Assert
+        verify(cacheInvalidationBroadcaster, never()).broadcast(any());
+        verify(jpaRoleRepository, times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    @DisplayName("Devrait recharger sans rediffuser sur une invalidation distante du cache des rôles")
+    void onRemoteCacheInvalidation_ShouldOnlyHandleRoleCache() {
+        // Arrange
+        roleCache.findAllRoles();
+
+        // Act
+        roleCache.onRemoteCacheInvalidation(new RemoteCacheInvalidationEvent("users"));
+        roleCache.findAllRoles();
+        roleCache.onRemoteCacheInvalidation(new RemoteCacheInvalidationEvent(RoleCache.NAME));
+        roleCache.findAllRoles();
+
+        // Assert
+        verify(jpaRoleRepository, times(2)).findAllWithPermissions();
+        verify(cacheInvalidationBroadcaster, never()).broadcast(any());
+    }
+
+    @Test
+    @DisplayName("Ne devrait pas garder un instantané chargé pendant une invalidation")
+    void shouldNotCacheSnapshotLoadedDuringInvalidation() {
+        // Arrange
+        when(jpaPermissionRepository.findAll()).thenAnswer(invocation -> {
+            roleCache.invalidateLocally();
+            return List.of(permission);
+        }).thenReturn(List.of(permission));
+
+        // Act
+        roleCache.findAllRoles();
+        roleCache.findAllRoles();
+        roleCache.findAllRoles();
+
+        // Assert
+        verify(jpaRoleRepository, times(2)).findAllWithPermissions();
+    }
+}
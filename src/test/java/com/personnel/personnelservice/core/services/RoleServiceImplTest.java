@@ -8,6 +8,8 @@ import com.personnel.personnelservice.adapters.persistances.repositories.JpaPerm
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
 import com.personnel.personnelservice.core.models.dtos.RoleDto;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
+import com.personnel.personnelservice.core.models.events.UserAuthoritiesChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -43,6 +46,12 @@ public class RoleServiceImplTest {
     @Mock
     private RoleMapper roleMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoleCache roleCache;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -102,8 +111,7 @@ public class RoleServiceImplTest {
         @DisplayName("Devrait retourner un rôle lorsque l'ID existe")
         void shouldReturnRoleWhenIdExists() {
             // Arrange
-            when(jpaRoleRepository.findById(roleId)).thenReturn(Optional.of(role));
-            when(roleMapper.toRoleDto(role)).thenReturn(roleDto);
+            when(roleCache.findRoleById(roleId)).thenReturn(Optional.of(roleDto));
 
             // Act
             RoleDto result = roleService.getRoleById(roleId);
@@ -115,22 +123,21 @@ public class RoleServiceImplTest {
             assertEquals(roleDescription, result.getDescription());
             assertEquals(permissionNames, result.getPermissions());
 
-            verify(jpaRoleRepository).findById(roleId);
-            verify(roleMapper).toRoleDto(role);
+            verify(roleCache).findRoleById(roleId);
+            verifyNoInteractions(jpaRoleRepository);
         }
 
         @Test
         @DisplayName("Devrait lancer une exception lorsque l'ID n'existe pas")
         void shouldThrowExceptionWhenIdDoesNotExist() {
             // Arrange
-            when(jpaRoleRepository.findById(roleId)).thenReturn(Optional.empty());
+            when(roleCache.findRoleById(roleId)).thenReturn(Optional.empty());
 
             // Act & Assert
             RuntimeException exception = assertThrows(RuntimeException.class, () -> roleService.getRoleById(roleId));
             assertEquals("Role not found with id: " + roleId, exception.getMessage());
 
-            verify(jpaRoleRepository).findById(roleId);
-            verifyNoInteractions(roleMapper);
+            verify(roleCache).findRoleById(roleId);
         }
     }
 
@@ -155,14 +162,7 @@ public class RoleServiceImplTest {
                     })
                     .collect(Collectors.toList());
 
-            when(jpaRoleRepository.findAll()).thenReturn(roles);
-            when(roleMapper.toRoleDto(any(Role.class))).thenAnswer(invocation -> {
-                Role r = invocation.getArgument(0);
-                return roleDtos.stream()
-                        .filter(dto -> dto.getId().equals(r.getId()))
-                        .findFirst()
-                        .orElse(null);
-            });
+            when(roleCache.findAllRoles()).thenReturn(roleDtos);
 
             // Act
             List<RoleDto> result = roleService.getAllRoles();
@@ -171,15 +171,15 @@ public class RoleServiceImplTest {
             assertNotNull(result);
             assertEquals(2, result.size());
 
-            verify(jpaRoleRepository).findAll();
-            verify(roleMapper, times(2)).toRoleDto(any(Role.class));
+            verify(roleCache).findAllRoles();
+            verifyNoInteractions(jpaRoleRepository, roleMapper);
         }
 
         @Test
         @DisplayName("Devrait retourner une liste vide quand aucun rôle n'existe")
         void shouldReturnEmptyListWhenNoRolesExist() {
             // Arrange
-            when(jpaRoleRepository.findAll()).thenReturn(Collections.emptyList());
+            when(roleCache.findAllRoles()).thenReturn(Collections.emptyList());
 
             // Act
             List<RoleDto> result = roleService.getAllRoles();
@@ -188,8 +188,7 @@ public class RoleServiceImplTest {
             assertNotNull(result);
             assertTrue(result.isEmpty());
 
-            verify(jpaRoleRepository).findAll();
-            verifyNoInteractions(roleMapper);
+            verify(roleCache).findAllRoles();
         }
     }
 
@@ -231,6 +230,7 @@ public class RoleServiceImplTest {
             for (String permName : permissionNames) {
                 verify(jpaPermissionRepository).findByName(permName);
             }
+            verify(eventPublisher).publishEvent(any(RolesChangedEvent.class));
         }
 
         @Test
@@ -370,6 +370,8 @@ public class RoleServiceImplTest {
             // Assert
             verify(jpaRoleRepository).existsById(roleId);
             verify(jpaRoleRepository).deleteById(roleId);
+            verify(eventPublisher).publishEvent(any(RolesChangedEvent.class));
+            verify(eventPublisher, never()).publishEvent(any(UserAuthoritiesChangedEvent.class));
         }
 
         @Test
@@ -447,8 +449,7 @@ public class RoleServiceImplTest {
         void shouldReturnRoleWhenNameExists() {
             // Arrange
             String roleName = "PATIENT";
-            when(jpaRoleRepository.findByName(roleName)).thenReturn(Optional.of(role));
-            when(roleMapper.toRoleDto(role)).thenReturn(roleDto);
+            when(roleCache.findRoleByName(roleName)).thenReturn(Optional.of(roleDto));
 
             // Act
             RoleDto result = roleService.getRoleByName(roleName);
@@ -458,8 +459,8 @@ public class RoleServiceImplTest {
             assertEquals(roleDto.getId(), result.getId());
             assertEquals(roleDto.getName(), result.getName());
 
-            verify(jpaRoleRepository).findByName(roleName);
-            verify(roleMapper).toRoleDto(role);
+            verify(roleCache).findRoleByName(roleName);
+            verifyNoInteractions(jpaRoleRepository);
         }
 
         @Test
@@ -467,15 +468,14 @@ public class RoleServiceImplTest {
         void shouldThrowExceptionWhenNameDoesNotExist() {
             // Arrange
             String nonExistingRoleName = "NONEXISTING";
-            when(jpaRoleRepository.findByName(nonExistingRoleName)).thenReturn(Optional.empty());
+            when(roleCache.findRoleByName(nonExistingRoleName)).thenReturn(Optional.empty());
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> roleService.getRoleByName(nonExistingRoleName));
             assertEquals("Role not found", exception.getMessage());
 
-            verify(jpaRoleRepository).findByName(nonExistingRoleName);
-            verifyNoInteractions(roleMapper);
+            verify(roleCache).findRoleByName(nonExistingRoleName);
         }
     }
 
@@ -0,0 +1,328 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.MetaDataFile;
+import com.personnel.personnelservice.adapters.persistances.entities.UploadSession;
+import com.personnel.personnelservice.adapters.persistances.mappers.MetadataFileMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaMetaDataFileRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaUploadSessionRepository;
+import com.personnel.personnelservice.core.exceptions.BaseException;
+import com.personnel.personnelservice.core.exceptions.UploadOffsetMismatchException;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UploadSessionDto;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.events.FileDeletedEvent;
+import com.personnel.personnelservice.core.models.events.UploadCompletedEvent;
+import com.personnel.personnelservice.support.FileSystemS3Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration de S3StorageServiceImpl contre le serveur S3 de substitution adossé au disque
+ */
+@ExtendWith(MockitoExtension.class)
+class S3StorageServiceImplTest {
+
+    private static final String BUCKET = "dictaphone";
+    private static final int PART_SIZE = 1024;
+
+    @Mock
+    private JpaMetaDataFileRepository metadataFileRepository;
+
+    @Mock
+    private MetadataFileMapper metadataFileMapper;
+
+    @Mock
+    private JpaUploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<MetaDataFile> metaDataFileCaptor;
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemS3Server s3Server;
+    private S3Client s3Client;
+    private S3StorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(tempDir.resolve(BUCKET));
+        s3Server = new FileSystemS3Server(tempDir).start();
+        s3Client = S3Client.builder()
+                .endpointOverride(s3Server.getEndpoint())
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .build();
+
+        storageService = new S3StorageServiceImpl(s3Client, metadataFileRepository, metadataFileMapper, uploadSessionRepository,
+                new TransactionTemplate(transactionManager), eventPublisher);
+        ReflectionTestUtils.setField(storageService, "bucket", BUCKET);
+        ReflectionTestUtils.setField(storageService, "partSize", PART_SIZE);
+        ReflectionTestUtils.setField(storageService, "minPartSize", (long) PART_SIZE);
+        ReflectionTestUtils.setField(storageService, "uploadConcurrency", 3);
+        storageService.startUploadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.stopUploadExecutor();
+        s3Client.close();
+        s3Server.close();
+    }
+
+    private byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    @Test
+    @DisplayName("Devrait envoyer un gros fichier en multipart parallèle et le relire par plage")
+    void storeFile_ShouldUploadMultipartAndServeRanges() throws IOException {
+        // Arrange
+        byte[] content = randomContent(PART_SIZE * 5 + 123);
+        MockMultipartFile file = new MockMultipartFile("file", "dictee.wav", "audio/wav", content);
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        storageService.storeFile(file, FileType.AUTRE.name());
+
+        // Assert
+        verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+        MetaDataFile savedFile = metaDataFileCaptor.getValue();
+        savedFile.setId(UUID.randomUUID());
+        assertThat(savedFile.getPath()).isEqualTo("s3://" + BUCKET);
+        assertThat(Files.readAllBytes(tempDir.resolve(BUCKET).resolve(savedFile.getFileName()))).isEqualTo(content);
+
+        when(metadataFileRepository.findById(savedFile.getId())).thenReturn(Optional.of(savedFile));
+        StoredFileDto storedFile = storageService.getStoredFile(savedFile.getId()).orElseThrow();
+        assertThat(storedFile.getContentLength()).isEqualTo(content.length);
+        assertThat(storedFile.getLocalPath()).isNull();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long transferred = storageService.transferTo(savedFile.getId(), 1000, 2000, Channels.newChannel(output));
+        assertThat(transferred).isEqualTo(2000L);
+        byte[] expectedRange = new byte[2000];
+        System.arraycopy(content, 1000, expectedRange, 0, 2000);
+        assertThat(output.toByteArray()).isEqualTo(expectedRange);
+    }
+
+    private UploadSession openUploadSession(long totalSize) {
+        UploadSession uploadSession = new UploadSession();
+        uploadSession.setId(UUID.randomUUID());
+        uploadSession.setExtension(".wav");
+        uploadSession.setMimeType("audio/wav");
+        uploadSession.setType(FileType.AUTRE);
+        uploadSession.setTotalSize(totalSize);
+        when(uploadSessionRepository.findById(uploadSession.getId())).thenReturn(Optional.of(uploadSession));
+        return uploadSession;
+    }
+
+    @Test
+    @DisplayName("Devrait reprendre un upload fragmenté et assembler les fragments côté serveur à la finalisation")
+    void completeUpload_ShouldAssembleChunks() throws IOException {
+        // Arrange
+        byte[] content = randomContent(PART_SIZE * 3);
+        UploadSession uploadSession = openUploadSession(content.length);
+        when(uploadSessionRepository.markCompleted(uploadSession.getId())).thenReturn(1);
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream(content, 0, 1500));
+        UploadSessionDto status = storageService.getUploadStatus(uploadSession.getId());
+        Throwable thrown = catchThrowable(() -> storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream(content)));
+        storageService.appendChunk(uploadSession.getId(), status.getReceivedBytes(),
+                new ByteArrayInputStream(content, 1500, content.length - 1500));
+        storageService.completeUpload(uploadSession.getId());
+
+        // Assert
+        assertThat(status.getReceivedBytes()).isEqualTo(1500L);
+        assertThat(thrown).isInstanceOf(UploadOffsetMismatchException.class);
+        verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+        Path storedObject = tempDir.resolve(BUCKET).resolve(metaDataFileCaptor.getValue().getFileName());
+        assertThat(Files.readAllBytes(storedObject)).isEqualTo(content);
+        verify(uploadSessionRepository).markCompleted(uploadSession.getId());
+
+        // Les fragments ne sont supprimés qu'après le commit de la finalisation
+        Path chunkDirectory = tempDir.resolve(BUCKET).resolve("chunked-uploads").resolve(uploadSession.getId().toString());
+        assertThat(chunkDirectory).isNotEmptyDirectory();
+        verify(eventPublisher).publishEvent(any(UploadCompletedEvent.class));
+        storageService.onUploadCompleted(new UploadCompletedEvent(uploadSession.getId()));
+        assertThat(chunkDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Devrait relire et renvoyer les fragments trop petits pour être copiés côté serveur")
+    void completeUpload_ShouldReuploadChunks_WhenChunksAreTooSmallToCopy() throws IOException {
+        // Arrange
+        byte[] content = randomContent(PART_SIZE * 2);
+        UploadSession uploadSession = openUploadSession(content.length);
+        when(uploadSessionRepository.markCompleted(uploadSession.getId())).thenReturn(1);
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        for (int offset = 0; offset < content.length; offset += 100) {
+            storageService.appendChunk(uploadSession.getId(), offset,
+                    new ByteArrayInputStream(content, offset, Math.min(100, content.length - offset)));
+        }
+
+        // Act
+        storageService.completeUpload(uploadSession.getId());
+
+        // Assert
+        verify(metadataFileRepository).save(metaDataFileCaptor.capture());
+        Path storedObject = tempDir.resolve(BUCKET).resolve(metaDataFileCaptor.getValue().getFileName());
+        assertThat(Files.readAllBytes(storedObject)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un fragment envoyé au même offset qu'un envoi concurrent déjà écrit")
+    void appendChunk_ShouldRejectChunk_WhenAConcurrentChunkWonTheOffset() throws IOException {
+        // Arrange
+        byte[] content = randomContent(500);
+        UploadSession uploadSession = openUploadSession(content.length);
+        Path chunkObject = tempDir.resolve(BUCKET).resolve("chunked-uploads").resolve(uploadSession.getId().toString())
+                .resolve(String.format("%019d", 0));
+        // Le fragment concurrent est écrit pendant que ce fragment est lu
+        ByteArrayInputStream racingChunk = new ByteArrayInputStream(new byte[500]) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                try {
+                    if (Files.notExists(chunkObject)) {
+                        Files.createDirectories(chunkObject.getParent());
+                        Files.write(chunkObject, content);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        // Act
+        Throwable thrown = catchThrowable(() -> storageService.appendChunk(uploadSession.getId(), 0, racingChunk));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(UploadOffsetMismatchException.class);
+        assertThat(Files.readAllBytes(chunkObject)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un fragment dont l'envoi se termine après la réclamation de la finalisation")
+    void appendChunk_ShouldRejectChunk_WhenCompletionWasClaimedDuringUpload() {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(500);
+        when(uploadSessionRepository.existsByIdAndCompletedTrue(uploadSession.getId())).thenReturn(true);
+
+        // Act
+        Throwable thrown = catchThrowable(() ->
+                storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream(randomContent(500))));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(BaseException.class).hasMessageContaining("already completed");
+    }
+
+    @Test
+    @DisplayName("Devrait créer un seul fichier quand deux finalisations se concurrencent")
+    void completeUpload_ShouldCreateMetadataOnce_WhenCompletionIsAlreadyClaimed() throws IOException {
+        // Arrange
+        byte[] content = randomContent(500);
+        UploadSession uploadSession = openUploadSession(content.length);
+        when(uploadSessionRepository.markCompleted(uploadSession.getId())).thenReturn(1, 0);
+        when(metadataFileRepository.save(any(MetaDataFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream(content));
+
+        // Act
+        storageService.completeUpload(uploadSession.getId());
+        Throwable thrown = catchThrowable(() -> storageService.completeUpload(uploadSession.getId()));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(BaseException.class).hasMessageContaining("already completed");
+        verify(metadataFileRepository, times(1)).save(any(MetaDataFile.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UploadCompletedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Devrait rouvrir la session quand la finalisation échoue")
+    void completeUpload_ShouldReopenSession_WhenCompletionFails() throws IOException {
+        // Arrange
+        UploadSession uploadSession = openUploadSession(1000);
+        when(uploadSessionRepository.markCompleted(uploadSession.getId())).thenReturn(1);
+        storageService.appendChunk(uploadSession.getId(), 0, new ByteArrayInputStream(randomContent(500)));
+
+        // Act
+        Throwable thrown = catchThrowable(() -> storageService.completeUpload(uploadSession.getId()));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(UploadOffsetMismatchException.class);
+        verify(uploadSessionRepository).reopen(uploadSession.getId());
+        verify(metadataFileRepository, never()).save(any(MetaDataFile.class));
+    }
+
+    @Test
+    @DisplayName("Devrait supprimer l'objet uniquement après le commit de la suppression des métadonnées")
+    void deleteFile_ShouldDeleteObjectAfterCommit() throws IOException {
+        // Arrange
+        Path storedObject = Files.writeString(tempDir.resolve(BUCKET).resolve("dictee.wav"), "audio");
+        MetaDataFile metaDataFile = new MetaDataFile();
+        metaDataFile.setId(UUID.randomUUID());
+        metaDataFile.setFileName("dictee.wav");
+        metaDataFile.setPath("s3://" + BUCKET);
+        when(metadataFileRepository.findById(metaDataFile.getId())).thenReturn(Optional.of(metaDataFile));
+        ArgumentCaptor<FileDeletedEvent> eventCaptor = ArgumentCaptor.forClass(FileDeletedEvent.class);
+
+        // Act
+        storageService.deleteFile(metaDataFile.getId());
+
+        // Assert
+        verify(metadataFileRepository).delete(metaDataFile);
+        assertThat(storedObject).exists();
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        storageService.onFileDeleted(eventCaptor.getValue());
+        assertThat(storedObject).doesNotExist();
+    }
+}
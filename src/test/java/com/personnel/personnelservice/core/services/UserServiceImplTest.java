@@ -2,8 +2,10 @@ package com.personnel.personnelservice.core.services;
 
 import com.github.javafaker.Faker;
 import com.personnel.personnelservice.core.services.UserServiceImpl;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
 import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.core.models.dtos.UserDto;
+import com.personnel.personnelservice.core.models.events.UserAuthoritiesChangedEvent;
 import com.personnel.personnelservice.adapters.persistances.mappers.UserMapper;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaRoleRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaUserRepository;
@@ -13,12 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +37,8 @@ class UserServiceImplTest {
     @Mock private JpaRoleRepository jpaRoleRepository;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private UserMapper userMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private EntityExporter entityExporter;
     private Faker faker;
     @BeforeEach
     void setUp() {
@@ -73,10 +81,11 @@ class UserServiceImplTest {
 
         userService.deleteUser(userId);
         verify(jpaUserRepository, times(1)).deleteById(userId);
+        verify(eventPublisher).publishEvent(any(UserAuthoritiesChangedEvent.class));
     }
 
     @Test
-    void getAllUsers() {
+    void exportUsers() {
         List<User> users = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
             User user = new User();
@@ -86,14 +95,19 @@ class UserServiceImplTest {
             users.add(user);
         }
 
-        when(jpaUserRepository.findAll()).thenReturn(users);
         when(userMapper.toDTO(any(User.class))).thenReturn(new UserDto());
+        doAnswer(invocation -> {
+            Function<User, UserDto> mapper = invocation.getArgument(1);
+            Consumer<List<UserDto>> consumer = invocation.getArgument(2);
+            consumer.accept(users.stream().map(mapper).toList());
+            return null;
+        }).when(entityExporter).export(eq(jpaUserRepository), any(), any());
 
-        List<UserDto> userDtos = userService.getAllUsers();
+        List<UserDto> userDtos = new ArrayList<>();
+        userService.exportUsers(userDtos::addAll);
 
-        assertFalse(userDtos.isEmpty());
         assertEquals(3, userDtos.size());
-        verify(jpaUserRepository, times(1)).findAll();
+        verify(jpaUserRepository, never()).findAll();
     }
 
     @Test
@@ -106,6 +120,20 @@ class UserServiceImplTest {
 
     @Test
     void updateUserRoles() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        Set<UUID> roleIds = Set.of(UUID.randomUUID());
+
+        when(jpaUserRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(jpaRoleRepository.findAllById(roleIds)).thenReturn(List.of(new Role()));
+        when(userMapper.toDTO(user)).thenReturn(new UserDto());
+
+        userService.updateUserRoles(userId, roleIds);
+
+        assertEquals(1, user.getRoles().size());
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserAuthoritiesChangedEvent changed && userId.equals(changed.getUserId())));
     }
 
     @Test
@@ -0,0 +1,182 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
+import com.personnel.personnelservice.adapters.persistances.entities.Note;
+import com.personnel.personnelservice.adapters.persistances.entities.Patient;
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.mappers.VoiceMapper;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaNoteRepository;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchCriteriaDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSearchResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VoiceIndexServiceImplTest {
+
+    @Mock
+    private JpaVoiceRepository jpaVoiceRepository;
+
+    @Mock
+    private JpaNoteRepository jpaNoteRepository;
+
+    @Mock
+    private VoiceMapper voiceMapper;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @InjectMocks
+    private VoiceIndexServiceImpl voiceIndexService;
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<UUID, Voice> voices = new HashMap<>();
+    private final Map<UUID, List<Note>> notes = new HashMap<>();
+    private Medecin doctor;
+    private Patient firstPatient;
+    private Patient secondPatient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(voiceIndexService, "indexLocation", tempDir.toString());
+        ReflectionTestUtils.setField(voiceIndexService, "facetLimit", 10);
+        when(jpaVoiceRepository.count()).thenAnswer(invocation -> (long) voices.size());
+        when(jpaVoiceRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(voices.get(invocation.getArgument(0, UUID.class))));
+        when(jpaVoiceRepository.findWithReferencesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<Voice> found = new ArrayList<>();
+            for (Object id : invocation.getArgument(0, Iterable.class)) {
+                Optional.ofNullable(voices.get((UUID) id)).ifPresent(found::add);
+            }
+            return found;
+        });
+        when(jpaNoteRepository.findByVoiceIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<Note> found = new ArrayList<>();
+            for (Object id : invocation.getArgument(0, Collection.class)) {
+                found.addAll(notes.getOrDefault((UUID) id, List.of()));
+            }
+            return found;
+        });
+        when(voiceMapper.toDTO(any(Voice.class))).thenAnswer(invocation -> {
+            Voice voice = invocation.getArgument(0);
+            VoiceDto voiceDto = new VoiceDto();
+            voiceDto.setId(voice.getId());
+            voiceDto.setTitle(voice.getTitle());
+            return voiceDto;
+        });
+
+        doctor = new Medecin();
+        doctor.setId(UUID.randomUUID());
+        firstPatient = new Patient();
+        firstPatient.setId(UUID.randomUUID());
+        secondPatient = new Patient();
+        secondPatient.setId(UUID.randomUUID());
+
+        voiceIndexService.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        voiceIndexService.close();
+    }
+
+    private Voice saveVoice(String title, Patient patient, LocalDateTime creationDate, String noteContent, boolean validated) {
+        Voice voice = new Voice();
+        voice.setId(UUID.randomUUID());
+        voice.setTitle(title);
+        voice.setDoctor(doctor);
+        voice.setPatient(patient);
+        voice.setCreationDate(creationDate);
+        voices.put(voice.getId(), voice);
+        if (noteContent != null) {
+            Note note = new Note();
+            note.setId(UUID.randomUUID());
+            note.setContentTxt(noteContent);
+            note.setValidated(validated);
+            note.setVoice(voice);
+            notes.put(voice.getId(), List.of(note));
+        }
+        voiceIndexService.indexVoice(voice.getId());
+        return voice;
+    }
+
+    @Test
+    @DisplayName("Devrait chercher dans le titre et les notes et compter les facettes")
+    void search_ShouldMatchTitleAndNotesWithFacets() {
+        // Arrange
+        Voice titleMatch = saveVoice("Suivi diabète", firstPatient, LocalDateTime.of(2024, 3, 5, 10, 0),
+                "Glycémie stable", true);
+        Voice noteMatch = saveVoice("Consultation", secondPatient, LocalDateTime.of(2024, 4, 2, 9, 0),
+                "Patient diabétique, adapter le traitement", false);
+        saveVoice("Radio du genou", firstPatient, LocalDateTime.of(2024, 4, 8, 9, 0), "Pas de fracture", true);
+
+        // Act
+        VoiceSearchResultDto result = voiceIndexService.search(
+                new VoiceSearchCriteriaDto("diabete", null, null, null, null, null), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result.getHits().getTotalElements()).isEqualTo(2);
+        assertThat(result.getHits().getContent()).extracting(hit -> hit.getVoice().getId())
+                .containsExactly(titleMatch.getId(), noteMatch.getId());
+        assertThat(result.getHits().getContent().get(1).getHighlight()).contains("<mark>diabétique</mark>");
+        assertThat(result.getFacets().get(VoiceIndexServiceImpl.DOCTOR_ID)).containsExactly(entry(doctor.getId().toString(), 2L));
+        assertThat(result.getFacets().get(VoiceIndexServiceImpl.VALIDATED)).containsOnly(entry("true", 1L), entry("false", 1L));
+        assertThat(result.getFacets().get(VoiceIndexServiceImpl.MONTH)).containsOnly(entry("2024-03", 1L), entry("2024-04", 1L));
+    }
+
+    @Test
+    @DisplayName("Devrait filtrer par patient, validation et période, les plus récentes d'abord sans texte")
+    void search_ShouldApplyFiltersAndSortByDateWithoutText() {
+        // Arrange
+        saveVoice("Bilan", firstPatient, LocalDateTime.of(2024, 1, 10, 8, 0), "Bilan annuel", true);
+        Voice older = saveVoice("Contrôle", firstPatient, LocalDateTime.of(2024, 2, 1, 8, 0), "RAS", true);
+        Voice newer = saveVoice("Contrôle", firstPatient, LocalDateTime.of(2024, 2, 20, 8, 0), "RAS", true);
+        saveVoice("Contrôle", firstPatient, LocalDateTime.of(2024, 2, 21, 8, 0), "À revoir", false);
+        saveVoice("Contrôle", secondPatient, LocalDateTime.of(2024, 2, 22, 8, 0), "RAS", true);
+
+        // Act
+        VoiceSearchResultDto result = voiceIndexService.search(new VoiceSearchCriteriaDto(null, null, firstPatient.getId(), true,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result.getHits().getContent()).extracting(hit -> hit.getVoice().getId())
+                .containsExactly(newer.getId(), older.getId());
+        assertThat(result.getHits().getContent()).allSatisfy(hit -> assertThat(hit.getScore()).isNull());
+        assertThat(result.getFacets().get(VoiceIndexServiceImpl.PATIENT_ID)).containsExactly(entry(firstPatient.getId().toString(), 2L));
+    }
+}
@@ -3,27 +3,49 @@ package com.personnel.personnelservice.core.services;
 import com.github.javafaker.Faker;
 import com.personnel.personnelservice.adapters.persistances.entities.Medecin;
 import com.personnel.personnelservice.adapters.persistances.entities.Patient;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
 import com.personnel.personnelservice.adapters.persistances.entities.Voice;
 import com.personnel.personnelservice.adapters.persistances.mappers.VoiceMapper;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaMedecinRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaPatientRepository;
 import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
 import com.personnel.personnelservice.core.exceptions.EntityNotFoundException;
+import com.personnel.personnelservice.core.exceptions.InvalidCursorException;
+import com.personnel.personnelservice.core.models.dtos.CursorPageDto;
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.dtos.UserReferenceDto;
 import com.personnel.personnelservice.core.models.dtos.VoiceDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceSummaryDto;
+import com.personnel.personnelservice.core.models.dtos.VoiceWaveformDto;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.models.events.VoiceChangedEvent;
+import com.personnel.personnelservice.core.models.events.VoiceCreatedEvent;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import com.personnel.personnelservice.core.ports.services.VoiceIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +68,21 @@ public class VoiceServiceImplTest {
     @Mock
     private VoiceMapper voiceMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private VoiceIndexService voiceIndexService;
+
+    @Mock
+    private EntityExporter entityExporter;
+
+    @Mock
+    private UserReferenceResolver userReferenceResolver;
+
+    @Mock
+    private StorageService storageService;
+
     @InjectMocks
     private VoiceServiceImpl voiceService;
 
@@ -66,6 +103,7 @@ public class VoiceServiceImplTest {
         doctorId = UUID.randomUUID();
         patientId = UUID.randomUUID();
         pageable = Pageable.unpaged();
+        ReflectionTestUtils.setField(voiceService, "transcodingEnabled", true);
 
         // Setup doctor
         doctor = new Medecin();
@@ -104,6 +142,10 @@ public class VoiceServiceImplTest {
         voiceDto.setPatientName(patient.getFirstName() + " " + patient.getLastName());
     }
 
+    private static UserReferenceDto reference(User user) {
+        return new UserReferenceDto(user.getId(), user.getClass(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
+
     @Nested
     @DisplayName("Tests for createVoice")
     class CreateVoiceTests {
@@ -113,10 +155,12 @@ public class VoiceServiceImplTest {
         void shouldCreateVoiceSuccessfully() {
             // Arrange
             when(voiceMapper.toEntity(voiceDto)).thenReturn(voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-            when(jpaPatientRepository.findById(patientId)).thenReturn(Optional.of(patient));
+            when(userReferenceResolver.findAll(doctorId, patientId))
+                    .thenReturn(Map.of(doctorId, reference(doctor), patientId, reference(patient)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
+            when(jpaPatientRepository.getReferenceById(patientId)).thenReturn(patient);
             when(jpaVoiceRepository.save(any(Voice.class))).thenReturn(voice);
-            when(voiceMapper.toDTO(voice)).thenReturn(voiceDto);
+            when(voiceMapper.toWrittenDTO(voice)).thenReturn(voiceDto);
 
             // Act
             VoiceDto result = voiceService.createVoice(voiceDto);
@@ -129,10 +173,34 @@ public class VoiceServiceImplTest {
             assertEquals(patientId, result.getPatientId());
 
             verify(voiceMapper).toEntity(voiceDto);
-            verify(jpaMedecinRepository).findById(doctorId);
-            verify(jpaPatientRepository).findById(patientId);
+            verify(jpaMedecinRepository).getReferenceById(doctorId);
+            verify(jpaPatientRepository).getReferenceById(patientId);
+            verify(jpaMedecinRepository, never()).findById(any(UUID.class));
+            verify(jpaPatientRepository, never()).findById(any(UUID.class));
             verify(jpaVoiceRepository).save(any(Voice.class));
-            verify(voiceMapper).toDTO(voice);
+            verify(voiceMapper).toWrittenDTO(voice);
+            verify(eventPublisher).publishEvent(any(VoiceCreatedEvent.class));
+            assertEquals(TranscodingStatus.PENDING, voice.getTranscodingStatus());
+        }
+
+        @Test
+        @DisplayName("Should mark the voice as skipped when transcoding is disabled")
+        void shouldSkipTranscodingWhenDisabled() {
+            // Arrange
+            ReflectionTestUtils.setField(voiceService, "transcodingEnabled", false);
+            when(voiceMapper.toEntity(voiceDto)).thenReturn(voice);
+            when(userReferenceResolver.findAll(doctorId, patientId))
+                    .thenReturn(Map.of(doctorId, reference(doctor), patientId, reference(patient)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
+            when(jpaPatientRepository.getReferenceById(patientId)).thenReturn(patient);
+            when(jpaVoiceRepository.save(any(Voice.class))).thenReturn(voice);
+            when(voiceMapper.toWrittenDTO(voice)).thenReturn(voiceDto);
+
+            // Act
+            voiceService.createVoice(voiceDto);
+
+            // Assert
+            assertEquals(TranscodingStatus.SKIPPED, voice.getTranscodingStatus());
         }
 
         @Test
@@ -140,7 +208,7 @@ public class VoiceServiceImplTest {
         void shouldThrowExceptionWhenDoctorNotFound() {
             // Arrange
             when(voiceMapper.toEntity(voiceDto)).thenReturn(voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.empty());
+            when(userReferenceResolver.findAll(doctorId, patientId)).thenReturn(Map.of(patientId, reference(patient)));
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
@@ -148,8 +216,23 @@ public class VoiceServiceImplTest {
             assertEquals("Doctor not found with id: " + doctorId, exception.getMessage());
 
             verify(voiceMapper).toEntity(voiceDto);
-            verify(jpaMedecinRepository).findById(doctorId);
-            verify(jpaPatientRepository, never()).findById(any(UUID.class));
+            verify(jpaMedecinRepository, never()).getReferenceById(any(UUID.class));
+            verify(jpaPatientRepository, never()).getReferenceById(any(UUID.class));
+            verify(jpaVoiceRepository, never()).save(any(Voice.class));
+        }
+
+        @Test
+        @DisplayName("Should throw EntityNotFoundException when the doctor id belongs to another kind of user")
+        void shouldThrowExceptionWhenDoctorIsNotADoctor() {
+            // Arrange
+            voiceDto.setDoctorId(patientId);
+            when(voiceMapper.toEntity(voiceDto)).thenReturn(voice);
+            when(userReferenceResolver.findAll(patientId, patientId)).thenReturn(Map.of(patientId, reference(patient)));
+
+            // Act & Assert
+            EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                    () -> voiceService.createVoice(voiceDto));
+            assertEquals("Doctor not found with id: " + patientId, exception.getMessage());
             verify(jpaVoiceRepository, never()).save(any(Voice.class));
         }
 
@@ -158,8 +241,8 @@ public class VoiceServiceImplTest {
         void shouldThrowExceptionWhenPatientNotFound() {
             // Arrange
             when(voiceMapper.toEntity(voiceDto)).thenReturn(voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-            when(jpaPatientRepository.findById(patientId)).thenReturn(Optional.empty());
+            when(userReferenceResolver.findAll(doctorId, patientId)).thenReturn(Map.of(doctorId, reference(doctor)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
@@ -167,12 +250,70 @@ public class VoiceServiceImplTest {
             assertEquals("Patient not found with id: " + patientId, exception.getMessage());
 
             verify(voiceMapper).toEntity(voiceDto);
-            verify(jpaMedecinRepository).findById(doctorId);
-            verify(jpaPatientRepository).findById(patientId);
+            verify(jpaPatientRepository, never()).getReferenceById(any(UUID.class));
             verify(jpaVoiceRepository, never()).save(any(Voice.class));
         }
     }
 
+    @Nested
+    @DisplayName("Tests for getVoiceWaveform")
+    class GetVoiceWaveformTests {
+
+        private StoredFileDto waveformFile(UUID waveformFileId) {
+            return new StoredFileDto(waveformFileId, "peaks", "application/octet-stream", 2, Instant.now(), "\"peaks\"", null);
+        }
+
+        @Test
+        @DisplayName("Should read the waveform peaks from the storage")
+        void shouldReturnPeaks() throws IOException {
+            // Arrange
+            UUID waveformFileId = UUID.randomUUID();
+            voice.setWaveformFileId(waveformFileId);
+            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(storageService.getStoredFile(waveformFileId)).thenReturn(Optional.of(waveformFile(waveformFileId)));
+            when(storageService.transferTo(eq(waveformFileId), eq(0L), eq(2L), any(WritableByteChannel.class))).thenAnswer(invocation -> {
+                invocation.getArgument(3, WritableByteChannel.class).write(java.nio.ByteBuffer.wrap(new byte[]{1, 2}));
+                return 2L;
+            });
+
+            // Act
+            VoiceWaveformDto result = voiceService.getVoiceWaveform(voiceId, null);
+
+            // Assert
+            assertEquals("\"peaks\"", result.getETag());
+            assertArrayEquals(new byte[]{1, 2}, result.getPeaks());
+        }
+
+        @Test
+        @DisplayName("Should not read the peaks when the client copy is still current")
+        void shouldNotReadPeaksWhenNotModified() throws IOException {
+            // Arrange
+            UUID waveformFileId = UUID.randomUUID();
+            voice.setWaveformFileId(waveformFileId);
+            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(storageService.getStoredFile(waveformFileId)).thenReturn(Optional.of(waveformFile(waveformFileId)));
+
+            // Act
+            VoiceWaveformDto result = voiceService.getVoiceWaveform(voiceId, "\"peaks\"");
+
+            // Assert
+            assertNull(result.getPeaks());
+            verify(storageService, never()).transferTo(any(UUID.class), anyLong(), anyLong(), any(WritableByteChannel.class));
+        }
+
+        @Test
+        @DisplayName("Should throw EntityNotFoundException when the waveform is not computed yet")
+        void shouldThrowExceptionWhenWaveformMissing() {
+            // Arrange
+            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+
+            // Act & Assert
+            EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                    () -> voiceService.getVoiceWaveform(voiceId, null));
+            assertEquals("Waveform not available for voice with id: " + voiceId, exception.getMessage());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for getVoiceById")
     class GetVoiceByIdTests {
@@ -181,7 +322,7 @@ public class VoiceServiceImplTest {
         @DisplayName("Should return a voice when ID exists")
         void shouldReturnVoiceWhenIdExists() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.of(voice));
             when(voiceMapper.toDTO(voice)).thenReturn(voiceDto);
 
             // Act
@@ -192,7 +333,7 @@ public class VoiceServiceImplTest {
             assertEquals(voiceId, result.getId());
             assertEquals(voice.getTitle(), result.getTitle());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper).toDTO(voice);
         }
 
@@ -200,14 +341,14 @@ public class VoiceServiceImplTest {
         @DisplayName("Should throw EntityNotFoundException when voice not found")
         void shouldThrowExceptionWhenVoiceNotFound() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.empty());
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.empty());
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> voiceService.getVoiceById(voiceId));
             assertEquals("Voice not found with id: " + voiceId, exception.getMessage());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper, never()).toDTO(any(Voice.class));
         }
     }
@@ -220,12 +361,14 @@ public class VoiceServiceImplTest {
         @DisplayName("Should update a voice successfully")
         void shouldUpdateVoiceSuccessfully() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.of(voice));
             doNothing().when(voiceMapper).updateEntity(voiceDto, voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-            when(jpaPatientRepository.findById(patientId)).thenReturn(Optional.of(patient));
+            when(userReferenceResolver.findAll(doctorId, patientId))
+                    .thenReturn(Map.of(doctorId, reference(doctor), patientId, reference(patient)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
+            when(jpaPatientRepository.getReferenceById(patientId)).thenReturn(patient);
             when(jpaVoiceRepository.save(any(Voice.class))).thenReturn(voice);
-            when(voiceMapper.toDTO(voice)).thenReturn(voiceDto);
+            when(voiceMapper.toWrittenDTO(voice)).thenReturn(voiceDto);
 
             // Act
             VoiceDto result = voiceService.updateVoice(voiceDto);
@@ -234,26 +377,67 @@ public class VoiceServiceImplTest {
             assertNotNull(result);
             assertEquals(voiceId, result.getId());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper).updateEntity(voiceDto, voice);
-            verify(jpaMedecinRepository).findById(doctorId);
-            verify(jpaPatientRepository).findById(patientId);
+            verify(jpaMedecinRepository).getReferenceById(doctorId);
+            verify(jpaPatientRepository).getReferenceById(patientId);
             verify(jpaVoiceRepository).save(any(Voice.class));
-            verify(voiceMapper).toDTO(voice);
+            verify(voiceMapper).toWrittenDTO(voice);
+            verify(storageService, never()).deleteFile(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should reset the transcoding and delete the derived files when the recording is replaced")
+        void shouldResetTranscodingWhenPathChanges() {
+            // Arrange
+            UUID transcodedFileId = UUID.randomUUID();
+            UUID waveformFileId = UUID.randomUUID();
+            voice.setTranscodedFileId(transcodedFileId);
+            voice.setWaveformFileId(waveformFileId);
+            voice.setBitrate(24000);
+            voice.setDurationMillis(1000L);
+            voice.setTranscodingStatus(TranscodingStatus.DONE);
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.of(voice));
+            doAnswer(invocation -> {
+                voice.setPath("new-recording.wav");
+                return null;
+            }).when(voiceMapper).updateEntity(voiceDto, voice);
+            when(userReferenceResolver.findAll(doctorId, patientId))
+                    .thenReturn(Map.of(doctorId, reference(doctor), patientId, reference(patient)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
+            when(jpaPatientRepository.getReferenceById(patientId)).thenReturn(patient);
+            when(storageService.getFileMetadata(any(UUID.class))).thenReturn(Optional.of(new MetadataFileDTO()));
+            when(jpaVoiceRepository.save(any(Voice.class))).thenReturn(voice);
+            when(voiceMapper.toWrittenDTO(voice)).thenReturn(voiceDto);
+            ArgumentCaptor<VoiceChangedEvent> eventCaptor = ArgumentCaptor.forClass(VoiceChangedEvent.class);
+
+            // Act
+            voiceService.updateVoice(voiceDto);
+
+            // Assert
+            assertEquals(TranscodingStatus.PENDING, voice.getTranscodingStatus());
+            assertNull(voice.getTranscodedFileId());
+            assertNull(voice.getWaveformFileId());
+            assertNull(voice.getBitrate());
+            assertNull(voice.getDurationMillis());
+            verify(storageService).deleteFile(transcodedFileId);
+            verify(storageService).deleteFile(waveformFileId);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertTrue(eventCaptor.getValue().isAudioChanged());
         }
 
         @Test
         @DisplayName("Should throw EntityNotFoundException when voice not found")
         void shouldThrowExceptionWhenVoiceNotFound() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.empty());
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.empty());
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> voiceService.updateVoice(voiceDto));
             assertEquals("Voice not found with id: " + voiceId, exception.getMessage());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper, never()).updateEntity(any(VoiceDto.class), any(Voice.class));
             verify(jpaVoiceRepository, never()).save(any(Voice.class));
         }
@@ -262,18 +446,18 @@ public class VoiceServiceImplTest {
         @DisplayName("Should throw EntityNotFoundException when doctor not found")
         void shouldThrowExceptionWhenDoctorNotFound() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.of(voice));
             doNothing().when(voiceMapper).updateEntity(voiceDto, voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.empty());
+            when(userReferenceResolver.findAll(doctorId, patientId)).thenReturn(Map.of(patientId, reference(patient)));
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> voiceService.updateVoice(voiceDto));
             assertEquals("Doctor not found with id: " + doctorId, exception.getMessage());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper).updateEntity(voiceDto, voice);
-            verify(jpaMedecinRepository).findById(doctorId);
+            verify(jpaMedecinRepository, never()).getReferenceById(any(UUID.class));
             verify(jpaVoiceRepository, never()).save(any(Voice.class));
         }
 
@@ -281,20 +465,20 @@ public class VoiceServiceImplTest {
         @DisplayName("Should throw EntityNotFoundException when patient not found")
         void shouldThrowExceptionWhenPatientNotFound() {
             // Arrange
-            when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+            when(jpaVoiceRepository.findWithReferencesById(voiceId)).thenReturn(Optional.of(voice));
             doNothing().when(voiceMapper).updateEntity(voiceDto, voice);
-            when(jpaMedecinRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-            when(jpaPatientRepository.findById(patientId)).thenReturn(Optional.empty());
+            when(userReferenceResolver.findAll(doctorId, patientId)).thenReturn(Map.of(doctorId, reference(doctor)));
+            when(jpaMedecinRepository.getReferenceById(doctorId)).thenReturn(doctor);
 
             // Act & Assert
             EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                     () -> voiceService.updateVoice(voiceDto));
             assertEquals("Patient not found with id: " + patientId, exception.getMessage());
 
-            verify(jpaVoiceRepository).findById(voiceId);
+            verify(jpaVoiceRepository).findWithReferencesById(voiceId);
             verify(voiceMapper).updateEntity(voiceDto, voice);
-            verify(jpaMedecinRepository).findById(doctorId);
-            verify(jpaPatientRepository).findById(patientId);
+            verify(jpaMedecinRepository).getReferenceById(doctorId);
+            verify(jpaPatientRepository, never()).getReferenceById(any(UUID.class));
             verify(jpaVoiceRepository, never()).save(any(Voice.class));
         }
     }
@@ -335,109 +519,167 @@ public class VoiceServiceImplTest {
     }
 
     @Nested
-    @DisplayName("Tests for getAllVoices")
-    class GetAllVoicesTests {
+    @DisplayName("Tests for exportVoices")
+    class ExportVoicesTests {
 
         @Test
-        @DisplayName("Should return all voices")
-        void shouldReturnAllVoices() {
+        @DisplayName("Should export voices mapped to DTOs chunk by chunk")
+        void shouldExportVoicesByChunk() {
             // Arrange
             List<Voice> voices = Arrays.asList(voice, createAdditionalVoice());
-            List<VoiceDto> voiceDtos = voices.stream()
-                    .map(v -> {
-                        VoiceDto dto = new VoiceDto();
-                        dto.setId(v.getId());
-                        dto.setTitle(v.getTitle());
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
-
-            when(jpaVoiceRepository.findAll()).thenReturn(voices);
             when(voiceMapper.toDTO(any(Voice.class))).thenAnswer(invocation -> {
-                Voice v = invocation.getArgument(0);
-                return voiceDtos.stream()
-                        .filter(dto -> dto.getId().equals(v.getId()))
-                        .findFirst()
-                        .orElse(null);
+                VoiceDto dto = new VoiceDto();
+                dto.setId(invocation.getArgument(0, Voice.class).getId());
+                return dto;
             });
+            doAnswer(invocation -> {
+                Function<Voice, VoiceDto> mapper = invocation.getArgument(1);
+                Consumer<List<VoiceDto>> consumer = invocation.getArgument(2);
+                consumer.accept(voices.stream().map(mapper).toList());
+                return null;
+            }).when(entityExporter).export(eq(jpaVoiceRepository), any(), any());
+            List<List<VoiceDto>> chunks = new ArrayList<>();
 
             // Act
-            List<VoiceDto> result = voiceService.getAllVoices();
+            voiceService.exportVoices(chunks::add);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(2, result.size());
-
-            verify(jpaVoiceRepository).findAll();
+            assertEquals(1, chunks.size());
+            assertEquals(List.of(voice.getId(), voices.get(1).getId()),
+                    chunks.get(0).stream().map(VoiceDto::getId).collect(Collectors.toList()));
             verify(voiceMapper, times(2)).toDTO(any(Voice.class));
         }
 
         @Test
-        @DisplayName("Should return an empty list when no voices exist")
-        void shouldReturnEmptyListWhenNoVoicesExist() {
-            // Arrange
-            when(jpaVoiceRepository.findAll()).thenReturn(Collections.emptyList());
-
+        @DisplayName("Should never load the whole table at once")
+        void shouldNotLoadWholeTable() {
             // Act
-            List<VoiceDto> result = voiceService.getAllVoices();
+            voiceService.exportVoices(chunk -> fail("No chunk expected"));
 
             // Assert
-            assertNotNull(result);
-            assertTrue(result.isEmpty());
-
-            verify(jpaVoiceRepository).findAll();
-            verify(voiceMapper, never()).toDTO(any(Voice.class));
+            verify(entityExporter).export(eq(jpaVoiceRepository), any(), any());
+            verify(jpaVoiceRepository, never()).findAll();
         }
     }
 
     @Nested
-    @DisplayName("Tests for getAllVoices with pagination")
-    class GetAllVoicesPaginatedTests {
+    @DisplayName("Tests for voice summaries")
+    class GetVoiceSummariesTests {
 
         @Test
-        @DisplayName("Should return paginated voices")
-        void shouldReturnPaginatedVoices() {
+        @DisplayName("Should return voice summaries by doctor ID without loading entities")
+        void shouldReturnVoiceSummariesByDoctorId() {
             // Arrange
-            List<Voice> voices = Arrays.asList(voice, createAdditionalVoice());
-            Page<Voice> voicePage = new PageImpl<>(voices);
-
-            when(jpaVoiceRepository.findAll(eq(pageable))).thenReturn(voicePage);
-            when(voiceMapper.toDTO(any(Voice.class))).thenReturn(voiceDto);
+            VoiceSummaryDto summary = new VoiceSummaryDto(voiceId, voice.getTitle(), voice.getCreationDate(),
+                    doctorId, doctor.getFirstName(), doctor.getLastName(), patientId, patient.getFirstName(), patient.getLastName());
+            when(jpaVoiceRepository.findSummariesByDoctorId(doctorId)).thenReturn(List.of(summary));
 
             // Act
-            Page<VoiceDto> result = voiceService.getAllVoices(pageable);
+            List<VoiceSummaryDto> result = voiceService.getVoiceSummariesByDoctorId(doctorId);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(2, result.getTotalElements());
+            assertEquals(1, result.size());
+            assertEquals(voiceDto.getDoctorName(), result.get(0).getDoctorName());
+            assertEquals(voiceDto.getPatientName(), result.get(0).getPatientName());
+            verifyNoInteractions(voiceMapper);
+        }
 
-            verify(jpaVoiceRepository).findAll(eq(pageable));
-            verify(voiceMapper, times(2)).toDTO(any(Voice.class));
+        @Test
+        @DisplayName("Should throw exception when doctor not found for paginated summaries")
+        void shouldThrowExceptionWhenDoctorNotFound() {
+            // Arrange
+            when(jpaMedecinRepository.existsById(doctorId)).thenReturn(false);
+
+            // Act & Assert
+            assertThrows(EntityNotFoundException.class, () -> voiceService.getVoiceSummariesByDoctorId(doctorId, pageable));
+            verify(jpaVoiceRepository, never()).findSummariesByDoctorId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return paginated voice summaries by doctor and patient IDs")
+        void shouldReturnPaginatedVoiceSummariesByDoctorAndPatient() {
+            // Arrange
+            Page<VoiceSummaryDto> page = new PageImpl<>(List.of(new VoiceSummaryDto()));
+            when(jpaMedecinRepository.existsById(doctorId)).thenReturn(true);
+            when(jpaPatientRepository.existsById(patientId)).thenReturn(true);
+            when(jpaVoiceRepository.findSummariesByDoctorIdAndPatientId(doctorId, patientId, pageable)).thenReturn(page);
+
+            // Act
+            Page<VoiceSummaryDto> result = voiceService.getVoiceSummariesByDoctorIdAndPatientId(doctorId, patientId, pageable);
+
+            // Assert
+            assertSame(page, result);
+            verify(jpaMedecinRepository, never()).findById(any());
         }
     }
 
     @Nested
-    @DisplayName("Tests for getVoicesByDoctorId")
-    class GetVoicesByDoctorIdTests {
+    @DisplayName("Get Voice Summaries By Cursor Tests")
+    class GetVoiceSummariesByCursorTests {
 
         @Test
-        @DisplayName("Should return voices by doctor ID")
-        void shouldReturnVoicesByDoctorId() {
+        @DisplayName("Should read one extra row and return the cursor of the last summary of the page")
+        void shouldReturnNextCursorWhenMoreSummariesExist() {
             // Arrange
-            List<Voice> voices = Arrays.asList(voice, createAdditionalVoice());
+            LocalDateTime creationDate = LocalDateTime.of(2024, 5, 2, 14, 30);
+            List<VoiceSummaryDto> rows = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                rows.add(new VoiceSummaryDto(UUID.randomUUID(), "Voice " + i, creationDate.minusMinutes(i), doctorId, "Jean Dupont", patientId, "Marie Curie"));
+            }
+            when(jpaMedecinRepository.existsById(doctorId)).thenReturn(true);
+            when(jpaVoiceRepository.findSummariesByDoctorIdAfter(eq(doctorId), eq(KeysetCursor.FIRST.creationDate()),
+                    eq(KeysetCursor.FIRST.id()), eq(KeysetCursor.limit(2)))).thenReturn(rows);
+
+            // Act
+            CursorPageDto<VoiceSummaryDto> result = voiceService.getVoiceSummariesByDoctorId(doctorId, null, 2);
+
+            // Assert
+            assertEquals(2, result.getContent().size());
+            assertTrue(result.isHasNext());
+            KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+            assertEquals(rows.get(1).getCreationDate(), next.creationDate());
+            assertEquals(rows.get(1).getId(), next.id());
+            verify(jpaVoiceRepository, never()).findSummariesByDoctorId(any(), any());
+        }
 
-            when(jpaVoiceRepository.findByDoctorId(doctorId)).thenReturn(voices);
-            when(voiceMapper.toDTO(any(Voice.class))).thenReturn(voiceDto);
+        @Test
+        @DisplayName("Should continue after the cursor and end without next cursor")
+        void shouldReadAfterCursorAndEndOnLastPage() {
+            // Arrange
+            KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 5, 2, 14, 30, 15, 250_000_000), UUID.randomUUID());
+            List<VoiceSummaryDto> rows = List.of(new VoiceSummaryDto());
+            when(jpaVoiceRepository.findSummariesAfter(cursor.creationDate(), cursor.id(), KeysetCursor.limit(20))).thenReturn(rows);
 
             // Act
-            List<VoiceDto> result = voiceService.getVoicesByDoctorId(doctorId);
+            CursorPageDto<VoiceSummaryDto> result = voiceService.getVoiceSummaries(cursor.encode(), 20);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(2, result.size());
+            assertEquals(1, result.getContent().size());
+            assertNull(result.getNextCursor());
+            assertFalse(result.isHasNext());
+        }
 
-            verify(jpaVoiceRepository).findByDoctorId(doctorId);
-            verify(voiceMapper, times(2)).toDTO(any(Voice.class));
+        @Test
+        @DisplayName("Should reject a cursor that was not issued by the service")
+        void shouldRejectInvalidCursor() {
+            // Act & Assert
+            assertThrows(InvalidCursorException.class, () -> voiceService.getVoiceSummaries("not-a-cursor", 20));
+            verifyNoInteractions(jpaVoiceRepository);
+        }
+
+        @Test
+        @DisplayName("Should cap the page size")
+        void shouldCapPageSize() {
+            // Arrange
+            when(jpaVoiceRepository.findSummariesAfter(any(), any(), any())).thenReturn(List.of());
+
+            // Act
+            CursorPageDto<VoiceSummaryDto> result = voiceService.getVoiceSummaries(null, 10_000);
+
+            // Assert
+            assertEquals(KeysetCursor.MAX_PAGE_SIZE, result.getSize());
+            verify(jpaVoiceRepository).findSummariesAfter(KeysetCursor.FIRST.creationDate(), KeysetCursor.FIRST.id(),
+                    Limit.of(KeysetCursor.MAX_PAGE_SIZE + 1));
         }
     }
 
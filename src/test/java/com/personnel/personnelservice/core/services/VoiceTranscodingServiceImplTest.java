@@ -0,0 +1,156 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Voice;
+import com.personnel.personnelservice.adapters.persistances.repositories.JpaVoiceRepository;
+import com.personnel.personnelservice.core.models.dtos.MetadataFileDTO;
+import com.personnel.personnelservice.core.models.dtos.StoredFileDto;
+import com.personnel.personnelservice.core.models.enums.FileType;
+import com.personnel.personnelservice.core.models.enums.TranscodingStatus;
+import com.personnel.personnelservice.core.ports.services.AudioEncoder;
+import com.personnel.personnelservice.core.ports.services.StorageService;
+import com.personnel.personnelservice.core.ports.services.WaveformService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoiceTranscodingServiceImplTest {
+
+    @Mock
+    private JpaVoiceRepository jpaVoiceRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private AudioEncoder audioEncoder;
+
+    @Mock
+    private WaveformService waveformService;
+
+    @InjectMocks
+    private VoiceTranscodingServiceImpl transcodingService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transcodingService, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Devrait transcoder la voix, enregistrer le débit, la durée et la forme d'onde")
+    void transcode_ShouldStoreEncodedFileAndRecordBitrate() throws IOException {
+        // Arrange
+        UUID voiceId = UUID.randomUUID();
+        UUID sourceFileId = UUID.randomUUID();
+        UUID encodedFileId = UUID.randomUUID();
+        Voice voice = new Voice();
+        voice.setId(voiceId);
+        voice.setPath(sourceFileId.toString());
+        Path source = Files.write(tempDir.resolve("dictee.wav"), new byte[4096]);
+        StoredFileDto storedSource = new StoredFileDto(sourceFileId, "dictee.wav", "audio/wav", 4096, Instant.now(), "\"etag\"", source);
+        MetadataFileDTO encodedFile = new MetadataFileDTO();
+        encodedFile.setId(encodedFileId);
+        MetadataFileDTO waveformFile = new MetadataFileDTO();
+        waveformFile.setId(UUID.randomUUID());
+
+        when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+        when(storageService.getStoredFile(sourceFileId)).thenReturn(Optional.of(storedSource));
+        when(waveformService.computePeaks(source)).thenReturn(new byte[]{0, 1});
+        when(storageService.storeFile(any(InputStream.class), anyString(), eq("application/octet-stream"), eq(FileType.WAVEFORM)))
+                .thenReturn(waveformFile);
+        when(audioEncoder.isAvailable()).thenReturn(true);
+        when(audioEncoder.getExtension()).thenReturn(".ogg");
+        when(audioEncoder.getMimeType()).thenReturn("audio/ogg");
+        when(audioEncoder.encode(eq(source), any(Path.class))).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, Path.class), new byte[3000]);
+            return Duration.ofSeconds(1);
+        });
+        when(storageService.storeFile(any(InputStream.class), anyString(), eq("audio/ogg"), eq(FileType.AUDIO)))
+                .thenReturn(encodedFile);
+        when(jpaVoiceRepository.updateWaveform(voiceId, voice.getPath(), waveformFile.getId())).thenReturn(1);
+        when(jpaVoiceRepository.updateTranscoding(voiceId, voice.getPath(), TranscodingStatus.DONE, encodedFileId, 24000, 1000L))
+                .thenReturn(1);
+
+        // Act
+        transcodingService.transcode(voiceId);
+
+        // Assert
+        verify(jpaVoiceRepository).updateWaveform(voiceId, voice.getPath(), waveformFile.getId());
+        verify(jpaVoiceRepository).updateTranscoding(voiceId, voice.getPath(), TranscodingStatus.DONE, encodedFileId, 24000, 1000L);
+        verify(storageService, never()).deleteFile(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Devrait calculer la forme d'onde même quand le transcodage est désactivé")
+    void transcode_ShouldStoreWaveform_WhenTranscodingIsDisabled() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(transcodingService, "enabled", false);
+        UUID voiceId = UUID.randomUUID();
+        UUID sourceFileId = UUID.randomUUID();
+        Voice voice = new Voice();
+        voice.setId(voiceId);
+        voice.setPath(sourceFileId.toString());
+        Path source = Files.write(tempDir.resolve("dictee.wav"), new byte[4096]);
+        StoredFileDto storedSource = new StoredFileDto(sourceFileId, "dictee.wav", "audio/wav", 4096, Instant.now(), "\"etag\"", source);
+        MetadataFileDTO waveformFile = new MetadataFileDTO();
+        waveformFile.setId(UUID.randomUUID());
+
+        when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+        when(storageService.getStoredFile(sourceFileId)).thenReturn(Optional.of(storedSource));
+        when(waveformService.computePeaks(source)).thenReturn(new byte[]{0, 1});
+        when(storageService.storeFile(any(InputStream.class), anyString(), eq("application/octet-stream"), eq(FileType.WAVEFORM)))
+                .thenReturn(waveformFile);
+        when(jpaVoiceRepository.updateWaveform(voiceId, voice.getPath(), waveformFile.getId())).thenReturn(1);
+
+        // Act
+        transcodingService.transcode(voiceId);
+
+        // Assert
+        verify(jpaVoiceRepository).updateWaveform(voiceId, voice.getPath(), waveformFile.getId());
+        verify(jpaVoiceRepository).updateTranscoding(voiceId, voice.getPath(), TranscodingStatus.SKIPPED, null, null, null);
+        verify(audioEncoder, never()).encode(any(Path.class), any(Path.class));
+    }
+
+    @Test
+    @DisplayName("Devrait ignorer une voix dont le chemin ne référence pas un fichier stocké")
+    void transcode_ShouldSkipWhenPathIsNotAFileId() throws IOException {
+        // Arrange
+        UUID voiceId = UUID.randomUUID();
+        Voice voice = new Voice();
+        voice.setId(voiceId);
+        voice.setPath("/recordings/dictee.wav");
+        when(jpaVoiceRepository.findById(voiceId)).thenReturn(Optional.of(voice));
+
+        // Act
+        transcodingService.transcode(voiceId);
+
+        // Assert
+        verify(jpaVoiceRepository).updateTranscoding(voiceId, voice.getPath(), TranscodingStatus.SKIPPED, null, null, null);
+        verify(audioEncoder, never()).encode(any(Path.class), any(Path.class));
+    }
+}
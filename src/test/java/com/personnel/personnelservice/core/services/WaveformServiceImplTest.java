@@ -0,0 +1,107 @@
+package com.personnel.personnelservice.core.services;
+
+import com.personnel.personnelservice.core.ports.services.AudioEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaveformServiceImplTest {
+
+    @Mock
+    private AudioEncoder audioEncoder;
+
+    @InjectMocks
+    private WaveformServiceImpl waveformService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(waveformService, "samplesPerPeak", new int[]{1024, 256});
+        ReflectionTestUtils.setField(waveformService, "decodeSampleRate", 8000);
+        waveformService.checkLevels();
+    }
+
+    private Path writeWav(short[] samples) throws IOException {
+        byte[] pcm = new byte[samples.length * 2];
+        for (int i = 0; i < samples.length; i++) {
+            pcm[i * 2] = (byte) samples[i];
+            pcm[i * 2 + 1] = (byte) (samples[i] >> 8);
+        }
+        AudioFormat format = new AudioFormat(8000, 16, 1, true, false);
+        Path wav = tempDir.resolve("dictee.wav");
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm), format, samples.length), AudioFileFormat.Type.WAVE, wav.toFile());
+        return wav;
+    }
+
+    @Test
+    @DisplayName("Devrait calculer les pics min/max à chaque niveau de zoom")
+    void computePeaks_ShouldWriteEveryZoomLevel() throws IOException {
+        // Arrange
+        short[] samples = new short[2048 + 100];
+        samples[10] = Short.MAX_VALUE;
+        samples[300] = Short.MIN_VALUE;
+        samples[2100] = 12800;
+
+        // Act
+        byte[] sidecar = waveformService.computePeaks(writeWav(samples));
+
+        // Assert
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(sidecar));
+        assertThat(input.readInt()).isEqualTo(WaveformServiceImpl.MAGIC);
+        assertThat(input.readShort()).isEqualTo(WaveformServiceImpl.VERSION);
+        assertThat(input.readInt()).isEqualTo(8000);
+        assertThat(input.readLong()).isEqualTo(samples.length);
+        assertThat(input.readShort()).isEqualTo((short) 2);
+        assertThat(input.readInt()).isEqualTo(256);
+        assertThat(input.readInt()).isEqualTo(9);
+        assertThat(input.readInt()).isEqualTo(1024);
+        assertThat(input.readInt()).isEqualTo(3);
+
+        byte[] fineLevel = input.readNBytes(18);
+        assertThat(fineLevel[0]).isEqualTo((byte) 0);
+        assertThat(fineLevel[1]).isEqualTo(Byte.MAX_VALUE);
+        assertThat(fineLevel[2]).isEqualTo(Byte.MIN_VALUE);
+        assertThat(fineLevel[17]).isEqualTo((byte) 50);
+
+        byte[] coarseLevel = input.readNBytes(6);
+        assertThat(coarseLevel).containsExactly(Byte.MIN_VALUE, Byte.MAX_VALUE, 0, 0, 0, 50);
+        assertThat(input.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait refuser un format illisible quand aucun décodeur n'est disponible")
+    void computePeaks_ShouldFailOnUnsupportedFormatWithoutDecoder() throws IOException {
+        // Arrange
+        Path ogg = Files.write(tempDir.resolve("dictee.ogg"), new byte[]{'O', 'g', 'g', 'S', 0, 2, 0, 0});
+        when(audioEncoder.isAvailable()).thenReturn(false);
+
+        // Act
+        Throwable thrown = catchThrowable(() -> waveformService.computePeaks(ogg));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(IOException.class);
+    }
+}
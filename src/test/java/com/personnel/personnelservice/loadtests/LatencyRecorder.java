@@ -0,0 +1,73 @@
+package com.personnel.personnelservice.loadtests;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies of every request, per endpoint. All samples are kept, so the percentiles are exact
+ * (a few hundred thousand requests fit in a few megabytes).
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, success);
+    }
+
+    /**
+     * Forget the samples recorded so far, at the end of the warm-up
+     */
+    void reset() {
+        samples.clear();
+    }
+
+    /**
+     * @param elapsedSeconds duration of the measurement, for the throughput
+     * @return the statistics per endpoint, sorted by endpoint
+     */
+    Map<String, EndpointStats> stats(double elapsedSeconds) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> stats.put(endpoint, endpointSamples.stats(elapsedSeconds)));
+        return stats;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(rank, 1)) - 1];
+    }
+
+    record EndpointStats(long requests, long errors, double throughput, double p50Millis, double p99Millis, double p999Millis) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, size / elapsedSeconds,
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, percentile(sorted, 0.999) / 1e6);
+        }
+    }
+}
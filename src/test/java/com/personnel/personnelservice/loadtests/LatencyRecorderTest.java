@@ -0,0 +1,55 @@
+package com.personnel.personnelservice.loadtests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("Devrait calculer les percentiles au rang le plus proche")
+    void percentile_ShouldUseNearestRank() {
+        // Arrange
+        long[] sorted = new long[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+
+        // Act & Assert
+        assertThat(LatencyRecorder.percentile(sorted, 0.50)).isEqualTo(500);
+        assertThat(LatencyRecorder.percentile(sorted, 0.99)).isEqualTo(990);
+        assertThat(LatencyRecorder.percentile(sorted, 0.999)).isEqualTo(999);
+        assertThat(LatencyRecorder.percentile(new long[]{42}, 0.999)).isEqualTo(42);
+        assertThat(LatencyRecorder.percentile(new long[0], 0.5)).isZero();
+    }
+
+    @Test
+    @DisplayName("Devrait agréger les latences, erreurs et débit par endpoint et oublier le warm-up")
+    void stats_ShouldAggregatePerEndpoint() {
+        // Arrange
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("GET /warmup", 1_000_000, true);
+        recorder.reset();
+        for (int i = 1; i <= 2000; i++) {
+            recorder.record("POST /api/notes", i * 1_000_000L, i % 100 != 0);
+        }
+        recorder.record("GET /api/notes/search/full-text", 3_000_000, true);
+
+        // Act
+        Map<String, LatencyRecorder.EndpointStats> stats = recorder.stats(10);
+
+        // Assert
+        assertThat(stats).containsOnlyKeys("POST /api/notes", "GET /api/notes/search/full-text");
+        LatencyRecorder.EndpointStats notes = stats.get("POST /api/notes");
+        assertThat(notes.requests()).isEqualTo(2000);
+        assertThat(notes.errors()).isEqualTo(20);
+        assertThat(notes.throughput()).isCloseTo(200, within(0.001));
+        assertThat(notes.p50Millis()).isCloseTo(1000, within(0.001));
+        assertThat(notes.p99Millis()).isCloseTo(1980, within(0.001));
+        assertThat(notes.p999Millis()).isCloseTo(1998, within(0.001));
+    }
+}
@@ -0,0 +1,180 @@
+package com.personnel.personnelservice.loadtests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * One virtual user: a doctor dictates a recording for one of their patients, then an assistant types and
+ * validates the note and searches the notes. The steps stop at the first failure, as a real client would.
+ */
+class LoadScenario {
+
+    static final String LOGIN_DOCTOR = "POST /auth/loginMedecin";
+    static final String UPLOAD = "POST /files/upload";
+    static final String CREATE_VOICE = "POST /api/voices";
+    static final String LOGIN_ASSISTANT = "POST /auth/loginAssistant";
+    static final String CREATE_NOTE = "POST /api/notes";
+    static final String VALIDATE_NOTE = "PATCH /api/notes/{id}/validate";
+    static final String SEARCH_NOTES = "GET /api/notes/search/full-text";
+
+    private static final String BOUNDARY = "loadtest-boundary";
+    private static final String[] NOTES = {
+            "Patient vu pour contrôle tensionnel, traitement antihypertenseur renouvelé pour trois mois.",
+            "Douleurs abdominales depuis deux jours, pas de fièvre, échographie prescrite.",
+            "Suivi diabète : glycémie stable, régime à poursuivre, bilan sanguin dans six mois.",
+            "Toux persistante, auscultation normale, radiographie thoracique demandée.",
+            "Renouvellement d'ordonnance, vaccination antigrippale à prévoir."};
+    private static final String[] SEARCHES = {"traitement", "douleurs abdominales", "glycémie", "radiographie", "ordonnance"};
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+    private final Account doctor;
+    private final String assistantEmail;
+    private final String password;
+    private final List<byte[]> recordings;
+    private final Random random;
+
+    LoadScenario(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper, LatencyRecorder recorder,
+                 Account doctor, String assistantEmail, String password, List<byte[]> recordings, long seed) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.doctor = doctor;
+        this.assistantEmail = assistantEmail;
+        this.password = password;
+        this.recordings = recordings;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * login -> upload -> voice -> login -> note -> validation -> search
+     */
+    void run() throws InterruptedException {
+        Session doctorSession = login(LOGIN_DOCTOR, "/auth/loginMedecin", doctor.email());
+        if (doctorSession == null) {
+            return;
+        }
+        JsonNode file = send(UPLOAD, request("/files/upload", doctorSession)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(recordings.get(random.nextInt(recordings.size())))))
+                .build());
+        if (file == null) {
+            return;
+        }
+        Map<String, Object> voice = new LinkedHashMap<>();
+        voice.put("path", file.path("id").asText());
+        voice.put("title", "Consultation du patient " + random.nextInt(1000));
+        voice.put("remarque", "Dictée enregistrée pendant la consultation");
+        voice.put("doctorId", doctorSession.userId());
+        voice.put("patientId", doctor.patientIds().get(random.nextInt(doctor.patientIds().size())));
+        JsonNode createdVoice = send(CREATE_VOICE, json(request("/api/voices", doctorSession), voice).build());
+        if (createdVoice == null) {
+            return;
+        }
+
+        Session assistantSession = login(LOGIN_ASSISTANT, "/auth/loginAssistant", assistantEmail);
+        if (assistantSession == null) {
+            return;
+        }
+        Map<String, Object> note = new LinkedHashMap<>();
+        note.put("contentTxt", NOTES[random.nextInt(NOTES.length)]);
+        note.put("voiceId", createdVoice.path("id").asText());
+        note.put("assistantId", assistantSession.userId());
+        JsonNode createdNote = send(CREATE_NOTE, json(request("/api/notes", assistantSession), note).build());
+        if (createdNote == null) {
+            return;
+        }
+        JsonNode validatedNote = send(VALIDATE_NOTE, request("/api/notes/" + createdNote.path("id").asText()
+                + "/validate?modifierId=" + assistantSession.userId(), assistantSession)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+        if (validatedNote == null) {
+            return;
+        }
+        String query = URLEncoder.encode(SEARCHES[random.nextInt(SEARCHES.length)], StandardCharsets.UTF_8);
+        send(SEARCH_NOTES, request("/api/notes/search/full-text?size=20&query=" + query, assistantSession).GET().build());
+    }
+
+    private Session login(String endpoint, String path, String email) throws InterruptedException {
+        Map<String, Object> credentials = Map.of("email", email, "password", password, "rememberMe", false);
+        JsonNode response = send(endpoint, json(HttpRequest.newBuilder(baseUri.resolve(path)), credentials).build());
+        if (response == null) {
+            return null;
+        }
+        String token = response.path("token").asText();
+        try {
+            // L'id de l'utilisateur est une claim du token, la réponse de connexion ne contient que le token
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(token.split("\\.")[1]));
+            return new Session(token, UUID.fromString(claims.path("id").asText()));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Send the request and record its latency under the endpoint
+     * @return the response body, null if the request failed
+     */
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            return success ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Authorization", "Bearer " + session.token());
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder builder, Map<String, Object> body) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] multipart(byte[] recording) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(recording.length + 512);
+        body.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"fileType\"\r\n\r\nAUDIO\r\n"
+                + "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"dictee.wav\"\r\n"
+                + "Content-Type: audio/wav\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(recording);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    /**
+     * A seeded doctor and the patients they follow
+     */
+    record Account(String email, List<UUID> patientIds) {
+    }
+
+    private record Session(String token, UUID userId) {
+    }
+}
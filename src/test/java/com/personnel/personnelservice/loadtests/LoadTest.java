@@ -0,0 +1,232 @@
+package com.personnel.personnelservice.loadtests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.personnel.personnelservice.PersonnelServiceApplication;
+import com.personnel.personnelservice.adapters.webs.RequestMetricsFilter;
+import com.personnel.personnelservice.core.ports.services.NoteIndexService;
+import com.personnel.personnelservice.core.seeders.DatasetSeeder;
+import com.personnel.personnelservice.core.seeders.SyntheticAudio;
+import com.personnel.personnelservice.support.SeededDatasetInitializer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database in MariaDB mode, seeds it with
+ * {@link DatasetSeeder}, then runs {@link LoadScenario} with concurrent virtual users. Reports, per endpoint,
+ * the throughput, the p50/p99/p999 latencies and the SQL statements per request counted by {@link RequestMetricsFilter}.
+ * <p>
+ * Lancement : {@code mvn -Pload-test verify -DskipTests}, ou directement
+ * {@code java -cp target/test-classes:<classpath de test> com.personnel.personnelservice.loadtests.LoadTest}.
+ * Réglages : {@code -Dloadtest.users} (16), {@code -Dloadtest.warmup-seconds} (30), {@code -Dloadtest.duration-seconds} (120),
+ * {@code -Dloadtest.report} (target/load-test-report.json). Toute propriété de l'application peut être surchargée,
+ * par exemple {@code -Dspring.datasource.url=jdbc:mariadb://...} pour une vraie base ou {@code -Dapp.seed.dataset.voices=...}.
+ * <p>
+ * H2 ne reproduit ni l'optimiseur ni les verrous de MariaDB : les latences sont des ordres de grandeur, les
+ * requêtes par appel sont exactes.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 16);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 30));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 120));
+        Path report = Path.of(System.getProperty("loadtest.report", "target/load-test-report.json"));
+        // Le redémarrage de devtools relancerait ce main dans un autre class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PersonnelServiceApplication.class)
+                .initializers(new SeededDatasetInitializer())
+                .properties(properties())
+                .run(args);
+        try {
+            String password = context.getEnvironment().getRequiredProperty("app.seed.dataset.password");
+            int assistants = context.getEnvironment().getRequiredProperty("app.seed.dataset.assistants", Integer.class);
+            // Les notes générées sont insérées sans passer par l'index de recherche
+            context.getBean(NoteIndexService.class).rebuild();
+            List<LoadScenario.Account> doctors = doctors(context.getBean(EntityManagerFactory.class));
+            List<byte[]> recordings = recordings();
+
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"));
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ObjectMapper objectMapper = new ObjectMapper();
+            LatencyRecorder recorder = new LatencyRecorder();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+            for (int user = 0; user < users; user++) {
+                LoadScenario scenario = new LoadScenario(httpClient, baseUri, objectMapper, recorder,
+                        doctors.get(user % doctors.size()), "assistant" + (user % assistants) + DatasetSeeder.EMAIL_DOMAIN,
+                        password, recordings, user);
+                virtualUsers.submit(() -> {
+                    while (running.get()) {
+                        scenario.run();
+                    }
+                    return null;
+                });
+            }
+
+            Thread.sleep(warmup.toMillis());
+            recorder.reset();
+            Map<String, double[]> statementsBefore = statements(meterRegistry);
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            Map<String, LatencyRecorder.EndpointStats> stats = recorder.stats(elapsedSeconds);
+            Map<String, double[]> statementsAfter = statements(meterRegistry);
+            running.set(false);
+            virtualUsers.shutdown();
+            virtualUsers.awaitTermination(1, TimeUnit.MINUTES);
+
+            List<Map<String, Object>> rows = report(stats, statementsBefore, statementsAfter);
+            print(users, elapsedSeconds, rows);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), Map.of(
+                    "users", users, "durationSeconds", elapsedSeconds, "endpoints", rows));
+            System.out.println("Rapport : " + report.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Default properties, on top of those of {@link SeededDatasetInitializer}: system properties override them
+     */
+    private static Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.hikari.maximum-pool-size", 20);
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", 50);
+        properties.put("spring.jpa.properties.hibernate.order_inserts", true);
+        properties.put("spring.jpa.properties.hibernate.order_updates", true);
+        properties.put("app.seed.dataset.doctors", 200);
+        properties.put("app.seed.dataset.assistants", 400);
+        properties.put("app.seed.dataset.patients", 20_000);
+        properties.put("app.seed.dataset.voices", 100_000);
+        properties.put("app.seed.dataset.notes", 150_000);
+        properties.put("app.seed.dataset.payments", 20_000);
+        properties.put("app.seed.dataset.audio-clips", 4);
+        properties.put("app.seed.dataset.password", "Seed123@");
+        properties.put("management.metrics.distribution.percentiles-histogram.http.server.requests", true);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.personnel.personnelservice.core.seeders", "INFO");
+        return properties;
+    }
+
+    /**
+     * Seeded doctors with their patients, in the order of the seeder (medecin0 is the busiest)
+     */
+    private static List<LoadScenario.Account> doctors(EntityManagerFactory entityManagerFactory) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Map<String, List<UUID>> patientsByDoctor = new LinkedHashMap<>();
+            entityManager.createQuery("SELECT dp.doctor.email, dp.patient.id FROM DoctorPatient dp "
+                            + "WHERE dp.doctor.email LIKE :domain", Object[].class)
+                    .setParameter("domain", "%" + DatasetSeeder.EMAIL_DOMAIN)
+                    .getResultStream()
+                    .forEach(row -> patientsByDoctor.computeIfAbsent((String) row[0], email -> new ArrayList<>()).add((UUID) row[1]));
+            List<LoadScenario.Account> doctors = new ArrayList<>();
+            patientsByDoctor.forEach((email, patients) -> doctors.add(new LoadScenario.Account(email, patients)));
+            doctors.sort((first, second) -> Integer.compare(index(first.email()), index(second.email())));
+            if (doctors.isEmpty()) {
+                throw new IllegalStateException("Aucun médecin généré avec des patients");
+            }
+            return doctors;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static int index(String email) {
+        return Integer.parseInt(email.substring("medecin".length(), email.indexOf('@')));
+    }
+
+    /**
+     * Dictations of 5 to 30 seconds: longer ones exceed the default 1 MB multipart limit of the simple upload
+     * and go through the chunked upload
+     */
+    private static List<byte[]> recordings() {
+        Random random = new Random(7);
+        List<byte[]> recordings = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            recordings.add(SyntheticAudio.wav(random, 5_000 + random.nextInt(25_000)));
+        }
+        return recordings;
+    }
+
+    /**
+     * Count, total and max of the SQL statements per request, per "METHOD uri"
+     */
+    private static Map<String, double[]> statements(MeterRegistry meterRegistry) {
+        Map<String, double[]> statements = new HashMap<>();
+        for (DistributionSummary summary : meterRegistry.find(RequestMetricsFilter.STATEMENTS_METRIC).summaries()) {
+            String endpoint = summary.getId().getTag("method") + " " + summary.getId().getTag("uri");
+            statements.put(endpoint, new double[]{summary.count(), summary.totalAmount(), summary.max()});
+        }
+        return statements;
+    }
+
+    private static List<Map<String, Object>> report(Map<String, LatencyRecorder.EndpointStats> stats,
+                                                    Map<String, double[]> before, Map<String, double[]> after) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        stats.forEach((endpoint, endpointStats) -> {
+            double[] start = before.getOrDefault(endpoint, new double[3]);
+            double[] end = after.getOrDefault(endpoint, new double[3]);
+            double requests = end[0] - start[0];
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", endpointStats.requests());
+            row.put("errors", endpointStats.errors());
+            row.put("throughput", endpointStats.throughput());
+            row.put("p50Millis", endpointStats.p50Millis());
+            row.put("p99Millis", endpointStats.p99Millis());
+            row.put("p999Millis", endpointStats.p999Millis());
+            row.put("sqlStatementsPerRequest", requests > 0 ? (end[1] - start[1]) / requests : null);
+            row.put("maxSqlStatements", end[2]);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static void print(int users, double elapsedSeconds, List<Map<String, Object>> rows) {
+        System.out.printf("%n%d utilisateurs virtuels, %.0f s mesurées%n", users, elapsedSeconds);
+        System.out.printf("%-34s %9s %7s %9s %9s %9s %9s %9s %7s%n",
+                "Endpoint", "Requêtes", "Erreurs", "req/s", "p50 ms", "p99 ms", "p999 ms", "SQL/req", "SQL max");
+        for (Map<String, Object> row : rows) {
+            Object statements = row.get("sqlStatementsPerRequest");
+            System.out.printf("%-34s %9d %7d %9.1f %9.1f %9.1f %9.1f %9s %7.0f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughput"),
+                    row.get("p50Millis"), row.get("p99Millis"), row.get("p999Millis"),
+                    statements == null ? "-" : String.format("%.1f", (Double) statements), row.get("maxSqlStatements"));
+        }
+    }
+}
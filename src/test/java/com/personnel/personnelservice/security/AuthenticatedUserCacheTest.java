@@ -0,0 +1,158 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.core.models.events.RemoteCacheInvalidationEvent;
+import com.personnel.personnelservice.core.models.events.RolesChangedEvent;
+import com.personnel.personnelservice.core.models.events.UserAuthoritiesChangedEvent;
+import com.personnel.personnelservice.core.ports.services.CacheInvalidationBroadcaster;
+import com.personnel.personnelservice.core.services.RoleCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedUserCacheTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    @InjectMocks
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authenticatedUserCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(authenticatedUserCache, "maxSize", 100);
+        ReflectionTestUtils.setField(authenticatedUserCache, "invalidationRetentionMillis", 3_600_000L);
+        // Aucun token n'est antérieur au démarrage dans ces tests
+        ReflectionTestUtils.setField(authenticatedUserCache, "allUsersInvalidatedAt", 0L);
+    }
+
+    private VerifiedToken token(Instant issuedAt, String... permissions) {
+        return new VerifiedToken("doctor@example.com", userId, List.of(permissions), false, issuedAt,
+                issuedAt.plus(1, ChronoUnit.HOURS));
+    }
+
+    private User userWithPermission(String permissionName) {
+        Permission permission = new Permission();
+        permission.setName(permissionName);
+        Role role = new Role();
+        role.setPermissions(Set.of(permission));
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("doctor@example.com");
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    @Test
+    @DisplayName("Devrait construire le principal depuis les claims sans accéder à la base")
+    void get_ShouldTrustClaimsWithoutDatabase() {
+        // Arrange
+        VerifiedToken token = token(Instant.now(), "NOTE_READ", "VOICE_READ");
+
+        // Act
+        AuthenticatedUser user = authenticatedUserCache.get(token);
+
+        // Assert
+        assertThat(user.getId()).isEqualTo(userId);
+        assertThat(user.getUsername()).isEqualTo("doctor@example.com");
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("NOTE_READ", "VOICE_READ");
+        assertThat(authenticatedUserCache.get(token)).isSameAs(user);
+        verify(userDetailsService, never()).loadUserByUsername("doctor@example.com");
+    }
+
+    @Test
+    @DisplayName("Devrait relire l'utilisateur en base une seule fois pour un token émis avant un changement de rôles")
+    void get_ShouldReloadUserWhenTokenPredatesInvalidation() {
+        // Arrange
+        VerifiedToken staleToken = token(Instant.now().minusSeconds(60), "NOTE_READ", "NOTE_DELETE");
+        authenticatedUserCache.get(staleToken);
+        when(userDetailsService.loadUserByUsername("doctor@example.com")).thenReturn(userWithPermission("NOTE_READ"));
+
+        // Act
+        authenticatedUserCache.onUserAuthoritiesChanged(new UserAuthoritiesChangedEvent(userId));
+        authenticatedUserCache.broadcastUserAuthoritiesChanged(new UserAuthoritiesChangedEvent(userId));
+        AuthenticatedUser user = authenticatedUserCache.get(staleToken);
+        authenticatedUserCache.get(staleToken);
+
+        // Assert
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("NOTE_READ");
+        verify(userDetailsService, times(1)).loadUserByUsername("doctor@example.com");
+        verify(cacheInvalidationBroadcaster).broadcast(AuthenticatedUserCache.NAME);
+    }
+
+    @Test
+    @DisplayName("Devrait relire l'utilisateur en base après une invalidation diffusée par un autre noeud")
+    void get_ShouldReloadUserAfterRemoteInvalidation() {
+        // Arrange
+        VerifiedToken staleToken = token(Instant.now().minusSeconds(60), "NOTE_READ", "NOTE_DELETE");
+        authenticatedUserCache.get(staleToken);
+        when(userDetailsService.loadUserByUsername("doctor@example.com")).thenReturn(userWithPermission("NOTE_READ"));
+
+        // Act
+        authenticatedUserCache.onRemoteCacheInvalidation(new RemoteCacheInvalidationEvent(AuthenticatedUserCache.NAME));
+        AuthenticatedUser user = authenticatedUserCache.get(staleToken);
+
+        // Assert
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("NOTE_READ");
+        verify(cacheInvalidationBroadcaster, never()).broadcast(AuthenticatedUserCache.NAME);
+    }
+
+    @Test
+    @DisplayName("Devrait relire l'utilisateur en base après un changement de rôles sur un autre noeud")
+    void get_ShouldReloadUserAfterRemoteRolesInvalidation() {
+        // Arrange
+        VerifiedToken staleToken = token(Instant.now().minusSeconds(60), "NOTE_READ", "NOTE_DELETE");
+        authenticatedUserCache.get(staleToken);
+        when(userDetailsService.loadUserByUsername("doctor@example.com")).thenReturn(userWithPermission("NOTE_READ"));
+
+        // Act
+        authenticatedUserCache.onRemoteCacheInvalidation(new RemoteCacheInvalidationEvent(RoleCache.NAME));
+        AuthenticatedUser user = authenticatedUserCache.get(staleToken);
+
+        // Assert
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("NOTE_READ");
+    }
+
+    @Test
+    @DisplayName("Devrait faire confiance aux tokens émis après l'invalidation")
+    void get_ShouldTrustTokensIssuedAfterInvalidation() {
+        // Arrange
+        authenticatedUserCache.onRolesChanged(new RolesChangedEvent());
+        VerifiedToken freshToken = token(Instant.now().plusSeconds(1), "PAYMENT_READ");
+
+        // Act
+        AuthenticatedUser user = authenticatedUserCache.get(freshToken);
+
+        // Assert
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("PAYMENT_READ");
+        verify(userDetailsService, never()).loadUserByUsername("doctor@example.com");
+    }
+}
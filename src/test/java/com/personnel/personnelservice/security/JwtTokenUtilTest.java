@@ -0,0 +1,87 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtTokenUtil jwtTokenUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(SECRET, null);
+        ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheSize", 100);
+        ReflectionTestUtils.setField(jwtTokenUtil, "tokenExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "rememberMeExpiration", 86_400_000L);
+
+        Permission permission = new Permission();
+        permission.setName("NOTE_READ");
+        Role role = new Role();
+        role.setPermissions(Set.of(permission));
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setRoles(Set.of(role));
+    }
+
+    @Test
+    @DisplayName("Devrait vérifier le token une seule fois et réutiliser le résultat")
+    void verify_ShouldParseOnceAndReuseVerifiedToken() {
+        // Arrange
+        String token = jwtTokenUtil.generateToken(user, false);
+
+        // Act
+        VerifiedToken verifiedToken = jwtTokenUtil.verify(token);
+
+        // Assert
+        assertThat(verifiedToken.getSubject()).isEqualTo("doctor@example.com");
+        assertThat(verifiedToken.getUserId()).isEqualTo(user.getId());
+        assertThat(verifiedToken.getPermissions()).containsExactly("NOTE_READ");
+        assertThat(verifiedToken.isAccessToken()).isTrue();
+        assertThat(jwtTokenUtil.verify(token)).isSameAs(verifiedToken);
+        assertThat(jwtTokenUtil.isTokenValid(token, user)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un token falsifié même si l'original est en cache")
+    void verify_ShouldRejectTamperedTokenEvenWhenOriginalIsCached() {
+        // Arrange
+        String token = jwtTokenUtil.generateToken(user, false);
+        jwtTokenUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("NOTE_READ", "USER_DELETE").getBytes());
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtTokenUtil.verify(parts[0] + "." + forgedPayload + "." + parts[2]))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Devrait rejeter un token expiré")
+    void verify_ShouldRejectExpiredToken() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtTokenUtil, "tokenExpiration", -1_000L);
+        String token = jwtTokenUtil.generateToken(user, false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtTokenUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
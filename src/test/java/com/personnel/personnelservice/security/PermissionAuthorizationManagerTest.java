@@ -0,0 +1,116 @@
+package com.personnel.personnelservice.security;
+
+import com.personnel.personnelservice.adapters.persistances.entities.Permission;
+import com.personnel.personnelservice.adapters.persistances.entities.Role;
+import com.personnel.personnelservice.adapters.persistances.entities.User;
+import com.personnel.personnelservice.core.models.enums.PermissionEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionAuthorizationManagerTest {
+
+    private static Role role(String... permissionNames) {
+        Role role = new Role();
+        role.setPermissions(new HashSet<>());
+        for (String permissionName : permissionNames) {
+            Permission permission = new Permission();
+            permission.setId(UUID.randomUUID());
+            permission.setName(permissionName);
+            role.getPermissions().add(permission);
+        }
+        return role;
+    }
+
+    private static User user(Role... roles) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("doctor@example.com");
+        user.setRoles(Set.of(roles));
+        return user;
+    }
+
+    private static Authentication authenticated(AuthenticatedUser user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Devrait partager les mêmes autorités entre utilisateurs ayant les mêmes rôles")
+    void authoritiesOf_ShouldShareAuthoritiesPerCombination() {
+        // Arrange
+        User first = user(role("VIEW_AGENDA", "PATIENT_READ"), role("VIEW_PATIENTS"));
+        User second = user(role("PATIENT_READ", "VIEW_PATIENTS", "VIEW_AGENDA"));
+
+        // Act
+        var firstAuthorities = PermissionBits.authoritiesOf(first.getRoles());
+        var secondAuthorities = PermissionBits.authoritiesOf(second.getRoles());
+
+        // Assert
+        assertThat(firstAuthorities).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("VIEW_AGENDA", "PATIENT_READ", "VIEW_PATIENTS");
+        assertThat(secondAuthorities).isSameAs(firstAuthorities);
+        assertThat(PermissionBits.toEnumSet(PermissionBits.fromAuthorities(firstAuthorities)))
+                .isEqualTo(EnumSet.of(PermissionEnum.VIEW_AGENDA, PermissionEnum.PATIENT_READ, PermissionEnum.VIEW_PATIENTS));
+    }
+
+    @Test
+    @DisplayName("Devrait garder les permissions hors énumération sous forme textuelle")
+    void authoritiesOf_ShouldKeepUnknownPermissions() {
+        // Arrange
+        User user = user(role("VIEW_AGENDA", "LEGACY_EXPORT"));
+
+        // Act
+        AuthenticatedUser authenticatedUser = AuthenticatedUser.fromUser(user, false);
+
+        // Assert
+        assertThat(PermissionBits.authoritiesOf(user.getRoles())).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("VIEW_AGENDA", "LEGACY_EXPORT");
+        assertThat(authenticatedUser.getAuthorities()).hasSize(2);
+        assertThat(authenticatedUser.hasPermission(PermissionEnum.VIEW_AGENDA)).isTrue();
+        assertThat(PermissionAuthorizationManager.hasPermission(PermissionEnum.VIEW_AGENDA)
+                .check(() -> authenticated(authenticatedUser), null).isGranted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait accorder l'accès si l'une des permissions requises est détenue")
+    void check_ShouldTestRequiredPermissionsAgainstBitset() {
+        // Arrange
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "doctor@example.com", false,
+                List.of(new SimpleGrantedAuthority("PRESCRIPTION_CREATE"), new SimpleGrantedAuthority("VIEW_AGENDA")));
+        Authentication authentication = authenticated(user);
+
+        // Act & Assert
+        assertThat(PermissionAuthorizationManager.hasPermission(PermissionEnum.PRESCRIPTION_CREATE)
+                .check(() -> authentication, null).isGranted()).isTrue();
+        assertThat(PermissionAuthorizationManager.hasPermission(PermissionEnum.USER_DELETE)
+                .check(() -> authentication, null).isGranted()).isFalse();
+        assertThat(PermissionAuthorizationManager.hasAnyPermission(PermissionEnum.USER_DELETE, PermissionEnum.VIEW_AGENDA)
+                .check(() -> authentication, null).isGranted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Devrait lire les autorités d'un principal qui n'est pas un AuthenticatedUser")
+    void check_ShouldFallBackToAuthoritiesOfOtherPrincipals() {
+        // Arrange
+        Authentication authentication = new TestingAuthenticationToken("doctor@example.com", null, "USER_UPDATE");
+        authentication.setAuthenticated(true);
+
+        // Act & Assert
+        assertThat(PermissionAuthorizationManager.hasPermission(PermissionEnum.USER_UPDATE)
+                .check(() -> authentication, null).isGranted()).isTrue();
+        assertThat(PermissionAuthorizationManager.hasPermission(PermissionEnum.USER_UPDATE)
+                .check(() -> null, null).isGranted()).isFalse();
+    }
+}
@@ -0,0 +1,421 @@
+package com.personnel.personnelservice.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Serveur S3 minimal adossé au système de fichiers, utilisé par les tests d'intégration.
+ * Il couvre le sous-ensemble de l'API utilisé par S3StorageServiceImpl en adressage "path-style" :
+ * PUT/GET (avec Range)/HEAD/DELETE d'objets, ListObjectsV2 par préfixe et upload multipart (y compris UploadPartCopy).
+ * Les écritures conditionnelles "If-None-Match: *" sont refusées (412) si l'objet existe déjà.
+ * Les signatures ne sont pas vérifiées.
+ */
+public class FileSystemS3Server implements AutoCloseable {
+
+    private static final String MULTIPART_DIRECTORY = ".multipart";
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final DateTimeFormatter ISO_INSTANT = DateTimeFormatter.ISO_INSTANT;
+
+    private final Path root;
+    private final HttpServer server;
+
+    public FileSystemS3Server(Path root) throws IOException {
+        this.root = root;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    public FileSystemS3Server start() {
+        server.start();
+        return this;
+    }
+
+    public URI getEndpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String rawPath = exchange.getRequestURI().getRawPath();
+            String[] segments = rawPath.substring(1).split("/", 2);
+            String bucket = decode(segments[0]);
+            String key = segments.length > 1 ? decode(segments[1]) : "";
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploadPart(exchange, query.get("uploadId"), Integer.parseInt(query.get("partNumber")));
+                    } else if (key.isEmpty()) {
+                        Files.createDirectories(root.resolve(bucket));
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        putObject(exchange, bucket, key);
+                    }
+                }
+                case "POST" -> {
+                    if (query.containsKey("uploads")) {
+                        createMultipartUpload(exchange, bucket, key);
+                    } else {
+                        completeMultipartUpload(exchange, bucket, key, query.get("uploadId"));
+                    }
+                }
+                case "GET" -> {
+                    if (key.isEmpty()) {
+                        listObjects(exchange, bucket, query.getOrDefault("prefix", ""));
+                    } else {
+                        getObject(exchange, bucket, key, false);
+                    }
+                }
+                case "HEAD" -> getObject(exchange, bucket, key, true);
+                case "DELETE" -> {
+                    if (query.containsKey("uploadId")) {
+                        deleteRecursively(multipartDirectory(query.get("uploadId")));
+                    } else {
+                        Files.deleteIfExists(objectPath(bucket, key));
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void putObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        Path target = objectPath(bucket, key);
+        Files.createDirectories(target.getParent());
+        String eTag;
+        try {
+            eTag = writeBody(requestBody(exchange), target, isCreateOnly(exchange));
+        } catch (FileAlreadyExistsException e) {
+            sendError(exchange, 412, "PreconditionFailed");
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", eTag);
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void uploadPart(HttpExchange exchange, String uploadId, int partNumber) throws IOException {
+        Path directory = multipartDirectory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            sendError(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+        if (copySource != null) {
+            String[] source = decode(copySource.startsWith("/") ? copySource.substring(1) : copySource).split("/", 2);
+            Path sourcePath = objectPath(source[0], source[1]);
+            if (!Files.isRegularFile(sourcePath)) {
+                sendError(exchange, 404, "NoSuchKey");
+                return;
+            }
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            String eTag;
+            try (InputStream input = Files.newInputStream(sourcePath)) {
+                eTag = writeBody(input, directory.resolve(String.format("%05d", partNumber)), false);
+            }
+            sendXml(exchange, 200, "<CopyPartResult>"
+                    + "<ETag>" + escape(eTag) + "</ETag>"
+                    + "<LastModified>" + ISO_INSTANT.format(Files.getLastModifiedTime(sourcePath).toInstant()) + "</LastModified>"
+                    + "</CopyPartResult>");
+            return;
+        }
+        String eTag = writeBody(requestBody(exchange), directory.resolve(String.format("%05d", partNumber)), false);
+        exchange.getResponseHeaders().set("ETag", eTag);
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void createMultipartUpload(HttpExchange exchange, String bucket, String key) throws IOException {
+        String uploadId = UUID.randomUUID().toString();
+        Files.createDirectories(multipartDirectory(uploadId));
+        sendXml(exchange, 200, "<InitiateMultipartUploadResult>"
+                + "<Bucket>" + escape(bucket) + "</Bucket>"
+                + "<Key>" + escape(key) + "</Key>"
+                + "<UploadId>" + uploadId + "</UploadId>"
+                + "</InitiateMultipartUploadResult>");
+    }
+
+    private void completeMultipartUpload(HttpExchange exchange, String bucket, String key, String uploadId) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        Path directory = multipartDirectory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            sendError(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        Path target = objectPath(bucket, key);
+        Files.createDirectories(target.getParent());
+        List<Path> parts;
+        try (Stream<Path> files = Files.list(directory)) {
+            parts = files.sorted().toList();
+        }
+        StandardOpenOption create = isCreateOnly(exchange) ? StandardOpenOption.CREATE_NEW : StandardOpenOption.CREATE;
+        try (FileChannel output = FileChannel.open(target, create, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path part : parts) {
+                try (FileChannel input = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < input.size()) {
+                        position += input.transferTo(position, input.size() - position, output);
+                    }
+                }
+            }
+        } catch (FileAlreadyExistsException e) {
+            sendError(exchange, 412, "PreconditionFailed");
+            return;
+        }
+        deleteRecursively(directory);
+        sendXml(exchange, 200, "<CompleteMultipartUploadResult>"
+                + "<Bucket>" + escape(bucket) + "</Bucket>"
+                + "<Key>" + escape(key) + "</Key>"
+                + "<ETag>\"" + uploadId + "-" + parts.size() + "\"</ETag>"
+                + "</CompleteMultipartUploadResult>");
+    }
+
+    private void getObject(HttpExchange exchange, String bucket, String key, boolean headOnly) throws IOException {
+        Path source = objectPath(bucket, key);
+        if (!Files.isRegularFile(source)) {
+            if (headOnly) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                sendError(exchange, 404, "NoSuchKey");
+            }
+            return;
+        }
+        long size = Files.size(source);
+        long start = 0;
+        long end = size - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null && range.startsWith("bytes=")) {
+            String[] bounds = range.substring("bytes=".length()).split("-", 2);
+            start = Long.parseLong(bounds[0]);
+            end = bounds[1].isEmpty() ? size - 1 : Math.min(Long.parseLong(bounds[1]), size - 1);
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = end - start + 1;
+        exchange.getResponseHeaders().set("ETag", "\"" + Long.toHexString(Files.getLastModifiedTime(source).toMillis()) + "\"");
+        exchange.getResponseHeaders().set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Files.getLastModifiedTime(source).toInstant().atZone(ZoneOffset.UTC)));
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        if (headOnly) {
+            exchange.getResponseHeaders().set("Content-Length", Long.toString(size));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream output = exchange.getResponseBody()) {
+            input.position(start);
+            InputStream limited = Channels.newInputStream(input);
+            byte[] buffer = new byte[8192];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = limited.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                output.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucket, String prefix) throws IOException {
+        Path bucketDirectory = root.resolve(bucket);
+        StringBuilder contents = new StringBuilder();
+        int count = 0;
+        if (Files.isDirectory(bucketDirectory)) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(bucketDirectory)) {
+                files = walk.filter(Files::isRegularFile).sorted(Comparator.comparing(Path::toString)).toList();
+            }
+            for (Path file : files) {
+                String key = bucketDirectory.relativize(file).toString().replace('\\', '/');
+                if (!key.startsWith(prefix)) {
+                    continue;
+                }
+                count++;
+                contents.append("<Contents>")
+                        .append("<Key>").append(escape(key)).append("</Key>")
+                        .append("<LastModified>").append(ISO_INSTANT.format(Files.getLastModifiedTime(file).toInstant())).append("</LastModified>")
+                        .append("<Size>").append(Files.size(file)).append("</Size>")
+                        .append("<StorageClass>STANDARD</StorageClass>")
+                        .append("</Contents>");
+            }
+        }
+        sendXml(exchange, 200, "<ListBucketResult>"
+                + "<Name>" + escape(bucket) + "</Name>"
+                + "<Prefix>" + escape(prefix) + "</Prefix>"
+                + "<KeyCount>" + count + "</KeyCount>"
+                + "<MaxKeys>1000</MaxKeys>"
+                + "<IsTruncated>false</IsTruncated>"
+                + contents
+                + "</ListBucketResult>");
+    }
+
+    /**
+     * Le SDK signe les envois en flux avec l'encodage aws-chunked ("taille;chunk-signature=...\r\n" + données)
+     */
+    private InputStream requestBody(HttpExchange exchange) throws IOException {
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        boolean awsChunked = (contentSha256 != null && contentSha256.startsWith("STREAMING-"))
+                || (contentEncoding != null && contentEncoding.contains("aws-chunked"));
+        if (!awsChunked) {
+            return exchange.getRequestBody();
+        }
+
+        InputStream input = exchange.getRequestBody();
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        while (true) {
+            String header = readLine(input);
+            int chunkSize = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (chunkSize == 0) {
+                break;
+            }
+            decoded.write(input.readNBytes(chunkSize));
+            readLine(input);
+        }
+        input.transferTo(OutputStream.nullOutputStream());
+        return new ByteArrayInputStream(decoded.toByteArray());
+    }
+
+    private String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = input.read()) != -1 && read != '\n') {
+            if (read != '\r') {
+                line.append((char) read);
+            }
+        }
+        return line.toString();
+    }
+
+    private boolean isCreateOnly(HttpExchange exchange) {
+        return "*".equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+    }
+
+    /**
+     * Écrit le corps dans un fichier temporaire puis le publie d'un coup ; en création seule, le lien
+     * échoue atomiquement si la cible existe déjà.
+     */
+    private String writeBody(InputStream body, Path target, boolean createOnly) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+        Path temp = root.resolve(TEMP_DIRECTORY).resolve(UUID.randomUUID().toString());
+        try (InputStream input = new DigestInputStream(body, digest)) {
+            Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (createOnly) {
+            try {
+                Files.createLink(target, temp);
+            } finally {
+                Files.delete(temp);
+            }
+        } else {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+    }
+
+    private void sendXml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String code) throws IOException {
+        sendXml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message>"
+                + "<RequestId>" + UUID.randomUUID() + "</RequestId></Error>");
+    }
+
+    private Path objectPath(String bucket, String key) {
+        Path bucketDirectory = root.resolve(bucket).normalize();
+        Path path = bucketDirectory.resolve(key).normalize();
+        if (!path.startsWith(bucketDirectory)) {
+            throw new IllegalArgumentException("Invalid key " + key);
+        }
+        return path;
+    }
+
+    private Path multipartDirectory(String uploadId) {
+        return root.resolve(MULTIPART_DIRECTORY).resolve(uploadId);
+    }
+
+    private void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(decode(pair[0]), pair.length > 1 ? decode(pair[1]) : "");
+        }
+        return query;
+    }
+
+    private String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,55 @@
+package com.personnel.personnelservice.support;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Environnement commun des tests sur jeu de données généré : base H2 en mémoire en mode MariaDB, propre à chaque
+ * contexte, répertoire de travail temporaire pour les fichiers et les index, pas d'email ni de transcodage.
+ * <p>
+ * Les propriétés sont ajoutées avec la priorité la plus basse : celles du test, les propriétés système et
+ * les propriétés par défaut de {@code SpringApplicationBuilder} les surchargent, notamment la taille du jeu de données.
+ */
+public class SeededDatasetInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        Path workDirectory = createWorkDirectory();
+        Map<String, Object> properties = new HashMap<>();
+        // Une base par contexte : le cache de contextes de Spring garde plusieurs jeux de données en vie
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + workDirectory.getFileName()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("app.secret.key", "c2VlZGVkLWRhdGFzZXQtdGVzdC1zZWNyZXQta2V5LTMy");
+        properties.put("app.token.expiration", 3_600_000);
+        properties.put("app.token.remember-me.expiration", 86_400_000);
+        properties.put("app.token.reset-password.expiration", 900_000);
+        properties.put("file.storage.type", "local");
+        properties.put("file.storage.location", workDirectory.resolve("uploads").toString());
+        properties.put("search.index.location", workDirectory.resolve("search-index").toString());
+        properties.put("voice.transcoding.enabled", false);
+        properties.put("spring.mail.host", "localhost");
+        properties.put("app.mail.outbox.enabled", false);
+        properties.put("app.seed.dataset.enabled", true);
+        properties.put("app.seed.dataset.audio-clips", 1);
+        context.getEnvironment().getPropertySources().addLast(new MapPropertySource("seededDataset", properties));
+    }
+
+    private static Path createWorkDirectory() {
+        try {
+            Path workDirectory = Files.createTempDirectory("seeded-dataset");
+            Files.createDirectories(workDirectory.resolve("uploads"));
+            return workDirectory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
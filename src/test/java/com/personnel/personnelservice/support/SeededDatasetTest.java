@@ -0,0 +1,23 @@
+package com.personnel.personnelservice.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Test Spring Boot sur un jeu de données généré par DatasetSeeder, dans l'environnement de
+ * {@link SeededDatasetInitializer}. La taille du jeu et les réglages propres au test se déclarent avec
+ * {@code @TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest
+@ContextConfiguration(initializers = SeededDatasetInitializer.class)
+public @interface SeededDatasetTest {
+}